@@ -16,6 +16,7 @@ import static java.util.stream.Collectors.toSet;
 
 import alluxio.client.WriteType;
 import alluxio.client.block.policy.BlockLocationPolicy;
+import alluxio.client.block.policy.LoadAwarePolicy;
 import alluxio.client.block.policy.options.GetWorkerOptions;
 import alluxio.client.block.stream.BlockInStream;
 import alluxio.client.block.stream.BlockInStream.BlockInStreamSource;
@@ -48,10 +49,12 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 // TODO(jianjian): rename AlluxioBlockStore since it would get confused by BlockStore
@@ -217,6 +220,14 @@ public final class AlluxioBlockStore {
         dataSourceType = nearest.get().getSecond() ? mContext.hasProcessLocalWorker()
             ? BlockInStreamSource.PROCESS_LOCAL : BlockInStreamSource.NODE_LOCAL
             : BlockInStreamSource.REMOTE;
+        if (dataSourceType == BlockInStreamSource.REMOTE && policy instanceof LoadAwarePolicy
+            && tieredLocations.size() > 1) {
+          // No replica is local, so let the policy pick the least loaded one
+          WorkerNetAddress leastLoaded = getLeastLoadedReplica(info, tieredLocations, policy);
+          if (leastLoaded != null) {
+            dataSource = leastLoaded;
+          }
+        }
       }
     }
     // Can't get data from Alluxio, get it from the UFS instead
@@ -256,6 +267,24 @@ public final class AlluxioBlockStore {
     return new Pair<>(dataSource, dataSourceType);
   }
 
+  /**
+   * @param info the info of the block to read
+   * @param replicas the workers holding the block
+   * @param policy the load-aware policy
+   * @return the replica holder picked by the policy, or null if none of them is known
+   */
+  @Nullable
+  private WorkerNetAddress getLeastLoadedReplica(BlockInfo info, List<WorkerNetAddress> replicas,
+      BlockLocationPolicy policy) throws IOException {
+    Set<WorkerNetAddress> replicaSet = new HashSet<>(replicas);
+    List<BlockWorkerInfo> replicaInfos = mContext.getCachedWorkers().stream()
+        .filter(workerInfo -> replicaSet.contains(workerInfo.getNetAddress()))
+        .collect(toList());
+    return policy.getWorker(GetWorkerOptions.defaults()
+        .setBlockInfo(new BlockInfo().setBlockId(info.getBlockId()).setLength(info.getLength()))
+        .setBlockWorkerInfos(replicaInfos));
+  }
+
   private Set<WorkerNetAddress> handleFailedWorkers(Set<WorkerNetAddress> workers,
       Map<WorkerNetAddress, Long> failedWorkers) {
     if (workers.isEmpty()) {
@@ -28,6 +28,8 @@ public final class BlockWorkerInfo {
   private final WorkerNetAddress mNetAddress;
   private final long mCapacityBytes;
   private final long mUsedBytes;
+  private final long mActiveReadStreams;
+  private final long mActiveWriteStreams;
 
   /**
    * Constructs the block worker information.
@@ -37,9 +39,25 @@ public final class BlockWorkerInfo {
    * @param usedBytes the used bytes of the worker
    */
   public BlockWorkerInfo(WorkerNetAddress netAddress, long capacityBytes, long usedBytes) {
+    this(netAddress, capacityBytes, usedBytes, 0, 0);
+  }
+
+  /**
+   * Constructs the block worker information.
+   *
+   * @param netAddress the address of the worker
+   * @param capacityBytes the capacity of the worker in bytes
+   * @param usedBytes the used bytes of the worker
+   * @param activeReadStreams the number of blocks being read from the worker
+   * @param activeWriteStreams the number of blocks being written to the worker
+   */
+  public BlockWorkerInfo(WorkerNetAddress netAddress, long capacityBytes, long usedBytes,
+      long activeReadStreams, long activeWriteStreams) {
     mNetAddress = Preconditions.checkNotNull(netAddress, "netAddress");
     mCapacityBytes = capacityBytes;
     mUsedBytes = usedBytes;
+    mActiveReadStreams = activeReadStreams;
+    mActiveWriteStreams = activeWriteStreams;
   }
 
   /**
@@ -63,12 +81,28 @@ public final class BlockWorkerInfo {
     return mUsedBytes;
   }
 
+  /**
+   * @return the number of blocks being read from the worker, as of its last heartbeat
+   */
+  public long getActiveReadStreams() {
+    return mActiveReadStreams;
+  }
+
+  /**
+   * @return the number of blocks being written to the worker, as of its last heartbeat
+   */
+  public long getActiveWriteStreams() {
+    return mActiveWriteStreams;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
         .add("netAddress", mNetAddress)
         .add("capacityBytes", mCapacityBytes)
         .add("usedBytes", mUsedBytes)
+        .add("activeReadStreams", mActiveReadStreams)
+        .add("activeWriteStreams", mActiveWriteStreams)
         .toString();
   }
 }
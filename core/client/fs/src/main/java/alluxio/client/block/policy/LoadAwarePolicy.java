@@ -0,0 +1,105 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.policy;
+
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.client.block.policy.options.GetWorkerOptions;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A policy that picks two workers at random and returns the less loaded one, by the number of
+ * blocks being read from and written to each worker as of its last heartbeat. Comparing two random
+ * workers rather than taking the least loaded one keeps the clients acting on the same, possibly
+ * stale, load report from all choosing the same worker. Workers without enough capacity for the
+ * block are skipped.
+ *
+ * When used as the UFS read location policy, it also picks among the workers holding a block when
+ * none of them is local to the client.
+ */
+@ThreadSafe
+public final class LoadAwarePolicy implements BlockLocationPolicy {
+
+  /**
+   * Constructs a new {@link LoadAwarePolicy}.
+   *
+   * @param conf Alluxio configuration
+   */
+  public LoadAwarePolicy(AlluxioConfiguration conf) {}
+
+  /**
+   * The policy returns null if no worker is qualified.
+   */
+  @Override
+  @Nullable
+  public WorkerNetAddress getWorker(GetWorkerOptions options) {
+    List<BlockWorkerInfo> candidates = new ArrayList<>();
+    for (BlockWorkerInfo workerInfo : options.getBlockWorkerInfos()) {
+      if (workerInfo.getCapacityBytes() >= options.getBlockInfo().getLength()) {
+        candidates.add(workerInfo);
+      }
+    }
+    if (candidates.isEmpty()) {
+      return null;
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int firstIndex = random.nextInt(candidates.size());
+    BlockWorkerInfo first = candidates.get(firstIndex);
+    if (candidates.size() == 1) {
+      return first.getNetAddress();
+    }
+    // Pick a second worker distinct from the first one
+    int secondIndex = random.nextInt(candidates.size() - 1);
+    if (secondIndex >= firstIndex) {
+      secondIndex++;
+    }
+    BlockWorkerInfo second = candidates.get(secondIndex);
+    long firstLoad = getLoad(first);
+    long secondLoad = getLoad(second);
+    if (firstLoad != secondLoad) {
+      return firstLoad < secondLoad ? first.getNetAddress() : second.getNetAddress();
+    }
+    return getAvailableBytes(first) >= getAvailableBytes(second)
+        ? first.getNetAddress() : second.getNetAddress();
+  }
+
+  private static long getLoad(BlockWorkerInfo workerInfo) {
+    return workerInfo.getActiveReadStreams() + workerInfo.getActiveWriteStreams();
+  }
+
+  private static long getAvailableBytes(BlockWorkerInfo workerInfo) {
+    return workerInfo.getCapacityBytes() - workerInfo.getUsedBytes();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return this == o || o instanceof LoadAwarePolicy;
+  }
+
+  @Override
+  public int hashCode() {
+    return 0;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).toString();
+  }
+}
@@ -28,6 +28,7 @@ import alluxio.util.io.BufferUtils;
 import alluxio.util.network.NettyUtils;
 import alluxio.util.network.NetworkAddressUtils;
 import alluxio.wire.BlockInfo;
+import alluxio.wire.BlockLocation;
 import alluxio.wire.WorkerNetAddress;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -38,6 +39,10 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -140,8 +145,31 @@ public class BlockInStream extends InputStream implements BoundedStream, Seekabl
         + "shortCircuitPreferred {}, sourceSupportDomainSocket {})",
         blockId, dataSource, NetworkAddressUtils.getClientHostName(alluxioConf), dataSource,
         sourceIsLocal, shortCircuit, shortCircuitPreferred, sourceSupportsDomainSocket);
+    WorkerNetAddress hedgeAddress = null;
+    if (dataSourceType == BlockInStreamSource.REMOTE
+        && alluxioConf.getBoolean(PropertyKey.USER_BLOCK_READ_HEDGE_ENABLED)) {
+      hedgeAddress = getHedgeAddress(info, dataSource);
+    }
     return createGrpcBlockInStream(context, dataSource, dataSourceType, blockId,
-        blockSize, options);
+        blockSize, options, hedgeAddress);
+  }
+
+  /**
+   * @param info the block info
+   * @param dataSource the worker the block is read from
+   * @return another worker holding the block, or null if there is none
+   */
+  @Nullable
+  private static WorkerNetAddress getHedgeAddress(BlockInfo info, WorkerNetAddress dataSource) {
+    List<WorkerNetAddress> replicas = info.getLocations().stream()
+        .map(BlockLocation::getWorkerAddress)
+        .filter(address -> !address.equals(dataSource))
+        .distinct()
+        .collect(Collectors.toList());
+    if (replicas.isEmpty()) {
+      return null;
+    }
+    return replicas.get(ThreadLocalRandom.current().nextInt(replicas.size()));
   }
 
   /**
@@ -195,11 +223,13 @@ public class BlockInStream extends InputStream implements BoundedStream, Seekabl
    * @param blockSource the source location of the block
    * @param blockSize the block size
    * @param blockId the block id
+   * @param hedgeAddress the address of another worker to hedge the reads to, or null
    * @return the {@link BlockInStream} created
    */
   private static BlockInStream createGrpcBlockInStream(FileSystemContext context,
       WorkerNetAddress address, BlockInStreamSource blockSource,
-      long blockId, long blockSize, InStreamOptions options) {
+      long blockId, long blockSize, InStreamOptions options,
+      @Nullable WorkerNetAddress hedgeAddress) {
     AlluxioConfiguration conf = context.getClusterConf();
     long chunkSize = conf.getBytes(
         PropertyKey.USER_STREAMING_READER_CHUNK_SIZE_BYTES);
@@ -216,6 +246,11 @@ public class BlockInStream extends InputStream implements BoundedStream, Seekabl
       // Heuristic to resolve issues/12146, guarded by alluxio.fuse.shared.caching.reader.enabled
       // GrpcDataReader instances are shared across FileInStreams to mitigate seek cost
       factory = new SharedGrpcDataReader.Factory(context, address, builder, blockSize);
+    } else if (hedgeAddress != null) {
+      LOG.debug("Hedging reads of block {} @ {} to {}", blockId, address, hedgeAddress);
+      factory = new HedgedDataReader.Factory(
+          new GrpcDataReader.Factory(context, address, builder),
+          new GrpcDataReader.Factory(context, hedgeAddress, builder.clone()), conf);
     } else {
       factory = new GrpcDataReader.Factory(context, address, builder);
     }
@@ -438,6 +473,18 @@ public class BlockInStream extends InputStream implements BoundedStream, Seekabl
     mPos = pos;
   }
 
+  /**
+   * Creates the data reader for the rest of the block if there is none, without waiting for data.
+   * Readers streaming from a worker start receiving data right away, up to their buffer size, so
+   * the data is ready by the time this stream is read.
+   */
+  public void prefetch() throws IOException {
+    checkIfClosed();
+    if (mDataReader == null && remaining() > 0) {
+      mDataReader = mDataReaderFactory.create(mPos, mLength - mPos);
+    }
+  }
+
   @Override
   public long skip(long n) throws IOException {
     checkIfClosed();
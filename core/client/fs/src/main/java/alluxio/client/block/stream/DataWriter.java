@@ -17,6 +17,7 @@ import alluxio.client.file.FileSystemContext;
 import alluxio.client.file.options.OutStreamOptions;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
+import alluxio.exception.status.UnimplementedException;
 import alluxio.grpc.RequestType;
 import alluxio.util.CommonUtils;
 import alluxio.util.network.NettyUtils;
@@ -76,24 +77,30 @@ public interface DataWriter extends Closeable, Cancelable {
       boolean domainSocketSupported = NettyUtils.isDomainSocketSupported(address);
       if (workerIsLocal && shortCircuit
           && (shortCircuitPreferred || !domainSocketSupported)) {
-        if (ufsFallbackEnabled) {
-          LOG.info("Creating UFS-fallback short circuit output stream for block {} @ {}", blockId,
-              address);
-          return UfsFallbackLocalFileDataWriter.create(
-              context, address, blockId, blockSize, options);
+        try {
+          if (ufsFallbackEnabled) {
+            LOG.info("Creating UFS-fallback short circuit output stream for block {} @ {}",
+                blockId, address);
+            return UfsFallbackLocalFileDataWriter.create(
+                context, address, blockId, blockSize, options);
+          }
+          LOG.debug("Creating short circuit output stream for block {} @ {}", blockId, address);
+          return LocalFileDataWriter.create(context, address, blockId, blockSize, options);
+        } catch (UnimplementedException e) {
+          // The block is not stored in a file, e.g. it is placed in an off-heap storage dir.
+          // We will write via gRPC. So this exception is ignored.
+          LOG.debug("Failed to create short circuit output stream for block {} @ {}. Falling "
+              + "back to network transfer: {}", blockId, address, e.toString());
         }
-        LOG.debug("Creating short circuit output stream for block {} @ {}", blockId, address);
-        return LocalFileDataWriter.create(context, address, blockId, blockSize, options);
-      } else {
-        LOG.debug("Creating gRPC output stream for block {} @ {} from client {} "
-            + "(data locates in local worker: {}, shortCircuitEnabled: {}, "
-            + "shortCircuitPreferred: {}, domainSocketSupported: {})",
-            blockId, address, NetworkAddressUtils.getClientHostName(alluxioConf),
-            workerIsLocal, shortCircuit, shortCircuitPreferred, domainSocketSupported);
-        return GrpcDataWriter
-            .create(context, address, blockId, blockSize, RequestType.ALLUXIO_BLOCK,
-                options);
       }
+      LOG.debug("Creating gRPC output stream for block {} @ {} from client {} "
+          + "(data locates in local worker: {}, shortCircuitEnabled: {}, "
+          + "shortCircuitPreferred: {}, domainSocketSupported: {})",
+          blockId, address, NetworkAddressUtils.getClientHostName(alluxioConf),
+          workerIsLocal, shortCircuit, shortCircuitPreferred, domainSocketSupported);
+      return GrpcDataWriter
+          .create(context, address, blockId, blockSize, RequestType.ALLUXIO_BLOCK,
+              options);
     }
   }
 
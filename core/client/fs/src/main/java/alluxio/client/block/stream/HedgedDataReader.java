@@ -0,0 +1,311 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.codahale.metrics.Snapshot;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A data reader which hedges the read of a block across two workers holding it. The read is sent
+ * to the primary worker, and if its first chunk has not arrived after a delay, the same read is
+ * sent to the other worker. The reader which delivers its first chunk first serves the rest of
+ * the read, and the other one is closed once its own first chunk arrives or fails.
+ *
+ * The delay is the larger of a minimum and a percentile of the recent times to the first chunk,
+ * so that only the reads slower than most are hedged.
+ */
+@NotThreadSafe
+public final class HedgedDataReader implements DataReader {
+  private static final Logger LOG = LoggerFactory.getLogger(HedgedDataReader.class);
+
+  /** Waits for the first chunks, which is mostly blocked on the network. */
+  private static final ExecutorService HEDGED_READ_EXECUTOR =
+      Executors.newCachedThreadPool(ThreadFactoryUtils.build("hedged-read-%d", true));
+
+  private final DataReader.Factory mHedgeFactory;
+  private final long mOffset;
+  private final long mLength;
+  private final long mDelayMs;
+
+  /** The reader serving the read, which is the primary reader until a hedge wins. */
+  @Nullable
+  private DataReader mReader;
+  private boolean mFirstChunkRead = false;
+
+  /**
+   * @param primary the reader from the primary worker
+   * @param hedgeFactory the factory of readers from the other worker
+   * @param offset the offset of the read in the block
+   * @param length the length of the read
+   * @param delayMs the delay after which the read is hedged
+   */
+  @VisibleForTesting
+  HedgedDataReader(DataReader primary, DataReader.Factory hedgeFactory, long offset,
+      long length, long delayMs) {
+    mReader = primary;
+    mHedgeFactory = hedgeFactory;
+    mOffset = offset;
+    mLength = length;
+    mDelayMs = delayMs;
+  }
+
+  @Override
+  @Nullable
+  public DataBuffer readChunk() throws IOException {
+    Preconditions.checkState(mReader != null, "Data reader is closed while reading data chunks.");
+    if (mFirstChunkRead) {
+      return mReader.readChunk();
+    }
+    mFirstChunkRead = true;
+    DataReader primary = mReader;
+    CompletableFuture<DataBuffer> primaryChunk = readFirstChunk(primary);
+    try {
+      return primaryChunk.get(mDelayMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      // The primary worker is slow, hedge below
+    } catch (ExecutionException e) {
+      throw toIOException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      abandon(primary, primaryChunk);
+      throw new InterruptedIOException("Interrupted while waiting for the first chunk");
+    }
+
+    DataReader hedge;
+    try {
+      hedge = mHedgeFactory.create(mOffset, mLength);
+    } catch (IOException | RuntimeException e) {
+      LOG.debug("Failed to hedge the read at offset {} with length {}: {}", mOffset, mLength,
+          e.toString());
+      return waitForChunk(primary, primaryChunk);
+    }
+    MetricsSystem.counter(MetricKey.CLIENT_BLOCK_READ_HEDGES_ISSUED.getName()).inc();
+    CompletableFuture<DataBuffer> hedgeChunk = readFirstChunk(hedge);
+
+    // Completes with the reader whose first chunk arrives first, or fails if both reads fail
+    CompletableFuture<DataReader> winner = new CompletableFuture<>();
+    AtomicInteger failures = new AtomicInteger();
+    primaryChunk.whenComplete((chunk, error) -> onFirstChunk(winner, failures, primary, error));
+    hedgeChunk.whenComplete((chunk, error) -> onFirstChunk(winner, failures, hedge, error));
+    DataReader winnerReader;
+    try {
+      winnerReader = winner.get();
+    } catch (ExecutionException e) {
+      closeQuietly(hedge);
+      throw toIOException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      abandon(primary, primaryChunk);
+      abandon(hedge, hedgeChunk);
+      throw new InterruptedIOException("Interrupted while waiting for the first chunk");
+    }
+    if (winnerReader == primary) {
+      MetricsSystem.counter(MetricKey.CLIENT_BLOCK_READ_HEDGES_WASTED.getName()).inc();
+      abandon(hedge, hedgeChunk);
+      return primaryChunk.join();
+    }
+    abandon(primary, primaryChunk);
+    mReader = hedge;
+    return hedgeChunk.join();
+  }
+
+  @Override
+  public long pos() {
+    Preconditions.checkState(mReader != null, "Data reader is closed.");
+    return mReader.pos();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mReader != null) {
+      mReader.close();
+    }
+  }
+
+  /**
+   * Reads the first chunk of a reader on the hedged read executor.
+   *
+   * @param reader the reader
+   * @return the future of the first chunk
+   */
+  private static CompletableFuture<DataBuffer> readFirstChunk(DataReader reader) {
+    long startNs = System.nanoTime();
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        DataBuffer chunk = reader.readChunk();
+        MetricsSystem.timer(MetricKey.CLIENT_BLOCK_READ_FIRST_CHUNK_REMOTE.getName())
+            .update(System.nanoTime() - startNs, TimeUnit.NANOSECONDS);
+        return chunk;
+      } catch (IOException e) {
+        throw new ReadFailedException(e);
+      }
+    }, HEDGED_READ_EXECUTOR);
+  }
+
+  private static void onFirstChunk(CompletableFuture<DataReader> winner, AtomicInteger failures,
+      DataReader reader, @Nullable Throwable error) {
+    if (error == null) {
+      winner.complete(reader);
+    } else if (failures.incrementAndGet() == 2) {
+      winner.completeExceptionally(error);
+    }
+  }
+
+  private DataBuffer waitForChunk(DataReader reader, CompletableFuture<DataBuffer> chunk)
+      throws IOException {
+    try {
+      return chunk.get();
+    } catch (ExecutionException e) {
+      throw toIOException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      abandon(reader, chunk);
+      throw new InterruptedIOException("Interrupted while waiting for the first chunk");
+    }
+  }
+
+  /**
+   * Stops using a reader whose first chunk may still be in flight. The reader is closed and its
+   * chunk released once the chunk arrives, so that the reader is never used by two threads.
+   *
+   * @param reader the reader
+   * @param chunk the future of its first chunk
+   */
+  private void abandon(DataReader reader, CompletableFuture<DataBuffer> chunk) {
+    if (reader == mReader) {
+      mReader = null;
+    }
+    chunk.whenComplete((buffer, error) -> {
+      if (buffer != null) {
+        buffer.release();
+      }
+      closeQuietly(reader);
+    });
+  }
+
+  private static void closeQuietly(DataReader reader) {
+    try {
+      reader.close();
+    } catch (IOException | RuntimeException e) {
+      LOG.debug("Failed to close the data reader of a hedged read: {}", e.toString());
+    }
+  }
+
+  private static IOException toIOException(Throwable error) {
+    if (error instanceof CompletionException && error.getCause() != null) {
+      error = error.getCause();
+    }
+    if (error instanceof ReadFailedException) {
+      return ((ReadFailedException) error).getCause();
+    }
+    if (error instanceof RuntimeException) {
+      throw (RuntimeException) error;
+    }
+    return new IOException(error);
+  }
+
+  /**
+   * Carries the {@link IOException} of a read out of a {@link CompletableFuture}.
+   */
+  private static final class ReadFailedException extends RuntimeException {
+    private static final long serialVersionUID = 0L;
+
+    ReadFailedException(IOException cause) {
+      super(cause);
+    }
+
+    @Override
+    public synchronized IOException getCause() {
+      return (IOException) super.getCause();
+    }
+  }
+
+  /**
+   * Factory class to create {@link HedgedDataReader}s.
+   */
+  public static class Factory implements DataReader.Factory {
+    private final DataReader.Factory mPrimaryFactory;
+    private final DataReader.Factory mHedgeFactory;
+    private final long mMinDelayMs;
+    private final double mQuantile;
+
+    /**
+     * Creates an instance of {@link HedgedDataReader.Factory}.
+     *
+     * @param primaryFactory the factory of readers from the primary worker
+     * @param hedgeFactory the factory of readers from the other worker
+     * @param conf the Alluxio configuration
+     */
+    public Factory(DataReader.Factory primaryFactory, DataReader.Factory hedgeFactory,
+        AlluxioConfiguration conf) {
+      mPrimaryFactory = primaryFactory;
+      mHedgeFactory = hedgeFactory;
+      mMinDelayMs = conf.getMs(PropertyKey.USER_BLOCK_READ_HEDGE_MIN_DELAY);
+      int percentile = conf.getInt(PropertyKey.USER_BLOCK_READ_HEDGE_PERCENTILE);
+      Preconditions.checkArgument(percentile > 0 && percentile <= 100,
+          "%s must be between 1 and 100: %s", PropertyKey.USER_BLOCK_READ_HEDGE_PERCENTILE,
+          percentile);
+      mQuantile = percentile / 100.0;
+    }
+
+    @Override
+    public DataReader create(long offset, long len) throws IOException {
+      return new HedgedDataReader(mPrimaryFactory.create(offset, len), mHedgeFactory, offset,
+          len, getDelayMs());
+    }
+
+    /**
+     * @return the larger of the minimum delay and the configured percentile of the recent times
+     *         to the first chunk
+     */
+    private long getDelayMs() {
+      Snapshot snapshot =
+          MetricsSystem.timer(MetricKey.CLIENT_BLOCK_READ_FIRST_CHUNK_REMOTE.getName())
+              .getSnapshot();
+      long percentileMs =
+          TimeUnit.NANOSECONDS.toMillis((long) snapshot.getValue(mQuantile));
+      return Math.max(mMinDelayMs, percentileMs);
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        mPrimaryFactory.close();
+      } finally {
+        mHedgeFactory.close();
+      }
+    }
+  }
+}
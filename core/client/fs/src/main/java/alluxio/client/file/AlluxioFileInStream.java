@@ -26,6 +26,7 @@ import alluxio.resource.CloseableResource;
 import alluxio.retry.RetryPolicy;
 import alluxio.retry.RetryUtils;
 import alluxio.util.CommonUtils;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.wire.BlockInfo;
 import alluxio.wire.BlockLocation;
 import alluxio.wire.WorkerNetAddress;
@@ -33,15 +34,30 @@ import alluxio.wire.WorkerNetAddress;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Supplier;
+import com.google.common.base.Throwables;
 import com.google.common.io.Closer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -66,6 +82,8 @@ import javax.annotation.concurrent.NotThreadSafe;
 @NotThreadSafe
 public class AlluxioFileInStream extends FileInStream {
   private static final Logger LOG = LoggerFactory.getLogger(AlluxioFileInStream.class);
+  /** Executor shared by all streams to read the blocks of vectored reads, created on first use. */
+  private static volatile ExecutorService sVectoredReadExecutor;
 
   private Supplier<RetryPolicy> mRetryPolicySupplier;
   private final URIStatus mStatus;
@@ -73,6 +91,11 @@ public class AlluxioFileInStream extends FileInStream {
   private final AlluxioBlockStore mBlockStore;
   private final FileSystemContext mContext;
   private final boolean mPassiveCachingEnabled;
+  /** Maximum gap in bytes between two ranges of a vectored read coalesced into one read. */
+  private final long mVectoredReadMergeGap;
+  private final int mVectoredReadThreads;
+  /** Number of blocks to read in advance on sequential reads, 0 if prefetching is disabled. */
+  private final int mPrefetchBlocks;
 
   /* Convenience values derived from mStatus, use these instead of querying mStatus. */
   /** Length of the file in bytes. */
@@ -86,14 +109,21 @@ public class AlluxioFileInStream extends FileInStream {
   /** Underlying block stream, null if a position change has invalidated the previous stream. */
   private BlockInStream mBlockInStream;
 
+  /** Streams of the blocks following the current one read in advance, by block index. */
+  private final Map<Integer, BlockInStream> mPrefetchedStreams = new HashMap<>();
+
   /** Cached block stream for the positioned read API. */
   private BlockInStream mCachedPositionedReadStream;
 
   /** The last block id for which async cache was triggered. */
   private long mLastBlockIdCached;
 
-  /** A map of worker addresses to the most recent epoch time when client fails to read from it. */
-  private Map<WorkerNetAddress, Long> mFailedWorkers = new HashMap<>();
+  /**
+   * A map of worker addresses to the most recent epoch time when client fails to read from it.
+   * It is synchronized as the blocks of a vectored read are read in parallel.
+   */
+  private Map<WorkerNetAddress, Long> mFailedWorkers =
+      Collections.synchronizedMap(new HashMap<>());
 
   private Closer mCloser;
 
@@ -108,6 +138,9 @@ public class AlluxioFileInStream extends FileInStream {
     try {
       AlluxioConfiguration conf = mContext.getPathConf(new AlluxioURI(status.getPath()));
       mPassiveCachingEnabled = conf.getBoolean(PropertyKey.USER_FILE_PASSIVE_CACHE_ENABLED);
+      mVectoredReadMergeGap = conf.getBytes(PropertyKey.USER_FILE_VECTORED_READ_MERGE_GAP);
+      mVectoredReadThreads = conf.getInt(PropertyKey.USER_FILE_VECTORED_READ_THREADS);
+      mPrefetchBlocks = conf.getInt(PropertyKey.USER_FILE_PREFETCH_BLOCKS);
       final Duration blockReadRetryMaxDuration =
           conf.getDuration(PropertyKey.USER_BLOCK_READ_RETRY_MAX_DURATION);
       final Duration blockReadRetrySleepBase =
@@ -221,6 +254,8 @@ public class AlluxioFileInStream extends FileInStream {
   public void close() throws IOException {
     closeBlockInStream(mBlockInStream);
     closeBlockInStream(mCachedPositionedReadStream);
+    mPrefetchedStreams.values().forEach(this::closePrefetchedStream);
+    mPrefetchedStreams.clear();
     mCloser.close();
   }
 
@@ -294,6 +329,180 @@ public class AlluxioFileInStream extends FileInStream {
     return lenCopy - len;
   }
 
+  /* Vectored read methods */
+  /**
+   * {@inheritDoc}
+   *
+   * Ranges closer than {@link PropertyKey#USER_FILE_VECTORED_READ_MERGE_GAP} are coalesced, and
+   * the coalesced ranges are split by block. Each block is then read with a single stream, the
+   * blocks in parallel, so reading many small ranges costs about one round trip per block instead
+   * of one per range.
+   */
+  @Override
+  public void readVectored(List<FileRange> ranges) throws IOException {
+    List<FileRange> sortedRanges = new ArrayList<>(ranges.size());
+    for (FileRange range : ranges) {
+      if (range.getEnd() > mLength) {
+        throw new EOFException("Range " + range + " extends beyond the end of file "
+            + mStatus.getPath() + " of length " + mLength);
+      }
+      if (range.getLength() == 0) {
+        range.setData(ByteBuffer.allocate(0));
+      } else {
+        sortedRanges.add(range);
+      }
+    }
+    if (sortedRanges.isEmpty()) {
+      return;
+    }
+    sortedRanges.sort(Comparator.comparingLong(FileRange::getOffset));
+
+    // Coalesce the ranges, without making a read larger than a block unless a range is.
+    long maxMergedLength = Math.min(mBlockSize, Integer.MAX_VALUE);
+    List<MergedRange> mergedRanges = new ArrayList<>();
+    MergedRange current = null;
+    for (FileRange range : sortedRanges) {
+      if (current == null || range.getOffset() - current.mEnd > mVectoredReadMergeGap
+          || Math.max(current.mEnd, range.getEnd()) - current.mOffset > maxMergedLength) {
+        current = new MergedRange(range.getOffset());
+        mergedRanges.add(current);
+      }
+      current.mEnd = Math.max(current.mEnd, range.getEnd());
+      current.mRanges.add(range);
+    }
+
+    // Split the coalesced ranges by block.
+    long sequentialThreshold = mContext.getPathConf(new AlluxioURI(mStatus.getPath()))
+        .getBytes(PropertyKey.USER_FILE_SEQUENTIAL_PREAD_THRESHOLD);
+    Map<Integer, List<BlockSegment>> segmentsByBlock = new TreeMap<>();
+    for (MergedRange merged : mergedRanges) {
+      merged.mData = new byte[Math.toIntExact(merged.mEnd - merged.mOffset)];
+      if (merged.mData.length < sequentialThreshold) {
+        mOptions.setPositionShort(true);
+      }
+      long pos = merged.mOffset;
+      while (pos < merged.mEnd) {
+        int blockIndex = Math.toIntExact(pos / mBlockSize);
+        long segmentEnd = Math.min((blockIndex + 1) * mBlockSize, merged.mEnd);
+        segmentsByBlock.computeIfAbsent(blockIndex, k -> new ArrayList<>())
+            .add(new BlockSegment(pos % mBlockSize, merged.mData,
+                Math.toIntExact(pos - merged.mOffset), Math.toIntExact(segmentEnd - pos)));
+        pos = segmentEnd;
+      }
+    }
+
+    // Read the first block in this thread, and the others in parallel.
+    List<Future<BlockInStream>> futures = new ArrayList<>();
+    List<BlockInStream> streams = new ArrayList<>();
+    Throwable error = null;
+    Map.Entry<Integer, List<BlockSegment>> first = null;
+    for (Map.Entry<Integer, List<BlockSegment>> entry : segmentsByBlock.entrySet()) {
+      if (first == null) {
+        first = entry;
+        continue;
+      }
+      long blockId = mStatus.getBlockIds().get(entry.getKey());
+      futures.add(getVectoredReadExecutor(mVectoredReadThreads)
+          .submit(() -> readBlockSegments(blockId, entry.getValue())));
+    }
+    try {
+      streams.add(readBlockSegments(mStatus.getBlockIds().get(first.getKey()), first.getValue()));
+    } catch (IOException | RuntimeException e) {
+      error = e;
+    }
+    for (Future<BlockInStream> future : futures) {
+      try {
+        streams.add(future.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        futures.forEach(f -> f.cancel(true));
+        throw new InterruptedIOException("Interrupted during vectored read of "
+            + mStatus.getPath());
+      } catch (ExecutionException e) {
+        if (error == null) {
+          error = e.getCause();
+        }
+      }
+    }
+    if (error != null) {
+      Throwables.propagateIfPossible(error, IOException.class);
+      throw new IOException(error);
+    }
+    for (BlockInStream stream : streams) {
+      BlockInStream.BlockInStreamSource source = stream.getSource();
+      if (source != BlockInStream.BlockInStreamSource.NODE_LOCAL
+          && source != BlockInStream.BlockInStreamSource.PROCESS_LOCAL) {
+        triggerAsyncCaching(stream);
+      }
+    }
+    for (MergedRange merged : mergedRanges) {
+      for (FileRange range : merged.mRanges) {
+        range.setData(ByteBuffer.wrap(merged.mData,
+            Math.toIntExact(range.getOffset() - merged.mOffset), range.getLength()).slice());
+      }
+    }
+  }
+
+  /**
+   * Reads segments of a block with a single stream, retrying on another worker on failure. This
+   * may be called concurrently for different blocks.
+   *
+   * @param blockId the id of the block
+   * @param segments the segments of the block to read, in order
+   * @return the stream which read the block, closed
+   */
+  private BlockInStream readBlockSegments(long blockId, List<BlockSegment> segments)
+      throws IOException {
+    RetryPolicy retry = mRetryPolicySupplier.get();
+    IOException lastException = null;
+    int segmentIndex = 0;
+    int segmentBytesRead = 0;
+    while (retry.attempt()) {
+      BlockInStream stream = null;
+      try {
+        stream = openBlockInStream(blockId);
+        for (; segmentIndex < segments.size(); segmentIndex++) {
+          BlockSegment segment = segments.get(segmentIndex);
+          while (segmentBytesRead < segment.mLength) {
+            int bytesRead = stream.positionedRead(segment.mOffset + segmentBytesRead,
+                segment.mBuffer, segment.mBufferOffset + segmentBytesRead,
+                segment.mLength - segmentBytesRead);
+            Preconditions.checkState(bytesRead > 0, "No data is read before EOF");
+            segmentBytesRead += bytesRead;
+          }
+          segmentBytesRead = 0;
+        }
+        stream.close();
+        return stream;
+      } catch (IOException e) {
+        lastException = e;
+        if (stream != null) {
+          handleRetryableException(stream, e);
+        }
+      }
+    }
+    throw lastException;
+  }
+
+  /**
+   * @param threads the number of threads of the executor
+   * @return the executor shared by all streams to read the blocks of vectored reads
+   */
+  private static ExecutorService getVectoredReadExecutor(int threads) {
+    if (sVectoredReadExecutor == null) {
+      synchronized (AlluxioFileInStream.class) {
+        if (sVectoredReadExecutor == null) {
+          ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60,
+              TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+              ThreadFactoryUtils.build("vectored-read-%d", true));
+          executor.allowCoreThreadTimeOut(true);
+          sVectoredReadExecutor = executor;
+        }
+      }
+    }
+    return sVectoredReadExecutor;
+  }
+
   /* Seekable methods */
   @Override
   public long getPos() {
@@ -338,7 +547,82 @@ public class AlluxioFileInStream extends FileInStream {
 
     /* Create a new stream to read from mPosition. */
     // Calculate block id.
-    long blockId = mStatus.getBlockIds().get(Math.toIntExact(mPosition / mBlockSize));
+    int blockIndex = Math.toIntExact(mPosition / mBlockSize);
+    long blockId = mStatus.getBlockIds().get(blockIndex);
+    mBlockInStream = mPrefetchedStreams.remove(blockIndex);
+    if (mBlockInStream == null) {
+      mBlockInStream = openBlockInStream(blockId);
+    }
+    // Set the stream to the correct position.
+    long offset = mPosition % mBlockSize;
+    mBlockInStream.seek(offset);
+    // Reading a block from its start is taken as a sequential read.
+    if (mPrefetchBlocks > 0 && offset == 0) {
+      prefetchBlocks(blockIndex);
+    }
+  }
+
+  /**
+   * Starts reading the blocks following the given one in advance, and closes the streams read in
+   * advance for other blocks. This is best effort, a block which fails to be prefetched is read
+   * normally when reached.
+   *
+   * @param blockIndex the index of the block being read
+   */
+  private void prefetchBlocks(int blockIndex) {
+    int lastIndex = Math.min(blockIndex + mPrefetchBlocks, mStatus.getBlockIds().size() - 1);
+    Iterator<Map.Entry<Integer, BlockInStream>> iterator =
+        mPrefetchedStreams.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Integer, BlockInStream> entry = iterator.next();
+      if (entry.getKey() <= blockIndex || entry.getKey() > lastIndex) {
+        closePrefetchedStream(entry.getValue());
+        iterator.remove();
+      }
+    }
+    for (int i = blockIndex + 1; i <= lastIndex; i++) {
+      if (mPrefetchedStreams.containsKey(i)) {
+        continue;
+      }
+      long blockId = mStatus.getBlockIds().get(i);
+      BlockInStream stream = null;
+      try {
+        stream = openBlockInStream(blockId);
+        stream.prefetch();
+        mPrefetchedStreams.put(i, stream);
+      } catch (IOException | RuntimeException e) {
+        LOG.debug("Failed to prefetch block {} of file {}: {}", blockId, mStatus.getPath(),
+            e.toString());
+        if (stream != null) {
+          closePrefetchedStream(stream);
+        }
+        return;
+      }
+    }
+  }
+
+  /**
+   * Closes a stream read in advance, which does not trigger caching as it may not be read.
+   *
+   * @param stream the stream to close
+   */
+  private void closePrefetchedStream(BlockInStream stream) {
+    try {
+      stream.close();
+    } catch (Exception e) {
+      LOG.warn("Failed to close prefetched input stream for block {} of file {}: {}",
+          stream.getId(), mStatus.getPath(), e.toString());
+    }
+  }
+
+  /**
+   * Opens a stream to read a block, using the locations of the block in the file status unless
+   * all of them are failed workers.
+   *
+   * @param blockId the id of the block
+   * @return the stream of the block
+   */
+  private BlockInStream openBlockInStream(long blockId) throws IOException {
     BlockInfo blockInfo = mStatus.getBlockInfo(blockId);
     if (blockInfo == null) {
       throw new IOException("No BlockInfo for block(id=" + blockId + ") of file"
@@ -359,13 +643,9 @@ public class AlluxioFileInStream extends FileInStream {
       }
     }
     if (isBlockInfoOutdated) {
-      mBlockInStream = mBlockStore.getInStream(blockId, mOptions, mFailedWorkers);
-    } else {
-      mBlockInStream = mBlockStore.getInStream(blockInfo, mOptions, mFailedWorkers);
+      return mBlockStore.getInStream(blockId, mOptions, mFailedWorkers);
     }
-    // Set the stream to the correct position.
-    long offset = mPosition % mBlockSize;
-    mBlockInStream.seek(offset);
+    return mBlockStore.getInStream(blockInfo, mOptions, mFailedWorkers);
   }
 
   private void closeBlockInStream(BlockInStream stream) throws IOException {
@@ -457,4 +737,33 @@ public class AlluxioFileInStream extends FileInStream {
     // TODO(lu) consider recovering failed workers
     mFailedWorkers.put(workerAddress, System.currentTimeMillis());
   }
+
+  /** Ranges of a vectored read coalesced into a single read. */
+  private static final class MergedRange {
+    private final long mOffset;
+    private long mEnd;
+    private final List<FileRange> mRanges = new ArrayList<>();
+    private byte[] mData;
+
+    private MergedRange(long offset) {
+      mOffset = offset;
+      mEnd = offset;
+    }
+  }
+
+  /** The part of a {@link MergedRange} within a block. */
+  private static final class BlockSegment {
+    /** Offset in the block. */
+    private final long mOffset;
+    private final byte[] mBuffer;
+    private final int mBufferOffset;
+    private final int mLength;
+
+    private BlockSegment(long offset, byte[] buffer, int bufferOffset, int length) {
+      mOffset = offset;
+      mBuffer = buffer;
+      mBufferOffset = bufferOffset;
+      mLength = length;
+    }
+  }
 }
@@ -0,0 +1,175 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.AlluxioURI;
+import alluxio.annotation.PublicApi;
+import alluxio.grpc.CreateDirectoryPOptions;
+import alluxio.grpc.DeletePOptions;
+import alluxio.grpc.ExistsPOptions;
+import alluxio.grpc.GetStatusPOptions;
+import alluxio.grpc.ListStatusPOptions;
+import alluxio.grpc.RenamePOptions;
+import alluxio.grpc.SetAttributePOptions;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of the metadata operations of {@link FileSystem}, obtained from
+ * {@link FileSystem#async()}. Each operation returns once its RPC is sent, so a few threads can
+ * keep many operations in flight. Each operation in flight holds a master client of the pool of
+ * the file system context, so an operation blocks until a client is free once
+ * {@link alluxio.conf.PropertyKey#USER_FILE_MASTER_CLIENT_POOL_SIZE_MAX} operations are in
+ * flight. The futures fail with the exceptions the blocking operations
+ * throw, e.g. {@link alluxio.exception.FileDoesNotExistException}. The futures may be completed
+ * by the RPC threads, so dependent stages doing blocking work should run on their own executor.
+ */
+@PublicApi
+public interface AsyncFileSystem {
+  /**
+   * Convenience method for {@link #createDirectory(AlluxioURI, CreateDirectoryPOptions)} with
+   * default options.
+   *
+   * @param path the path of the directory to create in Alluxio space
+   * @return a future completed once the directory is created
+   */
+  default CompletableFuture<Void> createDirectory(AlluxioURI path) {
+    return createDirectory(path, CreateDirectoryPOptions.getDefaultInstance());
+  }
+
+  /**
+   * Creates a directory.
+   *
+   * @param path the path of the directory to create in Alluxio space
+   * @param options options to associate with this operation
+   * @return a future completed once the directory is created
+   * @see FileSystem#createDirectory(AlluxioURI, CreateDirectoryPOptions)
+   */
+  CompletableFuture<Void> createDirectory(AlluxioURI path, CreateDirectoryPOptions options);
+
+  /**
+   * Convenience method for {@link #delete(AlluxioURI, DeletePOptions)} with default options.
+   *
+   * @param path the path to delete in Alluxio space
+   * @return a future completed once the path is deleted
+   */
+  default CompletableFuture<Void> delete(AlluxioURI path) {
+    return delete(path, DeletePOptions.getDefaultInstance());
+  }
+
+  /**
+   * Deletes a file or a directory.
+   *
+   * @param path the path to delete in Alluxio space
+   * @param options options to associate with this operation
+   * @return a future completed once the path is deleted
+   * @see FileSystem#delete(AlluxioURI, DeletePOptions)
+   */
+  CompletableFuture<Void> delete(AlluxioURI path, DeletePOptions options);
+
+  /**
+   * Convenience method for {@link #exists(AlluxioURI, ExistsPOptions)} with default options.
+   *
+   * @param path the path in question
+   * @return a future of whether the path exists
+   */
+  default CompletableFuture<Boolean> exists(AlluxioURI path) {
+    return exists(path, ExistsPOptions.getDefaultInstance());
+  }
+
+  /**
+   * Checks whether a path exists in Alluxio space.
+   *
+   * @param path the path in question
+   * @param options options to associate with this operation
+   * @return a future of whether the path exists
+   * @see FileSystem#exists(AlluxioURI, ExistsPOptions)
+   */
+  CompletableFuture<Boolean> exists(AlluxioURI path, ExistsPOptions options);
+
+  /**
+   * Convenience method for {@link #getStatus(AlluxioURI, GetStatusPOptions)} with default
+   * options.
+   *
+   * @param path the path to obtain information about
+   * @return a future of the {@link URIStatus} of the path
+   */
+  default CompletableFuture<URIStatus> getStatus(AlluxioURI path) {
+    return getStatus(path, GetStatusPOptions.getDefaultInstance());
+  }
+
+  /**
+   * Gets the {@link URIStatus} object that represents the metadata of an Alluxio path.
+   *
+   * @param path the path to obtain information about
+   * @param options options to associate with this operation
+   * @return a future of the {@link URIStatus} of the path
+   * @see FileSystem#getStatus(AlluxioURI, GetStatusPOptions)
+   */
+  CompletableFuture<URIStatus> getStatus(AlluxioURI path, GetStatusPOptions options);
+
+  /**
+   * Convenience method for {@link #listStatus(AlluxioURI, ListStatusPOptions)} with default
+   * options.
+   *
+   * @param path the path to list information about
+   * @return a future of the {@link URIStatus}s of the entries of the path
+   */
+  default CompletableFuture<List<URIStatus>> listStatus(AlluxioURI path) {
+    return listStatus(path, ListStatusPOptions.getDefaultInstance());
+  }
+
+  /**
+   * If the path is a directory, lists the {@link URIStatus} of all the direct entries in it.
+   * Otherwise lists the {@link URIStatus} of the file.
+   *
+   * @param path the path to list information about
+   * @param options options to associate with this operation
+   * @return a future of the {@link URIStatus}s of the entries of the path
+   * @see FileSystem#listStatus(AlluxioURI, ListStatusPOptions)
+   */
+  CompletableFuture<List<URIStatus>> listStatus(AlluxioURI path, ListStatusPOptions options);
+
+  /**
+   * Convenience method for {@link #rename(AlluxioURI, AlluxioURI, RenamePOptions)} with default
+   * options.
+   *
+   * @param src the path of the source, this must already exist
+   * @param dst the path of the destination, this path should not exist
+   * @return a future completed once the path is renamed
+   */
+  default CompletableFuture<Void> rename(AlluxioURI src, AlluxioURI dst) {
+    return rename(src, dst, RenamePOptions.getDefaultInstance());
+  }
+
+  /**
+   * Renames an existing Alluxio path to another Alluxio path.
+   *
+   * @param src the path of the source, this must already exist
+   * @param dst the path of the destination, this path should not exist
+   * @param options options to associate with this operation
+   * @return a future completed once the path is renamed
+   * @see FileSystem#rename(AlluxioURI, AlluxioURI, RenamePOptions)
+   */
+  CompletableFuture<Void> rename(AlluxioURI src, AlluxioURI dst, RenamePOptions options);
+
+  /**
+   * Sets any number of a path's attributes.
+   *
+   * @param path the path to set attributes for
+   * @param options options to associate with this operation
+   * @return a future completed once the attributes are set
+   * @see FileSystem#setAttribute(AlluxioURI, SetAttributePOptions)
+   */
+  CompletableFuture<Void> setAttribute(AlluxioURI path, SetAttributePOptions options);
+}
@@ -0,0 +1,224 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.AlluxioURI;
+import alluxio.client.file.FileSystemContextReinitializer.ReinitBlockerResource;
+import alluxio.exception.DirectoryNotEmptyException;
+import alluxio.exception.FileAlreadyExistsException;
+import alluxio.exception.FileDoesNotExistException;
+import alluxio.exception.InvalidPathException;
+import alluxio.exception.status.AlluxioStatusException;
+import alluxio.exception.status.AlreadyExistsException;
+import alluxio.exception.status.FailedPreconditionException;
+import alluxio.exception.status.InvalidArgumentException;
+import alluxio.exception.status.NotFoundException;
+import alluxio.exception.status.UnauthenticatedException;
+import alluxio.exception.status.UnavailableException;
+import alluxio.grpc.CreateDirectoryPOptions;
+import alluxio.grpc.DeletePOptions;
+import alluxio.grpc.ExistsPOptions;
+import alluxio.grpc.GetStatusPOptions;
+import alluxio.grpc.GrpcUtils;
+import alluxio.grpc.ListStatusPOptions;
+import alluxio.grpc.RenamePOptions;
+import alluxio.grpc.SetAttributePOptions;
+import alluxio.resource.CloseableResource;
+import alluxio.util.FileSystemOptions;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Default implementation of {@link AsyncFileSystem}, on top of the asynchronous RPCs of the
+ * {@link FileSystemMasterClient}. Options are merged with the path defaults like
+ * {@link BaseFileSystem} does. A master client is held from the pool of the file system context
+ * while its RPC is in flight, but no thread is. The calling thread does block to acquire the
+ * master client while every client of the pool is in use, and to connect it if needed.
+ */
+@ThreadSafe
+public class BaseAsyncFileSystem implements AsyncFileSystem {
+  private static final Logger LOG = LoggerFactory.getLogger(BaseAsyncFileSystem.class);
+
+  protected final BaseFileSystem mFileSystem;
+  protected final FileSystemContext mFsContext;
+
+  /**
+   * @param fileSystem the blocking file system this is the non-blocking variant of
+   */
+  public BaseAsyncFileSystem(BaseFileSystem fileSystem) {
+    mFileSystem = fileSystem;
+    mFsContext = fileSystem.mFsContext;
+  }
+
+  @Override
+  public CompletableFuture<Void> createDirectory(AlluxioURI path,
+      CreateDirectoryPOptions options) {
+    mFileSystem.checkUri(path);
+    return rpc(client -> {
+      CreateDirectoryPOptions mergedOptions = FileSystemOptions.createDirectoryDefaults(
+          mFsContext.getPathConf(path)).toBuilder().mergeFrom(options).build();
+      return client.createDirectoryAsync(path, mergedOptions);
+    });
+  }
+
+  @Override
+  public CompletableFuture<Void> delete(AlluxioURI path, DeletePOptions options) {
+    mFileSystem.checkUri(path);
+    return rpc(client -> {
+      DeletePOptions mergedOptions = FileSystemOptions.deleteDefaults(
+          mFsContext.getPathConf(path)).toBuilder().mergeFrom(options).build();
+      return client.deleteAsync(path, mergedOptions);
+    });
+  }
+
+  @Override
+  public CompletableFuture<Boolean> exists(AlluxioURI path, ExistsPOptions options) {
+    mFileSystem.checkUri(path);
+    CompletableFuture<Boolean> exists = new CompletableFuture<>();
+    rpc(client -> {
+      ExistsPOptions mergedOptions = FileSystemOptions.existsDefaults(
+          mFsContext.getPathConf(path)).toBuilder().mergeFrom(options).build();
+      return client.getStatusAsync(path, GrpcUtils.toGetStatusOptions(mergedOptions));
+    }).whenComplete((status, error) -> {
+      if (error == null) {
+        exists.complete(true);
+      } else if (error instanceof FileDoesNotExistException
+          || error instanceof InvalidPathException) {
+        exists.complete(false);
+      } else {
+        exists.completeExceptionally(error);
+      }
+    });
+    return exists;
+  }
+
+  @Override
+  public CompletableFuture<URIStatus> getStatus(AlluxioURI path, GetStatusPOptions options) {
+    mFileSystem.checkUri(path);
+    return rpc(client -> {
+      GetStatusPOptions mergedOptions = FileSystemOptions.getStatusDefaults(
+          mFsContext.getPathConf(path)).toBuilder().mergeFrom(options).build();
+      return client.getStatusAsync(path, mergedOptions).thenApply(status -> {
+        if (!status.isCompleted()) {
+          LOG.warn("File {} is not yet completed. getStatus will see incomplete metadata.", path);
+        }
+        return status;
+      });
+    });
+  }
+
+  @Override
+  public CompletableFuture<List<URIStatus>> listStatus(AlluxioURI path,
+      ListStatusPOptions options) {
+    mFileSystem.checkUri(path);
+    return rpc(client -> {
+      ListStatusPOptions mergedOptions = FileSystemOptions.listStatusDefaults(
+          mFsContext.getPathConf(path)).toBuilder().mergeFrom(options).build();
+      return client.listStatusAsync(path, mergedOptions);
+    });
+  }
+
+  @Override
+  public CompletableFuture<Void> rename(AlluxioURI src, AlluxioURI dst, RenamePOptions options) {
+    mFileSystem.checkUri(src);
+    mFileSystem.checkUri(dst);
+    return rpc(client -> {
+      RenamePOptions mergedOptions = FileSystemOptions.renameDefaults(mFsContext.getPathConf(dst))
+          .toBuilder().mergeFrom(options).build();
+      return client.renameAsync(src, dst, mergedOptions);
+    });
+  }
+
+  @Override
+  public CompletableFuture<Void> setAttribute(AlluxioURI path, SetAttributePOptions options) {
+    mFileSystem.checkUri(path);
+    return rpc(client -> {
+      SetAttributePOptions mergedOptions =
+          FileSystemOptions.setAttributeClientDefaults(mFsContext.getPathConf(path))
+              .toBuilder().mergeFrom(options).build();
+      return client.setAttributeAsync(path, mergedOptions);
+    });
+  }
+
+  /**
+   * Sends an RPC to the filesystem master. The master client, and a resource blocking the
+   * reinitialization of the FileSystemContext, are held until the RPC completes. Acquiring the
+   * master client blocks the calling thread while the pool of the context is exhausted.
+   *
+   * @param fn sends the RPC with the given client
+   * @param <R> the type of the result of the RPC
+   * @return the future of the result, which fails with the exception {@link BaseFileSystem}
+   *         would throw for the same failure
+   */
+  protected <R> CompletableFuture<R> rpc(
+      Function<FileSystemMasterClient, CompletableFuture<R>> fn) {
+    ReinitBlockerResource reinitBlocker = mFsContext.blockReinit();
+    CloseableResource<FileSystemMasterClient> client;
+    try {
+      client = mFsContext.acquireMasterClientResource();
+    } catch (RuntimeException e) {
+      reinitBlocker.close();
+      throw e;
+    }
+    CompletableFuture<R> rpcFuture;
+    try {
+      rpcFuture = fn.apply(client.get());
+    } catch (RuntimeException e) {
+      rpcFuture = new CompletableFuture<>();
+      rpcFuture.completeExceptionally(e);
+    }
+    CompletableFuture<R> result = new CompletableFuture<>();
+    rpcFuture.whenComplete((value, error) -> {
+      client.close();
+      reinitBlocker.close();
+      if (error == null) {
+        result.complete(value);
+      } else {
+        result.completeExceptionally(toFileSystemException(error));
+      }
+    });
+    return result;
+  }
+
+  /**
+   * @param error the error of an RPC
+   * @return the exception the blocking file system throws for the error
+   */
+  private static Throwable toFileSystemException(Throwable error) {
+    if (error instanceof CompletionException && error.getCause() != null) {
+      error = error.getCause();
+    }
+    if (!(error instanceof AlluxioStatusException)) {
+      return error;
+    }
+    if (error instanceof NotFoundException) {
+      return new FileDoesNotExistException(error.getMessage());
+    } else if (error instanceof AlreadyExistsException) {
+      return new FileAlreadyExistsException(error.getMessage());
+    } else if (error instanceof InvalidArgumentException) {
+      return new InvalidPathException(error.getMessage());
+    } else if (error instanceof FailedPreconditionException) {
+      return new DirectoryNotEmptyException(error.getMessage());
+    } else if (error instanceof UnavailableException
+        || error instanceof UnauthenticatedException) {
+      return error;
+    }
+    return ((AlluxioStatusException) error).toAlluxioException();
+  }
+}
@@ -47,6 +47,7 @@ import alluxio.grpc.FreePOptions;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.GrpcUtils;
 import alluxio.grpc.ListStatusPOptions;
+import alluxio.grpc.ListStatusPartialPOptions;
 import alluxio.grpc.LoadMetadataPType;
 import alluxio.grpc.MountPOptions;
 import alluxio.grpc.OpenFilePOptions;
@@ -69,6 +70,7 @@ import alluxio.wire.SyncPointInfo;
 import alluxio.wire.WorkerNetAddress;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import com.google.common.io.Closer;
 import com.google.common.net.HostAndPort;
 import org.slf4j.Logger;
@@ -76,7 +78,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -130,6 +134,11 @@ public class BaseFileSystem implements FileSystem {
     return mClosed;
   }
 
+  @Override
+  public AsyncFileSystem async() {
+    return new BaseAsyncFileSystem(this);
+  }
+
   @Override
   public void checkAccess(AlluxioURI path, CheckAccessPOptions options)
       throws InvalidPathException, IOException, AlluxioException {
@@ -282,6 +291,37 @@ public class BaseFileSystem implements FileSystem {
     return status;
   }
 
+  @Override
+  public List<URIStatus> getStatus(List<AlluxioURI> paths, final GetStatusPOptions options)
+      throws IOException, AlluxioException {
+    // The default options may differ by path, so the paths are batched by their merged options.
+    Map<GetStatusPOptions, List<Integer>> batches = new LinkedHashMap<>();
+    for (int i = 0; i < paths.size(); i++) {
+      AlluxioURI path = paths.get(i);
+      checkUri(path);
+      GetStatusPOptions mergedOptions = FileSystemOptions.getStatusDefaults(
+          mFsContext.getPathConf(path)).toBuilder().mergeFrom(options).build();
+      batches.computeIfAbsent(mergedOptions, k -> new ArrayList<>()).add(i);
+    }
+    // Large batches are split, so that each call is bounded on the master.
+    int batchSize =
+        mFsContext.getClusterConf().getInt(PropertyKey.USER_FILE_GET_STATUS_BATCH_SIZE);
+    Preconditions.checkArgument(batchSize > 0, "%s should be positive: %s",
+        PropertyKey.Name.USER_FILE_GET_STATUS_BATCH_SIZE, batchSize);
+    URIStatus[] statuses = new URIStatus[paths.size()];
+    for (Map.Entry<GetStatusPOptions, List<Integer>> batch : batches.entrySet()) {
+      for (List<Integer> indexes : Lists.partition(batch.getValue(), batchSize)) {
+        List<AlluxioURI> batchPaths = indexes.stream().map(paths::get).collect(toList());
+        List<URIStatus> batchStatuses =
+            rpc(client -> client.getStatus(batchPaths, batch.getKey()));
+        for (int i = 0; i < indexes.size(); i++) {
+          statuses[indexes.get(i)] = batchStatuses.get(i);
+        }
+      }
+    }
+    return Arrays.asList(statuses);
+  }
+
   @Override
   public List<URIStatus> listStatus(AlluxioURI path, final ListStatusPOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException {
@@ -294,6 +334,19 @@ public class BaseFileSystem implements FileSystem {
     });
   }
 
+  @Override
+  public List<URIStatus> listStatusPartial(AlluxioURI path,
+      final ListStatusPartialPOptions options)
+      throws FileDoesNotExistException, IOException, AlluxioException {
+    checkUri(path);
+    return rpc(client -> {
+      ListStatusPOptions mergedOptions = FileSystemOptions.listStatusDefaults(
+          mFsContext.getPathConf(path)).toBuilder().mergeFrom(options.getOptions()).build();
+      return client.listStatusPartial(path,
+          options.toBuilder().setOptions(mergedOptions).build());
+    });
+  }
+
   @Override
   public void iterateStatus(AlluxioURI path, final ListStatusPOptions options,
       Consumer<? super URIStatus> action)
@@ -28,6 +28,7 @@ import alluxio.grpc.ExistsPOptions;
 import alluxio.grpc.FreePOptions;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.ListStatusPOptions;
+import alluxio.grpc.ListStatusPartialPOptions;
 import alluxio.grpc.MountPOptions;
 import alluxio.grpc.OpenFilePOptions;
 import alluxio.grpc.RenamePOptions;
@@ -66,6 +67,11 @@ public class DelegatingFileSystem implements FileSystem {
     return mDelegatedFileSystem.isClosed();
   }
 
+  @Override
+  public AsyncFileSystem async() {
+    return mDelegatedFileSystem.async();
+  }
+
   @Override
   public void checkAccess(AlluxioURI path, CheckAccessPOptions options)
       throws InvalidPathException, IOException, AlluxioException {
@@ -119,12 +125,24 @@ public class DelegatingFileSystem implements FileSystem {
     return mDelegatedFileSystem.getStatus(path, options);
   }
 
+  @Override
+  public List<URIStatus> getStatus(List<AlluxioURI> paths, GetStatusPOptions options)
+      throws IOException, AlluxioException {
+    return mDelegatedFileSystem.getStatus(paths, options);
+  }
+
   @Override
   public List<URIStatus> listStatus(AlluxioURI path, ListStatusPOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException {
     return mDelegatedFileSystem.listStatus(path, options);
   }
 
+  @Override
+  public List<URIStatus> listStatusPartial(AlluxioURI path, ListStatusPartialPOptions options)
+      throws FileDoesNotExistException, IOException, AlluxioException {
+    return mDelegatedFileSystem.listStatusPartial(path, options);
+  }
+
   @Override
   public void iterateStatus(AlluxioURI path, ListStatusPOptions options,
       Consumer<? super URIStatus> action)
@@ -19,9 +19,11 @@ import alluxio.util.io.BufferUtils;
 
 import com.google.common.base.Preconditions;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
 
 /**
  * A streaming API to read a file. This API represents a file as a stream of bytes and provides a
@@ -100,4 +102,29 @@ public abstract class FileInStream extends InputStream
     }
     return nread;
   }
+
+  /**
+   * Reads the given ranges of the file and sets the data of each range. This does not change the
+   * current offset of the stream. Implementations may coalesce nearby ranges and read them in
+   * parallel, so this is preferred over a series of {@link #positionedRead} calls when the ranges
+   * are known up front, e.g. for the column chunks of a columnar file. Ranges may overlap.
+   *
+   * @param ranges the ranges to read
+   * @throws EOFException if a range extends beyond the end of the file
+   */
+  public void readVectored(List<FileRange> ranges) throws IOException {
+    for (FileRange range : ranges) {
+      byte[] data = new byte[range.getLength()];
+      int bytesRead = 0;
+      while (bytesRead < data.length) {
+        int read = positionedRead(range.getOffset() + bytesRead, data, bytesRead,
+            data.length - bytesRead);
+        if (read == -1) {
+          throw new EOFException("Range " + range + " extends beyond the end of the file");
+        }
+        bytesRead += read;
+      }
+      range.setData(ByteBuffer.wrap(data));
+    }
+  }
 }
@@ -0,0 +1,92 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.annotation.PublicApi;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A range of a file to read with {@link FileInStream#readVectored(java.util.List)}, which holds
+ * the data of the range once it is read.
+ */
+@PublicApi
+@NotThreadSafe
+public final class FileRange {
+  private final long mOffset;
+  private final int mLength;
+  @Nullable
+  private ByteBuffer mData;
+
+  /**
+   * @param offset the offset of the range in the file
+   * @param length the length of the range in bytes
+   */
+  public FileRange(long offset, int length) {
+    Preconditions.checkArgument(offset >= 0, "offset must be non-negative: %s", offset);
+    Preconditions.checkArgument(length >= 0, "length must be non-negative: %s", length);
+    mOffset = offset;
+    mLength = length;
+  }
+
+  /**
+   * @return the offset of the range in the file
+   */
+  public long getOffset() {
+    return mOffset;
+  }
+
+  /**
+   * @return the length of the range in bytes
+   */
+  public int getLength() {
+    return mLength;
+  }
+
+  /**
+   * @return the offset in the file right after the range
+   */
+  public long getEnd() {
+    return mOffset + mLength;
+  }
+
+  /**
+   * @return the data of the range, with {@link #getLength()} bytes remaining, or null if the
+   *         range has not been read
+   */
+  @Nullable
+  public ByteBuffer getData() {
+    return mData;
+  }
+
+  /**
+   * @param data the data of the range
+   */
+  public void setData(ByteBuffer data) {
+    Preconditions.checkArgument(data.remaining() == mLength,
+        "data has %s bytes remaining instead of %s", data.remaining(), mLength);
+    mData = data;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("offset", mOffset)
+        .add("length", mLength)
+        .toString();
+  }
+}
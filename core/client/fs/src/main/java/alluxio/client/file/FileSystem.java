@@ -36,6 +36,7 @@ import alluxio.grpc.ExistsPOptions;
 import alluxio.grpc.FreePOptions;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.ListStatusPOptions;
+import alluxio.grpc.ListStatusPartialPOptions;
 import alluxio.grpc.LoadMetadataPOptions;
 import alluxio.grpc.LoadMetadataPType;
 import alluxio.grpc.MountPOptions;
@@ -179,6 +180,11 @@ public interface FileSystem extends Closeable {
    */
   boolean isClosed();
 
+  /**
+   * @return the non-blocking variant of the metadata operations of this file system
+   */
+  AsyncFileSystem async();
+
   /**
    * Checks access to a path.
    *
@@ -358,6 +364,18 @@ public interface FileSystem extends Closeable {
   URIStatus getStatus(AlluxioURI path, GetStatusPOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException;
 
+  /**
+   * Gets the {@link URIStatus} objects of multiple Alluxio paths. This is cheaper than calling
+   * {@link #getStatus(AlluxioURI, GetStatusPOptions)} for each path, since the paths are resolved
+   * by the master in a single call. It can also be used to check the existence of many paths.
+   *
+   * @param paths the paths to obtain information about
+   * @param options options to associate with this operation, applied to each path
+   * @return the {@link URIStatus} of each path, in order, or null if the path does not exist
+   */
+  List<URIStatus> getStatus(List<AlluxioURI> paths, GetStatusPOptions options)
+      throws IOException, AlluxioException;
+
   /**
    * Performs a specific action on each {@code URIStatus} in the result of {@link #listStatus}.
    * This method is preferred when iterating over directories with a large number of files or
@@ -415,6 +433,36 @@ public interface FileSystem extends Closeable {
   List<URIStatus> listStatus(AlluxioURI path, ListStatusPOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException;
 
+  /**
+   * Lists a batch of the direct entries of a directory, in name order, starting after the entry
+   * named by {@link ListStatusPartialPOptions#getStartAfter()}. A batch may be smaller than the
+   * requested size, e.g. when the master caps it, and only an empty batch ends the listing. If the
+   * path is a file, the first batch holds the file itself.
+   *
+   * @param path the path to list information about
+   * @param options options to associate with this operation, which cannot be recursive
+   * @return the {@link URIStatus}s of the entries in the batch
+   * @throws FileDoesNotExistException if the given path does not exist
+   */
+  List<URIStatus> listStatusPartial(AlluxioURI path, ListStatusPartialPOptions options)
+      throws FileDoesNotExistException, IOException, AlluxioException;
+
+  /**
+   * Returns an iterator over the direct entries of a directory, which fetches the entries in
+   * batches of {@link PropertyKey#USER_FILE_LIST_STATUS_BATCH_SIZE} as it is consumed. Unlike
+   * {@link #listStatus}, the memory used on both the client and the master is bounded by the
+   * batch size, and an interrupted listing can be resumed from
+   * {@link ListStatusIterator#getContinuationToken()}.
+   *
+   * @param path the path to list information about
+   * @param options options to associate with this operation, which cannot be recursive
+   * @return the iterator over the entries
+   */
+  default ListStatusIterator listStatusIterator(AlluxioURI path, ListStatusPOptions options) {
+    return new ListStatusIterator(this, path, options,
+        getConf().getInt(PropertyKey.USER_FILE_LIST_STATUS_BATCH_SIZE), "");
+  }
+
   /**
    * Convenience method for {@link #loadMetadata(AlluxioURI, ListStatusPOptions)} with default
    * options.
@@ -664,7 +664,8 @@ public class FileSystemContext implements Closeable {
     try (CloseableResource<BlockMasterClient> masterClientResource =
              acquireBlockMasterClientResource()) {
       return masterClientResource.get().getWorkerInfoList().stream()
-          .map(w -> new BlockWorkerInfo(w.getAddress(), w.getCapacityBytes(), w.getUsedBytes()))
+          .map(w -> new BlockWorkerInfo(w.getAddress(), w.getCapacityBytes(), w.getUsedBytes(),
+              w.getActiveReadStreams(), w.getActiveWriteStreams()))
           .collect(toList());
     }
   }
@@ -25,6 +25,7 @@ import alluxio.grpc.DeletePOptions;
 import alluxio.grpc.FreePOptions;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.ListStatusPOptions;
+import alluxio.grpc.ListStatusPartialPOptions;
 import alluxio.grpc.MountPOptions;
 import alluxio.grpc.RenamePOptions;
 import alluxio.grpc.ScheduleAsyncPersistencePOptions;
@@ -32,13 +33,17 @@ import alluxio.grpc.SetAclAction;
 import alluxio.grpc.SetAclPOptions;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.grpc.UpdateUfsModePOptions;
+import alluxio.grpc.WatchMetadataPResponse;
 import alluxio.master.MasterClientContext;
 import alluxio.security.authorization.AclEntry;
 import alluxio.wire.MountPointInfo;
 import alluxio.wire.SyncPointInfo;
 
+import io.grpc.stub.StreamObserver;
+
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -144,6 +149,14 @@ public interface FileSystemMasterClient extends Client {
    */
   URIStatus getStatus(AlluxioURI path, GetStatusPOptions options) throws AlluxioStatusException;
 
+  /**
+   * @param paths the file paths
+   * @param options the getStatus options, applied to each path
+   * @return the file info for each path, in order, or null if the path does not exist
+   */
+  List<URIStatus> getStatus(List<AlluxioURI> paths, GetStatusPOptions options)
+      throws AlluxioStatusException;
+
   /**
    * @param path the file path
    * @return the next blockId for the file
@@ -180,6 +193,19 @@ public interface FileSystemMasterClient extends Client {
   List<URIStatus> listStatus(AlluxioURI path, ListStatusPOptions options)
       throws AlluxioStatusException;
 
+  /**
+   * Lists a batch of the children of a directory, in name order. A batch smaller than the
+   * requested size is the last one.
+   *
+   * @param path the path to list
+   * @param options the partial listing options, including the name of the child after which the
+   *        batch starts
+   * @return the file information of the children in the batch
+   * @throws NotFoundException if the path does not exist
+   */
+  List<URIStatus> listStatusPartial(AlluxioURI path, ListStatusPartialPOptions options)
+      throws AlluxioStatusException;
+
   /**
    * Mounts the given UFS path under the given Alluxio path.
    *
@@ -302,4 +328,78 @@ public interface FileSystemMasterClient extends Client {
    * @return the state lock waiters and holders thread identifiers
    */
   List<String> getStateLockHolders() throws AlluxioStatusException;
+
+  /**
+   * Watches the metadata under the given paths. The master streams the paths whose metadata
+   * changed to the observer until the call is cancelled, or the master stops being the primary.
+   * The first response asks to invalidate everything.
+   *
+   * @param pathPrefixes the paths to watch, including their descendants
+   * @param responseObserver the observer of the invalidations, which can cancel the call if it
+   *        is a {@link io.grpc.stub.ClientResponseObserver}
+   */
+  void watchMetadata(List<AlluxioURI> pathPrefixes,
+      StreamObserver<WatchMetadataPResponse> responseObserver) throws AlluxioStatusException;
+
+  /*
+   * The asynchronous variants below issue the RPC without blocking the caller, other than to
+   * connect to the master if needed. The RPC is retried with the retry policy of the client when
+   * the master is unavailable, and the returned future fails with an AlluxioStatusException.
+   */
+
+  /**
+   * Asynchronously creates a new directory.
+   *
+   * @param path the directory path
+   * @param options method options
+   * @return a future completed once the directory is created
+   */
+  CompletableFuture<Void> createDirectoryAsync(AlluxioURI path, CreateDirectoryPOptions options);
+
+  /**
+   * Asynchronously deletes a file or a directory.
+   *
+   * @param path the path to delete
+   * @param options method options
+   * @return a future completed once the path is deleted
+   */
+  CompletableFuture<Void> deleteAsync(AlluxioURI path, DeletePOptions options);
+
+  /**
+   * Asynchronously gets the status of a path.
+   *
+   * @param path the file path
+   * @param options the getStatus options
+   * @return a future of the file info for the given file id
+   */
+  CompletableFuture<URIStatus> getStatusAsync(AlluxioURI path, GetStatusPOptions options);
+
+  /**
+   * Asynchronously lists a path.
+   *
+   * @param path the path to list
+   * @param options the listStatus options
+   * @return a future of the list of file information for the given path
+   */
+  CompletableFuture<List<URIStatus>> listStatusAsync(AlluxioURI path,
+      ListStatusPOptions options);
+
+  /**
+   * Asynchronously renames a file or a directory.
+   *
+   * @param src the path to rename
+   * @param dst new file path
+   * @param options rename options
+   * @return a future completed once the path is renamed
+   */
+  CompletableFuture<Void> renameAsync(AlluxioURI src, AlluxioURI dst, RenamePOptions options);
+
+  /**
+   * Asynchronously sets the file or directory attributes.
+   *
+   * @param path the file or directory path
+   * @param options the file or directory attribute options to be set
+   * @return a future completed once the attributes are set
+   */
+  CompletableFuture<Void> setAttributeAsync(AlluxioURI path, SetAttributePOptions options);
 }
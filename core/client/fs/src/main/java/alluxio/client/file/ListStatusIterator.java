@@ -0,0 +1,105 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.AlluxioURI;
+import alluxio.exception.AlluxioException;
+import alluxio.grpc.ListStatusPOptions;
+import alluxio.grpc.ListStatusPartialPOptions;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Iterates over the direct entries of a directory in name order, fetching them from the master
+ * in batches with {@link FileSystem#listStatusPartial} as the iteration proceeds. Each batch
+ * starts after the last entry of the previous one, so the listing keeps making progress when
+ * entries are added or removed concurrently, and can be resumed by another iterator created with
+ * the {@link #getContinuationToken() continuation token}.
+ */
+@NotThreadSafe
+public final class ListStatusIterator {
+  private final FileSystem mFileSystem;
+  private final AlluxioURI mPath;
+  private final ListStatusPOptions mOptions;
+  private final int mBatchSize;
+
+  /** The name of the last entry returned, after which the next batch starts. */
+  private String mStartAfter;
+  private Iterator<URIStatus> mBatch = Collections.emptyIterator();
+  /**
+   * Whether the last batch has been fetched. The master may return fewer entries than requested
+   * before the end of the listing, e.g. when entries are removed concurrently, so only an empty
+   * batch ends the listing.
+   */
+  private boolean mDone = false;
+
+  /**
+   * @param fileSystem the file system to list from
+   * @param path the path to list
+   * @param options the listing options, which cannot be recursive
+   * @param batchSize the maximum number of entries fetched by each call
+   * @param continuationToken the continuation token of a previous iterator over the same path to
+   *        resume from, or empty to start from the first entry
+   */
+  public ListStatusIterator(FileSystem fileSystem, AlluxioURI path, ListStatusPOptions options,
+      int batchSize, String continuationToken) {
+    Preconditions.checkArgument(batchSize > 0, "batchSize must be positive");
+    Preconditions.checkArgument(!options.getRecursive(), "listing cannot be recursive");
+    mFileSystem = fileSystem;
+    mPath = path;
+    mOptions = options;
+    mBatchSize = batchSize;
+    mStartAfter = Preconditions.checkNotNull(continuationToken, "continuationToken");
+  }
+
+  /**
+   * @return whether there are more entries, fetching the next batch if needed
+   */
+  public boolean hasNext() throws IOException, AlluxioException {
+    while (!mBatch.hasNext() && !mDone) {
+      List<URIStatus> batch = mFileSystem.listStatusPartial(mPath,
+          ListStatusPartialPOptions.newBuilder().setOptions(mOptions)
+              .setStartAfter(mStartAfter).setBatchSize(mBatchSize).build());
+      mDone = batch.isEmpty();
+      mBatch = batch.iterator();
+    }
+    return mBatch.hasNext();
+  }
+
+  /**
+   * @return the next entry
+   * @throws NoSuchElementException if there are no more entries
+   */
+  public URIStatus next() throws IOException, AlluxioException {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more entries under " + mPath);
+    }
+    URIStatus status = mBatch.next();
+    mStartAfter = status.getName();
+    return status;
+  }
+
+  /**
+   * @return the token to resume the listing after the last entry returned, which is the name of
+   *         that entry, or the initial token if no entry was returned
+   */
+  public String getContinuationToken() {
+    return mStartAfter;
+  }
+}
@@ -22,11 +22,16 @@ import org.slf4j.LoggerFactory;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Cache for metadata of paths.
+ *
+ * Metadata fetched from the master may be stale by the time it is put, if the path was
+ * invalidated while the fetch was in flight. Callers read {@link #getInvalidations()} before
+ * fetching and pass it to the put, which drops the put if any invalidation happened meanwhile.
  */
 @ThreadSafe
 public final class MetadataCache {
@@ -72,6 +77,8 @@ public final class MetadataCache {
   }
 
   private final Cache<String, CachedItem> mCache;
+  /** The number of invalidations, bumped before each invalidation takes effect. */
+  private final AtomicLong mInvalidations = new AtomicLong();
 
   /**
    * @param maxSize the max size of the cache
@@ -136,6 +143,53 @@ public final class MetadataCache {
     }
   }
 
+  /**
+   * Caches the status of a path, unless the cache was invalidated since the status was fetched.
+   *
+   * @param path the Alluxio path
+   * @param status the status to be cached
+   * @param invalidations the value of {@link #getInvalidations()} before the status was fetched
+   */
+  public void put(AlluxioURI path, URIStatus status, long invalidations) {
+    if (mInvalidations.get() != invalidations) {
+      return;
+    }
+    put(path, status);
+    if (mInvalidations.get() != invalidations) {
+      // An invalidation raced with the put, which may have been applied before it
+      mCache.invalidate(path.getPath());
+    }
+  }
+
+  /**
+   * Caches list status results of a directory, unless the cache was invalidated since the
+   * results were fetched.
+   *
+   * @param dir the directory
+   * @param statuses the list status results
+   * @param invalidations the value of {@link #getInvalidations()} before the results were fetched
+   */
+  public void put(AlluxioURI dir, List<URIStatus> statuses, long invalidations) {
+    if (mInvalidations.get() != invalidations) {
+      return;
+    }
+    put(dir, statuses);
+    if (mInvalidations.get() != invalidations) {
+      mCache.invalidate(dir.getPath());
+      for (URIStatus status : statuses) {
+        mCache.invalidate(status.getPath());
+      }
+    }
+  }
+
+  /**
+   * @return the number of invalidations so far, to be passed to a put of metadata fetched after
+   *         reading it
+   */
+  public long getInvalidations() {
+    return mInvalidations.get();
+  }
+
   /**
    * @param dir the directory
    * @return the cached list status results or null
@@ -155,13 +209,36 @@ public final class MetadataCache {
    * @param path the path
    */
   public void invalidate(AlluxioURI path) {
+    mInvalidations.incrementAndGet();
+    mCache.invalidate(path.getPath());
+  }
+
+  /**
+   * Invalidates the cache of path, and of all its descendants if recursive.
+   *
+   * @param path the path
+   * @param recursive whether to invalidate the descendants of the path as well
+   */
+  public void invalidate(AlluxioURI path, boolean recursive) {
+    if (!recursive) {
+      invalidate(path);
+      return;
+    }
+    if (path.isRoot()) {
+      invalidateAll();
+      return;
+    }
+    String prefix = path.getPath() + AlluxioURI.SEPARATOR;
+    mInvalidations.incrementAndGet();
     mCache.invalidate(path.getPath());
+    mCache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
   }
 
   /**
    * Invalidates all the cache.
    */
   public void invalidateAll() {
+    mInvalidations.incrementAndGet();
     mCache.invalidateAll();
   }
 
@@ -0,0 +1,197 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.AlluxioURI;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.AlluxioStatusException;
+import alluxio.grpc.MetadataInvalidation;
+import alluxio.grpc.WatchMetadataPRequest;
+import alluxio.grpc.WatchMetadataPResponse;
+import alluxio.util.ThreadFactoryUtils;
+
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Keeps a {@link MetadataCache} consistent with the master, by watching the metadata under the
+ * given paths and invalidating the paths the master reports as changed. Whenever the watch
+ * breaks, e.g. on master failover, the whole cache is invalidated and the watch is started again
+ * with exponential backoff.
+ */
+@ThreadSafe
+public final class MetadataCacheInvalidator implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(MetadataCacheInvalidator.class);
+
+  private final FileSystemContext mFsContext;
+  private final MetadataCache mMetadataCache;
+  private final List<AlluxioURI> mPathPrefixes;
+  private final long mBaseSleepMs;
+  private final long mMaxSleepMs;
+  private final ScheduledExecutorService mExecutor;
+
+  @GuardedBy("this")
+  private long mSleepMs;
+  @GuardedBy("this")
+  @Nullable
+  private FileSystemMasterClient mClient;
+  @GuardedBy("this")
+  @Nullable
+  private ClientCallStreamObserver<WatchMetadataPRequest> mCall;
+  @GuardedBy("this")
+  private boolean mClosed;
+
+  /**
+   * @param fsContext the file system context
+   * @param metadataCache the cache to invalidate
+   * @param pathPrefixes the paths to watch, including their descendants
+   */
+  public MetadataCacheInvalidator(FileSystemContext fsContext, MetadataCache metadataCache,
+      List<AlluxioURI> pathPrefixes) {
+    mFsContext = fsContext;
+    mMetadataCache = metadataCache;
+    mPathPrefixes = new ArrayList<>(pathPrefixes);
+    AlluxioConfiguration conf = fsContext.getClusterConf();
+    mBaseSleepMs = conf.getMs(PropertyKey.USER_RPC_RETRY_BASE_SLEEP_MS);
+    mMaxSleepMs = conf.getMs(PropertyKey.USER_RPC_RETRY_MAX_SLEEP_MS);
+    mSleepMs = mBaseSleepMs;
+    mExecutor = Executors.newSingleThreadScheduledExecutor(
+        ThreadFactoryUtils.build("metadata-cache-invalidator-%d", true));
+  }
+
+  /**
+   * Starts watching the metadata.
+   */
+  public void start() {
+    mExecutor.execute(this::watch);
+  }
+
+  private void watch() {
+    FileSystemMasterClient client;
+    synchronized (this) {
+      if (mClosed) {
+        return;
+      }
+      client = FileSystemMasterClient.Factory.create(mFsContext.getMasterClientContext());
+      mClient = client;
+    }
+    // Connecting may retry for long, so it is done without holding the lock to not block close.
+    try {
+      client.watchMetadata(mPathPrefixes, new Watcher());
+    } catch (AlluxioStatusException e) {
+      LOG.debug("Failed to watch metadata under {}: {}", mPathPrefixes, e.toString());
+      retry();
+    }
+  }
+
+  /**
+   * Invalidates the whole cache, since changes may be missed until the watch restarts, and
+   * schedules the restart.
+   */
+  private synchronized void retry() {
+    mMetadataCache.invalidateAll();
+    mCall = null;
+    closeClient();
+    if (mClosed) {
+      return;
+    }
+    mExecutor.schedule(this::watch, mSleepMs, TimeUnit.MILLISECONDS);
+    mSleepMs = Math.min(mSleepMs * 2, mMaxSleepMs);
+  }
+
+  private synchronized void closeClient() {
+    if (mClient == null) {
+      return;
+    }
+    try {
+      mClient.close();
+    } catch (IOException e) {
+      LOG.debug("Failed to close master client: {}", e.toString());
+    }
+    mClient = null;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    if (mCall != null) {
+      mCall.cancel("Metadata cache invalidator is closed", null);
+      mCall = null;
+    }
+    closeClient();
+    mExecutor.shutdownNow();
+  }
+
+  /**
+   * Applies the invalidations of a single watch call.
+   */
+  private final class Watcher
+      implements ClientResponseObserver<WatchMetadataPRequest, WatchMetadataPResponse> {
+    @Override
+    public void beforeStart(ClientCallStreamObserver<WatchMetadataPRequest> call) {
+      synchronized (MetadataCacheInvalidator.this) {
+        if (mClosed) {
+          call.cancel("Metadata cache invalidator is closed", null);
+          return;
+        }
+        mCall = call;
+      }
+    }
+
+    @Override
+    public void onNext(WatchMetadataPResponse response) {
+      if (response.getInvalidateAll()) {
+        mMetadataCache.invalidateAll();
+        synchronized (MetadataCacheInvalidator.this) {
+          mSleepMs = mBaseSleepMs;
+        }
+        return;
+      }
+      for (MetadataInvalidation invalidation : response.getInvalidationsList()) {
+        AlluxioURI path = new AlluxioURI(invalidation.getPath());
+        mMetadataCache.invalidate(path, invalidation.getRecursive());
+        // The listing of the parent changes along with the existence of its children.
+        if (!path.isRoot()) {
+          mMetadataCache.invalidate(path.getParent());
+        }
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      LOG.debug("Metadata watch under {} failed: {}", mPathPrefixes, t.toString());
+      retry();
+    }
+
+    @Override
+    public void onCompleted() {
+      retry();
+    }
+  }
+}
@@ -38,12 +38,15 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -60,6 +63,8 @@ public class MetadataCachingBaseFileSystem extends BaseFileSystem {
   private final MetadataCache mMetadataCache;
   private final ExecutorService mAccessTimeUpdater;
   private final boolean mDisableUpdateFileAccessTime;
+  @Nullable
+  private final MetadataCacheInvalidator mInvalidator;
 
   /**
    * @param context the fs context
@@ -82,6 +87,16 @@ public class MetadataCachingBaseFileSystem extends BaseFileSystem {
     MetricsSystem.registerCachedGaugeIfAbsent(
         MetricsSystem.getMetricName(MetricKey.CLIENT_META_DATA_CACHE_SIZE.getName()),
         mMetadataCache::size);
+    if (mFsContext.getClusterConf()
+        .getBoolean(PropertyKey.USER_METADATA_CACHE_INVALIDATION_ENABLED)) {
+      List<AlluxioURI> paths = mFsContext.getClusterConf()
+          .getList(PropertyKey.USER_METADATA_CACHE_INVALIDATION_PATHS, ",").stream()
+          .map(AlluxioURI::new).collect(Collectors.toList());
+      mInvalidator = new MetadataCacheInvalidator(mFsContext, mMetadataCache, paths);
+      mInvalidator.start();
+    } else {
+      mInvalidator = null;
+    }
   }
 
   @Override
@@ -125,11 +140,12 @@ public class MetadataCachingBaseFileSystem extends BaseFileSystem {
     checkUri(path);
     URIStatus status = mMetadataCache.get(path);
     if (status == null || !status.isCompleted()) {
+      long invalidations = mMetadataCache.getInvalidations();
       try {
         status = super.getStatus(path, options);
-        mMetadataCache.put(path, status);
+        mMetadataCache.put(path, status, invalidations);
       } catch (FileDoesNotExistException e) {
-        mMetadataCache.put(path, NOT_FOUND_STATUS);
+        mMetadataCache.put(path, NOT_FOUND_STATUS, invalidations);
         throw e;
       }
     } else if (status == NOT_FOUND_STATUS) {
@@ -143,6 +159,42 @@ public class MetadataCachingBaseFileSystem extends BaseFileSystem {
     return status;
   }
 
+  @Override
+  public List<URIStatus> getStatus(List<AlluxioURI> paths, GetStatusPOptions options)
+      throws IOException, AlluxioException {
+    List<URIStatus> statuses = new ArrayList<>(paths.size());
+    List<AlluxioURI> missingPaths = new ArrayList<>();
+    List<Integer> missingIndexes = new ArrayList<>();
+    for (AlluxioURI path : paths) {
+      checkUri(path);
+      URIStatus status = mMetadataCache.get(path);
+      if (status == null || !status.isCompleted()) {
+        missingIndexes.add(statuses.size());
+        missingPaths.add(path);
+        statuses.add(null);
+      } else if (status == NOT_FOUND_STATUS) {
+        statuses.add(null);
+      } else {
+        if (options.getUpdateTimestamps()) {
+          asyncUpdateFileAccessTime(path);
+        }
+        statuses.add(status);
+      }
+    }
+    if (missingPaths.isEmpty()) {
+      return statuses;
+    }
+    long invalidations = mMetadataCache.getInvalidations();
+    List<URIStatus> fetchedStatuses = super.getStatus(missingPaths, options);
+    for (int i = 0; i < missingPaths.size(); i++) {
+      URIStatus status = fetchedStatuses.get(i);
+      mMetadataCache.put(missingPaths.get(i), status == null ? NOT_FOUND_STATUS : status,
+          invalidations);
+      statuses.set(missingIndexes.get(i), status);
+    }
+    return statuses;
+  }
+
   @Override
   public void iterateStatus(AlluxioURI path, ListStatusPOptions options,
       Consumer<? super URIStatus> action)
@@ -160,12 +212,13 @@ public class MetadataCachingBaseFileSystem extends BaseFileSystem {
 
     List<URIStatus> cachedStatuses = mMetadataCache.listStatus(path);
     if (cachedStatuses == null) {
+      long invalidations = mMetadataCache.getInvalidations();
       List<URIStatus> statuses = new ArrayList<>();
       super.iterateStatus(path, options, status -> {
         statuses.add(status);
         action.accept(status);
       });
-      mMetadataCache.put(path, statuses);
+      mMetadataCache.put(path, statuses, invalidations);
       return;
     }
     cachedStatuses.forEach(action);
@@ -186,12 +239,18 @@ public class MetadataCachingBaseFileSystem extends BaseFileSystem {
 
     List<URIStatus> statuses = mMetadataCache.listStatus(path);
     if (statuses == null) {
+      long invalidations = mMetadataCache.getInvalidations();
       statuses = super.listStatus(path, options);
-      mMetadataCache.put(path, statuses);
+      mMetadataCache.put(path, statuses, invalidations);
     }
     return statuses;
   }
 
+  @Override
+  public AsyncFileSystem async() {
+    return new MetadataCachingAsyncFileSystem();
+  }
+
   /**
    * Asynchronously update file's last access time.
    *
@@ -223,6 +282,9 @@ public class MetadataCachingBaseFileSystem extends BaseFileSystem {
   @Override
   public synchronized void close() throws IOException {
     if (!mClosed) {
+      if (mInvalidator != null) {
+        mInvalidator.close();
+      }
       ThreadUtils.shutdownAndAwaitTermination(mAccessTimeUpdater, THREAD_TERMINATION_TIMEOUT_MS);
       super.close();
     }
@@ -260,4 +322,94 @@ public class MetadataCachingBaseFileSystem extends BaseFileSystem {
   public long getMetadataCacheSize() {
     return mMetadataCache.size();
   }
+
+  /**
+   * The non-blocking variant of the file system, which shares its metadata cache.
+   */
+  private final class MetadataCachingAsyncFileSystem extends BaseAsyncFileSystem {
+    MetadataCachingAsyncFileSystem() {
+      super(MetadataCachingBaseFileSystem.this);
+    }
+
+    @Override
+    public CompletableFuture<Void> createDirectory(AlluxioURI path,
+        CreateDirectoryPOptions options) {
+      mMetadataCache.invalidate(path.getParent());
+      mMetadataCache.invalidate(path);
+      return super.createDirectory(path, options);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(AlluxioURI path, DeletePOptions options) {
+      mMetadataCache.invalidate(path.getParent());
+      mMetadataCache.invalidate(path);
+      return super.delete(path, options);
+    }
+
+    @Override
+    public CompletableFuture<Void> rename(AlluxioURI src, AlluxioURI dst,
+        RenamePOptions options) {
+      mMetadataCache.invalidate(src.getParent());
+      mMetadataCache.invalidate(src);
+      mMetadataCache.invalidate(dst.getParent());
+      mMetadataCache.invalidate(dst);
+      return super.rename(src, dst, options);
+    }
+
+    @Override
+    public CompletableFuture<URIStatus> getStatus(AlluxioURI path, GetStatusPOptions options) {
+      checkUri(path);
+      URIStatus status = mMetadataCache.get(path);
+      CompletableFuture<URIStatus> result = new CompletableFuture<>();
+      if (status == null || !status.isCompleted()) {
+        long invalidations = mMetadataCache.getInvalidations();
+        super.getStatus(path, options).whenComplete((fetchedStatus, error) -> {
+          // The cache is updated before completing, so that dependent operations see it.
+          if (error == null) {
+            mMetadataCache.put(path, fetchedStatus, invalidations);
+            result.complete(fetchedStatus);
+          } else {
+            if (error instanceof FileDoesNotExistException) {
+              mMetadataCache.put(path, NOT_FOUND_STATUS, invalidations);
+            }
+            result.completeExceptionally(error);
+          }
+        });
+      } else if (status == NOT_FOUND_STATUS) {
+        result.completeExceptionally(
+            new FileDoesNotExistException("Path \"" + path.getPath() + "\" does not exist."));
+      } else {
+        if (options.getUpdateTimestamps()) {
+          asyncUpdateFileAccessTime(path);
+        }
+        result.complete(status);
+      }
+      return result;
+    }
+
+    @Override
+    public CompletableFuture<List<URIStatus>> listStatus(AlluxioURI path,
+        ListStatusPOptions options) {
+      checkUri(path);
+      if (options.getRecursive()) {
+        // Recursive listings are not cached, as in the blocking listStatus.
+        return super.listStatus(path, options);
+      }
+      List<URIStatus> statuses = mMetadataCache.listStatus(path);
+      if (statuses != null) {
+        return CompletableFuture.completedFuture(statuses);
+      }
+      CompletableFuture<List<URIStatus>> result = new CompletableFuture<>();
+      long invalidations = mMetadataCache.getInvalidations();
+      super.listStatus(path, options).whenComplete((fetchedStatuses, error) -> {
+        if (error == null) {
+          mMetadataCache.put(path, fetchedStatuses, invalidations);
+          result.complete(fetchedStatuses);
+        } else {
+          result.completeExceptionally(error);
+        }
+      });
+      return result;
+    }
+  }
 }
@@ -23,11 +23,15 @@ import alluxio.grpc.CompleteFilePOptions;
 import alluxio.grpc.CompleteFilePRequest;
 import alluxio.grpc.CreateDirectoryPOptions;
 import alluxio.grpc.CreateDirectoryPRequest;
+import alluxio.grpc.CreateDirectoryPResponse;
 import alluxio.grpc.CreateFilePOptions;
 import alluxio.grpc.CreateFilePRequest;
 import alluxio.grpc.DeletePOptions;
 import alluxio.grpc.DeletePRequest;
+import alluxio.grpc.DeletePResponse;
+import alluxio.grpc.FileInfo;
 import alluxio.grpc.FileSystemMasterClientServiceGrpc;
+import alluxio.grpc.FileSystemMasterClientServiceGrpc.FileSystemMasterClientServiceStub;
 import alluxio.grpc.FreePOptions;
 import alluxio.grpc.FreePRequest;
 import alluxio.grpc.GetFilePathPRequest;
@@ -36,16 +40,22 @@ import alluxio.grpc.GetNewBlockIdForFilePOptions;
 import alluxio.grpc.GetNewBlockIdForFilePRequest;
 import alluxio.grpc.GetStateLockHoldersPOptions;
 import alluxio.grpc.GetStateLockHoldersPRequest;
+import alluxio.grpc.GetStatusBatchPRequest;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.GetStatusPRequest;
+import alluxio.grpc.GetStatusPResponse;
 import alluxio.grpc.GetSyncPathListPRequest;
 import alluxio.grpc.GrpcUtils;
 import alluxio.grpc.ListStatusPOptions;
 import alluxio.grpc.ListStatusPRequest;
+import alluxio.grpc.ListStatusPResponse;
+import alluxio.grpc.ListStatusPartialPOptions;
+import alluxio.grpc.ListStatusPartialPRequest;
 import alluxio.grpc.MountPOptions;
 import alluxio.grpc.MountPRequest;
 import alluxio.grpc.RenamePOptions;
 import alluxio.grpc.RenamePRequest;
+import alluxio.grpc.RenamePResponse;
 import alluxio.grpc.ReverseResolvePRequest;
 import alluxio.grpc.ScheduleAsyncPersistencePOptions;
 import alluxio.grpc.ScheduleAsyncPersistencePRequest;
@@ -55,6 +65,7 @@ import alluxio.grpc.SetAclPOptions;
 import alluxio.grpc.SetAclPRequest;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.grpc.SetAttributePRequest;
+import alluxio.grpc.SetAttributePResponse;
 import alluxio.grpc.StartSyncPRequest;
 import alluxio.grpc.StopSyncPRequest;
 import alluxio.grpc.UnmountPOptions;
@@ -62,12 +73,16 @@ import alluxio.grpc.UnmountPRequest;
 import alluxio.grpc.UpdateMountPRequest;
 import alluxio.grpc.UpdateUfsModePOptions;
 import alluxio.grpc.UpdateUfsModePRequest;
+import alluxio.grpc.WatchMetadataPOptions;
+import alluxio.grpc.WatchMetadataPRequest;
+import alluxio.grpc.WatchMetadataPResponse;
 import alluxio.master.MasterClientContext;
 import alluxio.retry.RetryUtils;
 import alluxio.security.authorization.AclEntry;
 import alluxio.util.FileSystemOptions;
 import alluxio.wire.SyncPointInfo;
 
+import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -77,7 +92,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import javax.annotation.concurrent.ThreadSafe;
@@ -93,6 +113,7 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
 
   private FileSystemMasterClientServiceGrpc.FileSystemMasterClientServiceBlockingStub mClient =
       null;
+  private FileSystemMasterClientServiceStub mAsyncClient = null;
 
   /**
    * Creates a new {@link RetryHandlingFileSystemMasterClient} instance.
@@ -121,6 +142,7 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
   @Override
   protected void afterConnect() {
     mClient = FileSystemMasterClientServiceGrpc.newBlockingStub(mChannel);
+    mAsyncClient = FileSystemMasterClientServiceGrpc.newStub(mChannel);
   }
 
   @Override
@@ -204,6 +226,26 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
         RPC_LOG, "GetStatus", "path=%s,options=%s", path, options);
   }
 
+  @Override
+  public List<URIStatus> getStatus(final List<AlluxioURI> paths, final GetStatusPOptions options)
+      throws AlluxioStatusException {
+    return retryRPC(() -> {
+      GetStatusBatchPRequest.Builder request =
+          GetStatusBatchPRequest.newBuilder().setOptions(options);
+      for (AlluxioURI path : paths) {
+        request.addPaths(getTransportPath(path));
+      }
+      List<URIStatus> result = new ArrayList<>(paths.size());
+      mClient.getStatusBatch(request.build()).forEachRemaining(response -> {
+        for (GetStatusPResponse status : response.getStatusesList()) {
+          result.add(status.hasFileInfo()
+              ? new URIStatus(GrpcUtils.fromProto(status.getFileInfo())) : null);
+        }
+      });
+      return result;
+    }, RPC_LOG, "GetStatusBatch", "paths=%s,options=%s", paths, options);
+  }
+
   @Override
   public synchronized List<SyncPointInfo> getSyncPathList() throws AlluxioStatusException {
     return retryRPC(() -> mClient.getSyncPathList(GetSyncPathListPRequest.getDefaultInstance())
@@ -272,6 +314,17 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
     }, RPC_LOG, "ListStatus", "path=%s,options=%s", path, options);
   }
 
+  @Override
+  public List<URIStatus> listStatusPartial(final AlluxioURI path,
+      final ListStatusPartialPOptions options) throws AlluxioStatusException {
+    return retryRPC(() -> mClient.listStatusPartial(ListStatusPartialPRequest.newBuilder()
+        .setPath(getTransportPath(path)).setOptions(options).build())
+        .getFileInfosList().stream()
+        .map(pFileInfo -> new URIStatus(GrpcUtils.fromProto(pFileInfo)))
+        .collect(Collectors.toList()),
+        RPC_LOG, "ListStatusPartial", "path=%s,options=%s", path, options);
+  }
+
   @Override
   public void mount(final AlluxioURI alluxioPath, final AlluxioURI ufsPath,
       final MountPOptions options) throws AlluxioStatusException {
@@ -384,6 +437,151 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
     }, RPC_LOG, "GetStateLockHolders", "");
   }
 
+  @Override
+  public void watchMetadata(List<AlluxioURI> pathPrefixes,
+      StreamObserver<WatchMetadataPResponse> responseObserver) throws AlluxioStatusException {
+    retryRPC(() -> {
+      WatchMetadataPRequest.Builder request = WatchMetadataPRequest.newBuilder()
+          .setOptions(WatchMetadataPOptions.getDefaultInstance());
+      for (AlluxioURI path : pathPrefixes) {
+        request.addPathPrefixes(getTransportPath(path));
+      }
+      FileSystemMasterClientServiceGrpc.newStub(mChannel)
+          .watchMetadata(request.build(), responseObserver);
+      return null;
+    }, RPC_LOG, "WatchMetadata", "pathPrefixes=%s", pathPrefixes);
+  }
+
+  @Override
+  public CompletableFuture<Void> createDirectoryAsync(AlluxioURI path,
+      CreateDirectoryPOptions options) {
+    return asyncRPC((stub, observer) -> stub.createDirectory(CreateDirectoryPRequest.newBuilder()
+        .setPath(getTransportPath(path)).setOptions(options).build(), observer),
+        (CreateDirectoryPResponse response) -> null,
+        "CreateDirectory", "path=%s,options=%s", path, options);
+  }
+
+  @Override
+  public CompletableFuture<Void> deleteAsync(AlluxioURI path, DeletePOptions options) {
+    return asyncRPC((stub, observer) -> stub.remove(DeletePRequest.newBuilder()
+        .setPath(getTransportPath(path)).setOptions(options).build(), observer),
+        (DeletePResponse response) -> null, "Delete", "path=%s,options=%s", path, options);
+  }
+
+  @Override
+  public CompletableFuture<URIStatus> getStatusAsync(AlluxioURI path, GetStatusPOptions options) {
+    return asyncRPC((stub, observer) -> stub.getStatus(GetStatusPRequest.newBuilder()
+        .setPath(getTransportPath(path)).setOptions(options).build(), observer),
+        (GetStatusPResponse response) ->
+            new URIStatus(GrpcUtils.fromProto(response.getFileInfo())),
+        "GetStatus", "path=%s,options=%s", path, options);
+  }
+
+  @Override
+  public CompletableFuture<List<URIStatus>> listStatusAsync(AlluxioURI path,
+      ListStatusPOptions options) {
+    return asyncRPC((stub, observer) -> stub.listStatus(ListStatusPRequest.newBuilder()
+        .setPath(getTransportPath(path)).setOptions(options).build(), observer),
+        ArrayList::new, (List<URIStatus> result, ListStatusPResponse response) -> {
+          for (FileInfo fileInfo : response.getFileInfosList()) {
+            result.add(new URIStatus(GrpcUtils.fromProto(fileInfo)));
+          }
+        }, Function.identity(), "ListStatus", "path=%s,options=%s", path, options);
+  }
+
+  @Override
+  public CompletableFuture<Void> renameAsync(AlluxioURI src, AlluxioURI dst,
+      RenamePOptions options) {
+    return asyncRPC((stub, observer) -> stub.rename(RenamePRequest.newBuilder()
+        .setPath(getTransportPath(src)).setDstPath(getTransportPath(dst))
+        .setOptions(options).build(), observer),
+        (RenamePResponse response) -> null,
+        "Rename", "src=%s,dst=%s,options=%s", src, dst, options);
+  }
+
+  @Override
+  public CompletableFuture<Void> setAttributeAsync(AlluxioURI path,
+      SetAttributePOptions options) {
+    return asyncRPC((stub, observer) -> stub.setAttribute(SetAttributePRequest.newBuilder()
+        .setPath(getTransportPath(path)).setOptions(options).build(), observer),
+        (SetAttributePResponse response) -> null,
+        "SetAttribute", "path=%s,options=%s", path, options);
+  }
+
+  /**
+   * Issues a unary RPC on the asynchronous stub.
+   *
+   * @param rpc issues the RPC with the given stub and response observer
+   * @param converter converts the response to the result
+   * @param rpcName the human readable name of the RPC call
+   * @param description the format string of the description, used for logging
+   * @param args the arguments for the description
+   * @param <R> the type of the response
+   * @param <T> the type of the result
+   * @return the future of the result
+   */
+  private <R, T> CompletableFuture<T> asyncRPC(
+      BiConsumer<FileSystemMasterClientServiceStub, StreamObserver<R>> rpc,
+      Function<R, T> converter, String rpcName, String description, Object... args) {
+    return asyncRPC(rpc, AtomicReference<R>::new, AtomicReference::set,
+        response -> converter.apply(response.get()), rpcName, description, args);
+  }
+
+  /**
+   * Issues an RPC on the asynchronous stub, which may stream several responses. Each attempt of
+   * the RPC consumes its responses into a new accumulator, so the responses of a failed attempt
+   * are dropped when the RPC is retried.
+   *
+   * @param rpc issues the RPC with the given stub and response observer
+   * @param newAccumulator creates the accumulator of the responses of an attempt
+   * @param onResponse consumes each response into the accumulator
+   * @param onCompleted returns the result from the accumulator once all the responses are consumed
+   * @param rpcName the human readable name of the RPC call
+   * @param description the format string of the description, used for logging
+   * @param args the arguments for the description
+   * @param <R> the type of the responses
+   * @param <A> the type of the accumulator
+   * @param <T> the type of the result
+   * @return the future of the result
+   */
+  private <R, A, T> CompletableFuture<T> asyncRPC(
+      BiConsumer<FileSystemMasterClientServiceStub, StreamObserver<R>> rpc,
+      Supplier<A> newAccumulator, BiConsumer<A, R> onResponse, Function<A, T> onCompleted,
+      String rpcName, String description, Object... args) {
+    return retryRPCAsync(() -> {
+      CompletableFuture<T> future = new CompletableFuture<>();
+      A accumulator = newAccumulator.get();
+      rpc.accept(getAsyncClient(), new StreamObserver<R>() {
+        @Override
+        public void onNext(R response) {
+          onResponse.accept(accumulator, response);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+          future.completeExceptionally(t);
+        }
+
+        @Override
+        public void onCompleted() {
+          try {
+            future.complete(onCompleted.apply(accumulator));
+          } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+          }
+        }
+      });
+      return future;
+    }, RPC_LOG, rpcName, description, args);
+  }
+
+  /**
+   * @return the asynchronous stub of the current connection
+   */
+  private synchronized FileSystemMasterClientServiceStub getAsyncClient() {
+    return mAsyncClient;
+  }
+
   /**
    * Gets the path that will be transported to master.
    *
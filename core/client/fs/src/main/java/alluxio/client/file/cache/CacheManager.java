@@ -23,6 +23,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -210,6 +212,36 @@ public interface CacheManager extends AutoCloseable {
   int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer, int offsetInBuffer,
       CacheContext cacheContext);
 
+  /**
+   * Reads a part of a page if the queried page is found in the cache, stores the result in the
+   * byte buffer starting from its current position. On success, the position of the buffer is
+   * advanced by the number of bytes read.
+   *
+   * @param pageId page identifier
+   * @param pageOffset offset into the page
+   * @param bytesToRead number of bytes to read in this page, no more than buffer.remaining()
+   * @param buffer destination buffer to write
+   * @param cacheContext cache related context
+   * @return number of bytes read, 0 if page is not found, -1 on errors
+   */
+  default int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer,
+      CacheContext cacheContext) {
+    if (buffer.hasArray()) {
+      int bytesRead = get(pageId, pageOffset, bytesToRead, buffer.array(),
+          buffer.arrayOffset() + buffer.position(), cacheContext);
+      if (bytesRead > 0) {
+        buffer.position(buffer.position() + bytesRead);
+      }
+      return bytesRead;
+    }
+    byte[] bytes = new byte[bytesToRead];
+    int bytesRead = get(pageId, pageOffset, bytesToRead, bytes, 0, cacheContext);
+    if (bytesRead > 0) {
+      buffer.put(bytes, 0, bytesRead);
+    }
+    return bytesRead;
+  }
+
   /**
    * Deletes a page from the cache.
    *
@@ -218,6 +250,29 @@ public interface CacheManager extends AutoCloseable {
    */
   boolean delete(PageId pageId);
 
+  /**
+   * Checks whether a page is in the cache, without reading the page or changing its position in
+   * the eviction order. Implementations which cannot tell cheaply return false, so that callers
+   * treat the page as missing.
+   *
+   * @param pageId page identifier
+   * @return true if the page is in the cache, false otherwise
+   */
+  default boolean hasPage(PageId pageId) {
+    return false;
+  }
+
+  /**
+   * Returns the executor on which the streams reading through this cache read pages ahead. The
+   * executor is sized by the configuration of the cache and shut down when the cache is closed.
+   *
+   * @return the executor, or null if this cache does not read pages ahead
+   */
+  @Nullable
+  default ExecutorService getPrefetchExecutor() {
+    return null;
+  }
+
   /**
    * @return state of this cache
    */
@@ -14,8 +14,10 @@ package alluxio.client.file.cache;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.store.PageStoreOptions;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
+import alluxio.metrics.Metric;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 
@@ -25,17 +27,27 @@ import com.google.common.hash.BloomFilter;
 import com.google.common.hash.Funnel;
 import com.google.common.hash.PrimitiveSink;
 
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import javax.annotation.Nullable;
 
 /**
  * A wrapper class of CacheManager with shadow cache.
  */
 public class CacheManagerWithShadowCache implements CacheManager {
+  /** Cache sizes to estimate the miss ratio for, relative to the size of the real cache. */
+  private static final double[] MISS_RATIO_CURVE_SCALES = {0.25, 0.5, 1, 2, 4, 8};
+
   private final CacheManager mCacheManager;
   private final int mNumBloomFilter;
   private final long mBloomFilterExpectedInsertions;
@@ -54,6 +66,9 @@ public class CacheManagerWithShadowCache implements CacheManager {
   private BloomFilter<PageId> mWorkingSetBloomFilter;
   private long mShadowCachePages = 0;
   private double mAvgPageSize;
+  private final MissRatioCurveEstimator mMissRatioCurve;
+  private final long mPageSize;
+  private final long[] mMissRatioCurveSizes;
 
   /**
    * @param cacheManager the real cache manager
@@ -80,6 +95,20 @@ public class CacheManagerWithShadowCache implements CacheManager {
     }
     mWorkingSetBloomFilter =
         BloomFilter.create(PageIdFunnel.FUNNEL, mBloomFilterExpectedInsertions);
+    mPageSize = conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE);
+    long cacheSize = PageStoreOptions.createForDirs(conf).stream()
+        .mapToLong(PageStoreOptions::getCacheSize).sum();
+    mMissRatioCurveSizes = new long[MISS_RATIO_CURVE_SCALES.length];
+    for (int i = 0; i < MISS_RATIO_CURVE_SCALES.length; i++) {
+      mMissRatioCurveSizes[i] = (long) (cacheSize * MISS_RATIO_CURVE_SCALES[i]);
+    }
+    // a fixed number of samples is enough for SHARDS to estimate the curve, so the estimator takes
+    // at most a small fixed amount of memory on top of the bloom filters
+    mMissRatioCurve = new MissRatioCurveEstimator(
+        (int) Math.max(1, Math.min(MissRatioCurveEstimator.MAX_SAMPLES,
+            perBloomFilterMemoryOverhead / MissRatioCurveEstimator.BYTES_PER_SAMPLE)),
+        mMissRatioCurveSizes[mMissRatioCurveSizes.length - 1] / mPageSize);
+    Metrics.registerGauges(mMissRatioCurveSizes, this::getMissRatio);
     mScheduler.scheduleAtFixedRate(this::switchBloomFilter, 0, windowMs / mNumBloomFilter,
         MILLISECONDS);
   }
@@ -170,6 +199,8 @@ public class CacheManagerWithShadowCache implements CacheManager {
     mByteEachBloomFilter.set(mCurrentSegmentFilterIndex, 0);
     mWorkingSetBloomFilter =
         BloomFilter.create(PageIdFunnel.FUNNEL, mBloomFilterExpectedInsertions);
+    // the reads recorded a window ago weigh 1/2^mNumBloomFilter of the recent ones
+    mMissRatioCurve.age();
     for (int i = 0; i < mSegmentBloomFilters.length(); ++i) {
       mWorkingSetBloomFilter.putAll(mSegmentBloomFilters.get(i));
     }
@@ -217,9 +248,43 @@ public class CacheManagerWithShadowCache implements CacheManager {
     return mShadowCacheByteHit.get();
   }
 
+  /**
+   * @param cacheSize the size of a cache in bytes
+   * @return the estimated ratio of page reads missing a cache of the given size
+   */
+  public double getMissRatio(long cacheSize) {
+    return mMissRatioCurve.getMissRatio(cacheSize / mPageSize);
+  }
+
+  /**
+   * @return the estimated miss ratio of the cache sizes reported as metrics, from a quarter to
+   *         eight times the size of the real cache, keyed by the cache size in bytes
+   */
+  public SortedMap<Long, Double> getMissRatioCurve() {
+    SortedMap<Long, Double> curve = new TreeMap<>();
+    for (long size : mMissRatioCurveSizes) {
+      curve.put(size, getMissRatio(size));
+    }
+    return Collections.unmodifiableSortedMap(curve);
+  }
+
   @Override
   public int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer,
       int offsetInBuffer, CacheContext cacheContext) {
+    updateShadowCacheOnGet(pageId, bytesToRead, cacheContext);
+    return mCacheManager.get(pageId, pageOffset, bytesToRead, buffer, offsetInBuffer, cacheContext);
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer,
+      CacheContext cacheContext) {
+    updateShadowCacheOnGet(pageId, bytesToRead, cacheContext);
+    return mCacheManager.get(pageId, pageOffset, bytesToRead, buffer, cacheContext);
+  }
+
+  private void updateShadowCacheOnGet(PageId pageId, int bytesToRead,
+      CacheContext cacheContext) {
+    mMissRatioCurve.record(pageId);
     boolean seen = false;
     for (int i = 0; i < mSegmentBloomFilters.length(); ++i) {
       seen |= mSegmentBloomFilters.get(i).mightContain(pageId);
@@ -236,7 +301,6 @@ public class CacheManagerWithShadowCache implements CacheManager {
     Metrics.SHADOW_CACHE_BYTES_READ.inc(bytesToRead);
     mShadowCachePageRead.getAndIncrement();
     mShadowCacheByteRead.getAndAdd(bytesToRead);
-    return mCacheManager.get(pageId, pageOffset, bytesToRead, buffer, offsetInBuffer, cacheContext);
   }
 
   @Override
@@ -244,6 +308,17 @@ public class CacheManagerWithShadowCache implements CacheManager {
     return mCacheManager.delete(pageId);
   }
 
+  @Override
+  public boolean hasPage(PageId pageId) {
+    return mCacheManager.hasPage(pageId);
+  }
+
+  @Override
+  @Nullable
+  public ExecutorService getPrefetchExecutor() {
+    return mCacheManager.getPrefetchExecutor();
+  }
+
   @Override
   public State state() {
     return mCacheManager.state();
@@ -287,5 +362,14 @@ public class CacheManagerWithShadowCache implements CacheManager {
         MetricsSystem.counter(MetricKey.CLIENT_CACHE_SHADOW_CACHE_BYTES.getName());
     private static final Counter SHADOW_CACHE_FALSE_POSITIVE_RATIO =
         MetricsSystem.counter(MetricKey.CLIENT_CACHE_SHADOW_CACHE_FALSE_POSITIVE_RATIO.getName());
+
+    private static void registerGauges(long[] cacheSizes, Function<Long, Double> missRatio) {
+      for (long size : cacheSizes) {
+        MetricsSystem.registerGaugeIfAbsent(MetricsSystem.getMetricName(
+            Metric.getMetricNameWithTags(MetricKey.CLIENT_CACHE_SHADOW_CACHE_MISS_RATIO.getName(),
+                "CacheSize", Long.toString(size))),
+            () -> missRatio.apply(size));
+      }
+    }
   }
 }
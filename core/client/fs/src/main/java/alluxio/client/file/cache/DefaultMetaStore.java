@@ -22,19 +22,24 @@ import com.google.common.annotations.VisibleForTesting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 import javax.annotation.Nullable;
 
 /**
- * The default implementation of a metadata store for pages stored in cache. This implementation
- * is not thread safe and requires synchronizations on external callers.
+ * The default implementation of a metadata store for pages stored in cache. Updates to this
+ * implementation are not thread safe and require synchronizations on external callers, while
+ * {@link #evict()}, {@link #getPages()}, {@link #bytes()} and {@link #pages()} may be called
+ * concurrently with them. {@link #getPageInfo(PageId)} may also be called concurrently with
+ * itself, e.g. under a shared lock: it only updates the evictor, which is thread safe, and the
+ * access time of the page, which is updated atomically.
  */
 public class DefaultMetaStore implements MetaStore {
   private static final Logger LOG = LoggerFactory.getLogger(DefaultMetaStore.class);
   /** A map from PageId to page info. */
-  private final Map<PageId, PageInfo> mPageMap = new HashMap<>();
+  private final Map<PageId, PageInfo> mPageMap = new ConcurrentHashMap<>();
   /** The number of logical bytes used. */
   private final AtomicLong mBytes = new AtomicLong(0);
   /** The number of pages stored. */
@@ -74,11 +79,13 @@ public class DefaultMetaStore implements MetaStore {
 
   @Override
   public PageInfo getPageInfo(PageId pageId) throws PageNotFoundException {
-    if (!mPageMap.containsKey(pageId)) {
+    PageInfo pageInfo = mPageMap.get(pageId);
+    if (pageInfo == null) {
       throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
     }
     mEvictor.updateOnGet(pageId);
-    return mPageMap.get(pageId);
+    pageInfo.updateLastAccessTimeMs(System.currentTimeMillis());
+    return pageInfo;
   }
 
   @Override
@@ -95,6 +102,11 @@ public class DefaultMetaStore implements MetaStore {
     return pageInfo;
   }
 
+  @Override
+  public Stream<PageInfo> getPages() {
+    return mPageMap.values().stream();
+  }
+
   @Override
   public long bytes() {
     return mBytes.get();
@@ -107,10 +119,9 @@ public class DefaultMetaStore implements MetaStore {
 
   @Override
   public void reset() {
-    mPages.set(0);
-    Metrics.PAGES.dec(Metrics.PAGES.getCount());
-    mBytes.set(0);
-    Metrics.SPACE_USED.dec(Metrics.SPACE_USED.getCount());
+    // only take this store's share out of the metrics, which are shared by all the stores
+    Metrics.PAGES.dec(mPages.getAndSet(0));
+    Metrics.SPACE_USED.dec(mBytes.getAndSet(0));
     mPageMap.clear();
     mEvictor.reset();
   }
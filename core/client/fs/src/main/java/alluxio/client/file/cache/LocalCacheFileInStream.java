@@ -17,6 +17,7 @@ import alluxio.client.file.URIStatus;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.AlluxioException;
+import alluxio.exception.PreconditionMessage;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 
@@ -30,7 +31,16 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -39,6 +49,8 @@ import javax.annotation.concurrent.NotThreadSafe;
 @NotThreadSafe
 public class LocalCacheFileInStream extends FileInStream {
   private static final Logger LOG = LoggerFactory.getLogger(LocalCacheFileInStream.class);
+  /** Number of consecutive reads moving to the next page before pages are read ahead. */
+  private static final int SEQUENTIAL_READS_TO_PREFETCH = 2;
 
   /** Page size in bytes. */
   protected final long mPageSize;
@@ -53,13 +65,31 @@ public class LocalCacheFileInStream extends FileInStream {
   /** File info, fetched from external FS. */
   private final URIStatus mStatus;
   private final FileInStreamOpener mExternalFileInStreamOpener;
+  /** Number of pages to read ahead on sequential reads, 0 if read-ahead is disabled. */
+  private final int mPrefetchPages;
+  /** Executor of the cache manager to read pages ahead, null if read-ahead is disabled. */
+  @Nullable
+  private final ExecutorService mPrefetchExecutor;
+  /** Pages read ahead into the cache by this stream and not read by it yet. */
+  private final Set<Long> mPrefetchedPages = ConcurrentHashMap.newKeySet();
+  /** Futures of the pages the latest read-ahead task has not finished yet, by page. */
+  private final Map<Long, CompletableFuture<Void>> mPrefetchPageFutures =
+      new ConcurrentHashMap<>();
 
-  /** Stream reading from the external file system, opened once. */
+  /** Stream reading from the external file system, opened once and shared with read-ahead. */
   private FileInStream mExternalFileInStream;
   /** Current position of the stream, relative to the start of the file. */
   private long mPosition = 0;
-  private boolean mClosed = false;
+  private volatile boolean mClosed = false;
   private boolean mEOF = false;
+  /** Last page read by a non-positioned read, -1 if there is none. */
+  private long mLastReadPage = -1;
+  /** Number of consecutive non-positioned reads which moved on to the next page. */
+  private int mSequentialReads = 0;
+  /** Pages before this one have been scheduled to be read ahead. */
+  private long mPrefetchEnd = 0;
+  /** The latest read-ahead task, null if none has been scheduled. */
+  private Future<?> mPrefetchFuture;
 
   /**
    * Interface to wrap open method of file system.
@@ -90,6 +120,10 @@ public class LocalCacheFileInStream extends FileInStream {
     mStatus = status;
     // Currently quota is only supported when it is set by external systems in status context
     mQuotaEnabled = conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_QUOTA_ENABLED);
+    mPrefetchExecutor = conf.getInt(PropertyKey.USER_CLIENT_CACHE_PREFETCH_PAGES) > 0
+        ? cacheManager.getPrefetchExecutor() : null;
+    mPrefetchPages = mPrefetchExecutor == null
+        ? 0 : conf.getInt(PropertyKey.USER_CLIENT_CACHE_PREFETCH_PAGES);
     if (mQuotaEnabled && status.getCacheContext() != null) {
       mCacheContext = status.getCacheContext();
     } else {
@@ -100,26 +134,51 @@ public class LocalCacheFileInStream extends FileInStream {
 
   @Override
   public int read(byte[] b, int off, int len) throws IOException {
-    return readInternal(b, off, len, ReadType.READ_INTO_BYTE_ARRAY, mPosition, false);
+    return readInternal(wrap(b, off, len), len, ReadType.READ_INTO_BYTE_ARRAY, mPosition, false);
   }
 
   @Override
   public int read(ByteBuffer buf, int off, int len) throws IOException {
-    byte[] b = new byte[buf.remaining()];
+    Preconditions.checkArgument(off >= 0 && off <= buf.limit() && len >= 0,
+        PreconditionMessage.ERR_BUFFER_STATE.toString(), buf.limit(), off, len);
+    // read into a view of the buffer so that pages are copied straight into it
+    ByteBuffer target = buf.duplicate();
+    target.limit(off + Math.min(len, buf.limit() - off));
+    target.position(off);
     int totalBytesRead =
-        readInternal(b, off, len, ReadType.READ_INTO_BYTE_BUFFER, mPosition, false);
-    if (totalBytesRead == -1) {
-      return -1;
+        readInternal(target, len, ReadType.READ_INTO_BYTE_BUFFER, mPosition, false);
+    if (totalBytesRead > 0) {
+      buf.position(off + totalBytesRead);
     }
-    buf.put(b, off, totalBytesRead);
     return totalBytesRead;
   }
 
-  // TODO(binfan): take ByteBuffer once CacheManager takes ByteBuffer to avoid extra mem copy
-  private int readInternal(byte[] b, int off, int len, ReadType readType, long pos,
+  /**
+   * @param b the array to wrap
+   * @param off the start offset in the array
+   * @param len the maximum number of bytes to read into the array
+   * @return a buffer over the part of the array to read into, bounded by the array length
+   */
+  private static ByteBuffer wrap(byte[] b, int off, int len) {
+    Preconditions.checkArgument(off >= 0 && off <= b.length && len >= 0,
+        PreconditionMessage.ERR_BUFFER_STATE.toString(), b.length, off, len);
+    return ByteBuffer.wrap(b, off, Math.min(len, b.length - off));
+  }
+
+  /**
+   * Reads up to len bytes into the target buffer, starting from its current position.
+   *
+   * @param target the buffer to write the data into
+   * @param len the maximum number of bytes to read, further bounded by the remaining bytes of
+   *        the target buffer
+   * @param readType the type of the read
+   * @param pos the position in the file to read from
+   * @param isPositionedRead whether this is a positioned read which keeps the stream position
+   * @return the number of bytes read, or -1 if the end of file is reached
+   */
+  private int readInternal(ByteBuffer target, int len, ReadType readType, long pos,
       boolean isPositionedRead) throws IOException {
     Preconditions.checkArgument(len >= 0, "length should be non-negative");
-    Preconditions.checkArgument(off >= 0, "offset should be non-negative");
     Preconditions.checkArgument(pos >= 0, "position should be non-negative");
     if (len == 0) {
       return 0;
@@ -129,7 +188,8 @@ public class LocalCacheFileInStream extends FileInStream {
     }
     int totalBytesRead = 0;
     long currentPosition = pos;
-    long lengthToRead = Math.min(len, mStatus.getLength() - pos);
+    int bytesToRead = Math.min(len, target.remaining());
+    long lengthToRead = Math.min(bytesToRead, mStatus.getLength() - pos);
     // used in positionedRead, so make stopwatch a local variable rather than class member
     Stopwatch stopwatch = createUnstartedStopwatch();
     // for each page, check if it is available in the cache
@@ -138,19 +198,21 @@ public class LocalCacheFileInStream extends FileInStream {
       int currentPageOffset = (int) (currentPosition % mPageSize);
       int bytesLeftInPage =
           (int) Math.min(mPageSize - currentPageOffset, lengthToRead - totalBytesRead);
-      PageId pageId;
+      PageId pageId = getPageId(currentPage);
       CacheContext cacheContext = mStatus.getCacheContext();
-      if (cacheContext != null && cacheContext.getCacheIdentifier() != null) {
-        pageId = new PageId(cacheContext.getCacheIdentifier(), currentPage);
-      } else {
-        pageId = new PageId(Long.toString(mStatus.getFileId()), currentPage);
-      }
       stopwatch.reset().start();
       int bytesRead =
-          mCacheManager.get(pageId, currentPageOffset, bytesLeftInPage, b, off + totalBytesRead,
-              mCacheContext);
+          mCacheManager.get(pageId, currentPageOffset, bytesLeftInPage, target, mCacheContext);
+      if (bytesRead <= 0 && !isPositionedRead && awaitPrefetch(currentPage)) {
+        // the page was being read ahead, look it up again
+        bytesRead =
+            mCacheManager.get(pageId, currentPageOffset, bytesLeftInPage, target, mCacheContext);
+      }
       stopwatch.stop();
       if (bytesRead > 0) {
+        if (mPrefetchedPages.remove(currentPage)) {
+          MetricsSystem.counter(MetricKey.CLIENT_CACHE_PREFETCH_HITS.getName()).inc();
+        }
         totalBytesRead += bytesRead;
         currentPosition += bytesRead;
         MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getName()).mark(bytesRead);
@@ -162,13 +224,17 @@ public class LocalCacheFileInStream extends FileInStream {
               stopwatch.elapsed(TimeUnit.NANOSECONDS));
         }
       } else {
+        if (mPrefetchedPages.remove(currentPage)) {
+          // read ahead but no longer in the cache
+          MetricsSystem.counter(MetricKey.CLIENT_CACHE_PREFETCH_WASTED.getName()).inc();
+        }
         // on local cache miss, read a complete page from external storage. This will always make
         // progress or throw an exception
         stopwatch.reset().start();
         byte[] page = readExternalPage(currentPosition, readType);
         stopwatch.stop();
         if (page.length > 0) {
-          System.arraycopy(page, currentPageOffset, b, off + totalBytesRead, bytesLeftInPage);
+          target.put(page, currentPageOffset, bytesLeftInPage);
           totalBytesRead += bytesLeftInPage;
           currentPosition += bytesLeftInPage;
           // cache misses
@@ -189,14 +255,173 @@ public class LocalCacheFileInStream extends FileInStream {
         mPosition = currentPosition;
       }
     }
-    if (totalBytesRead > len || (totalBytesRead < len && currentPosition < mStatus.getLength())) {
+    if (totalBytesRead > bytesToRead
+        || (totalBytesRead < bytesToRead && currentPosition < mStatus.getLength())) {
       throw new IOException(String.format("Invalid number of bytes read - "
           + "bytes to read = %d, actual bytes read = %d, bytes remains in file %d",
           len, totalBytesRead, remaining()));
     }
+    if (!isPositionedRead && mPrefetchPages > 0) {
+      onSequentialRead(pos / mPageSize, (currentPosition - 1) / mPageSize);
+    }
     return totalBytesRead;
   }
 
+  /**
+   * @param pageIndex index of the page in this file
+   * @return the identifier of the page in the cache
+   */
+  private PageId getPageId(long pageIndex) {
+    CacheContext cacheContext = mStatus.getCacheContext();
+    if (cacheContext != null && cacheContext.getCacheIdentifier() != null) {
+      return new PageId(cacheContext.getCacheIdentifier(), pageIndex);
+    }
+    return new PageId(Long.toString(mStatus.getFileId()), pageIndex);
+  }
+
+  /**
+   * Updates the access pattern after a non-positioned read, and reads the following pages ahead
+   * once the stream is read sequentially.
+   *
+   * @param startPage the first page of the read
+   * @param endPage the last page of the read
+   */
+  private void onSequentialRead(long startPage, long endPage) {
+    if (startPage == mLastReadPage || startPage == mLastReadPage + 1) {
+      if (endPage > mLastReadPage) {
+        mSequentialReads++;
+      }
+    } else {
+      mSequentialReads = 0;
+      mPrefetchEnd = 0;
+    }
+    mLastReadPage = endPage;
+    if (mSequentialReads >= SEQUENTIAL_READS_TO_PREFETCH) {
+      schedulePrefetch(endPage + 1);
+    }
+  }
+
+  /**
+   * Schedules the pages following the given one to be read ahead, unless the previous read-ahead
+   * task of this stream is still running or all the read-ahead threads are busy.
+   *
+   * @param nextPage the page the reader is expected to read next
+   */
+  private void schedulePrefetch(long nextPage) {
+    if (mPrefetchFuture != null && !mPrefetchFuture.isDone()) {
+      return;
+    }
+    long numPages = (mStatus.getLength() + mPageSize - 1) / mPageSize;
+    long start = Math.max(nextPage, mPrefetchEnd);
+    long end = Math.min(nextPage + mPrefetchPages, numPages);
+    if (start >= end) {
+      return;
+    }
+    for (long page = start; page < end; page++) {
+      mPrefetchPageFutures.put(page, new CompletableFuture<>());
+    }
+    try {
+      mPrefetchFuture = mPrefetchExecutor.submit(() -> prefetch(start, end));
+      mPrefetchEnd = end;
+    } catch (RejectedExecutionException e) {
+      completePrefetch(start, end);
+      LOG.debug("Skipped reading ahead pages [{}, {}) of {}: all threads are busy", start, end,
+          mStatus.getPath());
+    }
+  }
+
+  /**
+   * Reads the given pages from the external file system and puts them in the cache, skipping
+   * the pages which are already cached. Runs on the read-ahead executor.
+   *
+   * @param startPage the first page to read ahead
+   * @param endPage the page after the last one to read ahead
+   */
+  private void prefetch(long startPage, long endPage) {
+    try {
+      for (long page = startPage; page < endPage && !mClosed; page++) {
+        PageId pageId = getPageId(page);
+        if (mCacheManager.hasPage(pageId)) {
+          completePrefetch(page, page + 1);
+          continue;
+        }
+        try {
+          // the external stream is shared with the reader, which rarely reads from it once the
+          // pages it reads next are read ahead
+          byte[] data = readExternalPage(page * mPageSize, ReadType.READ_INTO_BYTE_ARRAY);
+          if (mCacheManager.put(pageId, data, mCacheContext)) {
+            mPrefetchedPages.add(page);
+            MetricsSystem.counter(MetricKey.CLIENT_CACHE_PAGES_PREFETCHED.getName()).inc();
+          }
+        } catch (IOException | RuntimeException e) {
+          LOG.warn("Failed to read ahead page {} of {}: {}", page, mStatus.getPath(),
+              e.toString());
+          return;
+        }
+        completePrefetch(page, page + 1);
+      }
+    } finally {
+      // the pages left are not read ahead, so the reader must not wait for them
+      completePrefetch(startPage, endPage);
+    }
+  }
+
+  /**
+   * Marks the given pages as no longer being read ahead, waking up the reader waiting for them.
+   *
+   * @param startPage the first page
+   * @param endPage the page after the last one
+   */
+  private void completePrefetch(long startPage, long endPage) {
+    for (long page = startPage; page < endPage; page++) {
+      CompletableFuture<Void> future = mPrefetchPageFutures.remove(page);
+      if (future != null) {
+        future.complete(null);
+      }
+    }
+  }
+
+  /**
+   * Waits for the running read-ahead task to finish the given page, if it is to read the page.
+   * The reader does not wait for the other pages of the task.
+   *
+   * @param page the page to read
+   * @return true if the page was waited for, false otherwise
+   */
+  private boolean awaitPrefetch(long page) {
+    CompletableFuture<Void> future = mPrefetchPageFutures.get(page);
+    if (future == null) {
+      return false;
+    }
+    try {
+      future.get();
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (ExecutionException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Waits for the latest read-ahead task of this stream to finish.
+   */
+  @VisibleForTesting
+  void awaitPrefetch() {
+    Future<?> future = mPrefetchFuture;
+    if (future == null) {
+      return;
+    }
+    try {
+      future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      // the task does not throw
+    }
+  }
+
   @VisibleForTesting
   protected Stopwatch createUnstartedStopwatch() {
     return Stopwatch.createUnstarted(Ticker.systemTicker());
@@ -215,6 +440,17 @@ public class LocalCacheFileInStream extends FileInStream {
 
   @Override
   public void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    // the read-ahead task stops after the page it is reading
+    awaitPrefetch();
+    if (!mPrefetchedPages.isEmpty()) {
+      MetricsSystem.counter(MetricKey.CLIENT_CACHE_PREFETCH_WASTED.getName())
+          .inc(mPrefetchedPages.size());
+      mPrefetchedPages.clear();
+    }
     mCloser.close();
   }
 
@@ -225,7 +461,7 @@ public class LocalCacheFileInStream extends FileInStream {
 
   @Override
   public int positionedRead(long pos, byte[] b, int off, int len) throws IOException {
-    return readInternal(b, off, len, ReadType.READ_INTO_BYTE_ARRAY, pos, true);
+    return readInternal(wrap(b, off, len), len, ReadType.READ_INTO_BYTE_ARRAY, pos, true);
   }
 
   @Override
@@ -296,7 +532,19 @@ public class LocalCacheFileInStream extends FileInStream {
    */
   private synchronized byte[] readExternalPage(long pos, ReadType readType) throws IOException {
     long pageStart = pos - (pos % mPageSize);
-    FileInStream stream = getExternalFileInStream(pageStart);
+    return readPage(getExternalFileInStream(pageStart), pageStart, readType);
+  }
+
+  /**
+   * Reads a page from an external stream positioned at the start of the page.
+   *
+   * @param stream the external stream
+   * @param pageStart the position of the page in the file
+   * @param readType the type of the read
+   * @return a byte array of the page data
+   */
+  private byte[] readPage(FileInStream stream, long pageStart, ReadType readType)
+      throws IOException {
     int pageSize = (int) Math.min(mPageSize, mStatus.getLength() - pageStart);
     byte[] page = new byte[pageSize];
     ByteBuffer buffer = readType == ReadType.READ_INTO_BYTE_BUFFER ? ByteBuffer.wrap(page) : null;
@@ -16,7 +16,9 @@ import static alluxio.client.file.cache.CacheManager.State.READ_ONLY;
 import static alluxio.client.file.cache.CacheManager.State.READ_WRITE;
 
 import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.admission.CacheAdmissionPolicy;
 import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.client.file.cache.store.PageStoreType;
 import alluxio.client.quota.CacheQuota;
 import alluxio.client.quota.CacheScope;
 import alluxio.collections.ConcurrentHashSet;
@@ -28,6 +30,7 @@ import alluxio.exception.status.ResourceExhaustedException;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.resource.LockResource;
+import alluxio.util.ThreadFactoryUtils;
 
 import com.codahale.metrics.Counter;
 import com.google.common.annotations.VisibleForTesting;
@@ -37,19 +40,28 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
@@ -64,12 +76,31 @@ import javax.annotation.concurrent.ThreadSafe;
  * performance benefits for various read workloads. This class also introduces paging as a caching
  * unit.
  *
+ * Pages are spread across one or more cache directories by consistent hashing of the page id.
+ * Each directory has its own {@link PageStore} and {@link MetaStore} partitions, so that space
+ * accounting and eviction are done per directory and a failed directory only loses its own pages.
+ * The meta store partitions of a page are guarded by striped metastore locks, so that operations
+ * on pages of different partitions do not serialize on a single lock. When there is more than
+ * one partition, space is reclaimed from the partition holding the most bytes, which approximates
+ * the eviction policy over the whole directory. When space has to be reclaimed for a new page, a
+ * {@link CacheAdmissionPolicy} decides whether the new page is cached in place of the victim.
+ *
+ * The pages of each directory may be recorded in a {@link PageIndex}, which is checkpointed
+ * periodically, so that a restarted cache is restored from the index instead of listing every
+ * page in the directory. A restored page which now belongs to another directory, e.g. after the
+ * set of directories changed, is moved to that directory once the cache is writable.
+ *
+ * A directory of a LOCAL page store may be shared by the client processes on a host. Each process
+ * only tracks the pages it wrote, while a page missing from its meta store is also looked up in the
+ * page store, where another process may have written it. The directory is only restored by a
+ * process starting while no other process uses it, see {@link SharedPageStoreLock}.
+ *
  * Lock hierarchy in this class: All operations must follow this order to operate on pages:
  * <ol>
  * <li>Acquire corresponding page lock</li>
- * <li>Acquire metastore lock mMetaLock</li>
+ * <li>Acquire corresponding metastore lock</li>
  * <li>Update metastore</li>
- * <li>Release metastore lock mMetaLock</li>
+ * <li>Release corresponding metastore lock</li>
  * <li>Update the pagestore and evictor</li>
  * <li>Release corresponding page lock</li>
  * </ol>
@@ -79,6 +110,8 @@ public class LocalCacheManager implements CacheManager {
   private static final Logger LOG = LoggerFactory.getLogger(LocalCacheManager.class);
 
   private static final int LOCK_SIZE = 1024;
+  /** The interval to flush the logs of the page indexes, so that updates are written together. */
+  private static final long INDEX_FLUSH_INTERVAL_MS = 1000;
   private final long mPageSize;
   private final long mCacheSize;
   private final int mMaxEvictionRetries;
@@ -86,19 +119,31 @@ public class LocalCacheManager implements CacheManager {
   private final boolean mAsyncRestore;
   /** A readwrite lock pool to guard individual pages based on striping. */
   private final ReadWriteLock[] mPageLocks = new ReentrantReadWriteLock[LOCK_SIZE];
-  private PageStore mPageStore;
-  /** A readwrite lock to guard metadata operations. */
-  private final ReadWriteLock mMetaLock = new ReentrantReadWriteLock();
-  @GuardedBy("mMetaLock")
-  private final MetaStore mMetaStore;
+  /** A readwrite lock pool to guard metadata operations, one per meta store partition. */
+  private final ReadWriteLock[] mMetaLocks;
+  /** Assigns each page to a cache directory; meta store partitions of the directories are guarded
+   * by mMetaLocks. */
+  @GuardedBy("mMetaLocks")
+  private final PageStoreDirAllocator mDirAllocator;
   /** Executor service for execute the init tasks. */
   private final ExecutorService mInitService;
   /** Executor service for execute the async cache tasks. */
   private final ExecutorService mAsyncCacheExecutor;
+  /** Executor service for the streams to read pages ahead, null if read-ahead is disabled. */
+  @Nullable
+  private final ExecutorService mPrefetchExecutor;
+  /** Executor service to checkpoint the page indexes, null if no directory is indexed. */
+  @Nullable
+  private final ScheduledExecutorService mIndexCheckpointService;
   private final ConcurrentHashSet<PageId> mPendingRequests;
   private final boolean mQuotaEnabled;
+  /** Decides whether a new page is cached in place of an eviction victim. */
+  private final CacheAdmissionPolicy mAdmissionPolicy;
   /** State of this cache. */
   private final AtomicReference<CacheManager.State> mState = new AtomicReference<>();
+  /** The restored pages which belong to another directory, with the directory holding them. */
+  @GuardedBy("LocalCacheManager.class")
+  private final List<Pair<PageStoreDir, PageInfo>> mMisplacedPages = new ArrayList<>();
 
   /**
    * @param conf the Alluxio configuration
@@ -106,15 +151,34 @@ public class LocalCacheManager implements CacheManager {
    */
   public static LocalCacheManager create(AlluxioConfiguration conf)
       throws IOException {
-    MetaStore metaStore = MetaStore.create(conf);
-    PageStoreOptions options = PageStoreOptions.create(conf);
-    PageStore pageStore;
-    try {
-      pageStore = PageStore.open(options);
-    } catch (IOException e) {
-      pageStore = PageStore.create(options);
+    int partitions = conf.getInt(PropertyKey.USER_CLIENT_CACHE_METASTORE_PARTITIONS);
+    Preconditions.checkArgument(partitions > 0, "%s should be positive: %s",
+        PropertyKey.Name.USER_CLIENT_CACHE_METASTORE_PARTITIONS, partitions);
+    List<PageStoreDir> dirs = new ArrayList<>();
+    for (PageStoreOptions options : PageStoreOptions.createForDirs(conf)) {
+      PageStore pageStore;
+      try {
+        pageStore = PageStore.open(options);
+      } catch (IOException e) {
+        pageStore = PageStore.create(options);
+      }
+      List<MetaStore> metaStores = new ArrayList<>(partitions);
+      for (int i = 0; i < partitions; i++) {
+        metaStores.add(MetaStore.create(conf));
+      }
+      boolean shared = conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_SHARED_ENABLED)
+          && options.getType() == PageStoreType.LOCAL;
+      // a shared directory is indexed per process once the slot of the process is known
+      PageIndex index = conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_INDEX_ENABLED)
+          && options.getType() != PageStoreType.MEMORY && !shared
+          ? new PageIndex(PageIndex.getIndexPath(options), options.getPageSize()) : null;
+      SharedPageStoreLock sharedLock = shared
+          ? new SharedPageStoreLock(SharedPageStoreLock.getLockPath(options),
+              conf.getInt(PropertyKey.USER_CLIENT_CACHE_SHARED_CLIENTS_MAX))
+          : null;
+      dirs.add(new PageStoreDir(options, pageStore, metaStores, index, sharedLock));
     }
-    return create(conf, metaStore, pageStore);
+    return create(conf, dirs);
   }
 
   /**
@@ -126,18 +190,29 @@ public class LocalCacheManager implements CacheManager {
   @VisibleForTesting
   static LocalCacheManager create(AlluxioConfiguration conf, MetaStore metaStore,
       PageStore pageStore) throws IOException {
-    LocalCacheManager manager = new LocalCacheManager(conf, metaStore, pageStore);
-    PageStoreOptions options = PageStoreOptions.create(conf);
+    return create(conf, Collections.singletonList(
+        new PageStoreDir(PageStoreOptions.create(conf), pageStore, metaStore)));
+  }
+
+  /**
+   * @param conf the Alluxio configuration
+   * @param dirs the cache directories
+   * @return an instance of {@link LocalCacheManager}
+   */
+  @VisibleForTesting
+  static LocalCacheManager create(AlluxioConfiguration conf, List<PageStoreDir> dirs)
+      throws IOException {
+    LocalCacheManager manager = new LocalCacheManager(conf, dirs);
     if (conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED)) {
       manager.mInitService.submit(() -> {
         try {
-          manager.restoreOrInit(options);
+          manager.restoreOrInit();
         } catch (IOException e) {
           LOG.error("Failed to restore LocalCacheManager", e);
         }
       });
     } else {
-      manager.restoreOrInit(options);
+      manager.restoreOrInit();
     }
     return manager;
   }
@@ -149,16 +224,29 @@ public class LocalCacheManager implements CacheManager {
    */
   @VisibleForTesting
   LocalCacheManager(AlluxioConfiguration conf, MetaStore metaStore, PageStore pageStore) {
-    mMetaStore = metaStore;
-    mPageStore = pageStore;
+    this(conf, Collections.singletonList(
+        new PageStoreDir(PageStoreOptions.create(conf), pageStore, metaStore)));
+  }
+
+  /**
+   * @param conf the Alluxio configuration
+   * @param dirs the cache directories
+   */
+  private LocalCacheManager(AlluxioConfiguration conf, List<PageStoreDir> dirs) {
+    mDirAllocator = new PageStoreDirAllocator(dirs);
     mPageSize = conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE);
     mAsyncWrite = conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED);
     mAsyncRestore = conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED);
     mMaxEvictionRetries = conf.getInt(PropertyKey.USER_CLIENT_CACHE_EVICTION_RETRIES);
-    mCacheSize = pageStore.getCacheSize();
+    mCacheSize = dirs.stream().mapToLong(PageStoreDir::getCapacity).sum();
     for (int i = 0; i < LOCK_SIZE; i++) {
       mPageLocks[i] = new ReentrantReadWriteLock(true /* fair ordering */);
     }
+    mMetaLocks = new ReentrantReadWriteLock[
+        dirs.stream().mapToInt(dir -> dir.getMetaStores().size()).max().orElse(1)];
+    for (int i = 0; i < mMetaLocks.length; i++) {
+      mMetaLocks[i] = new ReentrantReadWriteLock();
+    }
     mPendingRequests = new ConcurrentHashSet<>();
     mAsyncCacheExecutor =
         mAsyncWrite
@@ -167,8 +255,31 @@ public class LocalCacheManager implements CacheManager {
                 TimeUnit.SECONDS, new SynchronousQueue<>())
             : null;
     mInitService = mAsyncRestore ? Executors.newSingleThreadExecutor() : null;
+    int prefetchThreads = conf.getInt(PropertyKey.USER_CLIENT_CACHE_PREFETCH_THREADS);
+    if (conf.getInt(PropertyKey.USER_CLIENT_CACHE_PREFETCH_PAGES) > 0 && prefetchThreads > 0) {
+      // read-ahead is skipped rather than queued when all the threads are busy
+      ThreadPoolExecutor prefetchExecutor = new ThreadPoolExecutor(prefetchThreads,
+          prefetchThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+          ThreadFactoryUtils.build("local-cache-prefetch-%d", true));
+      prefetchExecutor.allowCoreThreadTimeOut(true);
+      mPrefetchExecutor = prefetchExecutor;
+    } else {
+      mPrefetchExecutor = null;
+    }
+    if (dirs.stream().anyMatch(dir -> dir.getIndex() != null || dir.getSharedLock() != null)) {
+      long interval = conf.getMs(PropertyKey.USER_CLIENT_CACHE_INDEX_CHECKPOINT_INTERVAL);
+      mIndexCheckpointService = Executors.newSingleThreadScheduledExecutor(
+          ThreadFactoryUtils.build("local-cache-index-checkpoint-%d", true));
+      mIndexCheckpointService.scheduleWithFixedDelay(this::checkpointIndexes, interval, interval,
+          TimeUnit.MILLISECONDS);
+      mIndexCheckpointService.scheduleWithFixedDelay(this::flushIndexes, INDEX_FLUSH_INTERVAL_MS,
+          INDEX_FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    } else {
+      mIndexCheckpointService = null;
+    }
     mQuotaEnabled = conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_QUOTA_ENABLED);
-    Metrics.registerGauges(mCacheSize, mMetaStore);
+    mAdmissionPolicy = CacheAdmissionPolicy.create(conf);
+    Metrics.registerGauges(mCacheSize, this::bytes);
     mState.set(READ_ONLY);
     Metrics.STATE.inc();
   }
@@ -210,40 +321,138 @@ public class LocalCacheManager implements CacheManager {
     }
   }
 
+  /**
+   * Gets the metastore lock guarding the meta store partition of a page. Partitions with the same
+   * index in different directories share the lock.
+   *
+   * @param dir the directory of the page
+   * @param pageId page identifier
+   * @return the corresponding metastore lock
+   */
+  private ReadWriteLock getMetaLock(PageStoreDir dir, PageId pageId) {
+    return mMetaLocks[dir.getPartition(pageId)];
+  }
+
+  /**
+   * Gets a pair of metastore locks to operate two given pages. One MUST acquire the first lock
+   * followed by the second lock.
+   *
+   * @param dir1 the directory of the first page
+   * @param pageId1 first page identifier
+   * @param dir2 the directory of the second page
+   * @param pageId2 second page identifier
+   * @return the corresponding metastore lock pair
+   */
+  private Pair<ReadWriteLock, ReadWriteLock> getMetaLockPair(PageStoreDir dir1, PageId pageId1,
+      PageStoreDir dir2, PageId pageId2) {
+    int lockId1 = dir1.getPartition(pageId1);
+    int lockId2 = dir2.getPartition(pageId2);
+    if (lockId1 < lockId2) {
+      return new Pair<>(mMetaLocks[lockId1], mMetaLocks[lockId2]);
+    } else {
+      return new Pair<>(mMetaLocks[lockId2], mMetaLocks[lockId1]);
+    }
+  }
+
   /**
    * Results of Put.
    */
   enum PutResult {
     BENIGN_RACING,
     INSUFFICIENT_SPACE_EVICTED,
+    NOT_ADMITTED,
     NO_SPACE_LEFT,
     OK,
     OTHER,
   }
 
   /**
+   * @return the total size of pages stored in all directories in bytes
+   */
+  private long bytes() {
+    long bytes = 0;
+    for (PageStoreDir dir : mDirAllocator.getDirs()) {
+      bytes += dir.bytes();
+    }
+    return bytes;
+  }
+
+  /**
+   * @return the total size of pages of the given scope stored in all directories in bytes
+   */
+  private long bytes(CacheScope scope) {
+    long bytes = 0;
+    for (PageStoreDir dir : mDirAllocator.getDirs()) {
+      for (MetaStore metaStore : dir.getMetaStores()) {
+        bytes += ((QuotaMetaStore) metaStore).bytes(scope);
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * Checks whether a page fits in the quotas of its scopes and in its directory. When space is
+   * sufficient, the space of the page is reserved in the directory, which must be released if the
+   * page is not added after all.
+   *
    * @return which scope to evict a page or null if space is sufficient
    */
   @Nullable
-  private CacheScope checkScopeToEvict(int pageSize, CacheScope scope, CacheQuota quota,
-      boolean forcedToEvict) {
+  private CacheScope checkScopeToEvict(PageStoreDir dir, int pageSize, CacheScope scope,
+      CacheQuota quota, boolean forcedToEvict) {
     if (mQuotaEnabled) {
       // Check quota usage for each scope
       for (CacheScope currentScope = scope; currentScope != null;
            currentScope = currentScope.parent()) {
-        if (((QuotaMetaStore) mMetaStore).bytes(currentScope) + pageSize
-            > quota.getQuota(currentScope)) {
+        if (bytes(currentScope) + pageSize > quota.getQuota(currentScope)) {
           return currentScope;
         }
       }
     }
-    // Check cache space usage
-    if (forcedToEvict || mMetaStore.bytes() + pageSize > mCacheSize) {
+    // Check space usage of the directory, which is shared by all of its meta store partitions
+    if (forcedToEvict || !dir.reserve(pageSize)) {
       return CacheScope.GLOBAL;
     }
     return null;
   }
 
+  /**
+   * Selects a page to evict. Space is reclaimed from the partition of the directory of the new
+   * page holding the most bytes, while a scope over its quota is reclaimed from the partition
+   * holding the most bytes of that scope in any directory. Only the metastore lock of the new page
+   * is held, so the victim may be removed concurrently, which is detected when removing it.
+   *
+   * @param dir the directory of the page to add
+   * @param pageId the page to add
+   * @param scopeToEvict the scope to evict a page from
+   * @return a page to evict or null if no page available to evict
+   */
+  @Nullable
+  private PageInfo evict(PageStoreDir dir, PageId pageId, CacheScope scopeToEvict) {
+    MetaStore victimStore = dir.getMetaStore(pageId);
+    if (!mQuotaEnabled || scopeToEvict == CacheScope.GLOBAL) {
+      long victimStoreBytes = victimStore.bytes();
+      for (MetaStore candidate : dir.getMetaStores()) {
+        if (candidate.bytes() > victimStoreBytes) {
+          victimStore = candidate;
+          victimStoreBytes = candidate.bytes();
+        }
+      }
+      return victimStore.evict();
+    }
+    long victimStoreBytes = -1;
+    for (PageStoreDir candidateDir : mDirAllocator.getDirs()) {
+      for (MetaStore candidate : candidateDir.getMetaStores()) {
+        long bytes = ((QuotaMetaStore) candidate).bytes(scopeToEvict);
+        if (bytes > victimStoreBytes) {
+          victimStore = candidate;
+          victimStoreBytes = bytes;
+        }
+      }
+    }
+    return ((QuotaMetaStore) victimStore).evict(scopeToEvict);
+  }
+
   @Override
   public boolean put(PageId pageId, byte[] page, CacheContext cacheContext) {
     LOG.debug("put({},{} bytes) enters", pageId, page.length);
@@ -252,12 +461,15 @@ public class LocalCacheManager implements CacheManager {
       Metrics.PUT_ERRORS.inc();
       return false;
     }
+    if (!mDirAllocator.getDir(pageId).isAvailable()) {
+      Metrics.PUT_NOT_READY_ERRORS.inc();
+      Metrics.PUT_ERRORS.inc();
+      return false;
+    }
+    mAdmissionPolicy.recordAccess(pageId);
     if (!mAsyncWrite) {
       boolean ok = putInternal(pageId, page, cacheContext);
       LOG.debug("put({},{} bytes) exits: {}", pageId, page.length, ok);
-      if (!ok) {
-        Metrics.PUT_ERRORS.inc();
-      }
       return ok;
     }
 
@@ -267,10 +479,7 @@ public class LocalCacheManager implements CacheManager {
     try {
       mAsyncCacheExecutor.submit(() -> {
         try {
-          boolean ok = putInternal(pageId, page, cacheContext);
-          if (!ok) {
-            Metrics.PUT_ERRORS.inc();
-          }
+          putInternal(pageId, page, cacheContext);
         } finally {
           mPendingRequests.remove(pageId);
         }
@@ -288,6 +497,11 @@ public class LocalCacheManager implements CacheManager {
     return true;
   }
 
+  /**
+   * Adds a page to the cache, evicting pages if needed.
+   *
+   * @return true if the page is added, false if it fails or is not admitted to the cache
+   */
   private boolean putInternal(PageId pageId, byte[] page, CacheContext cacheContext) {
     PutResult result = PutResult.OK;
     boolean forcedToEvict = false;
@@ -311,9 +525,13 @@ public class LocalCacheManager implements CacheManager {
           // otherwise hitratio may drop due to inability to write new data to cache.
           forcedToEvict = true;
           continue;
+        case NOT_ADMITTED:
+          // the page is less valuable than the page it would replace, which is not an error
+          return false;
         case OTHER:
           // fall through intentionally
         default:
+          Metrics.PUT_ERRORS.inc();
           return false;
       }
     }
@@ -322,6 +540,7 @@ public class LocalCacheManager implements CacheManager {
     } else if (result == PutResult.INSUFFICIENT_SPACE_EVICTED) {
       Metrics.PUT_INSUFFICIENT_SPACE_ERRORS.inc();
     }
+    Metrics.PUT_ERRORS.inc();
     return false;
   }
 
@@ -330,36 +549,41 @@ public class LocalCacheManager implements CacheManager {
     LOG.debug("putInternal({},{} bytes) enters", pageId, page.length);
     PageInfo victimPageInfo = null;
     CacheScope scopeToEvict;
+    PageInfo pageInfo = new PageInfo(pageId, page.length, cacheContext.getCacheScope());
+    PageStoreDir dir = mDirAllocator.getDir(pageId);
+    MetaStore metaStore = dir.getMetaStore(pageId);
     ReadWriteLock pageLock = getPageLock(pageId);
     try (LockResource r = new LockResource(pageLock.writeLock())) {
-      try (LockResource r2 = new LockResource(mMetaLock.writeLock())) {
-        if (mMetaStore.hasPage(pageId)) {
+      try (LockResource r2 = new LockResource(getMetaLock(dir, pageId).writeLock())) {
+        if (metaStore.hasPage(pageId)) {
           LOG.debug("{} is already inserted before", pageId);
           // TODO(binfan): we should return more informative result in the future
           return PutResult.OK;
         }
-        scopeToEvict = checkScopeToEvict(page.length, cacheContext.getCacheScope(),
+        scopeToEvict = checkScopeToEvict(dir, page.length, cacheContext.getCacheScope(),
             cacheContext.getCacheQuota(), forcedToEvict);
         if (scopeToEvict == null) {
-          mMetaStore
-              .addPage(pageId, new PageInfo(pageId, page.length, cacheContext.getCacheScope()));
+          metaStore.addPage(pageId, pageInfo);
         } else {
-          if (mQuotaEnabled) {
-            victimPageInfo = ((QuotaMetaStore) mMetaStore).evict(scopeToEvict);
-          } else {
-            victimPageInfo = mMetaStore.evict();
-          }
+          victimPageInfo = evict(dir, pageId, scopeToEvict);
           if (victimPageInfo == null) {
             LOG.error("Unable to find page to evict: space used {}, page length {}, cache size {}",
-                mMetaStore.bytes(), page.length, mCacheSize);
+                dir.bytes(), page.length, dir.getCapacity());
             Metrics.PUT_EVICTION_ERRORS.inc();
             return PutResult.OTHER;
           }
+          if (!mAdmissionPolicy.admit(pageId, victimPageInfo.getPageId())) {
+            LOG.debug("{} is not admitted to replace {}", pageId, victimPageInfo.getPageId());
+            Metrics.ADMISSION_REJECTED.inc();
+            return PutResult.NOT_ADMITTED;
+          }
+          Metrics.ADMISSION_ACCEPTED.inc();
         }
       }
       if (scopeToEvict == null) {
         try {
-          mPageStore.put(pageId, page);
+          dir.getPageStore().put(pageId, page);
+          addToIndex(dir, pageInfo);
           // Bytes written to the cache
           MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_WRITTEN_CACHE.getName())
               .mark(page.length);
@@ -369,6 +593,10 @@ public class LocalCacheManager implements CacheManager {
           LOG.error("Failed to add page {} to pageStore", pageId, e);
           Metrics.PUT_STORE_WRITE_NO_SPACE_ERRORS.inc();
           return PutResult.NO_SPACE_LEFT;
+        } catch (FileAlreadyExistsException e) {
+          // another process sharing the directory wrote the page, which it accounts and evicts
+          undoAddPage(pageId);
+          return PutResult.OK;
         } catch (IOException e) {
           undoAddPage(pageId);
           LOG.error("Failed to add page {} to pageStore", pageId, e);
@@ -378,37 +606,41 @@ public class LocalCacheManager implements CacheManager {
       }
     }
 
+    PageStoreDir victimDir = mDirAllocator.getDir(victimPageInfo.getPageId());
     Pair<ReadWriteLock, ReadWriteLock> pageLockPair =
         getPageLockPair(pageId, victimPageInfo.getPageId());
+    Pair<ReadWriteLock, ReadWriteLock> metaLockPair =
+        getMetaLockPair(dir, pageId, victimDir, victimPageInfo.getPageId());
     try (LockResource r1 = new LockResource(pageLockPair.getFirst().writeLock());
         LockResource r2 = new LockResource(pageLockPair.getSecond().writeLock())) {
       // Excise a two-phase commit to evict victim and add new page:
       // phase1: remove victim and add new page in metastore in a critical section protected by
-      // metalock. Evictor will be updated inside metastore.
-      try (LockResource r3 = new LockResource(mMetaLock.writeLock())) {
-        if (mMetaStore.hasPage(pageId)) {
+      // metastore locks. Evictor will be updated inside metastore.
+      try (LockResource r3 = new LockResource(metaLockPair.getFirst().writeLock());
+          LockResource r4 = new LockResource(metaLockPair.getSecond().writeLock())) {
+        if (metaStore.hasPage(pageId)) {
           return PutResult.OK;
         }
         try {
-          mMetaStore.removePage(victimPageInfo.getPageId());
+          removePage(victimDir, victimPageInfo.getPageId());
         } catch (PageNotFoundException e) {
           LOG.debug("Page {} is unavailable to evict, likely due to a benign race",
               victimPageInfo.getPageId());
           return PutResult.BENIGN_RACING;
         }
         // Check if we are able to insert page after evicting victim page
-        scopeToEvict = checkScopeToEvict(page.length, cacheContext.getCacheScope(),
+        scopeToEvict = checkScopeToEvict(dir, page.length, cacheContext.getCacheScope(),
             cacheContext.getCacheQuota(), false);
         if (scopeToEvict == null) {
-          mMetaStore
-              .addPage(pageId, new PageInfo(pageId, page.length, cacheContext.getCacheScope()));
+          metaStore.addPage(pageId, pageInfo);
         }
       }
       // phase2: remove victim and add new page in pagestore
       // Regardless of enoughSpace, delete the victim as it has been removed from the metastore
       PageId victim = victimPageInfo.getPageId();
+      removeFromIndex(victimDir, victim);
       try {
-        mPageStore.delete(victim);
+        victimDir.getPageStore().delete(victim);
         // Bytes evicted from the cache
         MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_EVICTED.getName())
             .mark(victimPageInfo.getPageSize());
@@ -427,7 +659,8 @@ public class LocalCacheManager implements CacheManager {
         return PutResult.INSUFFICIENT_SPACE_EVICTED;
       }
       try {
-        mPageStore.put(pageId, page);
+        dir.getPageStore().put(pageId, page);
+        addToIndex(dir, pageInfo);
         // Bytes written to the cache
         MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_WRITTEN_CACHE.getName()).mark(page.length);
         return PutResult.OK;
@@ -436,6 +669,10 @@ public class LocalCacheManager implements CacheManager {
         LOG.error("Failed to add page {} to pageStore", pageId, e);
         Metrics.PUT_STORE_WRITE_NO_SPACE_ERRORS.inc();
         return PutResult.NO_SPACE_LEFT;
+      } catch (FileAlreadyExistsException e) {
+        // another process sharing the directory wrote the page, which it accounts and evicts
+        undoAddPage(pageId);
+        return PutResult.OK;
       } catch (IOException e) {
         // Failed to add page, remove new page from metastoree
         undoAddPage(pageId);
@@ -447,8 +684,9 @@ public class LocalCacheManager implements CacheManager {
   }
 
   private void undoAddPage(PageId pageId) {
-    try (LockResource r3 = new LockResource(mMetaLock.writeLock())) {
-      mMetaStore.removePage(pageId);
+    PageStoreDir dir = mDirAllocator.getDir(pageId);
+    try (LockResource r3 = new LockResource(getMetaLock(dir, pageId).writeLock())) {
+      removePage(dir, pageId);
     } catch (Exception e) {
       // best effort to remove this page from meta store and ignore the exception
       Metrics.CLEANUP_PUT_ERRORS.inc();
@@ -459,36 +697,53 @@ public class LocalCacheManager implements CacheManager {
   @Override
   public int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer,
       int offsetInBuffer, CacheContext cacheContext) {
-    Preconditions.checkArgument(pageOffset <= mPageSize,
-        "Read exceeds page boundary: offset=%s size=%s", pageOffset, mPageSize);
     Preconditions.checkArgument(bytesToRead <= buffer.length - offsetInBuffer,
         "buffer does not have enough space: bufferLength=%s offsetInBuffer=%s bytesToRead=%s",
         buffer.length, offsetInBuffer, bytesToRead);
+    return get(pageId, pageOffset, bytesToRead,
+        ByteBuffer.wrap(buffer, offsetInBuffer, bytesToRead), cacheContext);
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer,
+      CacheContext cacheContext) {
+    Preconditions.checkArgument(pageOffset <= mPageSize,
+        "Read exceeds page boundary: offset=%s size=%s", pageOffset, mPageSize);
+    Preconditions.checkArgument(bytesToRead <= buffer.remaining(),
+        "buffer does not have enough space: bufferRemaining=%s bytesToRead=%s",
+        buffer.remaining(), bytesToRead);
     LOG.debug("get({},pageOffset={}) enters", pageId, pageOffset);
     if (mState.get() == NOT_IN_USE) {
       Metrics.GET_NOT_READY_ERRORS.inc();
       Metrics.GET_ERRORS.inc();
       return -1;
     }
+    PageStoreDir dir = mDirAllocator.getDir(pageId);
     ReadWriteLock pageLock = getPageLock(pageId);
     try (LockResource r = new LockResource(pageLock.readLock())) {
-      try (LockResource r2 = new LockResource(mMetaLock.readLock())) {
-        mMetaStore.getPageInfo(pageId); //check if page exists and refresh LRU items
+      try (LockResource r2 = new LockResource(getMetaLock(dir, pageId).readLock())) {
+        //check if page exists and refresh LRU items
+        dir.getMetaStore(pageId).getPageInfo(pageId);
       } catch (PageNotFoundException e) {
+        if (dir.getSharedLock() != null) {
+          return getSharedPage(dir, pageId, pageOffset, bytesToRead, buffer);
+        }
         LOG.debug("get({},pageOffset={}) fails due to page not found", pageId, pageOffset);
         return 0;
       }
-      int bytesRead = getPage(pageId, pageOffset, bytesToRead, buffer, offsetInBuffer);
+      mAdmissionPolicy.recordAccess(pageId);
+      int bytesRead = getPage(dir, pageId, pageOffset, bytesToRead, buffer);
       if (bytesRead <= 0) {
         Metrics.GET_ERRORS.inc();
         Metrics.GET_STORE_READ_ERRORS.inc();
         // something is wrong to read this page, let's remove it from meta store
-        try (LockResource r2 = new LockResource(mMetaLock.writeLock())) {
-          mMetaStore.removePage(pageId);
+        try (LockResource r2 = new LockResource(getMetaLock(dir, pageId).writeLock())) {
+          removePage(dir, pageId);
         } catch (PageNotFoundException e) {
           // best effort to remove this page from meta store and ignore the exception
           Metrics.CLEANUP_GET_ERRORS.inc();
         }
+        removeFromIndex(dir, pageId);
         return -1;
       }
       LOG.debug("get({},pageOffset={}) exits", pageId, pageOffset);
@@ -504,11 +759,12 @@ public class LocalCacheManager implements CacheManager {
       Metrics.DELETE_ERRORS.inc();
       return false;
     }
+    PageStoreDir dir = mDirAllocator.getDir(pageId);
     ReadWriteLock pageLock = getPageLock(pageId);
     try (LockResource r = new LockResource(pageLock.writeLock())) {
-      try (LockResource r1 = new LockResource(mMetaLock.writeLock())) {
+      try (LockResource r1 = new LockResource(getMetaLock(dir, pageId).writeLock())) {
         try {
-          mMetaStore.removePage(pageId);
+          removePage(dir, pageId);
         } catch (PageNotFoundException e) {
           LOG.error("Failed to delete page {} from metaStore ", pageId, e);
           Metrics.DELETE_NON_EXISTING_PAGE_ERRORS.inc();
@@ -516,7 +772,8 @@ public class LocalCacheManager implements CacheManager {
           return false;
         }
       }
-      boolean ok = deletePage(pageId);
+      removeFromIndex(dir, pageId);
+      boolean ok = deletePage(dir, pageId);
       LOG.debug("delete({}) exits, success: {}", pageId, ok);
       if (!ok) {
         Metrics.DELETE_STORE_DELETE_ERRORS.inc();
@@ -526,51 +783,166 @@ public class LocalCacheManager implements CacheManager {
     }
   }
 
+  @Override
+  public boolean hasPage(PageId pageId) {
+    if (mState.get() == NOT_IN_USE) {
+      return false;
+    }
+    PageStoreDir dir = mDirAllocator.getDir(pageId);
+    try (LockResource r = new LockResource(getMetaLock(dir, pageId).readLock())) {
+      return dir.getMetaStore(pageId).hasPage(pageId);
+    }
+  }
+
+  @Override
+  @Nullable
+  public ExecutorService getPrefetchExecutor() {
+    return mPrefetchExecutor;
+  }
+
   @Override
   public State state() {
     return mState.get();
   }
 
   /**
-   * Restores a page store at the configured location, updating meta store accordingly.
-   * If restore process fails, cleanup the location and create a new page store.
+   * Restores the page stores at the configured locations, updating meta stores accordingly.
+   * If restore process of a directory fails, cleanup the location and create a new page store.
+   * A directory which fails to be initialized is disabled, and the cache is not in use only if
+   * all directories are disabled.
    * This method is synchronized to ensure only one thread can enter and operate.
    */
-  private void restoreOrInit(PageStoreOptions options) throws IOException {
+  private void restoreOrInit() throws IOException {
     synchronized (LocalCacheManager.class) {
       Preconditions.checkState(mState.get() == READ_ONLY);
-      if (!restore(options)) {
-        try (LockResource r = new LockResource(mMetaLock.writeLock())) {
-          mMetaStore.reset();
-        }
+      Exception lastError = null;
+      for (PageStoreDir dir : mDirAllocator.getDirs()) {
+        SharedPageStoreLock sharedLock = dir.getSharedLock();
         try {
-          mPageStore.close();
+          if (sharedLock != null) {
+            boolean soleClient = sharedLock.lock();
+            PageStoreOptions options = dir.getOptions();
+            dir.setIndex(new PageIndex(PageIndex.getIndexPath(options, sharedLock.getSlot()),
+                options.getPageSize()));
+            if (!soleClient) {
+              // the other pages in the directory belong to the other processes using it
+              LOG.info("Cache directory {} is used by other clients, taking over the pages of "
+                  + "slot {}", dir, sharedLock.getSlot());
+              takeOverPages(dir);
+              continue;
+            }
+            // all the pages are restored by listing the directory, which makes the indexes of
+            // the pages owned by the processes which used it stale
+            for (int slot = 0; slot < sharedLock.getMaxClients(); slot++) {
+              new PageIndex(PageIndex.getIndexPath(options, slot), options.getPageSize())
+                  .delete();
+            }
+          }
+          if (restore(dir)) {
+            continue;
+          }
+          resetMetaStores(dir);
+          dir.getPageStore().close();
           // when cache is large, e.g. millions of pages, initialize may take a while on deletion
-          mPageStore = PageStore.create(options);
+          dir.setPageStore(PageStore.create(dir.getOptions()));
+          checkpointIndex(dir);
         } catch (Exception e) {
-          LOG.error("Cache is in NOT_IN_USE.");
-          mState.set(NOT_IN_USE);
-          Metrics.STATE.dec();
-          Throwables.propagateIfPossible(e, IOException.class);
-          throw new IOException(e);
+          LOG.error("Failed to initialize cache directory {}, disabling it", dir, e);
+          dir.setAvailable(false);
+          lastError = e;
+        } finally {
+          if (sharedLock != null) {
+            sharedLock.unlockStartup();
+          }
         }
       }
+      if (mDirAllocator.getDirs().stream().noneMatch(PageStoreDir::isAvailable)) {
+        LOG.error("Cache is in NOT_IN_USE.");
+        mState.set(NOT_IN_USE);
+        Metrics.STATE.dec();
+        Throwables.propagateIfPossible(lastError, IOException.class);
+        throw new IOException(lastError);
+      }
       LOG.info("Cache is in READ_WRITE.");
       mState.set(READ_WRITE);
       Metrics.STATE.inc();
+      moveMisplacedPages();
+    }
+  }
+
+  /**
+   * Moves the restored pages which belong to another directory to that directory. A page which
+   * fails to be moved is dropped.
+   */
+  @GuardedBy("LocalCacheManager.class")
+  private void moveMisplacedPages() {
+    if (mMisplacedPages.isEmpty()) {
+      return;
+    }
+    long movedPages = 0;
+    long droppedPages = 0;
+    for (Pair<PageStoreDir, PageInfo> misplaced : mMisplacedPages) {
+      PageStoreDir source = misplaced.getFirst();
+      PageInfo pageInfo = misplaced.getSecond();
+      PageId pageId = pageInfo.getPageId();
+      boolean moved = false;
+      try {
+        if (source.isAvailable() && mDirAllocator.getDir(pageId).isAvailable()) {
+          byte[] page = new byte[(int) pageInfo.getPageSize()];
+          if (source.getPageStore().get(pageId, page) == page.length) {
+            moved = putInternal(pageId, page,
+                CacheContext.defaults().setCacheScope(pageInfo.getScope()));
+          }
+        }
+        source.getPageStore().delete(pageId);
+      } catch (PageNotFoundException e) {
+        // the page is already absent from the page store it was restored from
+      } catch (Exception e) {
+        LOG.warn("Failed to move page {} from cache directory {}", pageId, source, e);
+      }
+      if (moved) {
+        movedPages++;
+      } else {
+        droppedPages++;
+      }
     }
+    LOG.info("Moved {} pages to the cache directories they belong to, dropped {} pages",
+        movedPages, droppedPages);
+    mMisplacedPages.clear();
   }
 
-  private boolean restore(PageStoreOptions options) {
+  private boolean restore(PageStoreDir dir) {
+    PageStoreOptions options = dir.getOptions();
     LOG.info("Restoring PageStore ({})", options);
     Path rootDir = Paths.get(options.getRootDir());
-    if (!Files.exists(rootDir)) {
+    if (options.getType() != PageStoreType.MEMORY && !Files.exists(rootDir)) {
       LOG.error("Failed to restore PageStore: Directory {} does not exist", rootDir);
       return false;
     }
+    PageIndex index = dir.getIndex();
+    List<PageInfo> indexedPages = index == null ? null : index.load();
+    if (indexedPages != null) {
+      if (index.isClosedCleanly()) {
+        return restoreFromIndex(dir, indexedPages);
+      }
+      LOG.warn("Page index of {} was not closed cleanly, reconciling it with the page store",
+          options);
+      try {
+        indexedPages = reconcileIndex(dir.getPageStore(), indexedPages);
+      } catch (Exception e) {
+        LOG.error("Failed to restore PageStore", e);
+        return false;
+      }
+      if (!restoreFromIndex(dir, indexedPages)) {
+        return false;
+      }
+      checkpointIndex(dir);
+      return true;
+    }
+    PageStore pageStore = dir.getPageStore();
     long discardedPages = 0;
     long discardedBytes = 0;
-    try (Stream<PageInfo> stream = mPageStore.getPages()) {
+    try (Stream<PageInfo> stream = pageStore.getPages()) {
       Iterator<PageInfo> iterator = stream.iterator();
       while (iterator.hasNext()) {
         PageInfo pageInfo = iterator.next();
@@ -578,22 +950,9 @@ public class LocalCacheManager implements CacheManager {
           LOG.error("Failed to restore PageStore: Invalid page info");
           return false;
         }
-        PageId pageId = pageInfo.getPageId();
-        ReadWriteLock pageLock = getPageLock(pageId);
-        try (LockResource r = new LockResource(pageLock.writeLock())) {
-          boolean enoughSpace;
-          try (LockResource r2 = new LockResource(mMetaLock.writeLock())) {
-            enoughSpace =
-                mMetaStore.bytes() + pageInfo.getPageSize() <= mPageStore.getCacheSize();
-            if (enoughSpace) {
-              mMetaStore.addPage(pageId, pageInfo);
-            }
-          }
-          if (!enoughSpace) {
-            mPageStore.delete(pageId);
-            discardedPages++;
-            discardedBytes += pageInfo.getPageSize();
-          }
+        if (!restorePage(dir, pageInfo)) {
+          discardedPages++;
+          discardedBytes += pageInfo.getPageSize();
         }
       }
     } catch (Exception e) {
@@ -602,14 +961,192 @@ public class LocalCacheManager implements CacheManager {
     }
     LOG.info("PageStore ({}) restored with {} pages ({} bytes), "
             + "discarded {} pages ({} bytes)",
-        options, mMetaStore.pages(), mMetaStore.bytes(), discardedPages, discardedBytes);
+        options, dir.pages(), dir.bytes(), discardedPages, discardedBytes);
+    checkpointIndex(dir);
+    return true;
+  }
+
+  /**
+   * Takes over the pages owned by the process which held the slot of this process in a shared
+   * directory, which are recorded in the index of the slot. The index is not reconciled with the
+   * page store even if it was not closed cleanly, since the page store holds the pages of the
+   * other processes: the pages missing from the index are reclaimed at the next restore of the
+   * directory.
+   *
+   * @param dir the shared directory
+   */
+  private void takeOverPages(PageStoreDir dir) {
+    List<PageInfo> pages = dir.getIndex().load();
+    if (pages != null && !restoreFromIndex(dir, pages)) {
+      LOG.warn("Failed to take over the pages in {}, they are reclaimed at its next restore",
+          dir);
+      resetMetaStores(dir);
+    }
+    checkpointIndex(dir);
+  }
+
+  /**
+   * Restores the pages of a directory from its page index. The pages are not checked against the
+   * page store, a page missing from the page store is removed when it fails to be read.
+   *
+   * @param dir the directory
+   * @param pages the pages in the index from the least to the most recently accessed
+   * @return true if successful, false otherwise
+   */
+  private boolean restoreFromIndex(PageStoreDir dir, List<PageInfo> pages) {
+    long discardedPages = 0;
+    long discardedBytes = 0;
+    for (PageInfo pageInfo : pages) {
+      try {
+        if (!restorePage(dir, pageInfo)) {
+          discardedPages++;
+          discardedBytes += pageInfo.getPageSize();
+          dir.getIndex().remove(pageInfo.getPageId());
+        }
+      } catch (PageNotFoundException e) {
+        // the discarded page is already absent from the page store
+        dir.getIndex().remove(pageInfo.getPageId());
+      } catch (Exception e) {
+        LOG.error("Failed to restore PageStore from page index", e);
+        return false;
+      }
+    }
+    LOG.info("PageStore ({}) restored from page index with {} pages ({} bytes), "
+            + "discarded {} pages ({} bytes)",
+        dir.getOptions(), dir.pages(), dir.bytes(), discardedPages, discardedBytes);
     return true;
   }
 
+  /**
+   * Reconciles the pages of a page index which was not closed cleanly with the pages in the page
+   * store. The pages written shortly before the client exited may be missing from the index, and
+   * the pages removed then may still be in it.
+   *
+   * @param pageStore the page store
+   * @param indexedPages the pages in the index from the least to the most recently accessed
+   * @return the pages in the page store from the least to the most recently accessed, with the
+   *         pages missing from the index last
+   */
+  private static List<PageInfo> reconcileIndex(PageStore pageStore, List<PageInfo> indexedPages)
+      throws IOException {
+    Map<PageId, PageInfo> storedPages = new HashMap<>();
+    try (Stream<PageInfo> stream = pageStore.getPages()) {
+      Iterator<PageInfo> iterator = stream.iterator();
+      while (iterator.hasNext()) {
+        PageInfo pageInfo = iterator.next();
+        if (pageInfo == null) {
+          throw new IOException("Invalid page info");
+        }
+        storedPages.put(pageInfo.getPageId(), pageInfo);
+      }
+    }
+    List<PageInfo> pages = new ArrayList<>(storedPages.size());
+    for (PageInfo pageInfo : indexedPages) {
+      PageInfo stored = storedPages.get(pageInfo.getPageId());
+      if (stored != null && stored.getPageSize() == pageInfo.getPageSize()) {
+        storedPages.remove(pageInfo.getPageId());
+        pages.add(pageInfo);
+      }
+    }
+    // the pages which are not indexed were written last
+    pages.addAll(storedPages.values());
+    return pages;
+  }
+
+  /**
+   * Adds a page found in a directory to its meta store. The page is deleted from the page store
+   * instead if the directory is full. A page which no longer belongs to the directory, e.g. after
+   * the set of directories changed, is left in the page store to be moved once all the
+   * directories are restored.
+   *
+   * @param dir the directory
+   * @param pageInfo the page found
+   * @return true if the page is added, false if it is discarded or to be moved
+   */
+  private boolean restorePage(PageStoreDir dir, PageInfo pageInfo)
+      throws IOException, PageNotFoundException {
+    PageId pageId = pageInfo.getPageId();
+    ReadWriteLock pageLock = getPageLock(pageId);
+    try (LockResource r = new LockResource(pageLock.writeLock())) {
+      if (mDirAllocator.getDir(pageId) != dir) {
+        mMisplacedPages.add(new Pair<>(dir, pageInfo));
+        return false;
+      }
+      try (LockResource r2 = new LockResource(getMetaLock(dir, pageId).writeLock())) {
+        if (dir.reserve(pageInfo.getPageSize())) {
+          dir.getMetaStore(pageId).addPage(pageId, pageInfo);
+          return true;
+        }
+      }
+      dir.getPageStore().delete(pageId);
+      return false;
+    }
+  }
+
+  /**
+   * Checkpoints the pages of all the indexed directories.
+   */
+  private void checkpointIndexes() {
+    if (mState.get() != READ_WRITE) {
+      return;
+    }
+    for (PageStoreDir dir : mDirAllocator.getDirs()) {
+      if (dir.isAvailable()) {
+        checkpointIndex(dir);
+      }
+    }
+  }
+
+  /**
+   * Flushes the logs of all the indexed directories.
+   */
+  private void flushIndexes() {
+    for (PageStoreDir dir : mDirAllocator.getDirs()) {
+      if (dir.getIndex() != null) {
+        dir.getIndex().flush();
+      }
+    }
+  }
+
+  /**
+   * Checkpoints the pages of a directory to its page index, if it is indexed. A failed checkpoint
+   * is only logged, the directory is listed at the next restore in that case.
+   *
+   * @param dir the directory
+   */
+  private void checkpointIndex(PageStoreDir dir) {
+    PageIndex index = dir.getIndex();
+    if (index == null) {
+      return;
+    }
+    try {
+      index.checkpoint(dir::getPages);
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to checkpoint page index of {}", dir, e);
+    }
+  }
+
   @Override
   public void close() throws Exception {
-    mPageStore.close();
-    mMetaStore.reset();
+    if (mPrefetchExecutor != null) {
+      // stop reading pages ahead before the page stores are closed
+      mPrefetchExecutor.shutdownNow();
+    }
+    if (mIndexCheckpointService != null) {
+      mIndexCheckpointService.shutdownNow();
+      // record the pages so that the next restore does not replay the whole log
+      checkpointIndexes();
+    }
+    for (PageStoreDir dir : mDirAllocator.getDirs()) {
+      if (dir.getIndex() != null) {
+        dir.getIndex().close();
+      }
+      dir.getPageStore().close();
+      resetMetaStores(dir);
+      if (dir.getSharedLock() != null) {
+        dir.getSharedLock().close();
+      }
+    }
     if (mInitService != null) {
       mInitService.shutdownNow();
     }
@@ -618,16 +1155,74 @@ public class LocalCacheManager implements CacheManager {
     }
   }
 
+  /**
+   * Resets all the meta store partitions of a directory.
+   *
+   * @param dir the directory
+   */
+  private void resetMetaStores(PageStoreDir dir) {
+    List<MetaStore> metaStores = dir.getMetaStores();
+    for (int i = 0; i < metaStores.size(); i++) {
+      try (LockResource r = new LockResource(mMetaLocks[i].writeLock())) {
+        metaStores.get(i).reset();
+      }
+    }
+    dir.releaseAll();
+  }
+
+  /**
+   * Removes a page from its meta store partition and releases its space in the directory. The
+   * metastore lock of the page must be acquired before calling this method.
+   *
+   * @param dir the directory of the page
+   * @param pageId the page to remove
+   * @return the page removed
+   */
+  private PageInfo removePage(PageStoreDir dir, PageId pageId) throws PageNotFoundException {
+    PageInfo pageInfo = dir.getMetaStore(pageId).removePage(pageId);
+    dir.release(pageInfo.getPageSize());
+    return pageInfo;
+  }
+
+  /**
+   * Records a page added to the page store of a directory in its page index, if it is indexed.
+   * The page lock must be acquired before calling this method.
+   *
+   * @param dir the directory of the page
+   * @param pageInfo the page added
+   */
+  private static void addToIndex(PageStoreDir dir, PageInfo pageInfo) {
+    PageIndex index = dir.getIndex();
+    if (index != null) {
+      index.add(pageInfo);
+    }
+  }
+
+  /**
+   * Records a page removed from the meta store of a directory in its page index, if it is indexed.
+   * The page lock must be acquired before calling this method.
+   *
+   * @param dir the directory of the page
+   * @param pageId the page removed
+   */
+  private static void removeFromIndex(PageStoreDir dir, PageId pageId) {
+    PageIndex index = dir.getIndex();
+    if (index != null) {
+      index.remove(pageId);
+    }
+  }
+
   /**
    * Attempts to delete a page from the page store. The page lock must be acquired before calling
    * this method. The metastore must be updated before calling this method.
    *
+   * @param dir the directory of the page
    * @param pageId page id
    * @return true if successful, false otherwise
    */
-  private boolean deletePage(PageId pageId) {
+  private boolean deletePage(PageStoreDir dir, PageId pageId) {
     try {
-      mPageStore.delete(pageId);
+      dir.getPageStore().delete(pageId);
     } catch (IOException | PageNotFoundException e) {
       LOG.error("Failed to delete page {} from pageStore", pageId, e);
       return false;
@@ -635,27 +1230,67 @@ public class LocalCacheManager implements CacheManager {
     return true;
   }
 
-  private int getPage(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer,
-      int bufferOffset) {
+  /**
+   * Reads a page from the page store. When the page fails to be read completely, the position of
+   * the buffer is restored, so the caller can read the data into the buffer from elsewhere.
+   *
+   * @return the number of bytes read, or -1 if the page fails to be read completely
+   */
+  private int getPage(PageStoreDir dir, PageId pageId, int pageOffset, int bytesToRead,
+      ByteBuffer buffer) {
+    int position = buffer.position();
     try {
-      int ret = mPageStore.get(pageId, pageOffset, bytesToRead, buffer, bufferOffset);
+      int ret = dir.getPageStore().get(pageId, pageOffset, bytesToRead, buffer);
       if (ret != bytesToRead) {
         // data read from page store is inconsistent from the metastore
         LOG.error("Failed to read page {}: supposed to read {} bytes, {} bytes actually read",
             pageId, bytesToRead, ret);
+        buffer.position(position);
         return -1;
       }
     } catch (IOException | PageNotFoundException e) {
       LOG.error("Failed to get existing page {} from pageStore", pageId, e);
+      buffer.position(position);
       return -1;
     }
     return bytesToRead;
   }
 
+  /**
+   * Reads a page missing from the meta store of a directory shared with other processes, which
+   * may have written the page to the page store. The page is not added to the meta store, as it
+   * is accounted and evicted by the process which wrote it.
+   *
+   * @return the number of bytes read, or 0 if the page is not in the page store either
+   */
+  private int getSharedPage(PageStoreDir dir, PageId pageId, int pageOffset, int bytesToRead,
+      ByteBuffer buffer) {
+    int position = buffer.position();
+    try {
+      if (dir.getPageStore().get(pageId, pageOffset, bytesToRead, buffer) == bytesToRead) {
+        Metrics.SHARED_PAGES_READ.inc();
+        return bytesToRead;
+      }
+    } catch (PageNotFoundException e) {
+      // no process wrote the page
+    } catch (IOException e) {
+      LOG.debug("Failed to read page {} of another client from pageStore", pageId, e);
+    }
+    buffer.position(position);
+    LOG.debug("get({},pageOffset={}) fails due to page not found", pageId, pageOffset);
+    return 0;
+  }
+
   private static final class Metrics {
     // Note that only counter/guage can be added here.
     // Both meter and timer need to be used inline
     // because new meter and timer will be created after {@link MetricsSystem.resetAllMetrics()}
+    /** Pages added to the cache in place of an eviction victim by the admission policy. */
+    private static final Counter ADMISSION_ACCEPTED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_ADMISSION_ACCEPTED.getName());
+    /** Pages not added to the cache because of the admission policy. */
+    private static final Counter ADMISSION_REJECTED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_ADMISSION_REJECTED.getName());
     /** Errors when cleaning up a failed get operation. */
     private static final Counter CLEANUP_GET_ERRORS =
         MetricsSystem.counter(MetricKey.CLIENT_CACHE_CLEANUP_GET_ERRORS.getName());
@@ -710,17 +1345,20 @@ public class LocalCacheManager implements CacheManager {
     /** Errors when adding pages due to failed writes but before reaching cache capacity. */
     private static final Counter PUT_STORE_WRITE_NO_SPACE_ERRORS =
         MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_STORE_WRITE_NO_SPACE_ERRORS.getName());
+    /** Pages read from a shared directory which were written by other processes. */
+    private static final Counter SHARED_PAGES_READ =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_SHARED_PAGES_READ.getName());
     /** State of the cache. */
     private static final Counter STATE =
         MetricsSystem.counter(MetricKey.CLIENT_CACHE_STATE.getName());
 
-    private static void registerGauges(long cacheSize, MetaStore metaStore) {
+    private static void registerGauges(long cacheSize, Supplier<Long> bytesUsed) {
       MetricsSystem.registerGaugeIfAbsent(
           MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_SPACE_AVAILABLE.getName()),
-          () -> cacheSize - metaStore.bytes());
+          () -> cacheSize - bytesUsed.get());
       MetricsSystem.registerGaugeIfAbsent(
           MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_SPACE_USED.getName()),
-          metaStore::bytes);
+          bytesUsed::get);
     }
   }
 }
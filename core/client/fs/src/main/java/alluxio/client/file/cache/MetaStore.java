@@ -15,6 +15,8 @@ import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.PageNotFoundException;
 
+import java.util.stream.Stream;
+
 /**
  * The metadata store for pages stored in cache.
  */
@@ -59,6 +61,14 @@ public interface MetaStore {
    */
   PageInfo removePage(PageId pageId) throws PageNotFoundException;
 
+  /**
+   * Gets all the pages stored. The stream is weakly consistent, reflecting the pages at some
+   * point at or since its creation, and may be consumed concurrently with updates.
+   *
+   * @return a stream of all the pages stored
+   */
+  Stream<PageInfo> getPages();
+
   /**
    * @return the total size of pages stored in bytes
    */
@@ -0,0 +1,268 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.collections.Pair;
+import alluxio.resource.LockResource;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Estimates the miss ratio of an LRU cache of any size from a stream of page references,
+ * following "Efficient MRC Construction with SHARDS" by Waldspurger et al. Only the pages whose
+ * hash falls below a threshold are tracked, and the reuse distance of a tracked page, i.e. the
+ * number of distinct tracked pages referenced since its previous reference, is scaled by the
+ * inverse of the sampling rate. The threshold is lowered whenever more than a fixed number of
+ * pages are tracked, which bounds the memory of the estimator regardless of the working set.
+ *
+ * Recording a reference does not block: a page above the threshold is skipped without any lock,
+ * and a sampled reference is queued and applied by whichever thread holds the lock of the
+ * estimator. A reference is dropped if the queue is full, which only loses a few samples under
+ * heavy contention.
+ */
+@ThreadSafe
+final class MissRatioCurveEstimator {
+  /** Approximate heap footprint of tracking one page. */
+  static final int BYTES_PER_SAMPLE = 200;
+  /** The number of pages to track, beyond which the estimates barely improve. */
+  static final int MAX_SAMPLES = 8192;
+  /** Size of the hash space the sampling threshold is taken from. */
+  private static final int MODULUS = 1 << 24;
+  private static final int NUM_BUCKETS = 1024;
+  private static final HashFunction HASH_FUNC = Hashing.murmur3_32();
+  /** The maximum number of sampled references waiting to be applied. */
+  private static final int MAX_PENDING_REFERENCES = 4096;
+
+  private final int mMaxSamples;
+  /** Width of the buckets of the reuse distance histogram, in pages. */
+  private final long mBucketPages;
+  /** Histogram of scaled reuse distances; the last bucket holds all the larger distances. */
+  private final double[] mHistogram = new double[NUM_BUCKETS + 1];
+  private double mReferences;
+  /** Pages whose hash is below the threshold are sampled; only lowered with the lock held. */
+  private volatile int mThreshold = MODULUS;
+  private final Map<PageId, Sample> mSamples = new HashMap<>();
+  private final PriorityQueue<Sample> mSamplesByHash =
+      new PriorityQueue<>(Comparator.comparingInt((Sample sample) -> sample.mHash).reversed());
+  /** Fenwick tree marking the logical time of the last reference to each sampled page. */
+  private long[] mTree;
+  private int mClock;
+  /** Guards the state above, except that the threshold may be read without it. */
+  private final Lock mLock = new ReentrantLock();
+  /** Sampled references waiting to be applied, with their hashes. */
+  private final Queue<Pair<PageId, Integer>> mPendingReferences = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger mNumPendingReferences = new AtomicInteger();
+
+  /**
+   * @param maxSamples the maximum number of pages to track
+   * @param maxCachePages the largest cache size to estimate the miss ratio for, in pages
+   */
+  MissRatioCurveEstimator(int maxSamples, long maxCachePages) {
+    Preconditions.checkArgument(maxSamples > 0, "max samples should be positive");
+    mMaxSamples = maxSamples;
+    mBucketPages = Math.max(1, (maxCachePages + NUM_BUCKETS - 1) / NUM_BUCKETS);
+    // leave room for as many references as samples between two compactions
+    mTree = new long[2 * maxSamples + 2];
+  }
+
+  /**
+   * Records a reference to a page.
+   *
+   * @param pageId the page referenced
+   */
+  void record(PageId pageId) {
+    int hash = HASH_FUNC.hashObject(pageId, CacheManagerWithShadowCache.PageIdFunnel.FUNNEL)
+        .asInt() & (MODULUS - 1);
+    if (hash >= mThreshold) {
+      return;
+    }
+    if (mNumPendingReferences.incrementAndGet() > MAX_PENDING_REFERENCES) {
+      mNumPendingReferences.decrementAndGet();
+      return;
+    }
+    mPendingReferences.add(new Pair<>(pageId, hash));
+    if (mLock.tryLock()) {
+      try {
+        applyPendingReferences();
+      } finally {
+        mLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Applies the queued references. The lock must be held.
+   */
+  private void applyPendingReferences() {
+    Pair<PageId, Integer> reference;
+    while ((reference = mPendingReferences.poll()) != null) {
+      mNumPendingReferences.decrementAndGet();
+      apply(reference.getFirst(), reference.getSecond());
+    }
+  }
+
+  /**
+   * Applies a reference to a page. The lock must be held.
+   *
+   * @param pageId the page referenced
+   * @param hash the hash of the page
+   */
+  private void apply(PageId pageId, int hash) {
+    if (hash >= mThreshold) {
+      // the threshold was lowered since the reference was queued
+      return;
+    }
+    mReferences++;
+    if (mClock == mTree.length - 1) {
+      compact();
+    }
+    Sample sample = mSamples.get(pageId);
+    if (sample == null) {
+      // the first reference to a page misses at any cache size
+      sample = new Sample(pageId, hash);
+      mSamples.put(pageId, sample);
+      mSamplesByHash.add(sample);
+    } else {
+      long distance = sum(mClock) - sum(sample.mTime + 1);
+      update(sample.mTime, -1);
+      long scaledDistance = (long) (distance * (double) MODULUS / mThreshold);
+      mHistogram[(int) Math.min(scaledDistance / mBucketPages, NUM_BUCKETS)]++;
+    }
+    sample.mTime = mClock++;
+    update(sample.mTime, 1);
+    while (mSamples.size() > mMaxSamples) {
+      lowerThreshold();
+    }
+  }
+
+  /**
+   * @param cachePages the size of the cache in pages
+   * @return the estimated miss ratio of a cache of the given size
+   */
+  double getMissRatio(long cachePages) {
+    try (LockResource r = new LockResource(mLock)) {
+      applyPendingReferences();
+      if (mReferences == 0) {
+        return 0;
+      }
+      double hits = 0;
+      long buckets = Math.min(cachePages / mBucketPages, NUM_BUCKETS);
+      for (int i = 0; i < buckets; i++) {
+        hits += mHistogram[i];
+      }
+      return 1 - hits / mReferences;
+    }
+  }
+
+  /**
+   * Halves the weight of all the references recorded so far, so that the estimates follow the
+   * recent references.
+   */
+  void age() {
+    try (LockResource r = new LockResource(mLock)) {
+      applyPendingReferences();
+      for (int i = 0; i < mHistogram.length; i++) {
+        mHistogram[i] /= 2;
+      }
+      mReferences /= 2;
+    }
+  }
+
+  /**
+   * @return the number of pages tracked
+   */
+  int getSamples() {
+    try (LockResource r = new LockResource(mLock)) {
+      applyPendingReferences();
+      return mSamples.size();
+    }
+  }
+
+  /**
+   * Lowers the threshold to the largest hash of the sampled pages and stops tracking the pages
+   * whose hash is no longer below it. The references recorded so far are scaled down with the
+   * sampling rate, so that they do not outweigh the references recorded afterwards.
+   */
+  private void lowerThreshold() {
+    int threshold = mSamplesByHash.peek().mHash;
+    double scale = threshold / (double) mThreshold;
+    for (int i = 0; i < mHistogram.length; i++) {
+      mHistogram[i] *= scale;
+    }
+    mReferences *= scale;
+    mThreshold = threshold;
+    while (!mSamplesByHash.isEmpty() && mSamplesByHash.peek().mHash >= mThreshold) {
+      Sample sample = mSamplesByHash.poll();
+      mSamples.remove(sample.mPageId);
+      update(sample.mTime, -1);
+    }
+  }
+
+  /**
+   * Renumbers the times of the last references of the sampled pages from zero, keeping their
+   * order, so that the clock does not outgrow the tree.
+   */
+  private void compact() {
+    List<Sample> samples = new ArrayList<>(mSamples.values());
+    samples.sort(Comparator.comparingInt(sample -> sample.mTime));
+    mTree = new long[mTree.length];
+    mClock = 0;
+    for (Sample sample : samples) {
+      sample.mTime = mClock++;
+      update(sample.mTime, 1);
+    }
+  }
+
+  private void update(int time, long delta) {
+    for (int i = time + 1; i < mTree.length; i += i & -i) {
+      mTree[i] += delta;
+    }
+  }
+
+  /**
+   * @return the number of sampled pages last referenced before the given time
+   */
+  private long sum(int time) {
+    long sum = 0;
+    for (int i = time; i > 0; i -= i & -i) {
+      sum += mTree[i];
+    }
+    return sum;
+  }
+
+  private static final class Sample {
+    private final PageId mPageId;
+    private final int mHash;
+    /** Logical time of the last reference to the page. */
+    private int mTime;
+
+    private Sample(PageId pageId, int hash) {
+      mPageId = pageId;
+      mHash = hash;
+    }
+  }
+}
@@ -19,6 +19,10 @@ import com.codahale.metrics.Counter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import javax.annotation.Nullable;
+
 /**
  * A wrapper class of CacheManager without throwing unchecked exceptions.
  */
@@ -93,6 +97,19 @@ public class NoExceptionCacheManager implements CacheManager {
     }
   }
 
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer,
+      CacheContext cacheContext) {
+    try {
+      return mCacheManager.get(pageId, pageOffset, bytesToRead, buffer, cacheContext);
+    } catch (Exception e) {
+      LOG.error("Failed to get page {}, offset {} cacheContext {}", pageId, pageOffset,
+          cacheContext, e);
+      Metrics.GET_ERRORS.inc();
+      return -1;
+    }
+  }
+
   @Override
   public boolean delete(PageId pageId) {
     try {
@@ -104,6 +121,22 @@ public class NoExceptionCacheManager implements CacheManager {
     }
   }
 
+  @Override
+  public boolean hasPage(PageId pageId) {
+    try {
+      return mCacheManager.hasPage(pageId);
+    } catch (Exception e) {
+      LOG.error("Failed to check page {}", pageId, e);
+      return false;
+    }
+  }
+
+  @Override
+  @Nullable
+  public ExecutorService getPrefetchExecutor() {
+    return mCacheManager.getPrefetchExecutor();
+  }
+
   @Override
   public State state() {
     return mCacheManager.state();
@@ -0,0 +1,360 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.client.quota.CacheScope;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A persistent index of the pages in a cache directory, so that the directory can be restored
+ * without listing and parsing every page file. The index consists of a checkpoint of all the pages
+ * and a log of the pages added and removed since the checkpoint. Each record holds the page id,
+ * size, scope and last access time of a page.
+ *
+ * The index is stored next to the root directory of the page store so that cleaning the page
+ * store does not remove it. The pages are not checked against the page store when the index is
+ * loaded: a page missing from the page store is detected and removed when it is read.
+ *
+ * The log is not flushed on every update but by {@link #flush()}, which is called periodically,
+ * so the updates made shortly before the client exited may be lost. A marker file exists while
+ * the log is open, so that an index which was not closed cleanly is detected when it is loaded
+ * and reconciled with the page store, see {@link #isClosedCleanly()}. Reconciling lists the page
+ * store once, so a restore after an unclean exit still costs a listing of the directory; only a
+ * clean exit avoids it.
+ *
+ * In a page store shared by the client processes on a host, each process indexes the pages it
+ * owns in the index of its {@link SharedPageStoreLock} slot, so that the next process holding the
+ * slot takes over the pages of a process which exited.
+ */
+@ThreadSafe
+final class PageIndex {
+  private static final Logger LOG = LoggerFactory.getLogger(PageIndex.class);
+
+  private static final int MAGIC = 0x50474958;
+  private static final int VERSION = 1;
+  private static final String CHECKPOINT = "checkpoint";
+  private static final String CHECKPOINT_TMP = "checkpoint.tmp";
+  private static final String LOG_FILE = "delta.log";
+  /** The log rotated out by a checkpoint in progress, replayed if the checkpoint did not finish. */
+  private static final String OLD_LOG_FILE = "delta.log.old";
+  /** Exists while the log is open, so it is left behind if the client exits without closing. */
+  private static final String OPEN_MARKER = "open";
+  private static final byte ADD = 1;
+  private static final byte REMOVE = 2;
+
+  private final Path mDir;
+  private final long mPageSize;
+  /** Serializes checkpoints, which write the pages without blocking updates to the log. */
+  private final Object mCheckpointLock = new Object();
+  /** The open log, or null if the index is not loaded or failed to be updated. */
+  @GuardedBy("this")
+  @Nullable
+  private DataOutputStream mLog;
+  /** Whether the index was closed cleanly before it was last loaded. */
+  @GuardedBy("this")
+  private boolean mClosedCleanly = true;
+
+  /**
+   * @param options the options of the page store to index
+   * @return the directory of the index of the page store
+   */
+  static Path getIndexPath(PageStoreOptions options) {
+    return Paths.get(options.getRootDir() + ".index");
+  }
+
+  /**
+   * @param options the options of the shared page store to index
+   * @param slot the slot of a client process sharing the page store
+   * @return the directory of the index of the pages owned by the client holding the slot
+   */
+  static Path getIndexPath(PageStoreOptions options, int slot) {
+    return Paths.get(options.getRootDir() + ".index.slot" + slot);
+  }
+
+  /**
+   * @param dir the directory to store the index
+   * @param pageSize the page size of the indexed page store
+   */
+  PageIndex(Path dir, long pageSize) {
+    mDir = dir;
+    mPageSize = pageSize;
+  }
+
+  /**
+   * Loads the pages from the index and opens the log to record further updates.
+   *
+   * @return the pages in the index from the least to the most recently accessed, or null if
+   *         there is no valid index
+   */
+  @Nullable
+  synchronized List<PageInfo> load() {
+    closeLog();
+    Path checkpoint = mDir.resolve(CHECKPOINT);
+    if (!Files.exists(checkpoint)) {
+      return null;
+    }
+    mClosedCleanly = !Files.exists(mDir.resolve(OPEN_MARKER));
+    Map<PageId, PageInfo> pages = new HashMap<>();
+    try {
+      try (DataInputStream in = new DataInputStream(
+          new BufferedInputStream(Files.newInputStream(checkpoint)))) {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != mPageSize) {
+          LOG.warn("Page index {} does not match the page store, ignoring it", mDir);
+          return null;
+        }
+        replay(in, pages);
+      }
+      for (String file : new String[] {OLD_LOG_FILE, LOG_FILE}) {
+        Path log = mDir.resolve(file);
+        if (Files.exists(log)) {
+          try (DataInputStream in = new DataInputStream(
+              new BufferedInputStream(Files.newInputStream(log)))) {
+            replay(in, pages);
+          }
+        }
+      }
+      mLog = openLog(StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to load page index {}", mDir, e);
+      return null;
+    }
+    List<PageInfo> result = new ArrayList<>(pages.values());
+    result.sort(Comparator.comparingLong(PageInfo::getLastAccessTimeMs));
+    return result;
+  }
+
+  /**
+   * @return whether the index was closed cleanly before it was last loaded; if not, the updates
+   *         recorded shortly before the client exited may be missing from the index
+   */
+  synchronized boolean isClosedCleanly() {
+    return mClosedCleanly;
+  }
+
+  /**
+   * Records that a page is added to the page store.
+   *
+   * @param pageInfo the page added
+   */
+  synchronized void add(PageInfo pageInfo) {
+    if (mLog == null) {
+      return;
+    }
+    try {
+      mLog.writeByte(ADD);
+      writePage(mLog, pageInfo);
+    } catch (IOException e) {
+      invalidate(e);
+    }
+  }
+
+  /**
+   * Records that a page is removed from the page store.
+   *
+   * @param pageId the page removed
+   */
+  synchronized void remove(PageId pageId) {
+    if (mLog == null) {
+      return;
+    }
+    try {
+      mLog.writeByte(REMOVE);
+      mLog.writeUTF(pageId.getFileId());
+      mLog.writeLong(pageId.getPageIndex());
+    } catch (IOException e) {
+      invalidate(e);
+    }
+  }
+
+  /**
+   * Flushes the updates recorded in the log since the last flush, so that the records of many
+   * updates are written together.
+   */
+  synchronized void flush() {
+    if (mLog == null) {
+      return;
+    }
+    try {
+      mLog.flush();
+    } catch (IOException e) {
+      invalidate(e);
+    }
+  }
+
+  /**
+   * Replaces the index with a checkpoint of the given pages and starts a new log. Updates made
+   * while the pages are written are recorded in the new log.
+   *
+   * @param pages supplies the pages in the page store, called after the new log is started
+   */
+  void checkpoint(Supplier<Stream<PageInfo>> pages) throws IOException {
+    synchronized (mCheckpointLock) {
+      Path oldLog = mDir.resolve(OLD_LOG_FILE);
+      synchronized (this) {
+        closeLog();
+        Files.createDirectories(mDir);
+        if (Files.exists(oldLog)) {
+          // a previous checkpoint did not finish, so the existing checkpoint and logs are stale
+          // until this one finishes
+          Files.deleteIfExists(mDir.resolve(CHECKPOINT));
+          Files.delete(oldLog);
+        }
+        Path log = mDir.resolve(LOG_FILE);
+        if (Files.exists(log)) {
+          Files.move(log, oldLog);
+        }
+        mLog = openLog(StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+      }
+      Path tmp = mDir.resolve(CHECKPOINT_TMP);
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+          Files.newOutputStream(tmp)));
+           Stream<PageInfo> stream = pages.get()) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(mPageSize);
+        Iterator<PageInfo> iterator = stream.iterator();
+        while (iterator.hasNext()) {
+          out.writeByte(ADD);
+          writePage(out, iterator.next());
+        }
+      }
+      Files.move(tmp, mDir.resolve(CHECKPOINT), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      Files.deleteIfExists(oldLog);
+    }
+  }
+
+  /**
+   * Closes the log. Updates are no longer recorded until the index is loaded or checkpointed.
+   */
+  synchronized void close() {
+    closeLog();
+    try {
+      Files.deleteIfExists(mDir.resolve(OPEN_MARKER));
+    } catch (IOException e) {
+      LOG.warn("Failed to remove page index marker in {}", mDir, e);
+    }
+  }
+
+  /**
+   * Closes and deletes the index.
+   */
+  synchronized void delete() throws IOException {
+    closeLog();
+    for (String file : new String[] {CHECKPOINT, CHECKPOINT_TMP, OLD_LOG_FILE, LOG_FILE,
+        OPEN_MARKER}) {
+      Files.deleteIfExists(mDir.resolve(file));
+    }
+    Files.deleteIfExists(mDir);
+  }
+
+  private static void writePage(DataOutputStream out, PageInfo pageInfo) throws IOException {
+    out.writeUTF(pageInfo.getPageId().getFileId());
+    out.writeLong(pageInfo.getPageId().getPageIndex());
+    out.writeLong(pageInfo.getPageSize());
+    out.writeUTF(pageInfo.getScope().getId());
+    out.writeLong(pageInfo.getLastAccessTimeMs());
+  }
+
+  /**
+   * Applies the records of a checkpoint or log to the pages. A record cut short at the end, e.g.
+   * if the client exited while appending it, is ignored.
+   */
+  private static void replay(DataInputStream in, Map<PageId, PageInfo> pages) throws IOException {
+    while (true) {
+      int type = in.read();
+      if (type < 0) {
+        return;
+      }
+      try {
+        PageId pageId = new PageId(in.readUTF(), in.readLong());
+        if (type == ADD) {
+          long pageSize = in.readLong();
+          CacheScope scope = CacheScope.create(in.readUTF());
+          pages.put(pageId, new PageInfo(pageId, pageSize, scope, in.readLong()));
+        } else if (type == REMOVE) {
+          pages.remove(pageId);
+        } else {
+          throw new IOException("Unknown page index record type " + type);
+        }
+      } catch (EOFException e) {
+        return;
+      }
+    }
+  }
+
+  @GuardedBy("this")
+  private DataOutputStream openLog(StandardOpenOption... options) throws IOException {
+    Files.createDirectories(mDir);
+    Path marker = mDir.resolve(OPEN_MARKER);
+    if (!Files.exists(marker)) {
+      Files.createFile(marker);
+    }
+    return new DataOutputStream(new BufferedOutputStream(
+        Files.newOutputStream(mDir.resolve(LOG_FILE), options)));
+  }
+
+  @GuardedBy("this")
+  private void closeLog() {
+    if (mLog == null) {
+      return;
+    }
+    try {
+      mLog.close();
+    } catch (IOException e) {
+      LOG.warn("Failed to close page index log in {}", mDir, e);
+    }
+    mLog = null;
+  }
+
+  /**
+   * Removes the checkpoint after a failed update, so that the stale index is not loaded and the
+   * directory is listed at the next restore.
+   */
+  @GuardedBy("this")
+  private void invalidate(IOException cause) {
+    LOG.warn("Failed to update page index {}, disabling it until the next checkpoint", mDir,
+        cause);
+    closeLog();
+    try {
+      Files.deleteIfExists(mDir.resolve(CHECKPOINT));
+    } catch (IOException e) {
+      LOG.warn("Failed to remove page index checkpoint in {}", mDir, e);
+    }
+  }
+}
@@ -16,6 +16,7 @@ import alluxio.client.quota.CacheScope;
 import com.google.common.base.MoreObjects;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -23,9 +24,14 @@ import javax.annotation.concurrent.ThreadSafe;
  */
 @ThreadSafe
 public class PageInfo {
+  private static final AtomicLongFieldUpdater<PageInfo> LAST_ACCESS_TIME_UPDATER =
+      AtomicLongFieldUpdater.newUpdater(PageInfo.class, "mLastAccessTimeMs");
+
   private final PageId mPageId;
   private final long mPageSize;
   private final CacheScope mCacheScope;
+  /** Time of the last access to this page, used to restore the eviction order. */
+  private volatile long mLastAccessTimeMs;
 
   /**
    * @param pageId page id
@@ -41,9 +47,20 @@ public class PageInfo {
    * @param cacheScope scope of this page
    */
   public PageInfo(PageId pageId, long pageSize, CacheScope cacheScope) {
+    this(pageId, pageSize, cacheScope, System.currentTimeMillis());
+  }
+
+  /**
+   * @param pageId page id
+   * @param pageSize page size in bytes
+   * @param cacheScope scope of this page
+   * @param lastAccessTimeMs time of the last access to this page in milliseconds
+   */
+  public PageInfo(PageId pageId, long pageSize, CacheScope cacheScope, long lastAccessTimeMs) {
     mPageId = pageId;
     mPageSize = pageSize;
     mCacheScope = cacheScope;
+    mLastAccessTimeMs = lastAccessTimeMs;
   }
 
   /**
@@ -67,6 +84,23 @@ public class PageInfo {
     return mCacheScope;
   }
 
+  /**
+   * @return time of the last access to this page in milliseconds
+   */
+  public long getLastAccessTimeMs() {
+    return mLastAccessTimeMs;
+  }
+
+  /**
+   * Records an access to this page. The access time only moves forward, so that concurrent
+   * accesses keep the latest time.
+   *
+   * @param accessTimeMs time of the access to this page in milliseconds
+   */
+  public void updateLastAccessTimeMs(long accessTimeMs) {
+    LAST_ACCESS_TIME_UPDATER.accumulateAndGet(this, accessTimeMs, Math::max);
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -12,6 +12,7 @@
 package alluxio.client.file.cache;
 
 import alluxio.client.file.cache.store.LocalPageStore;
+import alluxio.client.file.cache.store.MemoryPageStore;
 import alluxio.client.file.cache.store.PageStoreOptions;
 import alluxio.client.file.cache.store.PageStoreType;
 import alluxio.client.file.cache.store.RocksPageStore;
@@ -26,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -67,6 +69,9 @@ public interface PageStore extends AutoCloseable {
       case ROCKS:
         pageStore = RocksPageStore.open(options.toOptions());
         break;
+      case MEMORY:
+        pageStore = new MemoryPageStore(options.toOptions());
+        break;
       default:
         throw new IllegalArgumentException(
             "Incompatible PageStore " + options.getType() + " specified");
@@ -96,6 +101,10 @@ public interface PageStore extends AutoCloseable {
    * @throws IOException when failed to clean up the specific location
    */
   static void initialize(PageStoreOptions options) throws IOException {
+    if (options.getType() == PageStoreType.MEMORY) {
+      // nothing is persisted for a memory page store
+      return;
+    }
     String rootPath = options.getRootDir();
     Files.createDirectories(Paths.get(rootPath));
     LOG.info("Cleaning cache directory {}", rootPath);
@@ -150,6 +159,36 @@ public interface PageStore extends AutoCloseable {
   int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer, int bufferOffset)
       throws IOException, PageNotFoundException;
 
+  /**
+   * Gets part of a page from the store to the destination buffer, starting from the current
+   * position of the buffer. The position of the buffer is advanced by the number of bytes read.
+   * Implementations may override this method to read into direct buffers without an intermediate
+   * copy on the heap.
+   *
+   * @param pageId page identifier
+   * @param pageOffset offset within page
+   * @param bytesToRead bytes to read in this page, no more than the remaining bytes of the buffer
+   * @param buffer destination buffer
+   * @return the number of bytes read
+   * @throws IOException when the store fails to read this page
+   * @throws PageNotFoundException when the page isn't found in the store
+   * @throws IllegalArgumentException when the page offset exceeds the page size
+   */
+  default int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer)
+      throws IOException, PageNotFoundException {
+    int length = Math.min(bytesToRead, buffer.remaining());
+    if (buffer.hasArray()) {
+      int bytesRead = get(pageId, pageOffset, length, buffer.array(),
+          buffer.arrayOffset() + buffer.position());
+      buffer.position(buffer.position() + bytesRead);
+      return bytesRead;
+    }
+    byte[] bytes = new byte[length];
+    int bytesRead = get(pageId, pageOffset, length, bytes, 0);
+    buffer.put(bytes, 0, bytesRead);
+    return bytesRead;
+  }
+
   /**
    * Deletes a page from the store.
    *
@@ -0,0 +1,280 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.cache.store.PageStoreOptions;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A directory of the client cache. Each directory owns a {@link PageStore} holding the page data
+ * and one or more {@link MetaStore} partitions tracking the pages, the space used and the eviction
+ * order within the directory, so that each directory is filled and evicted independently. Pages
+ * are assigned to the partitions by hashing the page id, and each partition has its own evictor,
+ * so that updates to different partitions do not contend with each other. Pages may also be
+ * recorded in a {@link PageIndex} to restore the directory quickly, and a directory shared by the
+ * client processes on a host has a {@link SharedPageStoreLock}. Access to the stores is
+ * coordinated by {@link LocalCacheManager}.
+ */
+@NotThreadSafe
+final class PageStoreDir {
+  private final PageStoreOptions mOptions;
+  private final List<MetaStore> mMetaStores;
+  /**
+   * The persistent index of the pages in this directory, or null if the pages are not indexed.
+   * The index of a shared directory is set once the slot of this process is known.
+   */
+  @Nullable
+  private volatile PageIndex mIndex;
+  /** The lock coordinating the client processes sharing this directory, or null if not shared. */
+  @Nullable
+  private final SharedPageStoreLock mSharedLock;
+  /**
+   * The space of the pages in all the meta store partitions plus the space reserved for the pages
+   * being added, which is never above the capacity.
+   */
+  private final AtomicLong mReservedBytes = new AtomicLong(0);
+  private volatile PageStore mPageStore;
+  /** Whether this directory is usable, false if it failed to be restored or initialized. */
+  private volatile boolean mAvailable = true;
+
+  /**
+   * @param options the options of the page store in this directory
+   * @param pageStore the page store of this directory
+   * @param metaStore the meta store of this directory
+   */
+  PageStoreDir(PageStoreOptions options, PageStore pageStore, MetaStore metaStore) {
+    this(options, pageStore, Collections.singletonList(metaStore));
+  }
+
+  /**
+   * @param options the options of the page store in this directory
+   * @param pageStore the page store of this directory
+   * @param metaStores the meta store partitions of this directory
+   */
+  PageStoreDir(PageStoreOptions options, PageStore pageStore, List<MetaStore> metaStores) {
+    this(options, pageStore, metaStores, null);
+  }
+
+  /**
+   * @param options the options of the page store in this directory
+   * @param pageStore the page store of this directory
+   * @param metaStores the meta store partitions of this directory
+   * @param index the persistent index of the pages in this directory, or null
+   */
+  PageStoreDir(PageStoreOptions options, PageStore pageStore, List<MetaStore> metaStores,
+      @Nullable PageIndex index) {
+    this(options, pageStore, metaStores, index, null);
+  }
+
+  /**
+   * @param options the options of the page store in this directory
+   * @param pageStore the page store of this directory
+   * @param metaStores the meta store partitions of this directory
+   * @param index the persistent index of the pages in this directory, or null
+   * @param sharedLock the lock coordinating the client processes sharing this directory, or null
+   */
+  PageStoreDir(PageStoreOptions options, PageStore pageStore, List<MetaStore> metaStores,
+      @Nullable PageIndex index, @Nullable SharedPageStoreLock sharedLock) {
+    Preconditions.checkArgument(!metaStores.isEmpty(), "no meta store is specified");
+    mOptions = options;
+    mPageStore = pageStore;
+    mMetaStores = metaStores;
+    mIndex = index;
+    mSharedLock = sharedLock;
+  }
+
+  /**
+   * @return the options of the page store in this directory
+   */
+  PageStoreOptions getOptions() {
+    return mOptions;
+  }
+
+  /**
+   * @return the page store of this directory
+   */
+  PageStore getPageStore() {
+    return mPageStore;
+  }
+
+  /**
+   * @param pageStore the new page store of this directory
+   */
+  void setPageStore(PageStore pageStore) {
+    mPageStore = pageStore;
+  }
+
+  /**
+   * @return the persistent index of the pages in this directory, or null if not indexed
+   */
+  @Nullable
+  PageIndex getIndex() {
+    return mIndex;
+  }
+
+  /**
+   * @param index the persistent index of the pages in this directory
+   */
+  void setIndex(PageIndex index) {
+    mIndex = index;
+  }
+
+  /**
+   * @return the lock coordinating the client processes sharing this directory, or null if the
+   *         directory is not shared
+   */
+  @Nullable
+  SharedPageStoreLock getSharedLock() {
+    return mSharedLock;
+  }
+
+  /**
+   * @return a stream of the pages in all the meta store partitions of this directory
+   */
+  Stream<PageInfo> getPages() {
+    return mMetaStores.stream().flatMap(MetaStore::getPages);
+  }
+
+  /**
+   * @param pageId page identifier
+   * @return the index of the meta store partition of the page
+   */
+  int getPartition(PageId pageId) {
+    if (mMetaStores.size() == 1) {
+      return 0;
+    }
+    return Math.floorMod((int) (pageId.getFileId().hashCode() + pageId.getPageIndex()),
+        mMetaStores.size());
+  }
+
+  /**
+   * @param pageId page identifier
+   * @return the meta store partition of the page
+   */
+  MetaStore getMetaStore(PageId pageId) {
+    return mMetaStores.get(getPartition(pageId));
+  }
+
+  /**
+   * @return the meta store partitions of this directory
+   */
+  List<MetaStore> getMetaStores() {
+    return mMetaStores;
+  }
+
+  /**
+   * @return the total size of pages stored in this directory in bytes
+   */
+  long bytes() {
+    long bytes = 0;
+    for (MetaStore metaStore : mMetaStores) {
+      bytes += metaStore.bytes();
+    }
+    return bytes;
+  }
+
+  /**
+   * Reserves space for a page to add to this directory. The space is reserved atomically across
+   * the meta store partitions, so that pages added to different partitions concurrently never
+   * take more space than the capacity of the directory.
+   *
+   * @param bytes the size of the page in bytes
+   * @return true if the space is reserved, false if the directory does not have enough space
+   */
+  boolean reserve(long bytes) {
+    long capacity = getCapacity();
+    while (true) {
+      long reserved = mReservedBytes.get();
+      if (reserved + bytes > capacity) {
+        return false;
+      }
+      if (mReservedBytes.compareAndSet(reserved, reserved + bytes)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Releases the space of a page removed from this directory, or of a page which failed to be
+   * added.
+   *
+   * @param bytes the size of the page in bytes
+   */
+  void release(long bytes) {
+    mReservedBytes.addAndGet(-bytes);
+  }
+
+  /**
+   * Releases all the space of this directory, after its meta store partitions are reset.
+   */
+  void releaseAll() {
+    mReservedBytes.set(0);
+  }
+
+  /**
+   * @return the space of the pages in this directory plus the space reserved for the pages being
+   *         added in bytes
+   */
+  long reservedBytes() {
+    return mReservedBytes.get();
+  }
+
+  /**
+   * @return the number of pages stored in this directory
+   */
+  long pages() {
+    long pages = 0;
+    for (MetaStore metaStore : mMetaStores) {
+      pages += metaStore.pages();
+    }
+    return pages;
+  }
+
+  /**
+   * @return the capacity of this directory in bytes
+   */
+  long getCapacity() {
+    return mPageStore.getCacheSize();
+  }
+
+  /**
+   * @return whether this directory is usable
+   */
+  boolean isAvailable() {
+    return mAvailable;
+  }
+
+  /**
+   * @param available whether this directory is usable
+   */
+  void setAvailable(boolean available) {
+    mAvailable = available;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("RootDir", mOptions.getRootDir())
+        .add("Partitions", mMetaStores.size())
+        .add("Available", mAvailable)
+        .toString();
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Assigns pages to cache directories by consistent hashing of the {@link PageId}. Each directory
+ * is placed on a hash ring at a number of points proportional to its capacity, and the points are
+ * derived from the directory path. Adding or removing a directory therefore only moves the pages
+ * that hash to the affected points, and the other directories keep their pages across restarts.
+ */
+@ThreadSafe
+final class PageStoreDirAllocator {
+  /** Number of points on the ring for the directory with the largest capacity. */
+  private static final int VIRTUAL_NODES = 128;
+  private static final HashFunction HASH_FUNC = Hashing.murmur3_32();
+
+  private final List<PageStoreDir> mDirs;
+  /** Sorted hashes of the points on the ring. */
+  private final int[] mRingHashes;
+  /** Index into {@link #mDirs} of the directory owning each point in {@link #mRingHashes}. */
+  private final int[] mRingDirs;
+
+  /**
+   * @param dirs the cache directories
+   */
+  PageStoreDirAllocator(List<PageStoreDir> dirs) {
+    Preconditions.checkArgument(!dirs.isEmpty(), "no cache directory is specified");
+    mDirs = dirs;
+    long maxCapacity = 1;
+    for (PageStoreDir dir : dirs) {
+      maxCapacity = Math.max(maxCapacity, dir.getCapacity());
+    }
+    List<int[]> points = new ArrayList<>();
+    for (int i = 0; i < dirs.size(); i++) {
+      int nodes = (int) Math.max(1, VIRTUAL_NODES * dirs.get(i).getCapacity() / maxCapacity);
+      String rootDir = dirs.get(i).getOptions().getRootDir();
+      for (int node = 0; node < nodes; node++) {
+        int hash = HASH_FUNC.hashString(rootDir + "#" + node, StandardCharsets.UTF_8).asInt();
+        points.add(new int[] {hash, i});
+      }
+    }
+    points.sort(Comparator.comparingInt(point -> point[0]));
+    mRingHashes = new int[points.size()];
+    mRingDirs = new int[points.size()];
+    for (int i = 0; i < points.size(); i++) {
+      mRingHashes[i] = points.get(i)[0];
+      mRingDirs[i] = points.get(i)[1];
+    }
+  }
+
+  /**
+   * @return all the cache directories
+   */
+  List<PageStoreDir> getDirs() {
+    return mDirs;
+  }
+
+  /**
+   * @param pageId page identifier
+   * @return the directory which the page belongs to
+   */
+  PageStoreDir getDir(PageId pageId) {
+    if (mDirs.size() == 1) {
+      return mDirs.get(0);
+    }
+    int hash = HASH_FUNC.hashObject(pageId, CacheManagerWithShadowCache.PageIdFunnel.FUNNEL)
+        .asInt();
+    int index = Arrays.binarySearch(mRingHashes, hash);
+    if (index < 0) {
+      // the first point clockwise from the hash, wrapping around the ring
+      index = -index - 1;
+      if (index == mRingHashes.length) {
+        index = 0;
+      }
+    }
+    return mDirs.get(mRingDirs[index]);
+  }
+}
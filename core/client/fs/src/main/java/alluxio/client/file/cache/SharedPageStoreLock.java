@@ -0,0 +1,272 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.cache.store.PageStoreOptions;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A lock file coordinating the client processes on a host which share the directory of a page
+ * store. Each process holds a shared lock on one byte of the file while it uses the directory,
+ * and processes starting to use the directory hold an exclusive lock on another byte, so that the
+ * directory is only restored or cleaned by a process starting while no other process uses it.
+ * Each process also holds an exclusive lock on one of a fixed number of slot bytes, which bounds
+ * the number of processes sharing the directory and identifies the pages a process owns, so that
+ * the pages of a process which exited are taken over by the next process holding its slot.
+ *
+ * The file is stored next to the root directory of the page store so that cleaning the page store
+ * does not remove it. File locks are held on behalf of the whole JVM, so another cache using the
+ * directory in the same JVM counts as another process: its startup is serialized and its use is
+ * counted within the JVM, and it holds its own slot.
+ */
+@ThreadSafe
+final class SharedPageStoreLock implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(SharedPageStoreLock.class);
+
+  /** Position of the byte locked exclusively while a process starts to use the directory. */
+  private static final long STARTUP_POSITION = 0;
+  /** Position of the byte locked in shared mode while a process uses the directory. */
+  private static final long IN_USE_POSITION = 1;
+  /** Position of the first slot byte. */
+  private static final long SLOT_POSITION = 2;
+
+  /** Serializes the startups of the caches using a directory in this JVM, by lock file path. */
+  private static final Map<Path, Semaphore> STARTUP_PERMITS = new ConcurrentHashMap<>();
+  /** The in-use locks held for the caches using a directory in this JVM, by lock file path. */
+  @GuardedBy("IN_USE_LOCKS")
+  private static final Map<Path, InUseLock> IN_USE_LOCKS = new HashMap<>();
+
+  private final Path mPath;
+  private final int mMaxClients;
+  @GuardedBy("this")
+  @Nullable
+  private FileChannel mChannel;
+  @GuardedBy("this")
+  @Nullable
+  private FileLock mStartupLock;
+  @GuardedBy("this")
+  @Nullable
+  private Semaphore mStartupPermit;
+  @GuardedBy("this")
+  @Nullable
+  private FileLock mSlotLock;
+  @GuardedBy("this")
+  private boolean mInUse;
+
+  /**
+   * @param options the options of the shared page store
+   * @return the path of the lock file of the page store
+   */
+  static Path getLockPath(PageStoreOptions options) {
+    return Paths.get(options.getRootDir() + ".lock");
+  }
+
+  /**
+   * @param path the path of the lock file
+   * @param maxClients the maximum number of processes sharing the directory
+   */
+  SharedPageStoreLock(Path path, int maxClients) {
+    mPath = path;
+    mMaxClients = maxClients;
+  }
+
+  /**
+   * Waits for the other processes starting to use the directory, takes a free slot and marks the
+   * directory in use by this process. The startup lock is held until {@link #unlockStartup()} is
+   * called.
+   *
+   * @return true if no other process uses the directory, false otherwise
+   * @throws IOException if all the slots are held by other processes, or the lock file fails to
+   *         be locked
+   */
+  synchronized boolean lock() throws IOException {
+    if (mChannel == null) {
+      Files.createDirectories(mPath.getParent());
+      mChannel = FileChannel.open(mPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+          StandardOpenOption.WRITE);
+    }
+    mStartupPermit = STARTUP_PERMITS.computeIfAbsent(mPath, path -> new Semaphore(1));
+    mStartupPermit.acquireUninterruptibly();
+    try {
+      mStartupLock = mChannel.lock(STARTUP_POSITION, 1, false);
+      mSlotLock = lockSlot();
+      return !lockInUse();
+    } catch (IOException | RuntimeException e) {
+      unlockStartup();
+      releaseSlot();
+      mChannel.close();
+      mChannel = null;
+      throw e;
+    }
+  }
+
+  /**
+   * @return the slot held by this process, valid after {@link #lock()} returns
+   */
+  synchronized int getSlot() {
+    Preconditions.checkState(mSlotLock != null, "the directory is not locked");
+    return (int) (mSlotLock.position() - SLOT_POSITION);
+  }
+
+  /**
+   * @return the maximum number of processes sharing the directory
+   */
+  int getMaxClients() {
+    return mMaxClients;
+  }
+
+  /**
+   * Lets other processes start to use the directory.
+   */
+  synchronized void unlockStartup() {
+    if (mStartupLock != null) {
+      try {
+        mStartupLock.release();
+      } catch (IOException e) {
+        LOG.warn("Failed to release startup lock {}", mPath, e);
+      }
+      mStartupLock = null;
+    }
+    if (mStartupPermit != null) {
+      mStartupPermit.release();
+      mStartupPermit = null;
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    unlockStartup();
+    if (mInUse) {
+      unlockInUse();
+      mInUse = false;
+    }
+    releaseSlot();
+    if (mChannel != null) {
+      mChannel.close();
+      mChannel = null;
+    }
+  }
+
+  /**
+   * @return the lock of the first slot not held by another process
+   */
+  @GuardedBy("this")
+  private FileLock lockSlot() throws IOException {
+    for (int slot = 0; slot < mMaxClients; slot++) {
+      try {
+        FileLock lock = mChannel.tryLock(SLOT_POSITION + slot, 1, false);
+        if (lock != null) {
+          return lock;
+        }
+      } catch (OverlappingFileLockException e) {
+        // another cache in this JVM holds the slot
+      }
+    }
+    throw new IOException(String.format(
+        "Directory of %s is already shared by the maximum number of clients (%d)", mPath,
+        mMaxClients));
+  }
+
+  @GuardedBy("this")
+  private void releaseSlot() {
+    if (mSlotLock == null) {
+      return;
+    }
+    try {
+      mSlotLock.release();
+    } catch (IOException e) {
+      LOG.warn("Failed to release slot lock {}", mPath, e);
+    }
+    mSlotLock = null;
+  }
+
+  /**
+   * Marks the directory in use by this process. The in-use lock is held once for all the caches
+   * using the directory in this JVM, until the last one is closed.
+   *
+   * @return true if another process uses the directory, false otherwise
+   */
+  @GuardedBy("this")
+  private boolean lockInUse() throws IOException {
+    synchronized (IN_USE_LOCKS) {
+      InUseLock inUseLock = IN_USE_LOCKS.get(mPath);
+      boolean inUse;
+      if (inUseLock != null) {
+        inUse = true;
+      } else {
+        FileChannel channel = FileChannel.open(mPath, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+          try (FileLock exclusive = channel.tryLock(IN_USE_POSITION, 1, false)) {
+            inUse = exclusive == null;
+          }
+          channel.lock(IN_USE_POSITION, 1, true);
+          inUseLock = new InUseLock(channel);
+        } catch (IOException | RuntimeException e) {
+          channel.close();
+          throw e;
+        }
+        IN_USE_LOCKS.put(mPath, inUseLock);
+      }
+      inUseLock.mUsers++;
+      mInUse = true;
+      return inUse;
+    }
+  }
+
+  @GuardedBy("this")
+  private void unlockInUse() throws IOException {
+    synchronized (IN_USE_LOCKS) {
+      InUseLock inUseLock = IN_USE_LOCKS.get(mPath);
+      if (inUseLock == null || --inUseLock.mUsers > 0) {
+        return;
+      }
+      IN_USE_LOCKS.remove(mPath);
+      // closing the channel releases the lock
+      inUseLock.mChannel.close();
+    }
+  }
+
+  /**
+   * The in-use lock of a directory held for the caches using it in this JVM.
+   */
+  private static final class InUseLock {
+    /** The channel holding the lock, which is released when the channel is closed. */
+    private final FileChannel mChannel;
+    /** The number of caches using the directory in this JVM. */
+    private int mUsers;
+
+    private InUseLock(FileChannel channel) {
+      mChannel = channel;
+    }
+  }
+}
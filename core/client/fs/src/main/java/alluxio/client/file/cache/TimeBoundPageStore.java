@@ -24,6 +24,7 @@ import com.google.common.util.concurrent.SimpleTimeLimiter;
 import com.google.common.util.concurrent.TimeLimiter;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -104,6 +105,28 @@ public class TimeBoundPageStore implements PageStore {
     }
   }
 
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer)
+      throws IOException, PageNotFoundException {
+    Callable<Integer> callable = () ->
+        mPageStore.get(pageId, pageOffset, bytesToRead, buffer);
+    try {
+      return mTimeLimter.callWithTimeout(callable, mTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (TimeoutException e) {
+      Metrics.STORE_GET_TIMEOUT.inc();
+      throw new IOException(e);
+    } catch (RejectedExecutionException e) {
+      Metrics.STORE_THREADS_REJECTED.inc();
+      throw new IOException(e);
+    } catch (Throwable t) {
+      Throwables.propagateIfPossible(t, IOException.class, PageNotFoundException.class);
+      throw new IOException(t);
+    }
+  }
+
   @Override
   public void delete(PageId pageId) throws IOException, PageNotFoundException {
     Callable<Void> callable = () -> {
@@ -0,0 +1,42 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.admission;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.conf.AlluxioConfiguration;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Client-side cache admission policy which admits every page, so that the evictor alone decides
+ * which pages stay in the cache.
+ */
+@ThreadSafe
+public class AdmitAllCacheAdmissionPolicy implements CacheAdmissionPolicy {
+
+  /**
+   * Required constructor.
+   *
+   * @param conf Alluxio configuration
+   */
+  public AdmitAllCacheAdmissionPolicy(AlluxioConfiguration conf) {
+  }
+
+  @Override
+  public void recordAccess(PageId pageId) {
+  }
+
+  @Override
+  public boolean admit(PageId candidate, PageId victim) {
+    return true;
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.admission;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.CommonUtils;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Interface for client-side cache admission policy. When the cache is full, the policy decides
+ * whether a new page is worth caching in place of the victim chosen by the evictor. The
+ * implementation of this policy must be thread-safe.
+ */
+@ThreadSafe
+public interface CacheAdmissionPolicy {
+
+  /**
+   * @param conf the alluxio configuration
+   * @return a CacheAdmissionPolicy instance
+   */
+  static CacheAdmissionPolicy create(AlluxioConfiguration conf) {
+    return CommonUtils.createNewClassInstance(
+        conf.getClass(PropertyKey.USER_CLIENT_CACHE_ADMISSION_POLICY_CLASS),
+        new Class[] {AlluxioConfiguration.class}, new Object[] {conf});
+  }
+
+  /**
+   * Records an access to a page, either a read of a cached page or a write of a page.
+   *
+   * @param pageId page identifier
+   */
+  void recordAccess(PageId pageId);
+
+  /**
+   * @param candidate the page to add to the cache
+   * @param victim the page to evict to make room for the candidate
+   * @return whether the candidate should be cached in place of the victim
+   */
+  boolean admit(PageId candidate, PageId victim);
+}
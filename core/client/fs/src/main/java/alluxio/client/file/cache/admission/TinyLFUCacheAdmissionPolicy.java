@@ -0,0 +1,167 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.admission;
+
+import alluxio.client.file.cache.CacheManagerWithShadowCache.PageIdFunnel;
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.math.LongMath;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * TinyLFU client-side cache admission policy, following "TinyLFU: A Highly Efficient Cache
+ * Admission Policy" by Einziger et al. A new page is only admitted if it has been accessed more
+ * frequently than the eviction victim, so that one-off scans do not flush frequently read pages.
+ *
+ * Access frequencies are approximated by a count-min sketch of 4-bit counters, sized after the
+ * number of pages fitting in the cache. The first access to a page is only recorded in a bloom
+ * filter (the doorkeeper), so that pages read once do not take counters in the sketch. After a
+ * number of accesses proportional to the cache capacity, all counters are halved and the
+ * doorkeeper is cleared, so that the frequencies reflect recent accesses.
+ */
+@ThreadSafe
+public class TinyLFUCacheAdmissionPolicy implements CacheAdmissionPolicy {
+  /** Number of rows in the sketch, each indexed by a different hash of the page id. */
+  private static final int DEPTH = 4;
+  /** Number of 4-bit counters packed into a long. */
+  private static final int COUNTERS_PER_WORD = 16;
+  private static final long MAX_COUNT = 15;
+  /** Mask to halve all the counters in a word at once, dropping the bit shifted in. */
+  private static final long RESET_MASK = 0x7777777777777777L;
+  /** Number of accesses per counter in a row before the counters are halved. */
+  private static final int SAMPLE_FACTOR = 10;
+  private static final HashFunction HASH_FUNC = Hashing.murmur3_128();
+
+  /** Number of counters in each row, a power of two. */
+  private final int mWidth;
+  private final int mSampleSize;
+  private final AtomicLongArray mTable;
+  /** Number of accesses recorded since the counters were last halved. */
+  private final AtomicInteger mAccesses = new AtomicInteger();
+  private volatile BloomFilter<PageId> mDoorkeeper;
+
+  /**
+   * Required constructor.
+   *
+   * @param conf Alluxio configuration
+   */
+  public TinyLFUCacheAdmissionPolicy(AlluxioConfiguration conf) {
+    this(PageStoreOptions.createForDirs(conf).stream().mapToLong(PageStoreOptions::getCacheSize)
+        .sum() / conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE));
+  }
+
+  /**
+   * @param expectedPages the number of pages fitting in the cache
+   */
+  @VisibleForTesting
+  TinyLFUCacheAdmissionPolicy(long expectedPages) {
+    Preconditions.checkArgument(expectedPages >= 0, "expected pages should be non-negative");
+    mWidth = (int) LongMath.ceilingPowerOfTwo(
+        Math.min(1 << 26, Math.max(COUNTERS_PER_WORD, expectedPages)));
+    mSampleSize = (int) Math.min(Integer.MAX_VALUE, (long) SAMPLE_FACTOR * mWidth);
+    mTable = new AtomicLongArray(DEPTH * mWidth / COUNTERS_PER_WORD);
+    mDoorkeeper = BloomFilter.create(PageIdFunnel.FUNNEL, mSampleSize);
+  }
+
+  @Override
+  public void recordAccess(PageId pageId) {
+    BloomFilter<PageId> doorkeeper = mDoorkeeper;
+    if (doorkeeper.mightContain(pageId)) {
+      long hash = HASH_FUNC.hashObject(pageId, PageIdFunnel.FUNNEL).asLong();
+      for (int row = 0; row < DEPTH; row++) {
+        increment(indexOf(hash, row));
+      }
+    } else {
+      doorkeeper.put(pageId);
+    }
+    if (mAccesses.incrementAndGet() == mSampleSize) {
+      reset();
+    }
+  }
+
+  @Override
+  public boolean admit(PageId candidate, PageId victim) {
+    return frequency(candidate) > frequency(victim);
+  }
+
+  /**
+   * @param pageId page identifier
+   * @return the estimated number of recent accesses to the page, at most 16
+   */
+  @VisibleForTesting
+  int frequency(PageId pageId) {
+    long hash = HASH_FUNC.hashObject(pageId, PageIdFunnel.FUNNEL).asLong();
+    long count = MAX_COUNT;
+    for (int row = 0; row < DEPTH; row++) {
+      int index = indexOf(hash, row);
+      count = Math.min(count, (mTable.get(index / COUNTERS_PER_WORD) >>> shiftOf(index))
+          & MAX_COUNT);
+    }
+    return (int) count + (mDoorkeeper.mightContain(pageId) ? 1 : 0);
+  }
+
+  /**
+   * @param hash hash of the page id
+   * @param row row of the sketch
+   * @return the index of the counter of the page in the given row
+   */
+  private int indexOf(long hash, int row) {
+    // derive the hash of each row from the two halves of the page id hash
+    int hash1 = (int) hash;
+    int hash2 = (int) (hash >>> 32);
+    return row * mWidth + ((hash1 + row * hash2) & (mWidth - 1));
+  }
+
+  private static int shiftOf(int index) {
+    return (index % COUNTERS_PER_WORD) * 4;
+  }
+
+  private void increment(int index) {
+    int word = index / COUNTERS_PER_WORD;
+    int shift = shiftOf(index);
+    while (true) {
+      long value = mTable.get(word);
+      if (((value >>> shift) & MAX_COUNT) == MAX_COUNT
+          || mTable.compareAndSet(word, value, value + (1L << shift))) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Halves all the counters and clears the doorkeeper. Accesses recorded concurrently may be lost,
+   * which only makes the estimates slightly lower.
+   */
+  private void reset() {
+    mDoorkeeper = BloomFilter.create(PageIdFunnel.FUNNEL, mSampleSize);
+    for (int i = 0; i < mTable.length(); i++) {
+      while (true) {
+        long value = mTable.get(i);
+        if (mTable.compareAndSet(i, value, (value >>> 1) & RESET_MASK)) {
+          break;
+        }
+      }
+    }
+    mAccesses.addAndGet(-mSampleSize);
+  }
+}
@@ -25,10 +25,15 @@ import org.slf4j.LoggerFactory;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -38,16 +43,23 @@ import javax.annotation.concurrent.NotThreadSafe;
 /**
  * The {@link LocalPageStore} is an implementation of {@link PageStore} which
  * stores all pages in a directory somewhere on the local disk.
+ *
+ * A store shared by the client processes on a host writes each page to a temporary file linked to
+ * the page file once complete, so that other processes never read a partially written page and a
+ * page is only written by one process.
  */
 @NotThreadSafe
 public class LocalPageStore implements PageStore {
   private static final Logger LOG = LoggerFactory.getLogger(LocalPageStore.class);
   private static final String ERROR_NO_SPACE_LEFT = "No space left on device";
+  /** Prefix of the temporary files pages are written to in a shared store. */
+  private static final String TEMP_FILE_PREFIX = ".tmp.";
   private final String mRoot;
   private final long mPageSize;
   private final long mCapacity;
   private final int mFileBuckets;
   private final Pattern mPagePattern;
+  private final boolean mShared;
 
   /**
    * Creates a new instance of {@link LocalPageStore}.
@@ -59,6 +71,7 @@ public class LocalPageStore implements PageStore {
     mPageSize = options.getPageSize();
     mCapacity = (long) (options.getCacheSize() / (1 + options.getOverheadRatio()));
     mFileBuckets = options.getFileBuckets();
+    mShared = options.isShared();
     // normalize the path to deal with trailing slash
     Path rootDir = Paths.get(mRoot);
     // pattern encoding root_path/page_size(ulong)/bucket(uint)/file_id(str)/page_idx(ulong)/
@@ -66,9 +79,19 @@ public class LocalPageStore implements PageStore {
         String.format("%s/%d/(\\d+)/([^/]+)/(\\d+)", Pattern.quote(rootDir.toString()), mPageSize));
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @throws FileAlreadyExistsException if the store is shared and the page is already written by
+   *         another process
+   */
   @Override
   public void put(PageId pageId, byte[] page) throws ResourceExhaustedException, IOException {
     Path p = getFilePath(pageId);
+    if (mShared) {
+      putShared(pageId, p, page);
+      return;
+    }
     try {
       if (!Files.exists(p)) {
         Path parent =
@@ -90,6 +113,30 @@ public class LocalPageStore implements PageStore {
     }
   }
 
+  private void putShared(PageId pageId, Path p, byte[] page)
+      throws ResourceExhaustedException, IOException {
+    Path parent =
+        Preconditions.checkNotNull(p.getParent(), "parent of cache file should not be null");
+    Path tmp = parent.resolve(TEMP_FILE_PREFIX + p.getFileName() + "." + UUID.randomUUID());
+    try {
+      Files.createDirectories(parent);
+      try (FileOutputStream fos = new FileOutputStream(tmp.toFile(), false)) {
+        fos.write(page);
+      }
+      Files.createLink(p, tmp);
+    } catch (FileAlreadyExistsException e) {
+      throw e;
+    } catch (Exception e) {
+      if (e.getMessage() != null && e.getMessage().contains(ERROR_NO_SPACE_LEFT)) {
+        throw new ResourceExhaustedException(
+            String.format("%s is full, configured with %d bytes", mRoot, mCapacity), e);
+      }
+      throw new IOException("Failed to write file " + p + " for page " + pageId, e);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
   @Override
   public int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer, int bufferOffset)
       throws IOException, PageNotFoundException {
@@ -126,6 +173,39 @@ public class LocalPageStore implements PageStore {
     }
   }
 
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer)
+      throws IOException, PageNotFoundException {
+    if (buffer.hasArray()) {
+      return PageStore.super.get(pageId, pageOffset, bytesToRead, buffer);
+    }
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    Path p = getFilePath(pageId);
+    if (!Files.exists(p)) {
+      throw new PageNotFoundException(p.toString());
+    }
+    long pageLength = p.toFile().length();
+    Preconditions.checkArgument(pageOffset <= pageLength, "page offset %s exceeded page size %s",
+        pageOffset, pageLength);
+    int bytesLeft = (int) Math.min(pageLength - pageOffset, buffer.remaining());
+    bytesLeft = Math.min(bytesLeft, bytesToRead);
+    // read through the channel so that direct buffers are filled without a copy on the heap
+    ByteBuffer dst = buffer.duplicate();
+    dst.limit(dst.position() + bytesLeft);
+    int bytesRead = 0;
+    try (FileChannel channel = FileChannel.open(p, StandardOpenOption.READ)) {
+      while (dst.hasRemaining()) {
+        int bytes = channel.read(dst, pageOffset + bytesRead);
+        if (bytes <= 0) {
+          break;
+        }
+        bytesRead += bytes;
+      }
+    }
+    buffer.position(buffer.position() + bytesRead);
+    return bytesRead;
+  }
+
   @Override
   public void delete(PageId pageId) throws IOException, PageNotFoundException {
     Path p = getFilePath(pageId);
@@ -217,10 +297,29 @@ public class LocalPageStore implements PageStore {
     // no-op
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * Temporary files left by processes which exited while writing pages to a shared store are
+   * removed, so this should only be called while no other process uses the store.
+   */
   @Override
   public Stream<PageInfo> getPages() throws IOException {
     Path rootDir = Paths.get(mRoot);
-    return Files.walk(rootDir).filter(Files::isRegularFile).map(this::getPageInfo);
+    return Files.walk(rootDir).filter(Files::isRegularFile).filter(this::isPageFile)
+        .map(this::getPageInfo);
+  }
+
+  private boolean isPageFile(Path path) {
+    if (!path.getFileName().toString().startsWith(TEMP_FILE_PREFIX)) {
+      return true;
+    }
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      LOG.warn("Failed to delete temporary file {}", path, e);
+    }
+    return false;
   }
 
   @Override
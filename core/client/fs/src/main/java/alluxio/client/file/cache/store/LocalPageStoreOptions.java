@@ -28,6 +28,9 @@ public class LocalPageStoreOptions extends PageStoreOptions {
    */
   private int mFileBuckets;
 
+  /** Whether the page store is shared by the client processes on a host. */
+  private boolean mShared;
+
   /**
    * Creates a new instance of {@link LocalPageStoreOptions}.
    */
@@ -52,6 +55,22 @@ public class LocalPageStoreOptions extends PageStoreOptions {
     return mFileBuckets;
   }
 
+  /**
+   * @param shared whether the page store is shared by the client processes on a host
+   * @return the updated options
+   */
+  public LocalPageStoreOptions setShared(boolean shared) {
+    mShared = shared;
+    return this;
+  }
+
+  /**
+   * @return whether the page store is shared by the client processes on a host
+   */
+  public boolean isShared() {
+    return mShared;
+  }
+
   @Override
   public PageStoreType getType() {
     return PageStoreType.LOCAL;
@@ -66,6 +85,7 @@ public class LocalPageStoreOptions extends PageStoreOptions {
         .add("OverheadRatio", mOverheadRatio)
         .add("PageSize", mPageSize)
         .add("RootDir", mRootDir)
+        .add("Shared", mShared)
         .add("TimeoutDuration", mTimeoutDuration)
         .add("TimeoutThreads", mTimeoutThreads)
         .toString();
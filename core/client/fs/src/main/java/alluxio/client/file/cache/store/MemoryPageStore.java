@@ -0,0 +1,278 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageInfo;
+import alluxio.client.file.cache.PageStore;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The {@link MemoryPageStore} is an implementation of {@link PageStore} which stores all pages
+ * in off-heap memory. A full page occupies one page-sized direct buffer (slab) and freed slabs are
+ * recycled for later full pages, while a smaller page, e.g. the last page of a file, occupies a
+ * direct buffer of its own size so that it does not waste most of a slab. The memory footprint is
+ * capped at the configured cache size and no file system calls are made on the read or write
+ * path. Pages are lost when the store is closed.
+ *
+ * A buffer is only released once the readers copying from it are done, so that a page which is
+ * overwritten or deleted during a read is not replaced by another page under the reader.
+ */
+@ThreadSafe
+public class MemoryPageStore implements PageStore {
+  private final long mPageSize;
+  private final long mCapacity;
+  /** Maximum number of bytes of the buffers allocated by this store. */
+  private final long mMaxBytes;
+  private final Map<PageId, Slab> mPages = new ConcurrentHashMap<>();
+  /** Slabs which have been allocated and released, ready to be reused. */
+  private final ConcurrentLinkedQueue<ByteBuffer> mFreeSlabs = new ConcurrentLinkedQueue<>();
+  /** Number of bytes of the buffers allocated so far, including free slabs. */
+  private final AtomicLong mAllocatedBytes = new AtomicLong();
+
+  /**
+   * Creates a new instance of {@link MemoryPageStore}.
+   *
+   * @param options options for the memory page store
+   */
+  public MemoryPageStore(MemoryPageStoreOptions options) {
+    Preconditions.checkArgument(options.getPageSize() > 0 && options.getPageSize()
+        <= Integer.MAX_VALUE, "page size %s must be a positive int", options.getPageSize());
+    mPageSize = options.getPageSize();
+    mCapacity = (long) (options.getCacheSize() / (1 + options.getOverheadRatio()));
+    mMaxBytes = Math.max(mCapacity, mPageSize);
+  }
+
+  @Override
+  public void put(PageId pageId, byte[] page) throws ResourceExhaustedException, IOException {
+    if (page.length > mPageSize) {
+      throw new IOException(String.format("Failed to write page %s: page length %s exceeds "
+          + "page size %s", pageId, page.length, mPageSize));
+    }
+    ByteBuffer buffer = allocate(page.length);
+    buffer.clear();
+    buffer.put(page);
+    buffer.flip();
+    Slab previous = mPages.put(pageId, new Slab(buffer));
+    if (previous != null) {
+      previous.release();
+    }
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer, int bufferOffset)
+      throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    Preconditions.checkArgument(buffer.length >= bufferOffset,
+        "page offset %s should be " + "less or equal than buffer length %s", bufferOffset,
+        buffer.length);
+    Slab slab = retain(pageId);
+    try {
+      int pageLength = slab.mBuffer.limit();
+      Preconditions.checkArgument(pageOffset <= pageLength,
+          "page offset %s exceeded page size %s", pageOffset, pageLength);
+      int bytesLeft = Math.min(pageLength - pageOffset, buffer.length - bufferOffset);
+      bytesLeft = Math.min(bytesLeft, bytesToRead);
+      ByteBuffer view = slab.mBuffer.duplicate();
+      view.position(pageOffset);
+      view.get(buffer, bufferOffset, bytesLeft);
+      return bytesLeft;
+    } finally {
+      slab.release();
+    }
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer)
+      throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    Slab slab = retain(pageId);
+    try {
+      int pageLength = slab.mBuffer.limit();
+      Preconditions.checkArgument(pageOffset <= pageLength,
+          "page offset %s exceeded page size %s", pageOffset, pageLength);
+      int bytesLeft = Math.min(pageLength - pageOffset, buffer.remaining());
+      bytesLeft = Math.min(bytesLeft, bytesToRead);
+      ByteBuffer view = slab.mBuffer.duplicate();
+      view.position(pageOffset);
+      view.limit(pageOffset + bytesLeft);
+      buffer.put(view);
+      return bytesLeft;
+    } finally {
+      slab.release();
+    }
+  }
+
+  @Override
+  public void delete(PageId pageId) throws IOException, PageNotFoundException {
+    Slab slab = mPages.remove(pageId);
+    if (slab == null) {
+      throw new PageNotFoundException(pageId.toString());
+    }
+    slab.release();
+  }
+
+  /**
+   * Gets the buffer holding a page for a reader, which must release it once done.
+   *
+   * @param pageId the page
+   * @return the buffer holding the page
+   * @throws PageNotFoundException if the page is not in the store
+   */
+  private Slab retain(PageId pageId) throws PageNotFoundException {
+    while (true) {
+      Slab slab = mPages.get(pageId);
+      if (slab == null) {
+        throw new PageNotFoundException(pageId.toString());
+      }
+      if (slab.retain()) {
+        return slab;
+      }
+      // the page was overwritten or deleted since it was looked up
+    }
+  }
+
+  /**
+   * @param length the length of a page
+   * @return a buffer ready to hold the page: a recycled or new slab for a full page, or a buffer
+   *         of the page length for a smaller page
+   * @throws ResourceExhaustedException if the store has no room for the page
+   */
+  private ByteBuffer allocate(int length) throws ResourceExhaustedException {
+    if (length == mPageSize) {
+      ByteBuffer slab = mFreeSlabs.poll();
+      if (slab != null) {
+        return slab;
+      }
+    }
+    if (reserve(length)) {
+      return ByteBuffer.allocateDirect(length);
+    }
+    // the free slabs take the memory a smaller page would need
+    ByteBuffer slab = mFreeSlabs.poll();
+    if (slab != null) {
+      return slab;
+    }
+    throw new ResourceExhaustedException(String.format(
+        "Memory page store is full, configured with %d bytes", mCapacity));
+  }
+
+  /**
+   * @param bytes the number of bytes to allocate
+   * @return true if the bytes are reserved, false if the store has no room for them
+   */
+  private boolean reserve(long bytes) {
+    while (true) {
+      long allocated = mAllocatedBytes.get();
+      if (allocated + bytes > mMaxBytes) {
+        return false;
+      }
+      if (mAllocatedBytes.compareAndSet(allocated, allocated + bytes)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Recycles a buffer which no longer holds a page and is not read any more.
+   *
+   * @param buffer the buffer
+   */
+  private void recycle(ByteBuffer buffer) {
+    if (buffer.capacity() == mPageSize) {
+      mFreeSlabs.offer(buffer);
+    } else {
+      BufferUtils.cleanDirectBuffer(buffer);
+      mAllocatedBytes.addAndGet(-buffer.capacity());
+    }
+  }
+
+  /**
+   * @return the number of bytes of the buffers allocated by this store
+   */
+  @VisibleForTesting
+  long getAllocatedBytes() {
+    return mAllocatedBytes.get();
+  }
+
+  @Override
+  public Stream<PageInfo> getPages() throws IOException {
+    return mPages.entrySet().stream()
+        .map(entry -> new PageInfo(entry.getKey(), entry.getValue().mBuffer.limit()));
+  }
+
+  @Override
+  public long getCacheSize() {
+    return mCapacity;
+  }
+
+  @Override
+  public void close() {
+    mPages.values().forEach(slab -> BufferUtils.cleanDirectBuffer(slab.mBuffer));
+    mPages.clear();
+    mFreeSlabs.forEach(BufferUtils::cleanDirectBuffer);
+    mFreeSlabs.clear();
+    mAllocatedBytes.set(0);
+  }
+
+  /**
+   * A buffer holding a page, counting the references to it.
+   */
+  private final class Slab {
+    private final ByteBuffer mBuffer;
+    /** One reference held by the page map, and one per reader. */
+    private final AtomicInteger mReferences = new AtomicInteger(1);
+
+    private Slab(ByteBuffer buffer) {
+      mBuffer = buffer;
+    }
+
+    /**
+     * @return true if a reference is taken, false if the buffer is already released
+     */
+    private boolean retain() {
+      while (true) {
+        int references = mReferences.get();
+        if (references == 0) {
+          return false;
+        }
+        if (mReferences.compareAndSet(references, references + 1)) {
+          return true;
+        }
+      }
+    }
+
+    /**
+     * Drops a reference, recycling the buffer once no reference is left.
+     */
+    private void release() {
+      if (mReferences.decrementAndGet() == 0) {
+        recycle(mBuffer);
+      }
+    }
+  }
+}
@@ -14,8 +14,13 @@ package alluxio.client.file.cache.store;
 import alluxio.client.file.cache.PageStore;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
+import alluxio.util.FormatUtils;
+
+import com.google.common.base.Preconditions;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Options used to instantiate a {@link alluxio.client.file.cache.PageStore}.
@@ -24,28 +29,72 @@ public abstract class PageStoreOptions {
 
   /**
    * @param conf configuration
-   * @return a new instance of {@link PageStoreOptions}
+   * @return a new instance of {@link PageStoreOptions} for the first cache directory
    */
   public static PageStoreOptions create(AlluxioConfiguration conf) {
+    return createForDirs(conf).get(0);
+  }
+
+  /**
+   * Creates the options of the page stores for every directory in
+   * {@link PropertyKey#USER_CLIENT_CACHE_DIR}. The capacity of each directory is taken from
+   * {@link PropertyKey#USER_CLIENT_CACHE_DIR_QUOTA} if set, otherwise
+   * {@link PropertyKey#USER_CLIENT_CACHE_SIZE} is divided evenly among the directories.
+   *
+   * @param conf configuration
+   * @return a list of {@link PageStoreOptions}, one for each cache directory
+   */
+  public static List<PageStoreOptions> createForDirs(AlluxioConfiguration conf) {
+    String[] dirs = conf.get(PropertyKey.USER_CLIENT_CACHE_DIR).split(",");
+    String[] dirQuotas = conf.isSet(PropertyKey.USER_CLIENT_CACHE_DIR_QUOTA)
+        ? conf.get(PropertyKey.USER_CLIENT_CACHE_DIR_QUOTA).split(",") : new String[0];
+    List<PageStoreOptions> optionsList = new ArrayList<>(dirs.length);
+    for (int i = 0; i < dirs.length; i++) {
+      long cacheSize;
+      if (dirQuotas.length > 0) {
+        int index = i >= dirQuotas.length ? dirQuotas.length - 1 : i;
+        cacheSize = FormatUtils.parseSpaceSize(dirQuotas[index].trim());
+      } else {
+        cacheSize = conf.getBytes(PropertyKey.USER_CLIENT_CACHE_SIZE) / dirs.length;
+      }
+      optionsList.add(createForDir(conf, dirs[i].trim(), cacheSize));
+    }
+    return optionsList;
+  }
+
+  private static PageStoreOptions createForDir(AlluxioConfiguration conf, String dir,
+      long cacheSize) {
     PageStoreOptions options;
     PageStoreType storeType = conf.getEnum(
         PropertyKey.USER_CLIENT_CACHE_STORE_TYPE, PageStoreType.class);
     switch (storeType) {
       case LOCAL:
+        boolean shared = conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_SHARED_ENABLED);
         options = new LocalPageStoreOptions()
-            .setFileBuckets(conf.getInt(PropertyKey.USER_CLIENT_CACHE_LOCAL_STORE_FILE_BUCKETS));
+            .setFileBuckets(conf.getInt(PropertyKey.USER_CLIENT_CACHE_LOCAL_STORE_FILE_BUCKETS))
+            .setShared(shared);
+        if (shared) {
+          int maxClients = conf.getInt(PropertyKey.USER_CLIENT_CACHE_SHARED_CLIENTS_MAX);
+          Preconditions.checkArgument(maxClients > 0, "%s should be positive: %s",
+              PropertyKey.Name.USER_CLIENT_CACHE_SHARED_CLIENTS_MAX, maxClients);
+          // each of the clients sharing the directory takes its share of the directory
+          cacheSize /= maxClients;
+        }
         break;
       case ROCKS:
         options = new RocksPageStoreOptions();
         break;
+      case MEMORY:
+        options = new MemoryPageStoreOptions();
+        break;
       default:
         throw new IllegalArgumentException(String.format("Unrecognized store type %s",
             storeType.name()));
     }
-    Path rootDir = PageStore.getStorePath(storeType, conf.get(PropertyKey.USER_CLIENT_CACHE_DIR));
+    Path rootDir = PageStore.getStorePath(storeType, dir);
     options.setRootDir(rootDir.toString())
         .setPageSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE))
-        .setCacheSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_SIZE))
+        .setCacheSize(cacheSize)
         .setAlluxioVersion(conf.get(PropertyKey.VERSION))
         .setTimeoutDuration(conf.getMs(PropertyKey.USER_CLIENT_CACHE_TIMEOUT_DURATION))
         .setTimeoutThreads(conf.getInt(PropertyKey.USER_CLIENT_CACHE_TIMEOUT_THREADS));
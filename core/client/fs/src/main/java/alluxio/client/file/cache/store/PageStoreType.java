@@ -23,4 +23,8 @@ public enum PageStoreType {
      * A store that utilizes RocksDB to store and retrieve pages.
      */
     ROCKS,
+    /**
+     * A store that keeps pages in off-heap memory. Pages do not survive a restart.
+     */
+    MEMORY,
 }
@@ -0,0 +1,95 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.policy;
+
+import alluxio.ConfigurationTestUtils;
+import alluxio.Constants;
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.client.block.policy.options.GetWorkerOptions;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.test.util.CommonUtils;
+import alluxio.wire.BlockInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests {@link LoadAwarePolicy}.
+ */
+public final class LoadAwarePolicyTest {
+  private static final int PORT = 1;
+
+  /**
+   * Tests that the less loaded of two workers is chosen.
+   */
+  @Test
+  public void getLeastLoadedWorker() {
+    List<BlockWorkerInfo> workerInfoList = new ArrayList<>();
+    workerInfoList.add(new BlockWorkerInfo(new WorkerNetAddress().setHost("worker1")
+        .setRpcPort(PORT).setDataPort(PORT).setWebPort(PORT), Constants.GB, 0, 10, 5));
+    workerInfoList.add(new BlockWorkerInfo(new WorkerNetAddress().setHost("worker2")
+        .setRpcPort(PORT).setDataPort(PORT).setWebPort(PORT), Constants.GB, 0, 2, 1));
+    LoadAwarePolicy policy = new LoadAwarePolicy(null);
+    GetWorkerOptions options = GetWorkerOptions.defaults()
+        .setBlockWorkerInfos(workerInfoList).setBlockInfo(new BlockInfo().setLength(Constants.MB));
+    for (int i = 0; i < 10; i++) {
+      Assert.assertEquals("worker2", policy.getWorker(options).getHost());
+    }
+  }
+
+  /**
+   * Tests that the worker with more available space is chosen when the load is the same.
+   */
+  @Test
+  public void getMostAvailableOnTie() {
+    List<BlockWorkerInfo> workerInfoList = new ArrayList<>();
+    workerInfoList.add(new BlockWorkerInfo(new WorkerNetAddress().setHost("worker1")
+        .setRpcPort(PORT).setDataPort(PORT).setWebPort(PORT), Constants.GB, Constants.MB, 1, 1));
+    workerInfoList.add(new BlockWorkerInfo(new WorkerNetAddress().setHost("worker2")
+        .setRpcPort(PORT).setDataPort(PORT).setWebPort(PORT), Constants.GB, 0, 2, 0));
+    LoadAwarePolicy policy = new LoadAwarePolicy(null);
+    GetWorkerOptions options = GetWorkerOptions.defaults()
+        .setBlockWorkerInfos(workerInfoList).setBlockInfo(new BlockInfo().setLength(Constants.MB));
+    for (int i = 0; i < 10; i++) {
+      Assert.assertEquals("worker2", policy.getWorker(options).getHost());
+    }
+  }
+
+  /**
+   * Tests that workers without enough capacity for the block are skipped.
+   */
+  @Test
+  public void skipWorkersWithoutCapacity() {
+    List<BlockWorkerInfo> workerInfoList = new ArrayList<>();
+    workerInfoList.add(new BlockWorkerInfo(new WorkerNetAddress().setHost("worker1")
+        .setRpcPort(PORT).setDataPort(PORT).setWebPort(PORT), Constants.KB, 0, 0, 0));
+    workerInfoList.add(new BlockWorkerInfo(new WorkerNetAddress().setHost("worker2")
+        .setRpcPort(PORT).setDataPort(PORT).setWebPort(PORT), Constants.GB, 0, 100, 100));
+    LoadAwarePolicy policy = new LoadAwarePolicy(null);
+    GetWorkerOptions options = GetWorkerOptions.defaults()
+        .setBlockWorkerInfos(workerInfoList).setBlockInfo(new BlockInfo().setLength(Constants.MB));
+    Assert.assertEquals("worker2", policy.getWorker(options).getHost());
+    options.setBlockInfo(new BlockInfo().setLength(2 * (long) Constants.GB));
+    Assert.assertNull(policy.getWorker(options));
+  }
+
+  @Test
+  public void equalsTest() throws Exception {
+    CommonUtils.testEquals(LoadAwarePolicy.class,
+        new Class[]{AlluxioConfiguration.class},
+        new Object[]{ConfigurationTestUtils.defaults()});
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import alluxio.Constants;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Tests for {@link HedgedDataReader}.
+ */
+public final class HedgedDataReaderTest {
+  private static final int CHUNK_SIZE = 8;
+  private static final int LENGTH = 3 * CHUNK_SIZE;
+  private static final byte[] DATA = BufferUtils.getIncreasingByteArray(LENGTH);
+
+  @Test
+  public void fastPrimary() throws Exception {
+    TestDataReader primary = new TestDataReader(DATA, CHUNK_SIZE, 0, LENGTH);
+    HedgedDataReader reader = new HedgedDataReader(primary, new FailingFactory(), 0, LENGTH,
+        Constants.MINUTE_MS);
+    assertEquals(LENGTH, readAll(reader));
+    reader.close();
+    assertTrue(primary.isClosed());
+  }
+
+  @Test
+  public void slowPrimary() throws Exception {
+    BlockingDataReader primary = new BlockingDataReader(null);
+    TestDataReader.Factory hedgeFactory = new TestDataReader.Factory(CHUNK_SIZE, DATA);
+    HedgedDataReader reader = new HedgedDataReader(primary, hedgeFactory, 0, LENGTH, 10);
+    assertEquals(LENGTH, readAll(reader));
+    assertEquals(LENGTH, reader.pos());
+    reader.close();
+    assertTrue(((TestDataReader) hedgeFactory.mReader).isClosed());
+    // The primary reader is closed once its first chunk arrives
+    assertFalse(primary.isClosed());
+    primary.release();
+    CommonUtils.waitFor("the primary reader to be closed", primary::isClosed,
+        WaitForOptions.defaults().setTimeoutMs(10 * Constants.SECOND_MS));
+  }
+
+  @Test
+  public void hedgeFails() throws Exception {
+    BlockingDataReader primary = new BlockingDataReader(null);
+    BlockingDataReader hedge = new BlockingDataReader(new IOException("hedge failed"));
+    hedge.release();
+    HedgedDataReader reader = new HedgedDataReader(primary, new SingleReaderFactory(hedge), 0,
+        LENGTH, 10);
+    Thread releaser = new Thread(() -> {
+      CommonUtils.sleepMs(100);
+      primary.release();
+    });
+    releaser.start();
+    assertEquals(LENGTH, readAll(reader));
+    releaser.join();
+    CommonUtils.waitFor("the hedge reader to be closed", hedge::isClosed,
+        WaitForOptions.defaults().setTimeoutMs(10 * Constants.SECOND_MS));
+    reader.close();
+    assertTrue(primary.isClosed());
+  }
+
+  @Test
+  public void primaryFails() throws Exception {
+    IOException error = new IOException("primary failed");
+    BlockingDataReader primary = new BlockingDataReader(error);
+    primary.release();
+    HedgedDataReader reader = new HedgedDataReader(primary, new FailingFactory(), 0, LENGTH,
+        Constants.MINUTE_MS);
+    try {
+      reader.readChunk();
+      fail("Expected the read to fail");
+    } catch (IOException e) {
+      assertSame(error, e);
+    }
+  }
+
+  private static int readAll(DataReader reader) throws IOException {
+    int bytesRead = 0;
+    DataBuffer chunk;
+    while ((chunk = reader.readChunk()) != null) {
+      byte[] bytes = new byte[chunk.readableBytes()];
+      chunk.readBytes(bytes, 0, bytes.length);
+      for (int i = 0; i < bytes.length; i++) {
+        assertEquals(DATA[bytesRead + i], bytes[i]);
+      }
+      bytesRead += bytes.length;
+      chunk.release();
+    }
+    assertNull(reader.readChunk());
+    return bytesRead;
+  }
+
+  /**
+   * A reader whose first chunk is blocked until it is released.
+   */
+  private static final class BlockingDataReader implements DataReader {
+    private final TestDataReader mReader = new TestDataReader(DATA, CHUNK_SIZE, 0, LENGTH);
+    private final CountDownLatch mLatch = new CountDownLatch(1);
+    @Nullable
+    private final IOException mError;
+
+    BlockingDataReader(@Nullable IOException error) {
+      mError = error;
+    }
+
+    void release() {
+      mLatch.countDown();
+    }
+
+    boolean isClosed() {
+      return mReader.isClosed();
+    }
+
+    @Override
+    @Nullable
+    public DataBuffer readChunk() throws IOException {
+      try {
+        mLatch.await(1, TimeUnit.MINUTES);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+      if (mError != null) {
+        throw mError;
+      }
+      return mReader.readChunk();
+    }
+
+    @Override
+    public long pos() {
+      return mReader.pos();
+    }
+
+    @Override
+    public void close() {
+      mReader.close();
+    }
+  }
+
+  /**
+   * A factory which creates a given reader.
+   */
+  private static final class SingleReaderFactory implements DataReader.Factory {
+    private final DataReader mReader;
+
+    SingleReaderFactory(DataReader reader) {
+      mReader = reader;
+    }
+
+    @Override
+    public DataReader create(long offset, long len) {
+      return mReader;
+    }
+
+    @Override
+    public void close() {}
+  }
+
+  /**
+   * A factory which fails the test if a hedge is issued.
+   */
+  private static final class FailingFactory implements DataReader.Factory {
+    @Override
+    public DataReader create(long offset, long len) {
+      throw new AssertionError("Unexpected hedged read");
+    }
+
+    @Override
+    public void close() {}
+  }
+}
@@ -64,6 +64,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.modules.junit4.PowerMockRunnerDelegate;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
@@ -767,6 +768,77 @@ public final class AlluxioFileInStreamTest {
         BLOCK_LENGTH * 2), b);
   }
 
+  @Test
+  public void prefetchBlocks() throws Exception {
+    mConf.set(PropertyKey.USER_FILE_PREFETCH_BLOCKS, 2);
+    OpenFilePOptions readOptions =
+        OpenFilePOptions.newBuilder().setReadType(ReadPType.NO_CACHE).build();
+    try (AlluxioFileInStream stream = new AlluxioFileInStream(mStatus,
+        new InStreamOptions(mStatus, readOptions, mConf), mContext)) {
+      assertEquals(0, stream.read());
+      // The first block is read, and the two following ones in advance.
+      for (int i = 0; i < mNumBlocks; i++) {
+        verify(mBlockStore, times(i <= 2 ? 1 : 0)).getInStream(
+            eq(new BlockInfo().setBlockId(i)), any(InStreamOptions.class), any());
+      }
+      byte[] b = new byte[(int) mFileSize - 1];
+      assertEquals(b.length, stream.read(b));
+      assertArrayEquals(BufferUtils.getIncreasingByteArray(1, b.length), b);
+      // Each block is opened once.
+      for (int i = 0; i < mNumBlocks; i++) {
+        verify(mBlockStore, times(1)).getInStream(
+            eq(new BlockInfo().setBlockId(i)), any(InStreamOptions.class), any());
+      }
+    }
+  }
+
+  @Test
+  public void vectoredRead() throws IOException {
+    List<FileRange> ranges = Arrays.asList(
+        new FileRange(BLOCK_LENGTH + 20, 30),
+        new FileRange(10, 5),
+        new FileRange(BLOCK_LENGTH / 2, (int) BLOCK_LENGTH),
+        new FileRange(12, 10),
+        new FileRange(0, 0),
+        new FileRange(mFileSize - 10, 10));
+    mTestStream.readVectored(ranges);
+    for (FileRange range : ranges) {
+      ByteBuffer data = range.getData();
+      assertEquals(range.getLength(), data.remaining());
+      byte[] b = new byte[data.remaining()];
+      data.get(b);
+      assertArrayEquals(BufferUtils.getIncreasingByteArray((int) range.getOffset(),
+          range.getLength()), b);
+    }
+    assertEquals(0, mTestStream.getPos());
+  }
+
+  @Test
+  public void vectoredReadRetry() throws Exception {
+    TestBlockInStream workingStream = mInStreams.get(0);
+    TestBlockInStream brokenStream = mock(TestBlockInStream.class);
+    when(mBlockStore
+        .getInStream(any(BlockInfo.class), any(InStreamOptions.class), any()))
+        .thenReturn(brokenStream).thenReturn(workingStream);
+    when(brokenStream.positionedRead(anyLong(), any(byte[].class), anyInt(), anyInt()))
+        .thenThrow(new UnavailableException("test exception"));
+
+    FileRange range = new FileRange(BLOCK_LENGTH / 4, (int) BLOCK_LENGTH / 2);
+    mTestStream.readVectored(Arrays.asList(range));
+
+    verify(brokenStream, times(1))
+        .positionedRead(anyLong(), any(byte[].class), anyInt(), anyInt());
+    byte[] b = new byte[range.getLength()];
+    range.getData().get(b);
+    assertArrayEquals(BufferUtils.getIncreasingByteArray((int) BLOCK_LENGTH / 4, (int)
+        BLOCK_LENGTH / 2), b);
+  }
+
+  @Test(expected = EOFException.class)
+  public void vectoredReadPastEnd() throws IOException {
+    mTestStream.readVectored(Arrays.asList(new FileRange(mFileSize - 10, 20)));
+  }
+
   /**
    * Tests that when the underlying blocks are inconsistent with the metadata in terms of block
    * length, an exception is thrown rather than client hanging indefinitely. This case may happen if
@@ -12,14 +12,18 @@
 package alluxio.client.file;
 
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -56,6 +60,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
 * Unit test for functionality in {@link BaseFileSystem}.
@@ -256,6 +261,35 @@ public final class BaseFileSystemTest {
     verifyFilesystemContextAcquiredAndReleased();
   }
 
+  /**
+   * Tests that {@link BaseFileSystem#getStatus(List, GetStatusPOptions)} splits a batch larger
+   * than {@link PropertyKey#USER_FILE_GET_STATUS_BATCH_SIZE} into several calls.
+   */
+  @Test
+  public void getStatusBatchSplit() throws Exception {
+    mConf.set(PropertyKey.USER_FILE_GET_STATUS_BATCH_SIZE, 2);
+    List<AlluxioURI> paths = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      paths.add(new AlluxioURI("/file" + i));
+    }
+    GetStatusPOptions getStatusOptions = GetStatusPOptions.getDefaultInstance();
+    GetStatusPOptions mergedOptions = FileSystemOptions.getStatusDefaults(mConf)
+        .toBuilder().mergeFrom(getStatusOptions).build();
+    when(mFileSystemMasterClient.getStatus(anyList(), eq(mergedOptions))).thenAnswer(
+        invocation -> {
+          List<AlluxioURI> batch = invocation.getArgument(0);
+          assertTrue(batch.size() <= 2);
+          return batch.stream().map(path -> new URIStatus(new FileInfo().setPath(path.getPath())))
+              .collect(Collectors.toList());
+        });
+    List<URIStatus> statuses = mFileSystem.getStatus(paths, getStatusOptions);
+    assertEquals(paths.size(), statuses.size());
+    for (int i = 0; i < paths.size(); i++) {
+      assertEquals(paths.get(i).getPath(), statuses.get(i).getPath());
+    }
+    verify(mFileSystemMasterClient, times(3)).getStatus(anyList(), eq(mergedOptions));
+  }
+
   /**
    * Tests for the {@link BaseFileSystem#listStatus(AlluxioURI, ListStatusPOptions)} method.
    */
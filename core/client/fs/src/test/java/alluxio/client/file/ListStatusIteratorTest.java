@@ -0,0 +1,134 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.AlluxioURI;
+import alluxio.grpc.ListStatusPOptions;
+import alluxio.grpc.ListStatusPartialPOptions;
+import alluxio.wire.FileInfo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Unit tests for {@link ListStatusIterator}.
+ */
+public final class ListStatusIteratorTest {
+  private static final AlluxioURI DIR = new AlluxioURI("/dir");
+
+  private final List<String> mNames = Arrays.asList("a", "b", "c", "d", "e");
+  private FileSystem mFileSystem;
+
+  @Before
+  public void before() throws Exception {
+    mFileSystem = mock(FileSystem.class);
+    when(mFileSystem.listStatusPartial(eq(DIR), any())).thenAnswer(invocation -> {
+      ListStatusPartialPOptions options = invocation.getArgument(1);
+      List<URIStatus> batch = new ArrayList<>();
+      for (String name : mNames) {
+        if (name.compareTo(options.getStartAfter()) > 0
+            && batch.size() < options.getBatchSize()) {
+          batch.add(new URIStatus(new FileInfo().setName(name).setPath(DIR.join(name).getPath())));
+        }
+      }
+      return batch;
+    });
+  }
+
+  @Test
+  public void iterate() throws Exception {
+    ListStatusIterator iterator = new ListStatusIterator(mFileSystem, DIR,
+        ListStatusPOptions.getDefaultInstance(), 2, "");
+    List<String> names = new ArrayList<>();
+    while (iterator.hasNext()) {
+      names.add(iterator.next().getName());
+    }
+    assertEquals(mNames, names);
+    assertEquals("e", iterator.getContinuationToken());
+    // Two full batches and a partial one, then an empty one which ends the listing.
+    verify(mFileSystem, times(4)).listStatusPartial(eq(DIR), any());
+  }
+
+  @Test
+  public void shortBatches() throws Exception {
+    // The master returns fewer entries than requested before the end of the listing.
+    when(mFileSystem.listStatusPartial(eq(DIR), any())).thenAnswer(invocation -> {
+      ListStatusPartialPOptions options = invocation.getArgument(1);
+      List<URIStatus> batch = new ArrayList<>();
+      for (String name : mNames) {
+        if (name.compareTo(options.getStartAfter()) > 0 && batch.isEmpty()) {
+          batch.add(new URIStatus(new FileInfo().setName(name).setPath(DIR.join(name).getPath())));
+        }
+      }
+      return batch;
+    });
+    ListStatusIterator iterator = new ListStatusIterator(mFileSystem, DIR,
+        ListStatusPOptions.getDefaultInstance(), 3, "");
+    List<String> names = new ArrayList<>();
+    while (iterator.hasNext()) {
+      names.add(iterator.next().getName());
+    }
+    assertEquals(mNames, names);
+  }
+
+  @Test
+  public void exactBatches() throws Exception {
+    ListStatusIterator iterator = new ListStatusIterator(mFileSystem, DIR,
+        ListStatusPOptions.getDefaultInstance(), 5, "");
+    int count = 0;
+    while (iterator.hasNext()) {
+      iterator.next();
+      count++;
+    }
+    assertEquals(5, count);
+    // The listing ends with an empty batch.
+    verify(mFileSystem, times(2)).listStatusPartial(eq(DIR), any());
+  }
+
+  @Test
+  public void resume() throws Exception {
+    ListStatusIterator iterator = new ListStatusIterator(mFileSystem, DIR,
+        ListStatusPOptions.getDefaultInstance(), 2, "");
+    iterator.next();
+    iterator.next();
+    iterator.next();
+    ListStatusIterator resumed = new ListStatusIterator(mFileSystem, DIR,
+        ListStatusPOptions.getDefaultInstance(), 2, iterator.getContinuationToken());
+    List<String> names = new ArrayList<>();
+    while (resumed.hasNext()) {
+      names.add(resumed.next().getName());
+    }
+    assertEquals(Arrays.asList("d", "e"), names);
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void nextAfterEnd() throws Exception {
+    ListStatusIterator iterator = new ListStatusIterator(mFileSystem, DIR,
+        ListStatusPOptions.getDefaultInstance(), 10, "e");
+    assertFalse(iterator.hasNext());
+    iterator.next();
+  }
+}
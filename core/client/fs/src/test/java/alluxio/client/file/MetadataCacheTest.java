@@ -128,6 +128,51 @@ public class MetadataCacheTest {
     assertNotContain(FILE);
   }
 
+  @Test
+  public void invalidateRecursive() {
+    mCache = new MetadataCache(100, Long.MAX_VALUE);
+    mCache.put(FILE, FILE_STATUS);
+    mCache.put(DIR1, DIR1_STATUS);
+    mCache.put(DIR1, Arrays.asList(DIR1_FILE_STATUS, DIR1_DIR2_STATUS));
+    mCache.put(DIR1_DIR2, Arrays.asList(DIR1_DIR2_FILE_STATUS));
+    assertEquals(5, mCache.size());
+
+    mCache.invalidate(DIR1_DIR2, false);
+    assertNotContain(DIR1_DIR2);
+    assertContain(DIR1_DIR2_FILE);
+
+    mCache.invalidate(DIR1, true);
+    assertNotContain(DIR1);
+    assertNotContain(DIR1_FILE);
+    assertNotContain(DIR1_DIR2_FILE);
+    assertContain(FILE);
+
+    mCache.invalidate(new AlluxioURI("/"), true);
+    assertEquals(0, mCache.size());
+  }
+
+  @Test
+  public void putAfterInvalidation() {
+    mCache = new MetadataCache(100, Long.MAX_VALUE);
+    long invalidations = mCache.getInvalidations();
+    mCache.put(FILE, FILE_STATUS, invalidations);
+    assertContain(FILE);
+
+    // Metadata fetched before an invalidation is not cached
+    invalidations = mCache.getInvalidations();
+    mCache.invalidate(DIR1);
+    mCache.put(DIR1, DIR1_STATUS, invalidations);
+    mCache.put(DIR1, Arrays.asList(DIR1_FILE_STATUS), invalidations);
+    assertNotContain(DIR1);
+    assertNotContain(DIR1_FILE);
+    assertNull(mCache.listStatus(DIR1));
+
+    invalidations = mCache.getInvalidations();
+    mCache.put(DIR1, Arrays.asList(DIR1_FILE_STATUS), invalidations);
+    assertContain(DIR1_FILE);
+    assertNotNull(mCache.listStatus(DIR1));
+  }
+
   private void assertContain(AlluxioURI path) {
     assertNotNull(mCache.get(path));
   }
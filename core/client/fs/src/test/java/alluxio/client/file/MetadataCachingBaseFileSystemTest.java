@@ -12,12 +12,16 @@
 package alluxio.client.file;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.when;
 
 import alluxio.AlluxioURI;
 import alluxio.ClientContext;
 import alluxio.ConfigurationTestUtils;
+import alluxio.client.file.FileSystemContextReinitializer.ReinitBlockerResource;
+import alluxio.concurrent.CountingLatch;
 import alluxio.conf.InstancedConfiguration;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.status.AlluxioStatusException;
@@ -45,6 +49,9 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 
 @RunWith(PowerMockRunner.class)
@@ -81,6 +88,8 @@ public class MetadataCachingBaseFileSystemTest {
     when(mFileContext.getClusterConf()).thenReturn(mConf);
     when(mFileContext.getPathConf(any())).thenReturn(mConf);
     when(mFileContext.getUriValidationEnabled()).thenReturn(true);
+    when(mFileContext.blockReinit()).thenAnswer(
+        invocation -> new ReinitBlockerResource(new CountingLatch()));
     mFs = new MetadataCachingBaseFileSystem(mFileContext);
     mFileStatusMap = new HashMap<>();
   }
@@ -99,6 +108,29 @@ public class MetadataCachingBaseFileSystemTest {
     assertEquals(1, mFileSystemMasterClient.getStatusRpcCount(FILE));
   }
 
+  @Test
+  public void getStatusBatch() throws Exception {
+    // Do not update the access time, which asynchronously calls getStatus.
+    GetStatusPOptions options = GetStatusPOptions.newBuilder().setUpdateTimestamps(false).build();
+    mFs.getStatus(FILE);
+    List<URIStatus> statuses = mFs.getStatus(Arrays.asList(FILE, NOT_EXIST_FILE), options);
+    assertEquals(Arrays.asList(FILE_STATUS, null), statuses);
+    // Only the path missing from the cache is fetched.
+    assertEquals(1, mFileSystemMasterClient.getStatusRpcCount(FILE));
+    assertEquals(1, mFileSystemMasterClient.getStatusRpcCount(NOT_EXIST_FILE));
+    // The paths which do not exist are cached as well.
+    statuses = mFs.getStatus(Arrays.asList(FILE, NOT_EXIST_FILE), options);
+    assertEquals(Arrays.asList(FILE_STATUS, null), statuses);
+    assertEquals(1, mFileSystemMasterClient.getStatusRpcCount(NOT_EXIST_FILE));
+    try {
+      mFs.getStatus(NOT_EXIST_FILE);
+      Assert.fail("Failed while getStatus for a non-exist path.");
+    } catch (FileDoesNotExistException e) {
+      // expected exception thrown. test passes
+    }
+    assertEquals(1, mFileSystemMasterClient.getStatusRpcCount(NOT_EXIST_FILE));
+  }
+
   @Test
   public void iterateStatus() throws Exception {
     List<URIStatus> expectedStatuses = new ArrayList<>();
@@ -240,6 +272,68 @@ public class MetadataCachingBaseFileSystemTest {
     assertEquals(2, mFileSystemMasterClient.getStatusRpcCount(NOT_EXIST_FILE));
   }
 
+  @Test
+  public void asyncGetStatus() throws Exception {
+    // Do not update the access time, which asynchronously calls getStatus.
+    GetStatusPOptions options = GetStatusPOptions.newBuilder().setUpdateTimestamps(false).build();
+    assertEquals(FILE_STATUS, mFs.async().getStatus(FILE, options).get());
+    assertEquals(1, mFileSystemMasterClient.getStatusRpcCount(FILE));
+    assertEquals(FILE_STATUS, mFs.async().getStatus(FILE, options).get());
+    // The blocking API shares the cache.
+    assertEquals(FILE_STATUS, mFs.getStatus(FILE, options));
+    assertEquals(1, mFileSystemMasterClient.getStatusRpcCount(FILE));
+  }
+
+  @Test
+  public void asyncGetNoneExistStatus() throws Exception {
+    for (int i = 0; i < 2; i++) {
+      try {
+        mFs.async().getStatus(NOT_EXIST_FILE).get();
+        Assert.fail("Failed while getStatus for a non-exist path.");
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof FileDoesNotExistException);
+      }
+    }
+    assertEquals(1, mFileSystemMasterClient.getStatusRpcCount(NOT_EXIST_FILE));
+    assertFalse(mFs.async().exists(NOT_EXIST_FILE).get());
+  }
+
+  @Test
+  public void asyncListStatus() throws Exception {
+    assertEquals(Arrays.asList(FILE_STATUS), mFs.async().listStatus(DIR).get());
+    assertEquals(Arrays.asList(FILE_STATUS), mFs.async().listStatus(DIR).get());
+    assertEquals(1, mFileSystemMasterClient.listStatusRpcCount(DIR));
+  }
+
+  @Test
+  public void asyncCreateAndDelete() throws Exception {
+    mFs.async().createDirectory(NOT_EXIST_FILE).get();
+    mFs.async().getStatus(NOT_EXIST_FILE).get();
+    mFs.async().delete(NOT_EXIST_FILE).get();
+    try {
+      mFs.async().getStatus(NOT_EXIST_FILE).get();
+      Assert.fail("Failed while getStatus for a non-exist path.");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof FileDoesNotExistException);
+    }
+    assertEquals(2, mFileSystemMasterClient.getStatusRpcCount(NOT_EXIST_FILE));
+  }
+
+  /**
+   * @param call a blocking call
+   * @param <T> the type of the result of the call
+   * @return a future of the result of the call
+   */
+  private static <T> CompletableFuture<T> toFuture(Callable<T> call) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    try {
+      future.complete(call.call());
+    } catch (Exception e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
   class RpcCountingFileSystemMasterClient extends MockFileSystemMasterClient {
     RpcCountingFileSystemMasterClient() {
     }
@@ -268,6 +362,20 @@ public class MetadataCachingBaseFileSystemTest {
       throw new NotFoundException("Path \"" + path.getPath() + "\" does not exist.");
     }
 
+    @Override
+    public List<URIStatus> getStatus(List<AlluxioURI> paths, GetStatusPOptions options)
+        throws AlluxioStatusException {
+      List<URIStatus> statuses = new ArrayList<>();
+      for (AlluxioURI path : paths) {
+        try {
+          statuses.add(getStatus(path, options));
+        } catch (NotFoundException e) {
+          statuses.add(null);
+        }
+      }
+      return statuses;
+    }
+
     @Override
     public void iterateStatus(AlluxioURI path, ListStatusPOptions options,
         Consumer<? super URIStatus> action) throws AlluxioStatusException {
@@ -314,5 +422,34 @@ public class MetadataCachingBaseFileSystemTest {
         throws AlluxioStatusException {
       mFileStatusMap.put(dst, mFileStatusMap.remove(src));
     }
+
+    @Override
+    public CompletableFuture<Void> createDirectoryAsync(AlluxioURI path,
+        CreateDirectoryPOptions options) {
+      return toFuture(() -> {
+        createDirectory(path, options);
+        return null;
+      });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAsync(AlluxioURI path, DeletePOptions options) {
+      return toFuture(() -> {
+        delete(path, options);
+        return null;
+      });
+    }
+
+    @Override
+    public CompletableFuture<URIStatus> getStatusAsync(AlluxioURI path,
+        GetStatusPOptions options) {
+      return toFuture(() -> getStatus(path, options));
+    }
+
+    @Override
+    public CompletableFuture<List<URIStatus>> listStatusAsync(AlluxioURI path,
+        ListStatusPOptions options) {
+      return toFuture(() -> listStatus(path, options));
+    }
   }
 }
@@ -26,6 +26,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.HashMap;
+import java.util.SortedMap;
 
 /**
  * Tests for the {@link LocalCacheManager} class.
@@ -180,6 +181,26 @@ public final class CacheManagerWithShadowCacheTest {
     assertEquals(PAGE1.length, mCacheManager.getShadowCacheByteHit());
   }
 
+  @Test
+  public void missRatioCurve() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE, PAGE_SIZE_BYTES);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, 4 * PAGE_SIZE_BYTES);
+    mCacheManager = new CacheManagerWithShadowCache(new KVCacheManager(), mConf);
+    mCacheManager.stopUpdate();
+    // read 8 pages in a loop 10 times, which only hits a cache holding all of them
+    for (int i = 0; i < 10; i++) {
+      for (int j = 0; j < 8; j++) {
+        mCacheManager.get(new PageId("0L", j), PAGE_SIZE_BYTES, mBuf, 0);
+      }
+    }
+    SortedMap<Long, Double> curve = mCacheManager.getMissRatioCurve();
+    assertEquals(6, curve.size());
+    assertEquals(1.0, curve.get((long) 4 * PAGE_SIZE_BYTES), 0.001);
+    assertEquals(0.1, curve.get((long) 8 * PAGE_SIZE_BYTES), 0.001);
+    assertEquals(0.1, curve.get((long) 32 * PAGE_SIZE_BYTES), 0.001);
+    assertEquals(1.0, mCacheManager.getMissRatio(7 * PAGE_SIZE_BYTES), 0.001);
+  }
+
   private class KVCacheManager implements CacheManager {
     private final HashMap<PageId, byte[]> mCache = new HashMap<>();
 
@@ -79,6 +79,19 @@ public class DefaultMetaStoreTest {
     Assert.assertEquals(mPageInfo, mMetaStore.getPageInfo(mPage));
   }
 
+  @Test
+  public void getPageInfoUpdatesAccessTime() throws Exception {
+    PageInfo pageInfo = new PageInfo(mPage, 1024, mPageInfo.getScope(), 0);
+    mMetaStore.addPage(mPage, pageInfo);
+    long beforeGet = System.currentTimeMillis();
+    mMetaStore.getPageInfo(mPage);
+    long accessTime = pageInfo.getLastAccessTimeMs();
+    Assert.assertTrue(accessTime >= beforeGet);
+    // an older access does not move the access time back
+    pageInfo.updateLastAccessTimeMs(accessTime - 1000);
+    Assert.assertEquals(accessTime, pageInfo.getLastAccessTimeMs());
+  }
+
   @Test
   public void getPageInfoNotExist() throws Exception {
     assertThrows(PageNotFoundException.class, () -> mMetaStore.getPageInfo(mPage));
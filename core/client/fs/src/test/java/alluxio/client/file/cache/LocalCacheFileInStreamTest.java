@@ -12,6 +12,7 @@
 package alluxio.client.file.cache;
 
 import alluxio.AlluxioURI;
+import alluxio.client.file.AsyncFileSystem;
 import alluxio.client.file.CacheContext;
 import alluxio.client.file.FileInStream;
 import alluxio.client.file.FileOutStream;
@@ -36,6 +37,7 @@ import alluxio.grpc.ExistsPOptions;
 import alluxio.grpc.FreePOptions;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.ListStatusPOptions;
+import alluxio.grpc.ListStatusPartialPOptions;
 import alluxio.grpc.MountPOptions;
 import alluxio.grpc.OpenFilePOptions;
 import alluxio.grpc.RenamePOptions;
@@ -48,6 +50,7 @@ import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.security.authorization.AclEntry;
 import alluxio.util.ConfigurationUtils;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.io.BufferUtils;
 import alluxio.util.io.PathUtils;
 import alluxio.wire.BlockLocationInfo;
@@ -73,7 +76,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -152,6 +161,30 @@ public class LocalCacheFileInStreamTest {
     Assert.assertEquals(fileSize, totalBytesRead);
   }
 
+  @Test
+  public void readIntoDirectByteBufferAtPosition() throws Exception {
+    int fileSize = PAGE_SIZE * 2;
+    byte[] testData = BufferUtils.getIncreasingByteArray(fileSize);
+    ByteArrayCacheManager manager = new ByteArrayCacheManager();
+    LocalCacheFileInStream stream = setupWithSingleFile(testData, manager);
+
+    int prefix = PAGE_SIZE / 2;
+    for (int i = 0; i < 2; i++) {
+      // first pass misses the cache, second pass is served from it
+      ByteBuffer buffer = ByteBuffer.allocateDirect(prefix + fileSize);
+      buffer.position(prefix);
+      stream.seek(0);
+      Assert.assertEquals(fileSize, stream.read(buffer));
+      Assert.assertEquals(prefix + fileSize, buffer.position());
+      buffer.position(prefix);
+      byte[] readData = new byte[fileSize];
+      buffer.get(readData);
+      Assert.assertArrayEquals(testData, readData);
+    }
+    Assert.assertEquals(2, manager.mPagesCached);
+    Assert.assertEquals(2, manager.mPagesServed);
+  }
+
   @Test
   public void readPartialPage() throws Exception {
     int fileSize = PAGE_SIZE;
@@ -468,6 +501,117 @@ public class LocalCacheFileInStreamTest {
     }
   }
 
+  @Test
+  public void sequentialReadPrefetchesPages() throws Exception {
+    int pages = 8;
+    byte[] testData = BufferUtils.getIncreasingByteArray(PAGE_SIZE * pages);
+    ByteArrayCacheManager manager = new ByteArrayCacheManager();
+    LocalCacheFileInStream stream = setupWithSingleFile(testData, manager, prefetchConf(3));
+    byte[] page = new byte[PAGE_SIZE];
+
+    // the second read moving on to the next page triggers read-ahead of pages 2 to 4
+    Assert.assertEquals(PAGE_SIZE, stream.read(page));
+    Assert.assertEquals(PAGE_SIZE, stream.read(page));
+    stream.awaitPrefetch();
+    Assert.assertEquals(5, manager.mPagesCached);
+    Assert.assertEquals(3,
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PAGES_PREFETCHED.getName()).getCount());
+
+    // page 2 is served from the cache, and page 5 is read ahead
+    Assert.assertEquals(PAGE_SIZE, stream.read(page));
+    Assert.assertArrayEquals(Arrays.copyOfRange(testData, PAGE_SIZE * 2, PAGE_SIZE * 3), page);
+    Assert.assertEquals(1, manager.mPagesServed);
+    Assert.assertEquals(1,
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PREFETCH_HITS.getName()).getCount());
+    stream.awaitPrefetch();
+    Assert.assertEquals(6, manager.mPagesCached);
+
+    // pages 3 to 5 are never read
+    stream.close();
+    Assert.assertEquals(3,
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PREFETCH_WASTED.getName()).getCount());
+  }
+
+  @Test
+  public void readWaitsOnlyForItsPrefetchedPage() throws Exception {
+    int pages = 8;
+    byte[] testData = BufferUtils.getIncreasingByteArray(PAGE_SIZE * pages);
+    CountDownLatch putPage4 = new CountDownLatch(1);
+    ByteArrayCacheManager manager = new ByteArrayCacheManager() {
+      @Override
+      public boolean put(PageId pageId, byte[] page, CacheContext cacheContext) {
+        if (pageId.getPageIndex() == 4) {
+          try {
+            putPage4.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        return super.put(pageId, page, cacheContext);
+      }
+    };
+    LocalCacheFileInStream stream = setupWithSingleFile(testData, manager, prefetchConf(3));
+    byte[] page = new byte[PAGE_SIZE];
+
+    // pages 2 to 4 are read ahead, and the read-ahead task hangs on page 4
+    Assert.assertEquals(PAGE_SIZE, stream.read(page));
+    Assert.assertEquals(PAGE_SIZE, stream.read(page));
+    // reading page 2 does not wait for page 4
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Integer> read = executor.submit(() -> stream.read(page));
+      Assert.assertEquals(PAGE_SIZE, (int) read.get(10, TimeUnit.SECONDS));
+      Assert.assertArrayEquals(Arrays.copyOfRange(testData, PAGE_SIZE * 2, PAGE_SIZE * 3), page);
+    } finally {
+      putPage4.countDown();
+      executor.shutdownNow();
+    }
+    stream.close();
+  }
+
+  @Test
+  public void randomReadDoesNotPrefetch() throws Exception {
+    int pages = 8;
+    byte[] testData = BufferUtils.getIncreasingByteArray(PAGE_SIZE * pages);
+    ByteArrayCacheManager manager = new ByteArrayCacheManager();
+    LocalCacheFileInStream stream = setupWithSingleFile(testData, manager, prefetchConf(3));
+    byte[] page = new byte[PAGE_SIZE];
+
+    for (int pageIndex : new int[] {7, 0, 4, 2}) {
+      stream.seek((long) pageIndex * PAGE_SIZE);
+      Assert.assertEquals(PAGE_SIZE, stream.read(page));
+      stream.positionedRead((long) (pageIndex + 1) % pages * PAGE_SIZE, page, 0, PAGE_SIZE);
+    }
+    stream.awaitPrefetch();
+    Assert.assertEquals(0,
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PAGES_PREFETCHED.getName()).getCount());
+    stream.close();
+  }
+
+  @Test
+  public void prefetchSkipsCachedPages() throws Exception {
+    int pages = 4;
+    byte[] testData = BufferUtils.getIncreasingByteArray(PAGE_SIZE * pages);
+    ByteArrayCacheManager manager = new ByteArrayCacheManager();
+    LocalCacheFileInStream stream = setupWithSingleFile(testData, manager, prefetchConf(8));
+    // cache page 3 through a positioned read, which does not trigger read-ahead
+    byte[] page = new byte[PAGE_SIZE];
+    stream.positionedRead(PAGE_SIZE * 3, page, 0, PAGE_SIZE);
+
+    Assert.assertEquals(PAGE_SIZE, stream.read(page));
+    Assert.assertEquals(PAGE_SIZE, stream.read(page));
+    stream.awaitPrefetch();
+    // only page 2 is read ahead, the read-ahead window is bounded by the end of the file
+    Assert.assertEquals(1,
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PAGES_PREFETCHED.getName()).getCount());
+    byte[] rest = new byte[PAGE_SIZE * 2];
+    Assert.assertEquals(PAGE_SIZE * 2, stream.read(rest));
+    Assert.assertArrayEquals(Arrays.copyOfRange(testData, PAGE_SIZE * 2, PAGE_SIZE * 4), rest);
+    stream.close();
+    Assert.assertEquals(0,
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PREFETCH_WASTED.getName()).getCount());
+  }
+
   @Test
   public void cacheMetricCacheHitReadTime() throws Exception {
     byte[] testData = BufferUtils.getIncreasingByteArray(PAGE_SIZE);
@@ -502,6 +646,11 @@ public class LocalCacheFileInStreamTest {
 
   private LocalCacheFileInStream setupWithSingleFile(byte[] data, CacheManager manager)
       throws Exception {
+    return setupWithSingleFile(data, manager, sConf);
+  }
+
+  private LocalCacheFileInStream setupWithSingleFile(byte[] data, CacheManager manager,
+      AlluxioConfiguration conf) throws Exception {
     Map<AlluxioURI, byte[]> files = new HashMap<>();
     AlluxioURI testFilename = new AlluxioURI("/test");
     files.put(testFilename, data);
@@ -509,7 +658,13 @@ public class LocalCacheFileInStreamTest {
     ByteArrayFileSystem fs = new ByteArrayFileSystem(files);
 
     return new LocalCacheFileInStream(fs.getStatus(testFilename),
-        (status) -> fs.openFile(status, OpenFilePOptions.getDefaultInstance()), manager, sConf);
+        (status) -> fs.openFile(status, OpenFilePOptions.getDefaultInstance()), manager, conf);
+  }
+
+  private AlluxioConfiguration prefetchConf(int prefetchPages) {
+    InstancedConfiguration conf = new InstancedConfiguration(ConfigurationUtils.defaults());
+    conf.set(PropertyKey.USER_CLIENT_CACHE_PREFETCH_PAGES, prefetchPages);
+    return conf;
   }
 
   private Map<AlluxioURI, LocalCacheFileInStream> setupWithMultipleFiles(Map<String, byte[]> files,
@@ -588,13 +743,15 @@ public class LocalCacheFileInStreamTest {
    */
   private class ByteArrayCacheManager implements CacheManager {
     private final Map<PageId, byte[]> mPages;
+    private final ExecutorService mPrefetchExecutor = Executors.newCachedThreadPool(
+        ThreadFactoryUtils.build("test-prefetch-%d", true));
 
     /** Metrics for test validation. */
     long mPagesServed = 0;
     long mPagesCached = 0;
 
     ByteArrayCacheManager() {
-      mPages = new HashMap<>();
+      mPages = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -620,6 +777,16 @@ public class LocalCacheFileInStreamTest {
       return mPages.remove(pageId) != null;
     }
 
+    @Override
+    public boolean hasPage(PageId pageId) {
+      return mPages.containsKey(pageId);
+    }
+
+    @Override
+    public ExecutorService getPrefetchExecutor() {
+      return mPrefetchExecutor;
+    }
+
     @Override
     public State state() {
       return State.READ_WRITE;
@@ -627,7 +794,7 @@ public class LocalCacheFileInStreamTest {
 
     @Override
     public void close() throws Exception {
-      // no-op
+      mPrefetchExecutor.shutdownNow();
     }
   }
 
@@ -647,6 +814,11 @@ public class LocalCacheFileInStreamTest {
       throw new UnsupportedOperationException();
     }
 
+    @Override
+    public AsyncFileSystem async() {
+      throw new UnsupportedOperationException();
+    }
+
     @Override
     public void checkAccess(AlluxioURI path, CheckAccessPOptions options)
         throws InvalidPathException, IOException, AlluxioException {
@@ -705,6 +877,14 @@ public class LocalCacheFileInStreamTest {
       }
     }
 
+    @Override
+    public List<URIStatus> getStatus(List<AlluxioURI> paths, GetStatusPOptions options) {
+      return paths.stream()
+          .map(path -> mFiles.containsKey(path)
+              ? generateURIStatus(path.getPath(), mFiles.get(path).length) : null)
+          .collect(Collectors.toList());
+    }
+
     @Override
     public void iterateStatus(AlluxioURI path, ListStatusPOptions options,
         Consumer<? super URIStatus> action)
@@ -718,6 +898,12 @@ public class LocalCacheFileInStreamTest {
       throw new UnsupportedOperationException();
     }
 
+    @Override
+    public List<URIStatus> listStatusPartial(AlluxioURI path, ListStatusPartialPOptions options)
+        throws FileDoesNotExistException, IOException, AlluxioException {
+      throw new UnsupportedOperationException();
+    }
+
     @Override
     public void loadMetadata(AlluxioURI path, ListStatusPOptions options)
         throws FileDoesNotExistException, IOException, AlluxioException {
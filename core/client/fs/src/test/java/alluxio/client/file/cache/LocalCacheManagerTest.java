@@ -51,6 +51,8 @@ import org.junit.rules.TemporaryFolder;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Iterator;
 import java.util.List;
@@ -531,6 +533,36 @@ public final class LocalCacheManagerTest {
     }
   }
 
+  @Test
+  public void getToDirectByteBuffer() throws Exception {
+    mCacheManager.put(PAGE_ID1, PAGE1);
+    int offset = PAGE_SIZE_BYTES / 2;
+    ByteBuffer buf = ByteBuffer.allocateDirect(PAGE1.length + 1);
+    buf.position(1);
+    assertEquals(PAGE1.length - offset, mCacheManager.get(PAGE_ID1, offset,
+        PAGE1.length - offset, buf, CacheContext.defaults()));
+    assertEquals(1 + PAGE1.length - offset, buf.position());
+    buf.flip();
+    buf.position(1);
+    assertEquals(ByteBuffer.wrap(PAGE1, offset, PAGE1.length - offset), buf);
+    assertEquals(0, mCacheManager.get(PAGE_ID2, 0, PAGE1.length,
+        ByteBuffer.allocateDirect(PAGE1.length), CacheContext.defaults()));
+  }
+
+  @Test
+  public void getShortReadRestoresPosition() throws Exception {
+    FaultyPageStore pageStore = new FaultyPageStore();
+    mCacheManager = createLocalCacheManager(mConf, mMetaStore, pageStore);
+    mCacheManager.put(PAGE_ID1, PAGE1);
+    pageStore.setGetShort(true);
+    ByteBuffer buf = ByteBuffer.allocate(PAGE1.length + 1);
+    buf.position(1);
+    assertEquals(-1, mCacheManager.get(PAGE_ID1, 0, PAGE1.length, buf, CacheContext.defaults()));
+    // the caller reads the data from elsewhere into the buffer at the same position
+    assertEquals(1, buf.position());
+    assertEquals(PAGE1.length, buf.remaining());
+  }
+
   @Test
   public void getNotEnoughSpaceException() throws Exception {
     byte[] buf = new byte[PAGE1.length - 1];
@@ -545,6 +577,15 @@ public final class LocalCacheManagerTest {
     assertEquals(0, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
   }
 
+  @Test
+  public void hasPage() throws Exception {
+    assertFalse(mCacheManager.hasPage(PAGE_ID1));
+    mCacheManager.put(PAGE_ID1, PAGE1);
+    assertTrue(mCacheManager.hasPage(PAGE_ID1));
+    mCacheManager.delete(PAGE_ID1);
+    assertFalse(mCacheManager.hasPage(PAGE_ID1));
+  }
+
   @Test
   public void deleteNotExist() throws Exception {
     assertFalse(mCacheManager.delete(PAGE_ID1));
@@ -730,6 +771,334 @@ public final class LocalCacheManagerTest {
     assertEquals(0, mCacheManager.get(pageUuid, PAGE2.length, mBuf, 0));
   }
 
+  @Test
+  public void multipleDirs() throws Exception {
+    mCacheManager.close();
+    String dir1 = mTemp.newFolder().getAbsolutePath();
+    String dir2 = mTemp.newFolder().getAbsolutePath();
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_DIR, dir1 + "," + dir2);
+    mCacheManager = LocalCacheManager.create(mConf);
+    int numPages = 64;
+    for (int i = 0; i < numPages; i++) {
+      assertTrue(mCacheManager.put(pageId(i, 0), page(i, PAGE_SIZE_BYTES)));
+    }
+    for (int i = 0; i < numPages; i++) {
+      assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(i, 0), PAGE_SIZE_BYTES, mBuf, 0));
+      assertArrayEquals(page(i, PAGE_SIZE_BYTES), mBuf);
+    }
+    for (String dir : ImmutableList.of(dir1, dir2)) {
+      try (Stream<Path> files = Files.walk(Paths.get(dir))) {
+        assertTrue(files.anyMatch(Files::isRegularFile));
+      }
+    }
+  }
+
+  @Test
+  public void partitionedMetaStore() throws Exception {
+    mCacheManager.close();
+    int cachePages = 8;
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_METASTORE_PARTITIONS, 4);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, cachePages * PAGE_SIZE_BYTES);
+    mCacheManager = LocalCacheManager.create(mConf);
+    int numPages = 64;
+    for (int i = 0; i < numPages; i++) {
+      assertTrue(mCacheManager.put(pageId(i, 0), page(i, PAGE_SIZE_BYTES)));
+    }
+    // pages are evicted from any partition to keep the directory within its capacity
+    int cachedPages = 0;
+    for (int i = 0; i < numPages; i++) {
+      if (mCacheManager.get(pageId(i, 0), PAGE_SIZE_BYTES, mBuf, 0) > 0) {
+        assertArrayEquals(page(i, PAGE_SIZE_BYTES), mBuf);
+        cachedPages++;
+      }
+    }
+    assertEquals(cachePages, cachedPages);
+    // the latest page is always cached
+    assertTrue(mCacheManager.hasPage(pageId(numPages - 1, 0)));
+  }
+
+  @Test
+  public void partitionedMetaStoreConcurrentPuts() throws Exception {
+    mCacheManager.close();
+    int cachePages = 32;
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_METASTORE_PARTITIONS, 8);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, cachePages * PAGE_SIZE_BYTES);
+    mCacheManager = LocalCacheManager.create(mConf);
+    int numThreads = 8;
+    int pagesPerThread = 64;
+    AtomicBoolean failed = new AtomicBoolean(false);
+    Thread[] threads = new Thread[numThreads];
+    for (int t = 0; t < numThreads; t++) {
+      int thread = t;
+      threads[t] = new Thread(() -> {
+        byte[] buf = new byte[PAGE_SIZE_BYTES];
+        for (int i = 0; i < pagesPerThread; i++) {
+          int id = thread * pagesPerThread + i;
+          if (!mCacheManager.put(pageId(id, 0), page(id, PAGE_SIZE_BYTES))) {
+            failed.set(true);
+          }
+          int bytesRead = mCacheManager.get(pageId(id, 0), PAGE_SIZE_BYTES, buf, 0);
+          if (bytesRead != 0 && bytesRead != PAGE_SIZE_BYTES) {
+            failed.set(true);
+          }
+        }
+      });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertFalse(failed.get());
+    int cachedPages = 0;
+    for (int id = 0; id < numThreads * pagesPerThread; id++) {
+      if (mCacheManager.get(pageId(id, 0), PAGE_SIZE_BYTES, mBuf, 0) > 0) {
+        assertArrayEquals(page(id, PAGE_SIZE_BYTES), mBuf);
+        cachedPages++;
+      }
+    }
+    assertTrue(cachedPages > 0);
+    assertTrue(cachedPages <= cachePages);
+  }
+
+  @Test
+  public void tinyLFUAdmissionKeepsFrequentPages() throws Exception {
+    mCacheManager.close();
+    int cachePages = 8;
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ADMISSION_POLICY_CLASS,
+        "alluxio.client.file.cache.admission.TinyLFUCacheAdmissionPolicy");
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, cachePages * PAGE_SIZE_BYTES);
+    mCacheManager = LocalCacheManager.create(mConf);
+    for (int i = 0; i < cachePages; i++) {
+      assertTrue(mCacheManager.put(pageId(i, 0), page(i, PAGE_SIZE_BYTES)));
+    }
+    for (int round = 0; round < 3; round++) {
+      for (int i = 0; i < cachePages; i++) {
+        assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(i, 0), PAGE_SIZE_BYTES, mBuf, 0));
+      }
+    }
+    // pages read once by a scan are not admitted in place of the frequently read pages
+    for (int i = cachePages; i < 4 * cachePages; i++) {
+      assertFalse(mCacheManager.put(pageId(i, 0), page(i, PAGE_SIZE_BYTES)));
+      assertFalse(mCacheManager.hasPage(pageId(i, 0)));
+    }
+    for (int i = 0; i < cachePages; i++) {
+      assertTrue(mCacheManager.hasPage(pageId(i, 0)));
+    }
+    // a page becomes admitted once it is accessed more frequently than the victim
+    PageId newPage = pageId(4 * cachePages, 0);
+    int puts = 1;
+    while (!mCacheManager.put(newPage, page(4 * cachePages, PAGE_SIZE_BYTES))) {
+      puts++;
+    }
+    assertTrue(puts > 1);
+    assertTrue(mCacheManager.hasPage(newPage));
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(newPage, PAGE_SIZE_BYTES, mBuf, 0));
+    assertArrayEquals(page(4 * cachePages, PAGE_SIZE_BYTES), mBuf);
+  }
+
+  @Test
+  public void restoreFromPageIndex() throws Exception {
+    mCacheManager.close();
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_INDEX_ENABLED, true);
+    mCacheManager = LocalCacheManager.create(mConf);
+    int numPages = 8;
+    for (int i = 0; i < numPages; i++) {
+      assertTrue(mCacheManager.put(pageId(i, 0), page(i, PAGE_SIZE_BYTES)));
+    }
+    assertTrue(mCacheManager.delete(pageId(numPages - 1, 0)));
+    mCacheManager.close();
+    // remove a page behind the cache, which is not listed when restoring from the index
+    PageStore pageStore = PageStore.open(PageStoreOptions.create(mConf));
+    pageStore.delete(pageId(0, 0));
+    pageStore.close();
+    mCacheManager = LocalCacheManager.create(mConf);
+    for (int i = 1; i < numPages - 1; i++) {
+      assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(i, 0), PAGE_SIZE_BYTES, mBuf, 0));
+      assertArrayEquals(page(i, PAGE_SIZE_BYTES), mBuf);
+    }
+    assertFalse(mCacheManager.hasPage(pageId(numPages - 1, 0)));
+    // the missing page is removed once it fails to be read
+    assertTrue(mCacheManager.hasPage(pageId(0, 0)));
+    assertEquals(-1, mCacheManager.get(pageId(0, 0), PAGE_SIZE_BYTES, mBuf, 0));
+    assertFalse(mCacheManager.hasPage(pageId(0, 0)));
+  }
+
+  @Test
+  public void sharedDirectory() throws Exception {
+    mCacheManager.close();
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SHARED_ENABLED, true);
+    LocalCacheManager first = LocalCacheManager.create(mConf);
+    assertTrue(first.put(PAGE_ID1, PAGE1));
+    // the second cache does not restore the pages of the first one, nor clean them
+    LocalCacheManager second = LocalCacheManager.create(mConf);
+    assertFalse(second.hasPage(PAGE_ID1));
+    assertEquals(PAGE1.length, second.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertArrayEquals(PAGE1, mBuf);
+    // the page written by the first cache is not written nor accounted by the second one
+    assertTrue(second.put(PAGE_ID1, PAGE1));
+    assertFalse(second.hasPage(PAGE_ID1));
+    assertTrue(second.put(PAGE_ID2, PAGE2));
+    assertEquals(PAGE2.length, first.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    assertArrayEquals(PAGE2, mBuf);
+    // a page evicted by the cache which wrote it is missing from the other one
+    assertTrue(first.delete(PAGE_ID1));
+    assertEquals(0, second.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    first.close();
+    second.close();
+    // a cache starting while no other cache uses the directory restores all the pages
+    mCacheManager = LocalCacheManager.create(mConf);
+    assertTrue(mCacheManager.hasPage(PAGE_ID2));
+    assertFalse(mCacheManager.hasPage(PAGE_ID1));
+  }
+
+  @Test
+  public void sharedDirectoryTakesOverPagesOfExitedClient() throws Exception {
+    mCacheManager.close();
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SHARED_ENABLED, true);
+    LocalCacheManager first = LocalCacheManager.create(mConf);
+    LocalCacheManager second = LocalCacheManager.create(mConf);
+    assertTrue(second.put(PAGE_ID2, PAGE2));
+    second.close();
+    // the page of the exited cache is accounted by the next cache holding its slot
+    mCacheManager = LocalCacheManager.create(mConf);
+    assertTrue(mCacheManager.hasPage(PAGE_ID2));
+    assertFalse(first.hasPage(PAGE_ID2));
+    assertEquals(PAGE2.length, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    assertArrayEquals(PAGE2, mBuf);
+    first.close();
+  }
+
+  @Test
+  public void sharedDirectoryLimitsClients() throws Exception {
+    mCacheManager.close();
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SHARED_ENABLED, true);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SHARED_CLIENTS_MAX, 2);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, 4 * PAGE_SIZE_BYTES);
+    LocalCacheManager first = LocalCacheManager.create(mConf);
+    LocalCacheManager second = LocalCacheManager.create(mConf);
+    try {
+      LocalCacheManager.create(mConf);
+      fail();
+    } catch (IOException e) {
+      // expected, all the slots of the directory are held
+    }
+    // each cache takes its share of the directory
+    for (int i = 0; i < 4; i++) {
+      assertTrue(first.put(pageId(i, 0), page(i, PAGE_SIZE_BYTES)));
+    }
+    int cachedPages = 0;
+    for (int i = 0; i < 4; i++) {
+      if (first.hasPage(pageId(i, 0))) {
+        cachedPages++;
+      }
+    }
+    assertEquals(2, cachedPages);
+    second.close();
+    // the slot of the closed cache is free again
+    mCacheManager = LocalCacheManager.create(mConf);
+    first.close();
+  }
+
+  @Test
+  public void restoreFromPageIndexLog() throws Exception {
+    mCacheManager.close();
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_INDEX_ENABLED, true);
+    LocalCacheManager cacheManager = LocalCacheManager.create(mConf);
+    int numPages = 4;
+    for (int i = 0; i < numPages; i++) {
+      assertTrue(cacheManager.put(pageId(i, 0), page(i, PAGE_SIZE_BYTES)));
+    }
+    assertTrue(cacheManager.delete(pageId(numPages - 1, 0)));
+    // restore without closing the previous cache, as if it exited without flushing the log
+    mCacheManager = LocalCacheManager.create(mConf);
+    for (int i = 0; i < numPages - 1; i++) {
+      assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(i, 0), PAGE_SIZE_BYTES, mBuf, 0));
+      assertArrayEquals(page(i, PAGE_SIZE_BYTES), mBuf);
+    }
+    assertFalse(mCacheManager.hasPage(pageId(numPages - 1, 0)));
+    cacheManager.close();
+  }
+
+  @Test
+  public void reconcilePageIndexNotClosedCleanly() throws Exception {
+    mCacheManager.close();
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_INDEX_ENABLED, true);
+    mCacheManager = LocalCacheManager.create(mConf);
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    mCacheManager.close();
+    LocalCacheManager cacheManager = LocalCacheManager.create(mConf);
+    // pages written and removed behind the cache, as if it exited before logging them
+    PageStore pageStore = PageStore.open(PageStoreOptions.create(mConf));
+    pageStore.put(PAGE_ID2, PAGE2);
+    pageStore.delete(PAGE_ID1);
+    pageStore.close();
+    mCacheManager = LocalCacheManager.create(mConf);
+    assertFalse(mCacheManager.hasPage(PAGE_ID1));
+    assertTrue(mCacheManager.hasPage(PAGE_ID2));
+    assertEquals(PAGE2.length, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    assertArrayEquals(PAGE2, mBuf);
+    cacheManager.close();
+  }
+
+  @Test
+  public void multipleDirsEvictPerDir() throws Exception {
+    mCacheManager.close();
+    String dir1 = mTemp.newFolder().getAbsolutePath();
+    String dir2 = mTemp.newFolder().getAbsolutePath();
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_DIR, dir1 + "," + dir2);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_DIR_QUOTA, Integer.toString(PAGE_SIZE_BYTES));
+    mCacheManager = LocalCacheManager.create(mConf);
+    int numPages = 64;
+    for (int i = 0; i < numPages; i++) {
+      assertTrue(mCacheManager.put(pageId(i, 0), page(i, PAGE_SIZE_BYTES)));
+    }
+    // each directory holds exactly one page after evicting its own pages
+    int cachedPages = 0;
+    for (int i = 0; i < numPages; i++) {
+      if (mCacheManager.get(pageId(i, 0), PAGE_SIZE_BYTES, mBuf, 0) > 0) {
+        cachedPages++;
+      }
+    }
+    assertEquals(2, cachedPages);
+  }
+
+  @Test
+  public void restoreWithAddedDir() throws Exception {
+    mCacheManager.close();
+    String dir1 = mTemp.newFolder().getAbsolutePath();
+    String dir2 = mTemp.newFolder().getAbsolutePath();
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_DIR, dir1);
+    mCacheManager = LocalCacheManager.create(mConf);
+    int numPages = 64;
+    for (int i = 0; i < numPages; i++) {
+      assertTrue(mCacheManager.put(pageId(i, 0), page(i, PAGE_SIZE_BYTES)));
+    }
+    mCacheManager.close();
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_DIR, dir1 + "," + dir2);
+    mCacheManager = LocalCacheManager.create(mConf);
+    // pages which now hash to the new directory are moved there, the others are kept
+    for (int i = 0; i < numPages; i++) {
+      assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(i, 0), PAGE_SIZE_BYTES, mBuf, 0));
+      assertArrayEquals(page(i, PAGE_SIZE_BYTES), mBuf);
+    }
+    try (Stream<Path> pages = Files.walk(Paths.get(dir2))) {
+      assertTrue(pages.anyMatch(path -> Files.isRegularFile(path)
+          && !path.toString().contains(".index")));
+    }
+  }
+
   @Test
   public void asyncCache() throws Exception {
     final int threads = 16;
@@ -888,7 +1257,7 @@ public final class LocalCacheManagerTest {
   }
 
   /**
-   * A PageStore where put can throw IOException on put or delete.
+   * A PageStore where put can throw IOException on put or delete, and get can read partially.
    */
   private class FaultyPageStore extends LocalPageStore {
     public FaultyPageStore() {
@@ -897,6 +1266,18 @@ public final class LocalCacheManagerTest {
 
     private AtomicBoolean mPutFaulty = new AtomicBoolean(false);
     private AtomicBoolean mDeleteFaulty = new AtomicBoolean(false);
+    private AtomicBoolean mGetShort = new AtomicBoolean(false);
+
+    @Override
+    public int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer)
+        throws IOException, PageNotFoundException {
+      if (mGetShort.get()) {
+        int length = bytesToRead / 2;
+        buffer.put(new byte[length]);
+        return length;
+      }
+      return super.get(pageId, pageOffset, bytesToRead, buffer);
+    }
 
     @Override
     public void put(PageId pageId, byte[] page) throws IOException {
@@ -921,6 +1302,10 @@ public final class LocalCacheManagerTest {
     void setDeleteFaulty(boolean faulty) {
       mDeleteFaulty.set(faulty);
     }
+
+    void setGetShort(boolean getShort) {
+      mGetShort.set(getShort);
+    }
   }
 
   /**
@@ -0,0 +1,111 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for the {@link MissRatioCurveEstimator} class.
+ */
+public final class MissRatioCurveEstimatorTest {
+  private static final PageId PAGE_ID1 = new PageId("0L", 0L);
+  private static final PageId PAGE_ID2 = new PageId("1L", 1L);
+  private static final PageId PAGE_ID3 = new PageId("2L", 2L);
+
+  @Test
+  public void empty() {
+    MissRatioCurveEstimator estimator = new MissRatioCurveEstimator(16, 16);
+    Assert.assertEquals(0, estimator.getMissRatio(16), 0);
+  }
+
+  @Test
+  public void reuseDistance() {
+    MissRatioCurveEstimator estimator = new MissRatioCurveEstimator(16, 16);
+    estimator.record(PAGE_ID1);
+    estimator.record(PAGE_ID2);
+    estimator.record(PAGE_ID2);
+    estimator.record(PAGE_ID3);
+    estimator.record(PAGE_ID1);
+    // the second read of page 2 hits any cache, the second read of page 1 hits a cache of at
+    // least 3 pages
+    Assert.assertEquals(1, estimator.getMissRatio(0), 0.001);
+    Assert.assertEquals(0.8, estimator.getMissRatio(1), 0.001);
+    Assert.assertEquals(0.8, estimator.getMissRatio(2), 0.001);
+    Assert.assertEquals(0.6, estimator.getMissRatio(3), 0.001);
+  }
+
+  @Test
+  public void loop() {
+    MissRatioCurveEstimator estimator = new MissRatioCurveEstimator(1024, 1024);
+    for (int i = 0; i < 20; i++) {
+      for (int j = 0; j < 100; j++) {
+        estimator.record(new PageId("file", j));
+      }
+    }
+    Assert.assertEquals(1, estimator.getMissRatio(99), 0.001);
+    Assert.assertEquals(0.05, estimator.getMissRatio(100), 0.001);
+  }
+
+  @Test
+  public void sampled() {
+    int samples = 64;
+    MissRatioCurveEstimator estimator = new MissRatioCurveEstimator(samples, 4096);
+    for (int i = 0; i < 20; i++) {
+      for (int j = 0; j < 1000; j++) {
+        estimator.record(new PageId("file", j));
+      }
+    }
+    Assert.assertTrue(estimator.getSamples() <= samples);
+    Assert.assertEquals(1, estimator.getMissRatio(500), 0.05);
+    Assert.assertEquals(0.05, estimator.getMissRatio(2000), 0.05);
+  }
+
+  @Test
+  public void concurrentRecords() throws Exception {
+    int samples = 64;
+    MissRatioCurveEstimator estimator = new MissRatioCurveEstimator(samples, 4096);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      Thread thread = new Thread(() -> {
+        for (int i = 0; i < 20; i++) {
+          for (int j = 0; j < 1000; j++) {
+            estimator.record(new PageId("file", j));
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    Assert.assertTrue(estimator.getSamples() <= samples);
+    Assert.assertEquals(1, estimator.getMissRatio(500), 0.05);
+    Assert.assertEquals(0, estimator.getMissRatio(2000), 0.05);
+  }
+
+  @Test
+  public void aged() {
+    MissRatioCurveEstimator estimator = new MissRatioCurveEstimator(16, 16);
+    estimator.record(PAGE_ID1);
+    estimator.record(PAGE_ID1);
+    Assert.assertEquals(0.5, estimator.getMissRatio(1), 0.001);
+    estimator.age();
+    estimator.record(PAGE_ID2);
+    // the new miss weighs as much as the two reads recorded before
+    Assert.assertEquals(0.75, estimator.getMissRatio(1), 0.001);
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.ConfigurationTestUtils;
+import alluxio.Constants;
+import alluxio.client.file.cache.evictor.FIFOCacheEvictor;
+import alluxio.client.file.cache.store.MemoryPageStore;
+import alluxio.client.file.cache.store.MemoryPageStoreOptions;
+import alluxio.client.file.cache.store.PageStoreOptions;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for the {@link PageStoreDirAllocator} class.
+ */
+public final class PageStoreDirAllocatorTest {
+  private static final int NUM_PAGES = 10000;
+
+  private static PageStoreDir dir(String rootDir, long capacity) {
+    PageStoreOptions options = new MemoryPageStoreOptions()
+        .setRootDir(rootDir)
+        .setPageSize(Constants.KB)
+        .setCacheSize(capacity);
+    return new PageStoreDir(options, new MemoryPageStore(options.toOptions()),
+        new DefaultMetaStore(new FIFOCacheEvictor(ConfigurationTestUtils.defaults())));
+  }
+
+  private static Map<PageStoreDir, Integer> distribute(PageStoreDirAllocator allocator) {
+    Map<PageStoreDir, Integer> counts = new HashMap<>();
+    for (int i = 0; i < NUM_PAGES; i++) {
+      counts.merge(allocator.getDir(new PageId(Integer.toString(i / 8), i % 8)), 1, Integer::sum);
+    }
+    return counts;
+  }
+
+  @Test
+  public void singleDir() {
+    PageStoreDir dir = dir("/a", Constants.MB);
+    PageStoreDirAllocator allocator = new PageStoreDirAllocator(Collections.singletonList(dir));
+    assertEquals(NUM_PAGES, (int) distribute(allocator).get(dir));
+  }
+
+  @Test
+  public void evenDistribution() {
+    List<PageStoreDir> dirs = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      dirs.add(dir("/disk" + i, Constants.MB));
+    }
+    Map<PageStoreDir, Integer> counts = distribute(new PageStoreDirAllocator(dirs));
+    for (PageStoreDir dir : dirs) {
+      int count = counts.getOrDefault(dir, 0);
+      assertTrue(String.format("%s holds %d pages", dir, count),
+          count > NUM_PAGES / 4 / 2 && count < NUM_PAGES / 4 * 2);
+    }
+  }
+
+  @Test
+  public void weightedByCapacity() {
+    PageStoreDir small = dir("/small", Constants.MB);
+    PageStoreDir large = dir("/large", 4 * Constants.MB);
+    List<PageStoreDir> dirs = new ArrayList<>();
+    dirs.add(small);
+    dirs.add(large);
+    Map<PageStoreDir, Integer> counts = distribute(new PageStoreDirAllocator(dirs));
+    assertTrue(counts.get(large) > 2 * counts.get(small));
+  }
+
+  @Test
+  public void stableWhenAddingDir() {
+    List<PageStoreDir> dirs = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      dirs.add(dir("/disk" + i, Constants.MB));
+    }
+    PageStoreDirAllocator before = new PageStoreDirAllocator(new ArrayList<>(dirs));
+    dirs.add(dir("/disk3", Constants.MB));
+    PageStoreDirAllocator after = new PageStoreDirAllocator(dirs);
+    int moved = 0;
+    for (int i = 0; i < NUM_PAGES; i++) {
+      PageId pageId = new PageId(Integer.toString(i), 0);
+      PageStoreDir newDir = after.getDir(pageId);
+      if (newDir != before.getDir(pageId)) {
+        // pages only move to the new directory
+        assertEquals(dirs.get(3), newDir);
+        moved++;
+      }
+    }
+    assertTrue(moved < NUM_PAGES / 2);
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.ConfigurationTestUtils;
+import alluxio.Constants;
+import alluxio.client.file.cache.evictor.FIFOCacheEvictor;
+import alluxio.client.file.cache.store.MemoryPageStore;
+import alluxio.client.file.cache.store.MemoryPageStoreOptions;
+import alluxio.client.file.cache.store.PageStoreOptions;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the {@link PageStoreDir} class.
+ */
+public final class PageStoreDirTest {
+  private static final int PAGE_SIZE = Constants.KB;
+
+  private static PageStoreDir dir(long capacity) {
+    PageStoreOptions options = new MemoryPageStoreOptions()
+        .setRootDir("/a")
+        .setPageSize(PAGE_SIZE)
+        .setCacheSize(capacity);
+    return new PageStoreDir(options, new MemoryPageStore(options.toOptions()),
+        new DefaultMetaStore(new FIFOCacheEvictor(ConfigurationTestUtils.defaults())));
+  }
+
+  @Test
+  public void reserveAndRelease() {
+    PageStoreDir dir = dir(2 * PAGE_SIZE);
+    assertTrue(dir.reserve(PAGE_SIZE));
+    assertTrue(dir.reserve(PAGE_SIZE));
+    assertFalse(dir.reserve(1));
+    assertEquals(2 * PAGE_SIZE, dir.reservedBytes());
+    dir.release(PAGE_SIZE);
+    assertTrue(dir.reserve(PAGE_SIZE));
+    dir.releaseAll();
+    assertEquals(0, dir.reservedBytes());
+  }
+
+  @Test
+  public void concurrentReserveWithinCapacity() throws Exception {
+    int capacityPages = 100;
+    PageStoreDir dir = dir((long) capacityPages * PAGE_SIZE);
+    int numThreads = 8;
+    AtomicInteger reserved = new AtomicInteger(0);
+    CountDownLatch start = new CountDownLatch(1);
+    Thread[] threads = new Thread[numThreads];
+    for (int t = 0; t < numThreads; t++) {
+      threads[t] = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (int i = 0; i < capacityPages; i++) {
+          if (dir.reserve(PAGE_SIZE)) {
+            reserved.incrementAndGet();
+          }
+        }
+      });
+      threads[t].start();
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(capacityPages, reserved.get());
+    assertEquals((long) capacityPages * PAGE_SIZE, dir.reservedBytes());
+  }
+}
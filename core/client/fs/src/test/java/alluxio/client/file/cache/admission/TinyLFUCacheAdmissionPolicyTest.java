@@ -0,0 +1,85 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.admission;
+
+import alluxio.client.file.cache.PageId;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link TinyLFUCacheAdmissionPolicy} class.
+ */
+public final class TinyLFUCacheAdmissionPolicyTest {
+  private static final int EXPECTED_PAGES = 16;
+
+  private TinyLFUCacheAdmissionPolicy mPolicy;
+  private final PageId mOne = new PageId("1L", 2L);
+  private final PageId mTwo = new PageId("3L", 4L);
+
+  /**
+   * Sets up the instances.
+   */
+  @Before
+  public void before() {
+    mPolicy = new TinyLFUCacheAdmissionPolicy(EXPECTED_PAGES);
+  }
+
+  @Test
+  public void firstAccessInDoorkeeper() {
+    Assert.assertEquals(0, mPolicy.frequency(mOne));
+    mPolicy.recordAccess(mOne);
+    Assert.assertEquals(1, mPolicy.frequency(mOne));
+    Assert.assertEquals(0, mPolicy.frequency(mTwo));
+  }
+
+  @Test
+  public void frequencyCounted() {
+    for (int i = 0; i < 5; i++) {
+      mPolicy.recordAccess(mOne);
+    }
+    Assert.assertEquals(5, mPolicy.frequency(mOne));
+  }
+
+  @Test
+  public void frequencySaturates() {
+    for (int i = 0; i < 100; i++) {
+      mPolicy.recordAccess(mOne);
+    }
+    Assert.assertEquals(16, mPolicy.frequency(mOne));
+  }
+
+  @Test
+  public void admitMoreFrequent() {
+    mPolicy.recordAccess(mOne);
+    mPolicy.recordAccess(mTwo);
+    // ties are not admitted so that a scan does not replace pages read as often
+    Assert.assertFalse(mPolicy.admit(mOne, mTwo));
+    mPolicy.recordAccess(mOne);
+    Assert.assertTrue(mPolicy.admit(mOne, mTwo));
+    Assert.assertFalse(mPolicy.admit(mTwo, mOne));
+  }
+
+  @Test
+  public void frequencyAged() {
+    for (int i = 0; i < 9; i++) {
+      mPolicy.recordAccess(mOne);
+    }
+    Assert.assertEquals(9, mPolicy.frequency(mOne));
+    // access enough other pages once to halve the counters
+    for (int i = 0; i < 10 * EXPECTED_PAGES; i++) {
+      mPolicy.recordAccess(new PageId("other", i));
+    }
+    Assert.assertEquals(4, mPolicy.frequency(mOne));
+  }
+}
@@ -15,6 +15,7 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import alluxio.client.file.cache.PageId;
 import alluxio.client.file.cache.PageStore;
@@ -24,6 +25,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -87,6 +89,26 @@ public class LocalPageStoreTest {
     assertFalse(Files.exists(p.getParent()));
   }
 
+  @Test
+  public void sharedPutOnce() throws Exception {
+    mOptions.setShared(true);
+    LocalPageStore pageStore = new LocalPageStore(mOptions);
+    PageId pageId = new PageId("0", 0);
+    pageStore.put(pageId, "test".getBytes());
+    try {
+      pageStore.put(pageId, "other".getBytes());
+      fail("a shared page should only be written once");
+    } catch (FileAlreadyExistsException e) {
+      // expected
+    }
+    byte[] buf = new byte[1024];
+    assertEquals(4, pageStore.get(pageId, buf));
+    assertArrayEquals("test".getBytes(), Arrays.copyOfRange(buf, 0, 4));
+    // no temporary file is left
+    assertEquals(1, Files.list(pageStore.getFilePath(pageId).getParent()).count());
+    assertEquals(1, pageStore.getPages().count());
+  }
+
   private void helloWorldTest(PageStore store) throws Exception {
     String msg = "Hello, World!";
     PageId id = new PageId("0", 0);
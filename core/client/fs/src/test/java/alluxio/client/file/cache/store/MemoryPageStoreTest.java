@@ -0,0 +1,110 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+public class MemoryPageStoreTest {
+  private static final int PAGE_SIZE = 1024;
+  private static final int NUM_SLABS = 4;
+
+  private MemoryPageStore mPageStore;
+
+  @Before
+  public void before() {
+    MemoryPageStoreOptions options = new MemoryPageStoreOptions();
+    options.setPageSize(PAGE_SIZE);
+    options.setCacheSize(PAGE_SIZE * NUM_SLABS);
+    mPageStore = new MemoryPageStore(options);
+  }
+
+  @After
+  public void after() {
+    mPageStore.close();
+  }
+
+  @Test
+  public void putExceedsCapacity() throws Exception {
+    byte[] page = BufferUtils.getIncreasingByteArray(PAGE_SIZE);
+    for (int i = 0; i < NUM_SLABS; i++) {
+      mPageStore.put(new PageId("0", i), page);
+    }
+    assertThrows(ResourceExhaustedException.class,
+        () -> mPageStore.put(new PageId("0", NUM_SLABS), page));
+  }
+
+  @Test
+  public void putTooLargePage() {
+    assertThrows(IOException.class,
+        () -> mPageStore.put(new PageId("0", 0), new byte[PAGE_SIZE + 1]));
+  }
+
+  @Test
+  public void reuseSlabs() throws Exception {
+    for (int i = 0; i < NUM_SLABS * 4; i++) {
+      PageId id = new PageId("0", i);
+      byte[] page = BufferUtils.getIncreasingByteArray(i, PAGE_SIZE);
+      mPageStore.put(id, page);
+      byte[] buf = new byte[PAGE_SIZE];
+      assertEquals(page.length, mPageStore.get(id, buf));
+      assertArrayEquals(page, buf);
+      mPageStore.delete(id);
+    }
+    assertEquals(PAGE_SIZE, mPageStore.getAllocatedBytes());
+  }
+
+  @Test
+  public void smallPages() throws Exception {
+    int smallPageSize = PAGE_SIZE / 8;
+    // small pages take only their own size, so more of them fit than there are slabs
+    for (int i = 0; i < NUM_SLABS * 8; i++) {
+      PageId id = new PageId("0", i);
+      byte[] page = BufferUtils.getIncreasingByteArray(i, smallPageSize);
+      mPageStore.put(id, page);
+      byte[] buf = new byte[PAGE_SIZE];
+      assertEquals(page.length, mPageStore.get(id, buf));
+      assertArrayEquals(page, Arrays.copyOfRange(buf, 0, page.length));
+    }
+    assertEquals(PAGE_SIZE * NUM_SLABS, mPageStore.getAllocatedBytes());
+    assertThrows(ResourceExhaustedException.class,
+        () -> mPageStore.put(new PageId("1", 0), new byte[smallPageSize]));
+    // the memory of a deleted small page is returned to the store
+    mPageStore.delete(new PageId("0", 0));
+    assertEquals(PAGE_SIZE * NUM_SLABS - smallPageSize, mPageStore.getAllocatedBytes());
+    mPageStore.put(new PageId("1", 0), new byte[smallPageSize]);
+  }
+
+  @Test
+  public void overwritePage() throws Exception {
+    PageId id = new PageId("0", 0);
+    mPageStore.put(id, BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    byte[] page = BufferUtils.getIncreasingByteArray(1, 16);
+    mPageStore.put(id, page);
+    byte[] buf = new byte[PAGE_SIZE];
+    assertEquals(page.length, mPageStore.get(id, buf));
+    assertArrayEquals(page, Arrays.copyOfRange(buf, 0, page.length));
+    assertEquals(1, mPageStore.getPages().count());
+  }
+}
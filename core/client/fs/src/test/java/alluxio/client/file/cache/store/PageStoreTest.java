@@ -34,6 +34,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -52,7 +53,8 @@ public class PageStoreTest {
   public static Collection<Object[]> data() {
     return Arrays.asList(new Object[][] {
         {new RocksPageStoreOptions()},
-        {new LocalPageStoreOptions()}
+        {new LocalPageStoreOptions()},
+        {new MemoryPageStoreOptions()}
     });
   }
 
@@ -121,6 +123,41 @@ public class PageStoreTest {
         mPageStore.get(id, offset, len, buf, 0));
   }
 
+  @Test
+  public void getOffsetToByteBuffer() throws Exception {
+    int len = 32;
+    PageId id = new PageId("0", 0);
+    mPageStore.put(id, BufferUtils.getIncreasingByteArray(len));
+    for (ByteBuffer buf : new ByteBuffer[] {ByteBuffer.allocate(len + 8),
+        ByteBuffer.allocateDirect(len + 8)}) {
+      for (int offset = 1; offset < len; offset++) {
+        buf.clear();
+        buf.position(8);
+        int bytesRead = mPageStore.get(id, offset, len, buf);
+        assertEquals(len - offset, bytesRead);
+        assertEquals(8 + bytesRead, buf.position());
+        buf.flip();
+        buf.position(8);
+        byte[] data = new byte[bytesRead];
+        buf.get(data);
+        assertArrayEquals(BufferUtils.getIncreasingByteArray(offset, len - offset), data);
+      }
+    }
+  }
+
+  @Test
+  public void getToByteBufferBoundedByRemaining() throws Exception {
+    int len = 32;
+    PageId id = new PageId("0", 0);
+    mPageStore.put(id, BufferUtils.getIncreasingByteArray(len));
+    ByteBuffer buf = ByteBuffer.allocateDirect(len);
+    buf.limit(len / 2);
+    assertEquals(len / 2, mPageStore.get(id, 0, len, buf));
+    assertEquals(len / 2, buf.position());
+    assertThrows(PageNotFoundException.class, () ->
+        mPageStore.get(new PageId("0", 1), 0, len, ByteBuffer.allocateDirect(len)));
+  }
+
   @Test
   public void getPages() throws Exception {
     int len = 32;
@@ -18,6 +18,7 @@ import alluxio.ClientContext;
 import alluxio.Constants;
 import alluxio.client.file.FileOutStream;
 import alluxio.client.file.FileSystem;
+import alluxio.client.file.ListStatusIterator;
 import alluxio.client.file.URIStatus;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.AlluxioProperties;
@@ -32,6 +33,7 @@ import alluxio.grpc.CheckAccessPOptions;
 import alluxio.grpc.CreateDirectoryPOptions;
 import alluxio.grpc.CreateFilePOptions;
 import alluxio.grpc.DeletePOptions;
+import alluxio.grpc.ListStatusPOptions;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.master.MasterInquireClient.Factory;
 import alluxio.security.CurrentUser;
@@ -49,6 +51,7 @@ import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.hadoop.fs.permission.FsAction;
 import org.apache.hadoop.fs.permission.FsPermission;
 import org.apache.hadoop.security.UserGroupInformation;
@@ -597,16 +600,66 @@ public abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem
 
     FileStatus[] ret = new FileStatus[statuses.size()];
     for (int k = 0; k < statuses.size(); k++) {
-      URIStatus status = statuses.get(k);
+      ret[k] = toFileStatus(statuses.get(k));
+    }
+    return ret;
+  }
+
+  /**
+   * Lists the entries of a directory like {@link #listStatus(Path)}, but fetches them from the
+   * master in batches of {@link PropertyKey#USER_FILE_LIST_STATUS_BATCH_SIZE} as the iterator is
+   * consumed, so that listing large directories does not hold all the entries in memory.
+   *
+   * Not annotated with {@link Override} since the method only exists since Hadoop 2.7.
+   *
+   * @param path the path to list
+   * @return an iterator over the statuses of the entries
+   */
+  public RemoteIterator<FileStatus> listStatusIterator(Path path) throws IOException {
+    LOG.debug("listStatusIterator({})", path);
 
-      ret[k] = new FileStatus(status.getLength(), status.isFolder(), getReplica(status),
-          status.getBlockSizeBytes(), status.getLastModificationTimeMs(),
-          status.getLastAccessTimeMs(), new FsPermission((short) status.getMode()),
-          status.getOwner(), status.getGroup(), getFsPath(mAlluxioHeader, status));
+    if (mStatistics != null) {
+      mStatistics.incrementReadOps(1);
     }
+
+    AlluxioURI uri = getAlluxioPath(path);
+    ListStatusIterator iterator =
+        mFileSystem.listStatusIterator(uri, ListStatusPOptions.getDefaultInstance());
+    RemoteIterator<FileStatus> ret = new RemoteIterator<FileStatus>() {
+      @Override
+      public boolean hasNext() throws IOException {
+        try {
+          return iterator.hasNext();
+        } catch (FileDoesNotExistException e) {
+          throw new FileNotFoundException(uri.toString());
+        } catch (AlluxioException e) {
+          throw new IOException(e);
+        }
+      }
+
+      @Override
+      public FileStatus next() throws IOException {
+        try {
+          return toFileStatus(iterator.next());
+        } catch (FileDoesNotExistException e) {
+          throw new FileNotFoundException(uri.toString());
+        } catch (AlluxioException e) {
+          throw new IOException(e);
+        }
+      }
+    };
+    // Fetches the first batch, so that a missing path fails the call like listStatus does.
+    ret.hasNext();
     return ret;
   }
 
+  private FileStatus toFileStatus(URIStatus status) {
+    return new FileStatus(status.getLength(), status.isFolder(), getReplica(status),
+        status.getBlockSizeBytes(), status.getLastModificationTimeMs(),
+        status.getLastAccessTimeMs(), new FsPermission((short) status.getMode()),
+        status.getOwner(), status.getGroup(), getFsPath(mAlluxioHeader, status));
+  }
+
   /**
    * Attempts to create a folder with the specified path. Parent directories will be created.
    *
@@ -13,6 +13,7 @@ package alluxio.hadoop;
 
 import alluxio.AlluxioURI;
 import alluxio.client.file.FileInStream;
+import alluxio.client.file.FileRange;
 import alluxio.client.file.FileSystem;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.ExceptionMessage;
@@ -30,6 +31,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -157,6 +159,23 @@ public class HdfsFileInputStream extends InputStream implements Seekable, Positi
     return bytesRead;
   }
 
+  /**
+   * Reads the given ranges of the file, coalescing nearby ranges and reading the blocks in
+   * parallel. See {@link FileInStream#readVectored(List)}.
+   *
+   * @param ranges the ranges to read, whose data is set once read
+   */
+  public void readVectored(List<FileRange> ranges) throws IOException {
+    if (mClosed) {
+      throw new IOException(ExceptionMessage.READ_CLOSED_STREAM.getMessage());
+    }
+
+    mInputStream.readVectored(ranges);
+    if (mStatistics != null) {
+      mStatistics.incrementBytesRead(ranges.stream().mapToLong(FileRange::getLength).sum());
+    }
+  }
+
   @Override
   public void readFully(long position, byte[] buffer) throws IOException {
     readFully(position, buffer, 0, buffer.length);
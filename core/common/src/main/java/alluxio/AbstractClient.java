@@ -34,6 +34,7 @@ import alluxio.retry.RetryPolicy;
 import alluxio.retry.RetryUtils;
 import alluxio.util.CommonUtils;
 import alluxio.util.SecurityUtils;
+import alluxio.util.ThreadFactoryUtils;
 
 import com.codahale.metrics.Timer;
 import com.google.common.base.Preconditions;
@@ -45,6 +46,11 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.channels.UnresolvedAddressException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Supplier;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -54,6 +60,9 @@ import javax.annotation.concurrent.ThreadSafe;
 @ThreadSafe
 public abstract class AbstractClient implements Client {
   private static final Logger LOG = LoggerFactory.getLogger(AbstractClient.class);
+  /** Re-issues the asynchronous RPCs which failed, after the backoff of their retry policy. */
+  private static final ExecutorService ASYNC_RETRY_EXECUTOR =
+      Executors.newCachedThreadPool(ThreadFactoryUtils.build("rpc-async-retry-%d", true));
 
   private final Supplier<RetryPolicy> mRetryPolicySupplier;
 
@@ -406,10 +415,7 @@ public abstract class AbstractClient implements Client {
         return rpc.call();
       } catch (StatusRuntimeException e) {
         AlluxioStatusException se = AlluxioStatusException.fromStatusRuntimeException(e);
-        if (se.getStatusCode() == Status.Code.UNAVAILABLE
-            || se.getStatusCode() == Status.Code.CANCELLED
-            || se.getStatusCode() == Status.Code.UNAUTHENTICATED
-            || e.getCause() instanceof UnresolvedAddressException) {
+        if (isRetryable(e, se)) {
           ex = se;
         } else {
           throw se;
@@ -423,6 +429,124 @@ public abstract class AbstractClient implements Client {
         + " attempts: " + ex.toString(), ex);
   }
 
+  /**
+   * The asynchronous RPC to be executed in {@link #retryRPCAsync}.
+   *
+   * @param <V> the type of the result of the RPC
+   */
+  protected interface AsyncRpcCallable<V> {
+    /**
+     * Issues the RPC.
+     *
+     * @return the future of the result, which fails with a {@link StatusRuntimeException} when
+     *         the RPC fails
+     */
+    CompletableFuture<V> call();
+  }
+
+  /**
+   * Tries to execute an asynchronous RPC defined as a {@link AsyncRpcCallable}, with the same
+   * retries and metrics as {@link #retryRPC}. The first attempt is issued from the calling thread.
+   * When it fails because the remote is unavailable, the client disconnects, and the retry policy
+   * is consulted and the RPC re-issued from a shared retry thread, which is only held while the
+   * retry policy backs off.
+   *
+   * @param <V> type of return value of the RPC call
+   * @param rpc the RPC call to be executed
+   * @param logger the logger to use for this call
+   * @param rpcName the human readable name of the RPC call
+   * @param description the format string of the description, used for logging
+   * @param args the arguments for the description
+   * @return the future of the return value of the RPC call, which fails with an
+   *         {@link AlluxioStatusException}
+   */
+  protected <V> CompletableFuture<V> retryRPCAsync(AsyncRpcCallable<V> rpc, Logger logger,
+      String rpcName, String description, Object... args) {
+    String debugDesc = logger.isDebugEnabled() ? String.format(description, args) : null;
+    long startMs = System.currentTimeMillis();
+    logger.debug("Enter (async): {}({})", rpcName, debugDesc);
+    Timer.Context ctx = MetricsSystem.timer(getQualifiedMetricName(rpcName)).time();
+    CompletableFuture<V> result = new CompletableFuture<>();
+    result.whenComplete((ret, e) -> {
+      ctx.stop();
+      long duration = System.currentTimeMillis() - startMs;
+      if (e == null) {
+        logger.debug("Exit (OK, async): {}({}) in {} ms", rpcName, debugDesc, duration);
+        if (duration >= mRpcThreshold) {
+          logger.warn("{}({}) returned {} in {} ms (>={} ms)",
+              rpcName, String.format(description, args),
+              CommonUtils.summarizeCollection(ret), duration, mRpcThreshold);
+        }
+      } else {
+        MetricsSystem.counter(getQualifiedFailureMetricName(rpcName)).inc();
+        logger.debug("Exit (ERROR, async): {}({}) in {} ms: {}",
+            rpcName, debugDesc, duration, e.toString());
+        if (duration >= mRpcThreshold) {
+          logger.warn("{}({}) exits with exception [{}] in {} ms (>={}ms)",
+              rpcName, String.format(description, args), e.toString(), duration, mRpcThreshold);
+        }
+      }
+    });
+    retryRPCAsyncInternal(mRetryPolicySupplier.get(), rpc, rpcName, null, result);
+    return result;
+  }
+
+  private <V> void retryRPCAsyncInternal(RetryPolicy retryPolicy, AsyncRpcCallable<V> rpc,
+      String rpcName, AlluxioStatusException lastFailure, CompletableFuture<V> result) {
+    if (!retryPolicy.attempt()) {
+      result.completeExceptionally(new UnavailableException("Failed after "
+          + retryPolicy.getAttemptCount() + " attempts: " + lastFailure, lastFailure));
+      return;
+    }
+    CompletableFuture<V> attempt;
+    try {
+      synchronized (this) {
+        if (mClosed) {
+          throw new FailedPreconditionException("Client is closed");
+        }
+        connect();
+      }
+      attempt = rpc.call();
+    } catch (AlluxioStatusException | RuntimeException e) {
+      result.completeExceptionally(AlluxioStatusException.fromThrowable(e));
+      return;
+    }
+    attempt.whenComplete((ret, e) -> {
+      if (e == null) {
+        result.complete(ret);
+        return;
+      }
+      Throwable cause = e instanceof CompletionException && e.getCause() != null
+          ? e.getCause() : e;
+      if (!(cause instanceof StatusRuntimeException)) {
+        result.completeExceptionally(AlluxioStatusException.fromThrowable(cause));
+        return;
+      }
+      StatusRuntimeException sre = (StatusRuntimeException) cause;
+      AlluxioStatusException se = AlluxioStatusException.fromStatusRuntimeException(sre);
+      if (!isRetryable(sre, se)) {
+        result.completeExceptionally(se);
+        return;
+      }
+      LOG.debug("Rpc failed ({}): {}", retryPolicy.getAttemptCount(), se.toString());
+      MetricsSystem.counter(getQualifiedRetryMetricName(rpcName)).inc();
+      disconnect();
+      try {
+        ASYNC_RETRY_EXECUTOR.execute(
+            () -> retryRPCAsyncInternal(retryPolicy, rpc, rpcName, se, result));
+      } catch (RejectedExecutionException re) {
+        result.completeExceptionally(se);
+      }
+    });
+  }
+
+  private static boolean isRetryable(StatusRuntimeException e, AlluxioStatusException se) {
+    return se.getStatusCode() == Status.Code.UNAVAILABLE
+        || se.getStatusCode() == Status.Code.CANCELLED
+        || se.getStatusCode() == Status.Code.UNAUTHENTICATED
+        || e.getCause() instanceof UnresolvedAddressException;
+  }
+
   // TODO(calvin): General tag logic should be in getMetricName
   private String getQualifiedMetricName(String metricName) {
     try {
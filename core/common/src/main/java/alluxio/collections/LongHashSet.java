@@ -0,0 +1,302 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import com.google.common.base.Preconditions;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A hash set of primitive longs. The elements are stored in an array probed linearly, so unlike
+ * a {@link java.util.HashSet} it allocates neither a boxed element nor a node per element. The
+ * primitive methods do not box, while the {@link java.util.Set} methods box the elements passed
+ * and returned. Removed elements are marked and reused, and cleared when the table is rehashed.
+ *
+ * Concurrent reads are safe as long as the set is not modified.
+ */
+@NotThreadSafe
+public final class LongHashSet extends AbstractSet<Long> {
+  private static final float LOAD_FACTOR = 0.75f;
+  private static final int MIN_CAPACITY = 4;
+  private static final byte FREE = 0;
+  private static final byte FULL = 1;
+  private static final byte REMOVED = 2;
+
+  private long[] mKeys;
+  private byte[] mStates;
+  private int mMask;
+  /** The number of elements. */
+  private int mSize;
+  /** The number of slots which are not free, including removed elements. */
+  private int mUsed;
+  /** The number of slots which can be used before rehashing. */
+  private int mMaxUsed;
+  /** The number of times the table was rehashed, to detect modifications while iterating. */
+  private int mRehashes;
+
+  /**
+   * Creates an empty set.
+   */
+  public LongHashSet() {
+    this(MIN_CAPACITY);
+  }
+
+  /**
+   * Creates an empty set.
+   *
+   * @param expectedSize the number of elements the set can hold without rehashing
+   */
+  public LongHashSet(int expectedSize) {
+    Preconditions.checkArgument(expectedSize >= 0, "expectedSize must be non-negative: %s",
+        expectedSize);
+    allocate(tableSize(expectedSize, LOAD_FACTOR, MIN_CAPACITY));
+  }
+
+  /**
+   * Creates a set of the given elements.
+   *
+   * @param elements the elements
+   */
+  public LongHashSet(Collection<Long> elements) {
+    this(elements.size());
+    addAll(elements);
+  }
+
+  @Override
+  public int size() {
+    return mSize;
+  }
+
+  /**
+   * @param key the element
+   * @return whether the set contains the element
+   */
+  public boolean contains(long key) {
+    return find(key) >= 0;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return o instanceof Long && contains(((Long) o).longValue());
+  }
+
+  /**
+   * Adds an element.
+   *
+   * @param key the element
+   * @return whether the set did not contain the element
+   */
+  public boolean add(long key) {
+    if (find(key) >= 0) {
+      return false;
+    }
+    if (mUsed >= mMaxUsed) {
+      rehash();
+    }
+    int index = hash(key) & mMask;
+    while (mStates[index] == FULL) {
+      index = (index + 1) & mMask;
+    }
+    if (mStates[index] == FREE) {
+      mUsed++;
+    }
+    mKeys[index] = key;
+    mStates[index] = FULL;
+    mSize++;
+    return true;
+  }
+
+  @Override
+  public boolean add(Long key) {
+    return add(key.longValue());
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Long> c) {
+    if (c instanceof LongHashSet) {
+      LongHashSet other = (LongHashSet) c;
+      boolean modified = false;
+      for (int index = 0; index < other.mStates.length; index++) {
+        if (other.mStates[index] == FULL) {
+          modified |= add(other.mKeys[index]);
+        }
+      }
+      return modified;
+    }
+    return super.addAll(c);
+  }
+
+  /**
+   * Removes an element.
+   *
+   * @param key the element
+   * @return whether the set contained the element
+   */
+  public boolean remove(long key) {
+    int index = find(key);
+    if (index < 0) {
+      return false;
+    }
+    mStates[index] = REMOVED;
+    mSize--;
+    return true;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    return o instanceof Long && remove(((Long) o).longValue());
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(mStates, FREE);
+    mSize = 0;
+    mUsed = 0;
+  }
+
+  /**
+   * @return a new array of the elements
+   */
+  public long[] toLongArray() {
+    long[] keys = new long[mSize];
+    int i = 0;
+    for (int index = 0; index < mStates.length; index++) {
+      if (mStates[index] == FULL) {
+        keys[i++] = mKeys[index];
+      }
+    }
+    return keys;
+  }
+
+  @Override
+  public Iterator<Long> iterator() {
+    return new Iterator<Long>() {
+      private final int mExpectedRehashes = mRehashes;
+      private int mNext = advance(0);
+      private int mLast = -1;
+
+      @Override
+      public boolean hasNext() {
+        return mNext < mStates.length;
+      }
+
+      @Override
+      public Long next() {
+        if (mExpectedRehashes != mRehashes) {
+          throw new ConcurrentModificationException();
+        }
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        mLast = mNext;
+        mNext = advance(mNext + 1);
+        return mKeys[mLast];
+      }
+
+      @Override
+      public void remove() {
+        Preconditions.checkState(mLast >= 0 && mStates[mLast] == FULL, "No element to remove");
+        mStates[mLast] = REMOVED;
+        mSize--;
+      }
+
+      private int advance(int index) {
+        while (index < mStates.length && mStates[index] != FULL) {
+          index++;
+        }
+        return index;
+      }
+    };
+  }
+
+  /**
+   * @return the index of the element, or -1 if the set does not contain the element
+   */
+  private int find(long key) {
+    int index = hash(key) & mMask;
+    byte state;
+    while ((state = mStates[index]) != FREE) {
+      if (state == FULL && mKeys[index] == key) {
+        return index;
+      }
+      index = (index + 1) & mMask;
+    }
+    return -1;
+  }
+
+  /**
+   * Rehashes the elements into a table fitting one more element, dropping the removed elements.
+   */
+  private void rehash() {
+    long[] keys = mKeys;
+    byte[] states = mStates;
+    allocate(tableSize(mSize + 1, LOAD_FACTOR, MIN_CAPACITY));
+    for (int i = 0; i < states.length; i++) {
+      if (states[i] == FULL) {
+        int index = hash(keys[i]) & mMask;
+        while (mStates[index] != FREE) {
+          index = (index + 1) & mMask;
+        }
+        mKeys[index] = keys[i];
+        mStates[index] = FULL;
+        mUsed++;
+      }
+    }
+    mRehashes++;
+  }
+
+  private void allocate(int capacity) {
+    mKeys = new long[capacity];
+    mStates = new byte[capacity];
+    mMask = capacity - 1;
+    mMaxUsed = maxUsed(capacity, LOAD_FACTOR);
+    mUsed = 0;
+  }
+
+  /**
+   * Spreads the bits of a key, so that sequential ids do not probe the same clusters.
+   *
+   * @param key the key
+   * @return the hash of the key
+   */
+  static int hash(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  /**
+   * @param expectedSize the number of keys to hold
+   * @param loadFactor the maximum ratio of used slots
+   * @param minCapacity the minimum number of slots
+   * @return the power of two number of slots to hold the keys
+   */
+  static int tableSize(int expectedSize, float loadFactor, int minCapacity) {
+    long needed = (long) Math.ceil(expectedSize / loadFactor) + 1;
+    Preconditions.checkArgument(needed <= 1 << 30, "Too many keys: %s", expectedSize);
+    return Math.max(minCapacity, Integer.highestOneBit((int) needed - 1) << 1);
+  }
+
+  /**
+   * @param capacity the number of slots
+   * @param loadFactor the maximum ratio of used slots
+   * @return the number of slots which can be used before rehashing, leaving one free slot
+   */
+  static int maxUsed(int capacity, float loadFactor) {
+    return Math.min(capacity - 1, (int) (capacity * loadFactor));
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A hash map from primitive longs to non-null objects. The keys and values are stored in two
+ * arrays probed linearly, so unlike a {@link java.util.HashMap} it allocates neither a boxed key
+ * nor a node per entry. Removed entries are marked and reused, and cleared when the table is
+ * rehashed.
+ *
+ * Concurrent reads are safe as long as the map is not modified.
+ *
+ * @param <V> the type of the values
+ */
+@NotThreadSafe
+public final class LongObjectHashMap<V> {
+  private static final float LOAD_FACTOR = 0.75f;
+  private static final int MIN_CAPACITY = 4;
+  /** Marks the value of a removed entry, while a null value marks a free slot. */
+  private static final Object REMOVED = new Object();
+
+  private long[] mKeys;
+  private Object[] mValues;
+  private int mMask;
+  /** The number of entries. */
+  private int mSize;
+  /** The number of slots which are not free, including removed entries. */
+  private int mUsed;
+  /** The number of slots which can be used before rehashing. */
+  private int mMaxUsed;
+
+  /**
+   * Creates an empty map.
+   */
+  public LongObjectHashMap() {
+    this(MIN_CAPACITY);
+  }
+
+  /**
+   * Creates an empty map.
+   *
+   * @param expectedSize the number of entries the map can hold without rehashing
+   */
+  public LongObjectHashMap(int expectedSize) {
+    Preconditions.checkArgument(expectedSize >= 0, "expectedSize must be non-negative: %s",
+        expectedSize);
+    allocate(LongHashSet.tableSize(expectedSize, LOAD_FACTOR, MIN_CAPACITY));
+  }
+
+  /**
+   * @return the number of entries
+   */
+  public int size() {
+    return mSize;
+  }
+
+  /**
+   * @return whether the map has no entry
+   */
+  public boolean isEmpty() {
+    return mSize == 0;
+  }
+
+  /**
+   * @param key the key
+   * @return the value of the key, or null if the map does not contain the key
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public V get(long key) {
+    int index = find(key);
+    return index < 0 ? null : (V) mValues[index];
+  }
+
+  /**
+   * @param key the key
+   * @return whether the map contains the key
+   */
+  public boolean containsKey(long key) {
+    return find(key) >= 0;
+  }
+
+  /**
+   * Associates a value to a key.
+   *
+   * @param key the key
+   * @param value the value, which must not be null
+   * @return the previous value of the key, or null if the map did not contain the key
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public V put(long key, V value) {
+    Preconditions.checkNotNull(value, "value");
+    int index = find(key);
+    if (index >= 0) {
+      V previous = (V) mValues[index];
+      mValues[index] = value;
+      return previous;
+    }
+    if (mUsed >= mMaxUsed) {
+      rehash();
+    }
+    index = LongHashSet.hash(key) & mMask;
+    while (mValues[index] != null && mValues[index] != REMOVED) {
+      index = (index + 1) & mMask;
+    }
+    if (mValues[index] == null) {
+      mUsed++;
+    }
+    mKeys[index] = key;
+    mValues[index] = value;
+    mSize++;
+    return null;
+  }
+
+  /**
+   * Removes a key.
+   *
+   * @param key the key
+   * @return the value of the key, or null if the map did not contain the key
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public V remove(long key) {
+    int index = find(key);
+    if (index < 0) {
+      return null;
+    }
+    V previous = (V) mValues[index];
+    mValues[index] = REMOVED;
+    mSize--;
+    return previous;
+  }
+
+  /**
+   * Removes all the entries.
+   */
+  public void clear() {
+    Arrays.fill(mValues, null);
+    mSize = 0;
+    mUsed = 0;
+  }
+
+  /**
+   * @return a new array of the keys
+   */
+  public long[] keys() {
+    long[] keys = new long[mSize];
+    int i = 0;
+    for (int index = 0; index < mValues.length; index++) {
+      if (isFull(index)) {
+        keys[i++] = mKeys[index];
+      }
+    }
+    return keys;
+  }
+
+  /**
+   * @return a new list of the values
+   */
+  @SuppressWarnings("unchecked")
+  public List<V> values() {
+    List<V> values = new ArrayList<>(mSize);
+    for (int index = 0; index < mValues.length; index++) {
+      if (isFull(index)) {
+        values.add((V) mValues[index]);
+      }
+    }
+    return values;
+  }
+
+  /**
+   * @return the index of the key, or -1 if the map does not contain the key
+   */
+  private int find(long key) {
+    int index = LongHashSet.hash(key) & mMask;
+    Object value;
+    while ((value = mValues[index]) != null) {
+      if (value != REMOVED && mKeys[index] == key) {
+        return index;
+      }
+      index = (index + 1) & mMask;
+    }
+    return -1;
+  }
+
+  private boolean isFull(int index) {
+    return mValues[index] != null && mValues[index] != REMOVED;
+  }
+
+  /**
+   * Rehashes the entries into a table fitting one more entry, dropping the removed entries.
+   */
+  private void rehash() {
+    long[] keys = mKeys;
+    Object[] values = mValues;
+    allocate(LongHashSet.tableSize(mSize + 1, LOAD_FACTOR, MIN_CAPACITY));
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null && values[i] != REMOVED) {
+        int index = LongHashSet.hash(keys[i]) & mMask;
+        while (mValues[index] != null) {
+          index = (index + 1) & mMask;
+        }
+        mKeys[index] = keys[i];
+        mValues[index] = values[i];
+        mUsed++;
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    mKeys = new long[capacity];
+    mValues = new Object[capacity];
+    mMask = capacity - 1;
+    mMaxUsed = LongHashSet.maxUsed(capacity, LOAD_FACTOR);
+    mUsed = 0;
+  }
+}
@@ -2725,6 +2725,25 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_METADATA_INVALIDATION_INTERVAL =
+      new Builder(Name.MASTER_METADATA_INVALIDATION_INTERVAL)
+          .setDefaultValue("100ms")
+          .setDescription("The interval at which the master sends the pending invalidations of "
+              + "metadata to the clients watching the paths which changed. Invalidations of the "
+              + "same path within an interval are sent once.")
+          .setScope(Scope.MASTER)
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .build();
+  public static final PropertyKey MASTER_METADATA_INVALIDATION_MAX_PENDING =
+      new Builder(Name.MASTER_METADATA_INVALIDATION_MAX_PENDING)
+          .setDefaultValue(10000)
+          .setDescription("The maximum number of inode changes queued to be resolved into "
+              + "metadata invalidations, and of invalidations pending to be sent to a client "
+              + "watching paths. When more paths change before the invalidations can be sent, "
+              + "the clients are asked to invalidate all their cached metadata instead.")
+          .setScope(Scope.MASTER)
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .build();
   public static final PropertyKey MASTER_METADATA_SYNC_CONCURRENCY_LEVEL =
       new Builder(Name.MASTER_METADATA_SYNC_CONCURRENCY_LEVEL)
           .setDefaultValue(6)
@@ -2906,6 +2925,22 @@ public final class PropertyKey implements Comparable<PropertyKey> {
   //
   // File system master related properties
   //
+  public static final PropertyKey MASTER_FILE_SYSTEM_GETSTATUS_BATCH_SIZE_MAX =
+      new Builder(Name.MASTER_FILE_SYSTEM_GETSTATUS_BATCH_SIZE_MAX)
+          .setDefaultValue(10000)
+          .setDescription("The maximum number of paths in a batched get-status request. Larger "
+              + "requests are rejected, so that one request does not hold the master for long.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_FILE_SYSTEM_LISTSTATUS_PARTIAL_BATCH_SIZE_MAX =
+      new Builder(Name.MASTER_FILE_SYSTEM_LISTSTATUS_PARTIAL_BATCH_SIZE_MAX)
+          .setDefaultValue(10000)
+          .setDescription("The maximum number of entries returned by one partial list-status "
+              + "request. Larger requested batches are capped to this size.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_FILE_SYSTEM_LISTSTATUS_RESULTS_PER_MESSAGE =
       new Builder(Name.MASTER_FILE_SYSTEM_LISTSTATUS_RESULTS_PER_MESSAGE)
           .setDefaultValue(10000)
@@ -3411,6 +3446,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_NETWORK_READER_MMAP_ENABLED =
+      new Builder(Name.WORKER_NETWORK_READER_MMAP_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("When a client reads a block in the worker storage from a remote "
+              + "worker, whether to send memory-mapped regions of the block file instead of "
+              + "copying the block data into network buffers. Together with "
+              + Name.WORKER_NETWORK_ZEROCOPY_ENABLED + ", the data is written to the network "
+              + "straight from the page cache.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_NETWORK_SHUTDOWN_TIMEOUT =
       new Builder(Name.WORKER_NETWORK_SHUTDOWN_TIMEOUT)
           .setDefaultValue("15sec")
@@ -3593,6 +3639,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_TIERED_STORE_BLOCK_INDEX_ENABLED =
+      new Builder(Name.WORKER_TIERED_STORE_BLOCK_INDEX_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether each storage directory keeps an index file of its committed "
+              + "blocks. When enabled, a restarted worker loads the blocks of a directory from "
+              + "its index instead of listing the block files, and verifies the index against "
+              + "the block files in the background once the worker is started.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_TIERED_STORE_BLOCK_LOCK_READERS =
       new Builder(Name.WORKER_TIERED_STORE_BLOCK_LOCK_READERS)
           .setDefaultValue(1000)
@@ -3663,6 +3719,20 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_TIERED_STORE_LEVEL0_OFFHEAP_ENABLED =
+      new Builder(Template.WORKER_TIERED_STORE_LEVEL_OFFHEAP_ENABLED, 0)
+          .setDefaultValue(false)
+          .setDescription(String.format("Whether the storage directories of the top storage "
+              + "tier keep blocks in pooled direct memory of the worker instead of files. The "
+              + "paths of the directories only name them, and no ramdisk needs to be mounted. "
+              + "The direct memory limit of the worker (-XX:MaxDirectMemorySize) must fit the "
+              + "quota of the tier. The blocks of the tier are lost when the worker restarts. "
+              + "Short-circuit reads of the blocks fall back to the worker, and short-circuit "
+              + "writes to the tier are rejected. See %s for the slab size.",
+              Name.WORKER_TIERED_STORE_OFFHEAP_SLAB_SIZE))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_TIERED_STORE_LEVEL0_HIGH_WATERMARK_RATIO =
       new Builder(Template.WORKER_TIERED_STORE_LEVEL_HIGH_WATERMARK_RATIO, 0)
           .setDefaultValue(0.95)
@@ -3714,6 +3784,20 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_TIERED_STORE_LEVEL1_OFFHEAP_ENABLED =
+      new Builder(Template.WORKER_TIERED_STORE_LEVEL_OFFHEAP_ENABLED, 1)
+          .setDefaultValue(false)
+          .setDescription(String.format("Whether the storage directories of the second storage "
+              + "tier keep blocks in pooled direct memory of the worker instead of files. The "
+              + "paths of the directories only name them, and no ramdisk needs to be mounted. "
+              + "The direct memory limit of the worker (-XX:MaxDirectMemorySize) must fit the "
+              + "quota of the tier. The blocks of the tier are lost when the worker restarts. "
+              + "Short-circuit reads of the blocks fall back to the worker, and short-circuit "
+              + "writes to the tier are rejected. See %s for the slab size.",
+              Name.WORKER_TIERED_STORE_OFFHEAP_SLAB_SIZE))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_TIERED_STORE_LEVEL1_HIGH_WATERMARK_RATIO =
       new Builder(Template.WORKER_TIERED_STORE_LEVEL_HIGH_WATERMARK_RATIO, 1)
           .setDescription("The high watermark of the space in the second storage tier (a value "
@@ -3765,6 +3849,20 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_TIERED_STORE_LEVEL2_OFFHEAP_ENABLED =
+      new Builder(Template.WORKER_TIERED_STORE_LEVEL_OFFHEAP_ENABLED, 2)
+          .setDefaultValue(false)
+          .setDescription(String.format("Whether the storage directories of the third storage "
+              + "tier keep blocks in pooled direct memory of the worker instead of files. The "
+              + "paths of the directories only name them, and no ramdisk needs to be mounted. "
+              + "The direct memory limit of the worker (-XX:MaxDirectMemorySize) must fit the "
+              + "quota of the tier. The blocks of the tier are lost when the worker restarts. "
+              + "Short-circuit reads of the blocks fall back to the worker, and short-circuit "
+              + "writes to the tier are rejected. See %s for the slab size.",
+              Name.WORKER_TIERED_STORE_OFFHEAP_SLAB_SIZE))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_TIERED_STORE_LEVEL2_HIGH_WATERMARK_RATIO =
       new Builder(Template.WORKER_TIERED_STORE_LEVEL_HIGH_WATERMARK_RATIO, 2)
           .setDefaultValue(0.95)
@@ -3788,6 +3886,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_TIERED_STORE_OFFHEAP_SLAB_SIZE =
+      new Builder(Name.WORKER_TIERED_STORE_OFFHEAP_SLAB_SIZE)
+          .setDefaultValue("4MB")
+          .setDescription("The size of the direct memory slabs which off-heap storage "
+              + "directories store blocks in. Slabs are pooled and reused across blocks. The last "
+              + "buffer of a block being written only covers the space reserved for the block, and "
+              + "is trimmed to the size of the block once it is written.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_WEB_BIND_HOST =
       new Builder(Name.WORKER_WEB_BIND_HOST)
           .setDefaultValue("0.0.0.0")
@@ -4210,6 +4318,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_FILE_PREFETCH_BLOCKS =
+      new Builder(Name.USER_FILE_PREFETCH_BLOCKS)
+          .setDefaultValue(0)
+          .setDescription("The number of blocks after the current one a file in stream starts "
+              + "reading in advance when reading a file sequentially, possibly from different "
+              + "workers, to avoid a stall at each block boundary. Each of these blocks buffers "
+              + "up to " + Name.USER_STREAMING_READER_BUFFER_SIZE_MESSAGES + " chunks of "
+              + Name.USER_STREAMING_READER_CHUNK_SIZE_BYTES + " bytes. Set to 0 to disable.")
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_REPLICATION_MAX =
       new Builder(Name.USER_FILE_REPLICATION_MAX)
           .setDefaultValue(-1)
@@ -4241,6 +4359,20 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_FILE_VECTORED_READ_MERGE_GAP =
+      new Builder(Name.USER_FILE_VECTORED_READ_MERGE_GAP)
+          .setDefaultValue("64KB")
+          .setDescription("Ranges of a vectored read separated by at most this many bytes are "
+              + "coalesced into a single read, trading the gap bytes for a round trip.")
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_FILE_VECTORED_READ_THREADS =
+      new Builder(Name.USER_FILE_VECTORED_READ_THREADS)
+          .setDefaultValue(16)
+          .setDescription("The number of threads shared by all the streams of a client to read "
+              + "the blocks of a vectored read in parallel.")
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_TARGET_MEDIA =
       new Builder(Name.USER_FILE_TARGET_MEDIA)
           .setDescription("Preferred media type while storing file's blocks.")
@@ -4343,6 +4475,22 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_FILE_GET_STATUS_BATCH_SIZE =
+      new Builder(Name.USER_FILE_GET_STATUS_BATCH_SIZE)
+          .setDefaultValue(1000)
+          .setDescription("The maximum number of paths sent to the master by each call of a "
+              + "batched getStatus. The paths of a larger batch are sent in several calls. "
+              + "Should not be larger than " + Name.MASTER_FILE_SYSTEM_GETSTATUS_BATCH_SIZE_MAX
+              + ".")
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_FILE_LIST_STATUS_BATCH_SIZE =
+      new Builder(Name.USER_FILE_LIST_STATUS_BATCH_SIZE)
+          .setDefaultValue(1000)
+          .setDescription("The number of entries fetched from the master by each call of a "
+              + "paginated directory listing, e.g. the Hadoop compatible listStatusIterator.")
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_METADATA_LOAD_TYPE =
       new Builder(Name.USER_FILE_METADATA_LOAD_TYPE)
           .setDefaultValue("ONCE")
@@ -4446,6 +4594,30 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDefaultValue(false)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_BLOCK_READ_HEDGE_ENABLED =
+      new Builder(Name.USER_BLOCK_READ_HEDGE_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to hedge reads of blocks from remote workers. If the first "
+              + "chunk of a block read has not arrived after a delay, the same read is sent to "
+              + "another worker holding the block, and the first worker to answer serves it.")
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_BLOCK_READ_HEDGE_MIN_DELAY =
+      new Builder(Name.USER_BLOCK_READ_HEDGE_MIN_DELAY)
+          .setDefaultValue("10ms")
+          .setDescription(String.format("The minimum delay before a block read is hedged. The "
+              + "delay is the larger of this value and the percentile set by %s of the recent "
+              + "times to the first chunk of remote block reads.",
+              Name.USER_BLOCK_READ_HEDGE_PERCENTILE))
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_BLOCK_READ_HEDGE_PERCENTILE =
+      new Builder(Name.USER_BLOCK_READ_HEDGE_PERCENTILE)
+          .setDefaultValue(95)
+          .setDescription("The percentile of the recent times to the first chunk of remote block "
+              + "reads after which a block read is hedged, between 1 and 100.")
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_BLOCK_WRITE_LOCATION_POLICY =
       new Builder(Name.USER_BLOCK_WRITE_LOCATION_POLICY)
           .setDefaultValue("alluxio.client.block.policy.LocalFirstPolicy")
@@ -4462,6 +4634,19 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_ADMISSION_POLICY_CLASS =
+      new Builder(Name.USER_CLIENT_CACHE_ADMISSION_POLICY_CLASS)
+          .setDefaultValue("alluxio.client.file.cache.admission.AdmitAllCacheAdmissionPolicy")
+          .setDescription("The policy that client uses to decide whether a new page is worth "
+              + "caching in place of the page chosen to be evicted when the cache is full. "
+              + "Currently valid options include "
+              + "`alluxio.client.file.cache.admission.AdmitAllCacheAdmissionPolicy`, which caches "
+              + "every page, and "
+              + "`alluxio.client.file.cache.admission.TinyLFUCacheAdmissionPolicy`, which only "
+              + "caches a page if it is accessed more frequently than the evicted page.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED =
       new Builder(Name.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED)
           .setDefaultValue(true)
@@ -4535,10 +4720,46 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDescription(
               "The number of bloom filters used for tracking. Each tracks a segment of window")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN).setScope(Scope.CLIENT).build();
+  public static final PropertyKey USER_CLIENT_CACHE_SHARED_ENABLED =
+      new Builder(Name.USER_CLIENT_CACHE_SHARED_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If this is enabled, the client processes on a host configured with the "
+              + "same LOCAL client-side cache directories share the pages cached there. A page "
+              + "is written once by the first client caching it, which also accounts it against "
+              + "its share of the directory and evicts it, and is read by the other clients. "
+              + "Each client is limited to the size of the directory divided by "
+              + Name.USER_CLIENT_CACHE_SHARED_CLIENTS_MAX + ", and the pages of a client which "
+              + "exited are taken over by the next client starting. The cache directories are "
+              + "only restored by a client starting while no other client uses them.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_SHARED_CLIENTS_MAX =
+      new Builder(Name.USER_CLIENT_CACHE_SHARED_CLIENTS_MAX)
+          .setDefaultValue(4)
+          .setDescription("The maximum number of client processes on a host sharing a client-side "
+              + "cache directory when " + Name.USER_CLIENT_CACHE_SHARED_ENABLED + " is enabled. "
+              + "Each client is limited to the size of the directory divided by this number, so "
+              + "that the clients together never take more space than the directory size. A "
+              + "client starting while this number of clients use a directory does not use it.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_DIR =
       new Builder(Name.USER_CLIENT_CACHE_DIR)
           .setDefaultValue("/tmp/alluxio_cache")
-          .setDescription("The directory where client-side cache is stored.")
+          .setDescription("A comma-separated list of directories where client-side cache is "
+              + "stored. Pages are spread across the directories by consistent hashing.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_DIR_QUOTA =
+      new Builder(Name.USER_CLIENT_CACHE_DIR_QUOTA)
+          .setDescription(String.format("A comma-separated list of capacities (e.g., "
+              + "\"500MB,500MB,5GB\") for each client-side cache directory specified by %s. "
+              + "If fewer capacities than directories are given, the last capacity is used for "
+              + "the remaining directories. If unset, %s is divided evenly among the "
+              + "directories.", Name.USER_CLIENT_CACHE_DIR, Name.USER_CLIENT_CACHE_SIZE))
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
@@ -4580,8 +4801,30 @@ public final class PropertyKey implements Comparable<PropertyKey> {
       new Builder(Name.USER_CLIENT_CACHE_STORE_TYPE)
           .setDefaultValue("LOCAL")
           .setDescription("The type of page store to use for client-side cache. Can be either "
-              + "`LOCAL` or `ROCKS`. The `LOCAL` page store stores all pages in a directory, "
-              + "the `ROCKS` page store utilizes rocksDB to persist the data.")
+              + "`LOCAL`, `ROCKS` or `MEMORY`. The `LOCAL` page store stores all pages in a "
+              + "directory, the `ROCKS` page store utilizes rocksDB to persist the data, the "
+              + "`MEMORY` page store keeps pages in off-heap memory up to "
+              + Name.USER_CLIENT_CACHE_SIZE + " and does not persist them.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_INDEX_CHECKPOINT_INTERVAL =
+      new Builder(Name.USER_CLIENT_CACHE_INDEX_CHECKPOINT_INTERVAL)
+          .setDefaultValue("10min")
+          .setDescription("The interval between two checkpoints of the persistent page index of "
+              + "each client-side cache directory. Pages added or removed since the last "
+              + "checkpoint are recorded in a log which is replayed on restore.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_INDEX_ENABLED =
+      new Builder(Name.USER_CLIENT_CACHE_INDEX_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If this is enabled, the pages of each client-side cache directory are "
+              + "recorded in a persistent index, so that the cache is restored from the index "
+              + "instead of listing every page file in the directory. If the client exits "
+              + "without closing the cache, the directory is listed once to reconcile the index "
+              + "on the next restore. Not applicable to the MEMORY page store.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
@@ -4608,6 +4851,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_METASTORE_PARTITIONS =
+      new Builder(Name.USER_CLIENT_CACHE_METASTORE_PARTITIONS)
+          .setDefaultValue(1)
+          .setDescription("Number of partitions of the metadata of each client-side cache "
+              + "directory. Pages are assigned to partitions by hashing, and each partition has "
+              + "its own lock and evictor, so that concurrent cache operations on different "
+              + "partitions do not contend. With more than one partition, the eviction policy "
+              + "is applied within the partition holding the most bytes, which approximates "
+              + "the policy over the whole directory.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_PAGE_SIZE =
       new Builder(Name.USER_CLIENT_CACHE_PAGE_SIZE)
           .setDefaultValue("1MB")
@@ -4615,6 +4870,26 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_PREFETCH_PAGES =
+      new Builder(Name.USER_CLIENT_CACHE_PREFETCH_PAGES)
+          .setDefaultValue(0)
+          .setDescription("Number of pages to read ahead into the client-side cache once a "
+              + "file is detected to be read sequentially. Pages are read from the under "
+              + "storage in the background and put in the cache before the reader reaches "
+              + "them. Set to 0 to disable read-ahead.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_PREFETCH_THREADS =
+      new Builder(Name.USER_CLIENT_CACHE_PREFETCH_THREADS)
+          .setDefaultValue(8)
+          .setDescription(String.format("Number of threads of the client-side cache to read "
+              + "pages ahead, shared by all the files read through the cache. Read-ahead is "
+              + "skipped when all the threads are busy. Only takes effect when %s is positive.",
+              Name.USER_CLIENT_CACHE_PREFETCH_PAGES))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_WRITE_TYPE_DEFAULT =
       new Builder(Name.USER_FILE_WRITE_TYPE_DEFAULT)
           .setDefaultValue("ASYNC_THROUGH")
@@ -4727,6 +5002,27 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_METADATA_CACHE_INVALIDATION_ENABLED =
+      new Builder(Name.USER_METADATA_CACHE_INVALIDATION_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If this is enabled, the client subscribes to the invalidations of the "
+              + "metadata of the paths under " + Name.USER_METADATA_CACHE_INVALIDATION_PATHS
+              + ", which the master pushes as the paths change. This keeps the metadata cache "
+              + "fresh, so that " + Name.USER_METADATA_CACHE_EXPIRATION_TIME + " can be "
+              + "raised to save RPCs to the master. Only valid if "
+              + Name.USER_METADATA_CACHE_ENABLED + " is set to true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_METADATA_CACHE_INVALIDATION_PATHS =
+      new Builder(Name.USER_METADATA_CACHE_INVALIDATION_PATHS)
+          .setDefaultValue("/")
+          .setDescription("A comma-separated list of the Alluxio paths to receive the "
+              + "invalidations of the metadata of, along with their descendants. Only valid if "
+              + Name.USER_METADATA_CACHE_INVALIDATION_ENABLED + " is set to true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_METRICS_COLLECTION_ENABLED =
       new Builder(Name.USER_METRICS_COLLECTION_ENABLED)
           .setDefaultValue(true)
@@ -5328,6 +5624,48 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey FUSE_READ_STREAMS_MAX =
+      new Builder(Name.FUSE_READ_STREAMS_MAX)
+          .setDefaultValue(4)
+          .setDescription("Maximum number of Alluxio input streams of each file opened for reading "
+              + "through Alluxio JNI Fuse. Concurrent reads of the file are served in parallel by "
+              + "up to this many streams.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey FUSE_WRITE_BACK_BUFFER_SIZE =
+      new Builder(Name.FUSE_WRITE_BACK_BUFFER_SIZE)
+          .setDefaultValue("4MB")
+          .setDescription(String.format("Size of the buffers into which the writes of a file "
+              + "are aggregated when %s is true.", Name.FUSE_WRITE_BACK_ENABLED))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey FUSE_WRITE_BACK_ENABLED =
+      new Builder(Name.FUSE_WRITE_BACK_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether Alluxio JNI Fuse aggregates the writes of a file into large "
+              + "buffers and writes the full buffers to Alluxio in the background. Errors of "
+              + "background writes are reported by the next write, flush or close of the file.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey FUSE_WRITE_BACK_MEMORY_MAX =
+      new Builder(Name.FUSE_WRITE_BACK_MEMORY_MAX)
+          .setDefaultValue("256MB")
+          .setDescription("Maximum memory taken by the write-back buffers of a Fuse mount. When "
+              + "it is reached, writes go straight to Alluxio.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey FUSE_WRITE_BACK_THREADS =
+      new Builder(Name.FUSE_WRITE_BACK_THREADS)
+          .setDefaultValue(8)
+          .setDescription("Number of threads of a Fuse mount writing the write-back buffers "
+              + "to Alluxio.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey FUSE_UMOUNT_TIMEOUT =
       new Builder(Name.FUSE_UMOUNT_TIMEOUT)
           .setDefaultValue("1min")
@@ -6410,6 +6748,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String MASTER_EMBEDDED_JOURNAL_TRANSPORT_MAX_INBOUND_MESSAGE_SIZE =
         "alluxio.master.embedded.journal.transport.max.inbound.message.size";
     public static final String MASTER_KEYTAB_KEY_FILE = "alluxio.master.keytab.file";
+    public static final String MASTER_METADATA_INVALIDATION_INTERVAL =
+        "alluxio.master.metadata.invalidation.interval";
+    public static final String MASTER_METADATA_INVALIDATION_MAX_PENDING =
+        "alluxio.master.metadata.invalidation.max.pending";
     public static final String MASTER_METADATA_SYNC_CONCURRENCY_LEVEL =
         "alluxio.master.metadata.sync.concurrency.level";
     public static final String MASTER_METADATA_SYNC_EXECUTOR_POOL_SIZE =
@@ -6577,6 +6919,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     //
     // File system master related properties
     //
+    public static final String MASTER_FILE_SYSTEM_GETSTATUS_BATCH_SIZE_MAX =
+        "alluxio.master.filesystem.getstatus.batch.size.max";
+    public static final String MASTER_FILE_SYSTEM_LISTSTATUS_PARTIAL_BATCH_SIZE_MAX =
+        "alluxio.master.filesystem.liststatus.partial.batch.size.max";
     public static final String MASTER_FILE_SYSTEM_LISTSTATUS_RESULTS_PER_MESSAGE =
         "alluxio.master.filesystem.liststatus.result.message.length";
     public static final String MASTER_FILE_SYSTEM_OPERATION_RETRY_CACHE_ENABLED =
@@ -6691,6 +7037,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.network.reader.buffer.size";
     public static final String WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES =
         "alluxio.worker.network.reader.max.chunk.size.bytes";
+    public static final String WORKER_NETWORK_READER_MMAP_ENABLED =
+        "alluxio.worker.network.reader.mmap.enabled";
     public static final String WORKER_NETWORK_SHUTDOWN_TIMEOUT =
         "alluxio.worker.network.shutdown.timeout";
     public static final String WORKER_NETWORK_ZEROCOPY_ENABLED =
@@ -6745,6 +7093,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String WORKER_SESSION_TIMEOUT_MS = "alluxio.worker.session.timeout";
     public static final String WORKER_STORAGE_CHECKER_ENABLED =
         "alluxio.worker.storage.checker.enabled";
+    public static final String WORKER_TIERED_STORE_BLOCK_INDEX_ENABLED =
+        "alluxio.worker.tieredstore.block.index.enabled";
     public static final String WORKER_TIERED_STORE_BLOCK_LOCK_READERS =
         "alluxio.worker.tieredstore.block.lock.readers";
     public static final String WORKER_TIERED_STORE_BLOCK_LOCKS =
@@ -6752,6 +7102,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String WORKER_TIERED_STORE_FREE_AHEAD_BYTES =
         "alluxio.worker.tieredstore.free.ahead.bytes";
     public static final String WORKER_TIERED_STORE_LEVELS = "alluxio.worker.tieredstore.levels";
+    public static final String WORKER_TIERED_STORE_OFFHEAP_SLAB_SIZE =
+        "alluxio.worker.tieredstore.offheap.slab.size";
     public static final String WORKER_WEB_BIND_HOST = "alluxio.worker.web.bind.host";
     public static final String WORKER_WEB_HOSTNAME = "alluxio.worker.web.hostname";
     public static final String WORKER_WEB_PORT = "alluxio.worker.web.port";
@@ -6821,6 +7173,12 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.block.master.client.pool.gc.threshold";
     public static final String USER_BLOCK_READ_METRICS_ENABLED =
         "alluxio.user.block.read.metrics.enabled";
+    public static final String USER_BLOCK_READ_HEDGE_ENABLED =
+        "alluxio.user.block.read.hedge.enabled";
+    public static final String USER_BLOCK_READ_HEDGE_MIN_DELAY =
+        "alluxio.user.block.read.hedge.min.delay";
+    public static final String USER_BLOCK_READ_HEDGE_PERCENTILE =
+        "alluxio.user.block.read.hedge.percentile";
     public static final String USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES =
         "alluxio.user.block.remote.read.buffer.size.bytes";
     public static final String USER_BLOCK_SIZE_BYTES_DEFAULT =
@@ -6839,6 +7197,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.block.worker.client.pool.max";
     public static final String USER_BLOCK_WRITE_LOCATION_POLICY =
         "alluxio.user.block.write.location.policy.class";
+    public static final String USER_CLIENT_CACHE_ADMISSION_POLICY_CLASS =
+        "alluxio.user.client.cache.admission.policy.class";
     public static final String USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED =
         "alluxio.user.client.cache.async.restore.enabled";
     public static final String USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED =
@@ -6863,12 +7223,28 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.client.cache.shadow.memory.overhead";
     public static final String USER_CLIENT_CACHE_SHADOW_BLOOMFILTER_NUM =
         "alluxio.user.client.cache.shadow.bloomfilter.num";
+    public static final String USER_CLIENT_CACHE_SHARED_ENABLED =
+        "alluxio.user.client.cache.shared.enabled";
+    public static final String USER_CLIENT_CACHE_SHARED_CLIENTS_MAX =
+        "alluxio.user.client.cache.shared.clients.max";
     public static final String USER_CLIENT_CACHE_DIR =
         "alluxio.user.client.cache.dir";
+    public static final String USER_CLIENT_CACHE_DIR_QUOTA =
+        "alluxio.user.client.cache.dir.quota";
+    public static final String USER_CLIENT_CACHE_INDEX_CHECKPOINT_INTERVAL =
+        "alluxio.user.client.cache.index.checkpoint.interval";
+    public static final String USER_CLIENT_CACHE_INDEX_ENABLED =
+        "alluxio.user.client.cache.index.enabled";
     public static final String USER_CLIENT_CACHE_LOCAL_STORE_FILE_BUCKETS =
         "alluxio.user.client.cache.local.store.file.buckets";
+    public static final String USER_CLIENT_CACHE_METASTORE_PARTITIONS =
+        "alluxio.user.client.cache.metastore.partitions";
     public static final String USER_CLIENT_CACHE_PAGE_SIZE =
         "alluxio.user.client.cache.page.size";
+    public static final String USER_CLIENT_CACHE_PREFETCH_PAGES =
+        "alluxio.user.client.cache.prefetch.pages";
+    public static final String USER_CLIENT_CACHE_PREFETCH_THREADS =
+        "alluxio.user.client.cache.prefetch.threads";
     public static final String USER_CLIENT_CACHE_QUOTA_ENABLED =
         "alluxio.user.client.cache.quota.enabled";
     public static final String USER_CLIENT_CACHE_SIZE =
@@ -6899,6 +7275,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.file.master.client.pool.gc.interval";
     public static final String USER_FILE_MASTER_CLIENT_POOL_GC_THRESHOLD_MS =
         "alluxio.user.file.master.client.pool.gc.threshold";
+    public static final String USER_FILE_GET_STATUS_BATCH_SIZE =
+        "alluxio.user.file.get.status.batch.size";
+    public static final String USER_FILE_LIST_STATUS_BATCH_SIZE =
+        "alluxio.user.file.list.status.batch.size";
     public static final String USER_FILE_METADATA_LOAD_TYPE =
         "alluxio.user.file.metadata.load.type";
     public static final String USER_FILE_METADATA_SYNC_INTERVAL =
@@ -6909,6 +7289,7 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String USER_FILE_PERSIST_ON_RENAME = "alluxio.user.file.persist.on.rename";
     public static final String USER_FILE_PERSISTENCE_INITIAL_WAIT_TIME =
         "alluxio.user.file.persistence.initial.wait.time";
+    public static final String USER_FILE_PREFETCH_BLOCKS = "alluxio.user.file.prefetch.blocks";
     public static final String USER_FILE_REPLICATION_MAX = "alluxio.user.file.replication.max";
     public static final String USER_FILE_REPLICATION_MIN = "alluxio.user.file.replication.min";
     public static final String USER_FILE_TARGET_MEDIA = "alluxio.user.file.target.media";
@@ -6917,6 +7298,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String USER_FILE_SEQUENTIAL_PREAD_THRESHOLD =
         "alluxio.user.file.sequential.pread.threshold";
     public static final String USER_FILE_UFS_TIER_ENABLED = "alluxio.user.file.ufs.tier.enabled";
+    public static final String USER_FILE_VECTORED_READ_MERGE_GAP =
+        "alluxio.user.file.vectored.read.merge.gap";
+    public static final String USER_FILE_VECTORED_READ_THREADS =
+        "alluxio.user.file.vectored.read.threads";
     public static final String USER_FILE_WAITCOMPLETED_POLL_MS =
         "alluxio.user.file.waitcompleted.poll";
     public static final String USER_FILE_CREATE_TTL =
@@ -6947,6 +7332,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.metadata.cache.max.size";
     public static final String USER_METADATA_CACHE_EXPIRATION_TIME =
         "alluxio.user.metadata.cache.expiration.time";
+    public static final String USER_METADATA_CACHE_INVALIDATION_ENABLED =
+        "alluxio.user.metadata.cache.invalidation.enabled";
+    public static final String USER_METADATA_CACHE_INVALIDATION_PATHS =
+        "alluxio.user.metadata.cache.invalidation.paths";
     public static final String USER_METRICS_COLLECTION_ENABLED =
         "alluxio.user.metrics.collection.enabled";
     public static final String USER_METRICS_HEARTBEAT_INTERVAL_MS =
@@ -7073,6 +7462,12 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         = "alluxio.fuse.shared.caching.reader.enabled";
     public static final String FUSE_LOGGING_THRESHOLD = "alluxio.fuse.logging.threshold";
     public static final String FUSE_MAXWRITE_BYTES = "alluxio.fuse.maxwrite.bytes";
+    public static final String FUSE_READ_STREAMS_MAX = "alluxio.fuse.read.streams.max";
+    public static final String FUSE_WRITE_BACK_BUFFER_SIZE =
+        "alluxio.fuse.write.back.buffer.size";
+    public static final String FUSE_WRITE_BACK_ENABLED = "alluxio.fuse.write.back.enabled";
+    public static final String FUSE_WRITE_BACK_MEMORY_MAX = "alluxio.fuse.write.back.memory.max";
+    public static final String FUSE_WRITE_BACK_THREADS = "alluxio.fuse.write.back.threads";
     public static final String FUSE_UMOUNT_TIMEOUT =
         "alluxio.fuse.umount.timeout";
     public static final String FUSE_USER_GROUP_TRANSLATION_ENABLED =
@@ -7341,6 +7736,9 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     WORKER_TIERED_STORE_LEVEL_LOW_WATERMARK_RATIO(
         "alluxio.worker.tieredstore.level%d.watermark.low.ratio",
         "alluxio\\.worker\\.tieredstore\\.level(\\d+)\\.watermark\\.low\\.ratio"),
+    WORKER_TIERED_STORE_LEVEL_OFFHEAP_ENABLED(
+        "alluxio.worker.tieredstore.level%d.offheap.enabled",
+        "alluxio\\.worker\\.tieredstore\\.level(\\d+)\\.offheap\\.enabled"),
     USER_NETWORK_KEEPALIVE_TIME_MS("alluxio.user.network.%s.keepalive.time",
         "alluxio\\.user\\.network\\.(\\w+)\\.keepalive\\.time"),
     USER_NETWORK_KEEPALIVE_TIMEOUT_MS("alluxio.user.network.%s.keepalive.timeout",
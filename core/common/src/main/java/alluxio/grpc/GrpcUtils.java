@@ -324,7 +324,9 @@ public final class GrpcUtils {
         .setLastContactSec(workerInfo.getLastContactSec())
         .setStartTimeMs(workerInfo.getStartTimeMs()).setState(workerInfo.getState())
         .setUsedBytes(workerInfo.getUsedBytes())
-        .setUsedBytesOnTiers(workerInfo.getUsedBytesOnTiersMap());
+        .setUsedBytesOnTiers(workerInfo.getUsedBytesOnTiersMap())
+        .setActiveReadStreams(workerInfo.getLoad().getActiveReadStreams())
+        .setActiveWriteStreams(workerInfo.getLoad().getActiveWriteStreams());
   }
 
   /**
@@ -602,7 +604,11 @@ public final class GrpcUtils {
         .setCapacityBytes(workerInfo.getCapacityBytes()).setUsedBytes(workerInfo.getUsedBytes())
         .setStartTimeMs(workerInfo.getStartTimeMs())
         .putAllCapacityBytesOnTiers(workerInfo.getCapacityBytesOnTiers())
-        .putAllUsedBytesOnTiers(workerInfo.getUsedBytesOnTiers()).build();
+        .putAllUsedBytesOnTiers(workerInfo.getUsedBytesOnTiers())
+        .setLoad(WorkerLoad.newBuilder()
+            .setActiveReadStreams(workerInfo.getActiveReadStreams())
+            .setActiveWriteStreams(workerInfo.getActiveWriteStreams()))
+        .build();
   }
 
   /**
@@ -1313,6 +1313,29 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.TIMER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_BLOCK_READ_FIRST_CHUNK_REMOTE =
+      new Builder("Client.BlockReadFirstChunkRemote")
+          .setDescription(String.format("The timer statistics of the time to the first chunk of "
+              + "block reads from remote Alluxio workers, from which the delay of hedged reads "
+              + "is derived. This metrics will only be recorded when %s is set to true",
+              PropertyKey.USER_BLOCK_READ_HEDGE_ENABLED.getName()))
+          .setMetricType(MetricType.TIMER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_BLOCK_READ_HEDGES_ISSUED =
+      new Builder("Client.BlockReadHedgesIssued")
+          .setDescription("Total number of block reads sent to a second worker because the "
+              + "first worker was slow to answer")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_BLOCK_READ_HEDGES_WASTED =
+      new Builder("Client.BlockReadHedgesWasted")
+          .setDescription("Total number of hedged block reads for which the first worker "
+              + "answered before the second one")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_BYTES_READ_LOCAL =
       new Builder("Client.BytesReadLocal")
           .setDescription("Total number of bytes short-circuit read from local storage "
@@ -1399,6 +1422,43 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.METER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_PAGES_PREFETCHED =
+      new Builder("Client.CachePagesPrefetched")
+          .setDescription("Total number of pages read ahead from external storage into the "
+              + "client cache.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_PREFETCH_HITS =
+      new Builder("Client.CachePrefetchHits")
+          .setDescription("Number of pages read ahead into the client cache which were later "
+              + "read from the cache by the same stream.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_PREFETCH_WASTED =
+      new Builder("Client.CachePrefetchWasted")
+          .setDescription("Number of pages read ahead into the client cache which were not "
+              + "read from the cache by the same stream, because the stream was closed first or "
+              + "the page was no longer in the cache.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_ADMISSION_ACCEPTED =
+      new Builder("Client.CacheAdmissionAccepted")
+          .setDescription("Number of pages the admission policy of the client cache accepted to "
+              + "cache in place of the page chosen to be evicted.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_ADMISSION_REJECTED =
+      new Builder("Client.CacheAdmissionRejected")
+          .setDescription("Number of pages the admission policy of the client cache rejected to "
+              + "cache because they were accessed less frequently than the page chosen to be "
+              + "evicted.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_BYTES_WRITTEN_CACHE =
       new Builder("Client.CacheBytesWrittenCache")
           .setDescription("Total number of bytes written to the client cache.")
@@ -1440,6 +1500,12 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setDescription("Probability that the working set bloom filter makes an error. "
               + "The value is 0-100. If too high, need to allocate more space")
           .setMetricType(MetricType.COUNTER).setIsClusterAggregated(false).build();
+  public static final MetricKey CLIENT_CACHE_SHADOW_CACHE_MISS_RATIO =
+      new Builder("Client.CacheShadowCacheMissRatio")
+          .setDescription("Estimated ratio of page reads missing a client cache of the size "
+              + "given by the CacheSize tag, computed from a sample of the pages read within "
+              + "the shadow cache window. The value is 0-1.")
+          .setMetricType(MetricType.GAUGE).setIsClusterAggregated(false).build();
   public static final MetricKey CLIENT_CACHE_SHADOW_CACHE_PAGES =
       new Builder("Client.CacheShadowCachePages")
           .setDescription("Amount of pages in the client shadow cache.")
@@ -1592,6 +1658,13 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_SHARED_PAGES_READ =
+      new Builder("Client.CacheSharedPagesRead")
+          .setDescription("Number of pages read from a client cache directory shared by the "
+              + "client processes on a host, which were cached by another client process.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_STORE_DELETE_TIMEOUT =
       new Builder("Client.CacheStoreDeleteTimeout")
           .setDescription("Number of timeouts when deleting pages from page store.")
@@ -39,6 +39,8 @@ public final class WorkerInfo implements Serializable {
   private Map<String, Long> mCapacityBytesOnTiers;
   private Map<String, Long> mUsedBytesOnTiers;
   private long mBlockCount;
+  private long mActiveReadStreams;
+  private long mActiveWriteStreams;
 
   /**
    * Creates a new instance of {@link WorkerInfo}.
@@ -117,6 +119,22 @@ public final class WorkerInfo implements Serializable {
     return mUsedBytesOnTiers;
   }
 
+  /**
+   * @return the number of blocks being read from the worker
+   */
+  @ApiModelProperty(value = "Number of blocks being read from the worker")
+  public long getActiveReadStreams() {
+    return mActiveReadStreams;
+  }
+
+  /**
+   * @return the number of blocks being written to the worker
+   */
+  @ApiModelProperty(value = "Number of blocks being written to the worker")
+  public long getActiveWriteStreams() {
+    return mActiveWriteStreams;
+  }
+
   /**
    * @param id the worker id to use
    * @return the worker information
@@ -200,6 +218,24 @@ public final class WorkerInfo implements Serializable {
     return this;
   }
 
+  /**
+   * @param activeReadStreams the number of blocks being read from the worker
+   * @return the worker information
+   */
+  public WorkerInfo setActiveReadStreams(long activeReadStreams) {
+    mActiveReadStreams = activeReadStreams;
+    return this;
+  }
+
+  /**
+   * @param activeWriteStreams the number of blocks being written to the worker
+   * @return the worker information
+   */
+  public WorkerInfo setActiveWriteStreams(long activeWriteStreams) {
+    mActiveWriteStreams = activeWriteStreams;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -214,7 +250,9 @@ public final class WorkerInfo implements Serializable {
         && mCapacityBytes == that.mCapacityBytes && mUsedBytes == that.mUsedBytes
         && mStartTimeMs == that.mStartTimeMs
         && Objects.equal(mCapacityBytesOnTiers, that.mCapacityBytesOnTiers)
-        && Objects.equal(mUsedBytesOnTiers, that.mUsedBytesOnTiers);
+        && Objects.equal(mUsedBytesOnTiers, that.mUsedBytesOnTiers)
+        && mActiveReadStreams == that.mActiveReadStreams
+        && mActiveWriteStreams == that.mActiveWriteStreams;
   }
 
   /**
@@ -255,7 +293,8 @@ public final class WorkerInfo implements Serializable {
   @Override
   public int hashCode() {
     return Objects.hashCode(mId, mAddress, mLastContactSec, mState, mCapacityBytes, mUsedBytes,
-        mStartTimeMs, mCapacityBytesOnTiers, mUsedBytesOnTiers);
+        mStartTimeMs, mCapacityBytesOnTiers, mUsedBytesOnTiers, mActiveReadStreams,
+        mActiveWriteStreams);
   }
 
   @Override
@@ -264,6 +303,7 @@ public final class WorkerInfo implements Serializable {
         .add("lastContactSec", mLastContactSec).add("state", mState)
         .add("capacityBytes", mCapacityBytes).add("usedBytes", mUsedBytes)
         .add("startTimeMs", mStartTimeMs).add("capacityBytesOnTiers", mCapacityBytesOnTiers)
-        .add("usedBytesOnTiers", mUsedBytesOnTiers).toString();
+        .add("usedBytesOnTiers", mUsedBytesOnTiers).add("activeReadStreams", mActiveReadStreams)
+        .add("activeWriteStreams", mActiveWriteStreams).toString();
   }
 }
@@ -19,24 +19,34 @@ import alluxio.exception.status.NotFoundException;
 import alluxio.exception.status.UnavailableException;
 import alluxio.grpc.ServiceType;
 import alluxio.retry.CountingRetry;
+import alluxio.retry.RetryPolicy;
 import alluxio.security.user.BaseUserState;
 import alluxio.util.ConfigurationUtils;
 
+import io.grpc.Status;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Unit tests for {@link AbstractClient}.
  */
 public final class AbstractClientTest {
 
+  private static final Logger LOG = LoggerFactory.getLogger(AbstractClientTest.class);
   private static final String SERVICE_NAME = "Test Service Name";
   @Rule
   public ExpectedException mExpectedException = ExpectedException.none();
@@ -53,6 +63,10 @@ public final class AbstractClientTest {
       super(context, null, () -> new CountingRetry(1));
     }
 
+    protected BaseTestClient(ClientContext context, Supplier<RetryPolicy> retryPolicySupplier) {
+      super(context, null, retryPolicySupplier);
+    }
+
     public BaseTestClient(long remoteServiceVersion) {
       this();
       mRemoteServiceVersion = remoteServiceVersion;
@@ -100,6 +114,23 @@ public final class AbstractClientTest {
     }
   }
 
+  /**
+   * A client which connects without a remote, and counts its connects.
+   */
+  private static class AsyncTestClient extends BaseTestClient {
+    private final AtomicInteger mConnects = new AtomicInteger(0);
+
+    AsyncTestClient(int attempts) {
+      super(ClientContext.create(new InstancedConfiguration(ConfigurationUtils.defaults())),
+          () -> new CountingRetry(attempts - 1));
+    }
+
+    @Override
+    public synchronized void connect() {
+      mConnects.incrementAndGet();
+    }
+  }
+
   @Test
   public void connectFailToDetermineMasterAddress() throws Exception {
     alluxio.Client client = new BaseTestClient() {
@@ -168,6 +199,61 @@ public final class AbstractClientTest {
     Assert.assertEquals(confAddress, argument.getValue());
   }
 
+  @Test
+  public void retryAsyncRpcWhenUnavailable() throws Exception {
+    AsyncTestClient client = new AsyncTestClient(3);
+    AtomicInteger calls = new AtomicInteger(0);
+    CompletableFuture<Integer> result = client.retryRPCAsync(() -> {
+      CompletableFuture<Integer> future = new CompletableFuture<>();
+      if (calls.incrementAndGet() < 3) {
+        future.completeExceptionally(Status.UNAVAILABLE.asRuntimeException());
+      } else {
+        future.complete(calls.get());
+      }
+      return future;
+    }, LOG, "Test", "");
+    Assert.assertEquals(Integer.valueOf(3), result.get(10, TimeUnit.SECONDS));
+    Assert.assertEquals(3, client.mConnects.get());
+  }
+
+  @Test
+  public void asyncRpcFailsAfterRetries() throws Exception {
+    AsyncTestClient client = new AsyncTestClient(2);
+    AtomicInteger calls = new AtomicInteger(0);
+    CompletableFuture<Integer> result = client.retryRPCAsync(() -> {
+      calls.incrementAndGet();
+      CompletableFuture<Integer> future = new CompletableFuture<>();
+      future.completeExceptionally(Status.UNAVAILABLE.asRuntimeException());
+      return future;
+    }, LOG, "Test", "");
+    try {
+      result.get(10, TimeUnit.SECONDS);
+      Assert.fail("The RPC should fail once the retries are exhausted");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof UnavailableException);
+    }
+    Assert.assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void asyncRpcNotRetriedOnOtherFailures() throws Exception {
+    AsyncTestClient client = new AsyncTestClient(3);
+    AtomicInteger calls = new AtomicInteger(0);
+    CompletableFuture<Integer> result = client.retryRPCAsync(() -> {
+      calls.incrementAndGet();
+      CompletableFuture<Integer> future = new CompletableFuture<>();
+      future.completeExceptionally(Status.NOT_FOUND.asRuntimeException());
+      return future;
+    }, LOG, "Test", "");
+    try {
+      result.get(10, TimeUnit.SECONDS);
+      Assert.fail("The RPC should fail");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof NotFoundException);
+    }
+    Assert.assertEquals(1, calls.get());
+  }
+
   @Test
   public void serviceNotFound() throws Exception {
     mExpectedException.expect(NotFoundException.class);
@@ -0,0 +1,102 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link LongHashSet}.
+ */
+public final class LongHashSetTest {
+  /**
+   * Tests the basic operations, including the elements which are zero or negative.
+   */
+  @Test
+  public void basic() {
+    LongHashSet set = new LongHashSet();
+    assertTrue(set.isEmpty());
+    assertTrue(set.add(0));
+    assertTrue(set.add(-5));
+    assertTrue(set.add(Long.MIN_VALUE));
+    assertFalse(set.add(0));
+    assertEquals(3, set.size());
+    assertTrue(set.contains(0));
+    assertTrue(set.contains((Object) (-5L)));
+    assertFalse(set.contains(1));
+    assertFalse(set.contains("0"));
+
+    assertTrue(set.remove(-5));
+    assertFalse(set.remove(-5));
+    assertEquals(new HashSet<>(Arrays.asList(0L, Long.MIN_VALUE)), set);
+    assertEquals(set, new LongHashSet(Arrays.asList(0L, Long.MIN_VALUE)));
+
+    set.clear();
+    assertTrue(set.isEmpty());
+    assertFalse(set.contains(0));
+  }
+
+  /**
+   * Tests random operations against a {@link HashSet}, so that the set is rehashed and has many
+   * removed elements.
+   */
+  @Test
+  public void randomOperations() {
+    LongHashSet set = new LongHashSet();
+    Set<Long> expected = new HashSet<>();
+    Random random = new Random(42);
+    for (int i = 0; i < 100000; i++) {
+      long key = random.nextInt(2000) - 1000;
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(key), set.remove(key));
+      } else {
+        assertEquals(expected.add(key), set.add(key));
+      }
+      assertEquals(expected.size(), set.size());
+    }
+    assertEquals(expected, set);
+    assertEquals(expected.size(), set.toLongArray().length);
+    LongHashSet copy = new LongHashSet();
+    copy.addAll(set);
+    assertEquals(expected, copy);
+  }
+
+  /**
+   * Tests removing elements while iterating.
+   */
+  @Test
+  public void iteratorRemove() {
+    LongHashSet set = new LongHashSet();
+    for (long i = 0; i < 100; i++) {
+      set.add(i);
+    }
+    Iterator<Long> iterator = set.iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next() % 2 == 0) {
+        iterator.remove();
+      }
+    }
+    assertEquals(50, set.size());
+    set.removeIf(key -> key > 50);
+    assertEquals(new HashSet<>(Arrays.asList(1L, 3L, 5L, 7L, 9L, 11L, 13L, 15L, 17L, 19L, 21L,
+        23L, 25L, 27L, 29L, 31L, 33L, 35L, 37L, 39L, 41L, 43L, 45L, 47L, 49L)), set);
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link LongObjectHashMap}.
+ */
+public final class LongObjectHashMapTest {
+  /**
+   * Tests the basic operations, including the keys which are zero or negative.
+   */
+  @Test
+  public void basic() {
+    LongObjectHashMap<String> map = new LongObjectHashMap<>();
+    assertTrue(map.isEmpty());
+    assertNull(map.put(0, "zero"));
+    assertNull(map.put(-1, "minus one"));
+    assertNull(map.put(Long.MAX_VALUE, "max"));
+    assertEquals("zero", map.put(0, "0"));
+    assertEquals(3, map.size());
+    assertEquals("0", map.get(0));
+    assertEquals("minus one", map.get(-1));
+    assertTrue(map.containsKey(Long.MAX_VALUE));
+    assertFalse(map.containsKey(1));
+    assertNull(map.get(1));
+
+    assertEquals("minus one", map.remove(-1));
+    assertNull(map.remove(-1));
+    assertFalse(map.containsKey(-1));
+    assertEquals(2, map.size());
+    assertEquals(new HashSet<>(Arrays.asList("0", "max")), new HashSet<>(map.values()));
+
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertNull(map.get(0));
+  }
+
+  /**
+   * Tests random operations against a {@link HashMap}, so that the map is rehashed and has many
+   * removed entries.
+   */
+  @Test
+  public void randomOperations() {
+    LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+    Map<Long, Long> expected = new HashMap<>();
+    Random random = new Random(42);
+    for (int i = 0; i < 100000; i++) {
+      long key = random.nextInt(2000);
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(key), map.remove(key));
+      } else {
+        assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+      }
+      assertEquals(expected.size(), map.size());
+    }
+    for (long key = 0; key < 2000; key++) {
+      assertEquals(expected.get(key), map.get(key));
+    }
+    long[] keys = map.keys();
+    long[] expectedKeys = expected.keySet().stream().mapToLong(Long::longValue).toArray();
+    Arrays.sort(keys);
+    Arrays.sort(expectedKeys);
+    assertArrayEquals(expectedKeys, keys);
+    assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+  }
+
+  /**
+   * Tests that null values are rejected.
+   */
+  @Test(expected = NullPointerException.class)
+  public void nullValue() {
+    new LongObjectHashMap<String>().put(1, null);
+  }
+}
@@ -59,6 +59,8 @@ public class WorkerInfoTest {
     Assert.assertEquals(a.getState(), b.getState());
     Assert.assertEquals(a.getCapacityBytesOnTiers(), b.getCapacityBytesOnTiers());
     Assert.assertEquals(a.getUsedBytesOnTiers(), b.getUsedBytesOnTiers());
+    Assert.assertEquals(a.getActiveReadStreams(), b.getActiveReadStreams());
+    Assert.assertEquals(a.getActiveWriteStreams(), b.getActiveWriteStreams());
     Assert.assertEquals(a, b);
   }
 
@@ -97,6 +99,8 @@ public class WorkerInfoTest {
     result.setState(state);
     result.setCapacityBytesOnTiers(capacityBytesOnTiers);
     result.setUsedBytesOnTiers(usedBytesOnTiers);
+    result.setActiveReadStreams(random.nextInt(100));
+    result.setActiveWriteStreams(random.nextInt(100));
     return result;
   }
 }
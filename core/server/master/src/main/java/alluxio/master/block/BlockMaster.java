@@ -23,6 +23,7 @@ import alluxio.grpc.GetRegisterLeasePRequest;
 import alluxio.grpc.RegisterWorkerPOptions;
 import alluxio.grpc.RegisterWorkerPRequest;
 import alluxio.grpc.StorageList;
+import alluxio.grpc.WorkerLoad;
 import alluxio.grpc.WorkerLostStorageInfo;
 import alluxio.master.Master;
 import alluxio.master.block.meta.MasterWorkerInfo;
@@ -236,6 +237,15 @@ public interface BlockMaster extends Master, ContainerIdGenerable {
       Map<String, StorageList> lostStorage, RegisterWorkerPOptions options)
       throws NotFoundException;
 
+  /**
+   * Updates the load of a worker, reported with its periodic heartbeats. The load of an unknown
+   * worker is ignored.
+   *
+   * @param workerId the worker id
+   * @param load the load of the worker
+   */
+  void updateWorkerLoad(long workerId, WorkerLoad load);
+
   /**
    * Updates metadata when a worker periodically heartbeats with the master.
    *
@@ -86,11 +86,14 @@ public final class BlockMasterWorkerServiceHandler extends
     final List<Metric> metrics = request.getOptions().getMetricsList()
         .stream().map(Metric::fromProto).collect(Collectors.toList());
 
-    RpcUtils.call(LOG, (RpcUtils.RpcCallableThrowsIOException<BlockHeartbeatPResponse>) () ->
-        BlockHeartbeatPResponse.newBuilder().setCommand(mBlockMaster.workerHeartbeat(workerId,
+    RpcUtils.call(LOG, (RpcUtils.RpcCallableThrowsIOException<BlockHeartbeatPResponse>) () -> {
+      if (request.getOptions().hasLoad()) {
+        mBlockMaster.updateWorkerLoad(workerId, request.getOptions().getLoad());
+      }
+      return BlockHeartbeatPResponse.newBuilder().setCommand(mBlockMaster.workerHeartbeat(workerId,
           capacityBytesOnTiers, usedBytesOnTiers, removedBlockIds, addedBlocksMap,
-            lostStorageMap, metrics)).build(),
-        "blockHeartbeat", "request=%s", responseObserver, request);
+          lostStorageMap, metrics)).build();
+    }, "blockHeartbeat", "request=%s", responseObserver, request);
   }
 
   @Override
@@ -39,6 +39,7 @@ import alluxio.grpc.RegisterWorkerPOptions;
 import alluxio.grpc.RegisterWorkerPRequest;
 import alluxio.grpc.ServiceType;
 import alluxio.grpc.StorageList;
+import alluxio.grpc.WorkerLoad;
 import alluxio.grpc.WorkerLostStorageInfo;
 import alluxio.heartbeat.HeartbeatContext;
 import alluxio.heartbeat.HeartbeatExecutor;
@@ -1177,6 +1178,14 @@ public class DefaultBlockMaster extends CoreMaster implements BlockMaster {
     mActiveRegisterContexts.remove(worker.getId());
   }
 
+  @Override
+  public void updateWorkerLoad(long workerId, WorkerLoad load) {
+    MasterWorkerInfo worker = mWorkers.getFirstByField(ID_INDEX, workerId);
+    if (worker != null) {
+      worker.updateLoad(load);
+    }
+  }
+
   @Override
   public Command workerHeartbeat(long workerId, Map<String, Long> capacityBytesOnTiers,
       Map<String, Long> usedBytesOnTiers, List<Long> removedBlockIds,
@@ -15,6 +15,7 @@ import alluxio.Constants;
 import alluxio.StorageTierAssoc;
 import alluxio.client.block.options.GetWorkerReportOptions.WorkerInfoField;
 import alluxio.grpc.StorageList;
+import alluxio.grpc.WorkerLoad;
 import alluxio.master.block.DefaultBlockMaster;
 import alluxio.resource.LockResource;
 import alluxio.util.CommonUtils;
@@ -121,6 +122,8 @@ public final class MasterWorkerInfo {
   private final AtomicLong mLastUpdatedTimeMs;
   /** Worker metadata, this field is thread safe. */
   private final StaticWorkerMeta mMeta;
+  /** Worker load as of its last heartbeat, which is replaced as a whole without locking. */
+  private volatile WorkerLoad mLoad = WorkerLoad.getDefaultInstance();
 
   /** If true, the worker is considered registered. */
   @GuardedBy("mStatusLock")
@@ -351,6 +354,11 @@ public final class MasterWorkerInfo {
         case WORKER_USED_BYTES_ON_TIERS:
           info.setUsedBytesOnTiers(mUsage.mUsedBytesOnTiers);
           break;
+        case LOAD:
+          WorkerLoad load = mLoad;
+          info.setActiveReadStreams(load.getActiveReadStreams())
+              .setActiveWriteStreams(load.getActiveWriteStreams());
+          break;
         default:
           LOG.warn("Unrecognized worker info field: " + field);
       }
@@ -564,6 +572,23 @@ public final class MasterWorkerInfo {
     mLastUpdatedTimeMs.set(CommonUtils.getCurrentMs());
   }
 
+  /**
+   * Updates the load of the worker reported with its heartbeat.
+   * No locking is required.
+   *
+   * @param load the load of the worker
+   */
+  public void updateLoad(WorkerLoad load) {
+    mLoad = load;
+  }
+
+  /**
+   * @return the load of the worker as of its last heartbeat
+   */
+  public WorkerLoad getLoad() {
+    return mLoad;
+  }
+
   /**
    * Adds or removes a block from the to-be-removed blocks set of the worker.
    *
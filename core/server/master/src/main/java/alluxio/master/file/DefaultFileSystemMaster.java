@@ -62,6 +62,7 @@ import alluxio.grpc.ServiceType;
 import alluxio.grpc.SetAclAction;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.grpc.TtlAction;
+import alluxio.grpc.WatchMetadataPResponse;
 import alluxio.heartbeat.HeartbeatContext;
 import alluxio.heartbeat.HeartbeatThread;
 import alluxio.job.plan.persist.PersistConfig;
@@ -190,6 +191,7 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Streams;
 import io.grpc.ServerInterceptors;
+import io.grpc.stub.StreamObserver;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -205,6 +207,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.Stack;
@@ -343,6 +346,9 @@ public final class DefaultFileSystemMaster extends CoreMaster
   /** Store for holding inodes. */
   private final ReadOnlyInodeStore mInodeStore;
 
+  /** Publishes the changes of the inode tree to the clients watching them. */
+  private final MetadataInvalidationPublisher mMetadataInvalidationPublisher;
+
   /** This manages inode locking. */
   private final InodeLockManager mInodeLockManager;
 
@@ -452,6 +458,7 @@ public final class DefaultFileSystemMaster extends CoreMaster
     mInodeStore = new DelegatingReadOnlyInodeStore(inodeStore);
     mInodeTree = new InodeTree(inodeStore, mBlockMaster,
         mDirectoryIdGenerator, mMountTable, mInodeLockManager);
+    mMetadataInvalidationPublisher = new MetadataInvalidationPublisher(mInodeTree);
 
     // TODO(gene): Handle default config value for whitelist.
     mWhitelist = new PrefixList(ServerConfiguration.getList(PropertyKey.MASTER_WHITELIST, ","));
@@ -687,6 +694,11 @@ public final class DefaultFileSystemMaster extends CoreMaster
               new TimeSeriesRecorder(),
               (int) ServerConfiguration.getMs(PropertyKey.MASTER_METRICS_TIME_SERIES_INTERVAL),
               ServerConfiguration.global(), mMasterContext.getUserState()));
+      getExecutorService().submit(
+          new HeartbeatThread(HeartbeatContext.MASTER_METADATA_INVALIDATION,
+              mMetadataInvalidationPublisher,
+              (int) ServerConfiguration.getMs(PropertyKey.MASTER_METADATA_INVALIDATION_INTERVAL),
+              ServerConfiguration.global(), mMasterContext.getUserState()));
       if (ServerConfiguration.getBoolean(PropertyKey.MASTER_AUDIT_LOGGING_ENABLED)) {
         mAsyncAuditLogWriter = new AsyncUserAccessAuditLogWriter("AUDIT_LOG");
         mAsyncAuditLogWriter.start();
@@ -837,12 +849,37 @@ public final class DefaultFileSystemMaster extends CoreMaster
   @Override
   public FileInfo getFileInfo(AlluxioURI path, GetStatusContext context)
       throws FileDoesNotExistException, InvalidPathException, AccessControlException, IOException {
+    try (RpcContext rpcContext = createRpcContext(context)) {
+      return getFileInfo(rpcContext, path, context, System.currentTimeMillis());
+    }
+  }
+
+  @Override
+  public void getFileInfo(List<AlluxioURI> paths, GetStatusContext context,
+      ResultStream<Optional<FileInfo>> resultStream)
+      throws InvalidPathException, AccessControlException, IOException {
+    // Resolving a path may turn off loading its metadata, which must not leak to the next path.
+    LoadMetadataPType loadMetadataType = context.getOptions().getLoadMetadataType();
+    long opTimeMs = System.currentTimeMillis();
+    for (AlluxioURI path : paths) {
+      context.getOptions().setLoadMetadataType(loadMetadataType);
+      // Each path gets its own context, so that a large batch does not hold the state lock and
+      // the journal context between paths.
+      try (RpcContext rpcContext = createRpcContext(context)) {
+        resultStream.submit(Optional.of(getFileInfo(rpcContext, path, context, opTimeMs)));
+      } catch (FileDoesNotExistException e) {
+        resultStream.submit(Optional.empty());
+      }
+    }
+  }
+
+  private FileInfo getFileInfo(RpcContext rpcContext, AlluxioURI path, GetStatusContext context,
+      long opTimeMs)
+      throws FileDoesNotExistException, InvalidPathException, AccessControlException, IOException {
     Metrics.GET_FILE_INFO_OPS.inc();
     boolean ufsAccessed = false;
-    long opTimeMs = System.currentTimeMillis();
-    try (RpcContext rpcContext = createRpcContext(context);
-        FileSystemMasterAuditContext auditContext =
-            createAuditContext("getFileInfo", path, null, null)) {
+    try (FileSystemMasterAuditContext auditContext =
+        createAuditContext("getFileInfo", path, null, null)) {
 
       if (!syncMetadata(rpcContext, path, context.getOptions().getCommonOptions(),
           DescendantType.ONE, auditContext, LockedInodePath::getInodeOrNull,
@@ -995,6 +1032,20 @@ public final class DefaultFileSystemMaster extends CoreMaster
     }
   }
 
+  @Override
+  public void watchMetadata(List<AlluxioURI> pathPrefixes,
+      StreamObserver<WatchMetadataPResponse> responseObserver)
+      throws AccessControlException, InvalidPathException {
+    List<String> paths = new ArrayList<>(pathPrefixes.size());
+    for (AlluxioURI path : pathPrefixes) {
+      try (LockedInodePath inodePath = mInodeTree.lockInodePath(path, LockPattern.READ)) {
+        mPermissionChecker.checkPermission(Mode.Bits.READ, inodePath);
+      }
+      paths.add(path.getPath());
+    }
+    mMetadataInvalidationPublisher.subscribe(paths, responseObserver);
+  }
+
   @Override
   public void listStatus(AlluxioURI path, ListStatusContext context,
       ResultStream<FileInfo> resultStream)
@@ -1156,7 +1207,12 @@ public final class DefaultFileSystemMaster extends CoreMaster
           ? DescendantType.ALL : DescendantType.NONE;
       // This is to generate a parsed child path components to be passed to lockChildPath
       String [] childComponentsHint = null;
-      for (Inode child : mInodeStore.getChildren(inode.asDirectory())) {
+      // A partial listing only lists a batch of the children of the listed directory.
+      Iterable<? extends Inode> children = depth == 0 && context.isPartial()
+          ? mInodeStore.getChildrenAfter(inode.asDirectory(), context.getStartAfter(),
+              context.getBatchSize())
+          : mInodeStore.getChildren(inode.asDirectory());
+      for (Inode child : children) {
         if (childComponentsHint == null) {
           String[] parentComponents = PathUtils.getPathComponents(currInodePath.getUri().getPath());
           childComponentsHint = new String[parentComponents.length + 1];
@@ -1175,8 +1231,9 @@ public final class DefaultFileSystemMaster extends CoreMaster
         }
       }
     }
-    // Listing a directory should not emit item for the directory itself.
-    if (depth != 0 || inode.isFile()) {
+    // Listing a directory should not emit item for the directory itself, and a partial listing of
+    // a file emits the file only in the first batch.
+    if (depth != 0 || (inode.isFile() && context.getStartAfter().isEmpty())) {
       resultStream.submit(getFileInfoInternal(currInodePath, counter));
     }
   }
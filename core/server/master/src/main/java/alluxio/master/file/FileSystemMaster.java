@@ -26,6 +26,7 @@ import alluxio.exception.UnexpectedAlluxioException;
 import alluxio.exception.status.InvalidArgumentException;
 import alluxio.exception.status.UnavailableException;
 import alluxio.grpc.SetAclAction;
+import alluxio.grpc.WatchMetadataPResponse;
 import alluxio.master.Master;
 import alluxio.master.file.contexts.CheckAccessContext;
 import alluxio.master.file.contexts.CheckConsistencyContext;
@@ -55,10 +56,13 @@ import alluxio.wire.SyncPointInfo;
 import alluxio.wire.UfsInfo;
 import alluxio.wire.WorkerInfo;
 
+import io.grpc.stub.StreamObserver;
+
 import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 
@@ -112,6 +116,24 @@ public interface FileSystemMaster extends Master {
       throws FileDoesNotExistException, InvalidPathException, AccessControlException,
       UnavailableException, IOException;
 
+  /**
+   * Returns the {@link FileInfo}s for the given paths, in order, to a result stream. The batch
+   * shares a single RPC context, so the state lock and the journal context are taken once rather
+   * than once per path.
+   * <p>
+   * This operation requires users to have READ permission on each path.
+   *
+   * @param paths the paths to get the {@link FileInfo}s for
+   * @param context the method context, applied to each path
+   * @param resultStream the stream to receive, for each path, its {@link FileInfo}, or empty if
+   *        the path does not exist
+   * @throws InvalidPathException if a file path is not valid
+   * @throws AccessControlException if permission checking fails
+   */
+  void getFileInfo(List<AlluxioURI> paths, GetStatusContext context,
+      ResultStream<Optional<FileInfo>> resultStream)
+      throws InvalidPathException, AccessControlException, UnavailableException, IOException;
+
   /**
    * Returns the mount id according to the ufs path.
    *
@@ -169,6 +191,22 @@ public interface FileSystemMaster extends Master {
       throws AccessControlException, FileDoesNotExistException, InvalidPathException,
       UnavailableException, IOException;
 
+  /**
+   * Watches the metadata under the given paths. The changes applied to the inode tree under the
+   * paths are sent to the observer in batches, until the call is cancelled or this master stops
+   * being the primary. The first response asks the observer to invalidate everything.
+   * <p>
+   * This operation requires users to have READ permission on each path.
+   *
+   * @param pathPrefixes the paths to watch, including their descendants
+   * @param responseObserver the observer of the invalidations
+   * @throws AccessControlException if permission checking fails
+   * @throws InvalidPathException if a path is invalid
+   */
+  void watchMetadata(List<AlluxioURI> pathPrefixes,
+      StreamObserver<WatchMetadataPResponse> responseObserver)
+      throws AccessControlException, InvalidPathException;
+
   /**
    * @return a read-only view of the file system master
    */
@@ -16,6 +16,7 @@ import alluxio.RpcUtils;
 import alluxio.conf.PropertyKey;
 import alluxio.conf.ServerConfiguration;
 import alluxio.exception.InvalidPathException;
+import alluxio.exception.status.InvalidArgumentException;
 import alluxio.grpc.CheckAccessPRequest;
 import alluxio.grpc.CheckAccessPResponse;
 import alluxio.grpc.CheckConsistencyPOptions;
@@ -41,6 +42,8 @@ import alluxio.grpc.GetNewBlockIdForFilePRequest;
 import alluxio.grpc.GetNewBlockIdForFilePResponse;
 import alluxio.grpc.GetStateLockHoldersPRequest;
 import alluxio.grpc.GetStateLockHoldersPResponse;
+import alluxio.grpc.GetStatusBatchPRequest;
+import alluxio.grpc.GetStatusBatchPResponse;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.GetStatusPRequest;
 import alluxio.grpc.GetStatusPResponse;
@@ -49,6 +52,9 @@ import alluxio.grpc.GetSyncPathListPResponse;
 import alluxio.grpc.GrpcUtils;
 import alluxio.grpc.ListStatusPRequest;
 import alluxio.grpc.ListStatusPResponse;
+import alluxio.grpc.ListStatusPartialPOptions;
+import alluxio.grpc.ListStatusPartialPRequest;
+import alluxio.grpc.ListStatusPartialPResponse;
 import alluxio.grpc.MountPRequest;
 import alluxio.grpc.MountPResponse;
 import alluxio.grpc.RenamePRequest;
@@ -71,6 +77,8 @@ import alluxio.grpc.UpdateMountPRequest;
 import alluxio.grpc.UpdateMountPResponse;
 import alluxio.grpc.UpdateUfsModePRequest;
 import alluxio.grpc.UpdateUfsModePResponse;
+import alluxio.grpc.WatchMetadataPRequest;
+import alluxio.grpc.WatchMetadataPResponse;
 import alluxio.master.file.contexts.CheckAccessContext;
 import alluxio.master.file.contexts.CheckConsistencyContext;
 import alluxio.master.file.contexts.CompleteFileContext;
@@ -227,6 +235,41 @@ public final class FileSystemMasterClientServiceHandler
     }, "GetStatus", true, "request=%s", responseObserver, request);
   }
 
+  @Override
+  public void getStatusBatch(GetStatusBatchPRequest request,
+      StreamObserver<GetStatusBatchPResponse> responseObserver) {
+    final int batchSize =
+        ServerConfiguration.getInt(PropertyKey.MASTER_FILE_SYSTEM_LISTSTATUS_RESULTS_PER_MESSAGE);
+    GetStatusBatchResultStream resultStream =
+        new GetStatusBatchResultStream(batchSize, responseObserver);
+
+    final int maxPaths =
+        ServerConfiguration.getInt(PropertyKey.MASTER_FILE_SYSTEM_GETSTATUS_BATCH_SIZE_MAX);
+
+    try {
+      RpcUtils.callAndReturn(LOG, () -> {
+        if (request.getPathsCount() > maxPaths) {
+          throw new InvalidArgumentException(String.format(
+              "Too many paths in a batched get-status request: %d, at most %d are allowed",
+              request.getPathsCount(), maxPaths));
+        }
+        List<AlluxioURI> paths = new ArrayList<>(request.getPathsCount());
+        for (String path : request.getPathsList()) {
+          paths.add(getAlluxioURI(path));
+        }
+        mFileSystemMaster.getFileInfo(paths,
+            GetStatusContext.create(request.getOptions().toBuilder())
+                .withTracker(new GrpcCallTracker(responseObserver)),
+            resultStream);
+        return null;
+      }, "GetStatusBatch", false, "request=%s", request);
+    } catch (Exception e) {
+      resultStream.fail(e);
+    } finally {
+      resultStream.complete();
+    }
+  }
+
   @Override
   public void listStatus(ListStatusPRequest request,
       StreamObserver<ListStatusPResponse> responseObserver) {
@@ -254,6 +297,32 @@ public final class FileSystemMasterClientServiceHandler
     }
   }
 
+  @Override
+  public void listStatusPartial(ListStatusPartialPRequest request,
+      StreamObserver<ListStatusPartialPResponse> responseObserver) {
+    ListStatusPartialPOptions options = request.getOptions();
+    final int maxBatchSize = ServerConfiguration.getInt(
+        PropertyKey.MASTER_FILE_SYSTEM_LISTSTATUS_PARTIAL_BATCH_SIZE_MAX);
+    RpcUtils.call(LOG, () -> {
+      if (options.getOptions().getRecursive()) {
+        throw new InvalidArgumentException("A partial listing cannot be recursive");
+      }
+      if (options.getBatchSize() <= 0) {
+        throw new InvalidArgumentException(
+            String.format("Invalid batch size %d", options.getBatchSize()));
+      }
+      AlluxioURI pathUri = getAlluxioURI(request.getPath());
+      ListStatusPartialPResponse.Builder response = ListStatusPartialPResponse.newBuilder();
+      mFileSystemMaster.listStatus(pathUri,
+          ListStatusContext.create(options.getOptions().toBuilder())
+              .setPartial(options.getStartAfter(),
+                  Math.min(options.getBatchSize(), maxBatchSize))
+              .withTracker(new GrpcCallTracker(responseObserver)),
+          fileInfo -> response.addFileInfos(GrpcUtils.toProto(fileInfo)));
+      return response.build();
+    }, "ListStatusPartial", "request=%s", responseObserver, request);
+  }
+
   @Override
   public void mount(MountPRequest request, StreamObserver<MountPResponse> responseObserver) {
     RpcUtils.call(LOG, () -> {
@@ -422,6 +491,24 @@ public final class FileSystemMasterClientServiceHandler
     }, "getStateLockHolders", "request=%s", responseObserver, request);
   }
 
+  @Override
+  public void watchMetadata(WatchMetadataPRequest request,
+      StreamObserver<WatchMetadataPResponse> responseObserver) {
+    try {
+      RpcUtils.callAndReturn(LOG, () -> {
+        List<AlluxioURI> pathPrefixes = new ArrayList<>(request.getPathPrefixesCount());
+        for (String pathPrefix : request.getPathPrefixesList()) {
+          pathPrefixes.add(getAlluxioURI(pathPrefix));
+        }
+        // The publisher keeps the stream open until the call is cancelled.
+        mFileSystemMaster.watchMetadata(pathPrefixes, responseObserver);
+        return null;
+      }, "WatchMetadata", false, "request=%s", request);
+    } catch (Exception e) {
+      responseObserver.onError(e);
+    }
+  }
+
   /**
    * Helper to return {@link AlluxioURI} from transport URI.
    *
@@ -0,0 +1,102 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file;
+
+import alluxio.grpc.GetStatusBatchPResponse;
+import alluxio.grpc.GetStatusPResponse;
+import alluxio.grpc.GrpcUtils;
+import alluxio.wire.FileInfo;
+
+import com.google.common.base.Preconditions;
+import io.grpc.stub.StreamObserver;
+
+import java.util.Optional;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Used to stream the results of a batched getStatus call, in batches of statuses.
+ */
+@ThreadSafe
+public class GetStatusBatchResultStream implements ResultStream<Optional<FileInfo>> {
+  /** Batch size. */
+  private final int mBatchSize;
+  /** Client-side gRPC stream observer. */
+  private final StreamObserver<GetStatusBatchPResponse> mClientObserver;
+  /** Statuses of the current batch. */
+  private GetStatusBatchPResponse.Builder mBatch = GetStatusBatchPResponse.newBuilder();
+  /** Whether stream is still active. */
+  private boolean mStreamActive = true;
+
+  /**
+   * Creates a new result streamer for a batched getStatus call.
+   *
+   * @param batchSize batch size
+   * @param clientObserver client stream
+   */
+  public GetStatusBatchResultStream(int batchSize,
+      StreamObserver<GetStatusBatchPResponse> clientObserver) {
+    Preconditions.checkArgument(batchSize > 0);
+    mBatchSize = batchSize;
+    mClientObserver = clientObserver;
+  }
+
+  @Override
+  public synchronized void submit(Optional<FileInfo> item) {
+    GetStatusPResponse.Builder status = GetStatusPResponse.newBuilder();
+    item.ifPresent(info -> status.setFileInfo(GrpcUtils.toProto(info)));
+    mBatch.addStatuses(status);
+    if (mBatch.getStatusesCount() >= mBatchSize) {
+      sendCurrentBatch();
+    }
+  }
+
+  /**
+   * Sends the current batch if there are any items.
+   */
+  private void sendCurrentBatch() {
+    if (mBatch.getStatusesCount() > 0) {
+      mClientObserver.onNext(mBatch.build());
+      mBatch = GetStatusBatchPResponse.newBuilder();
+    }
+  }
+
+  /**
+   * Used to complete the stream.
+   * It sends any remaining items and closes the underlying stream.
+   */
+  public synchronized void complete() {
+    if (!mStreamActive) {
+      return;
+    }
+    try {
+      sendCurrentBatch();
+      mClientObserver.onCompleted();
+    } finally {
+      mStreamActive = false;
+    }
+  }
+
+  /**
+   * Used to fail streaming with an error.
+   *
+   * @param error streaming error
+   */
+  public synchronized void fail(Throwable error) {
+    if (mStreamActive) {
+      try {
+        mClientObserver.onError(error);
+      } finally {
+        mStreamActive = false;
+      }
+    }
+  }
+}
@@ -0,0 +1,306 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file;
+
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.grpc.MetadataInvalidation;
+import alluxio.grpc.WatchMetadataPResponse;
+import alluxio.heartbeat.HeartbeatExecutor;
+import alluxio.master.file.meta.InodeChangeListener;
+import alluxio.master.file.meta.InodeTree;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Publishes the changes of the inode tree to the clients watching them, so that the clients can
+ * invalidate their metadata caches. The changes are only queued by the threads applying them to
+ * the inode tree. On each heartbeat, the paths of the queued changes are resolved, dispatched to
+ * the subscribers watching them, and sent in batches. When more than
+ * {@link PropertyKey#MASTER_METADATA_INVALIDATION_MAX_PENDING} changes are queued, or are pending
+ * for a subscriber, the subscribers are asked to invalidate their whole caches instead.
+ */
+@ThreadSafe
+public final class MetadataInvalidationPublisher implements InodeChangeListener,
+    HeartbeatExecutor {
+  private static final Logger LOG = LoggerFactory.getLogger(MetadataInvalidationPublisher.class);
+
+  private final InodeTree mInodeTree;
+  private final int mMaxPending;
+  private final Set<Subscriber> mSubscribers = ConcurrentHashMap.newKeySet();
+  /** The changes applied to the inode tree since the last heartbeat. */
+  private final Queue<Change> mChanges = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger mChangeCount = new AtomicInteger();
+  /** Whether changes were dropped because too many were queued. */
+  private final AtomicBoolean mChangesDropped = new AtomicBoolean();
+
+  /**
+   * @param inodeTree the inode tree to watch
+   */
+  public MetadataInvalidationPublisher(InodeTree inodeTree) {
+    mInodeTree = inodeTree;
+    mMaxPending =
+        ServerConfiguration.getInt(PropertyKey.MASTER_METADATA_INVALIDATION_MAX_PENDING);
+  }
+
+  /**
+   * Subscribes to the changes under the given paths. The first response sent to the subscriber
+   * asks it to invalidate everything, since changes may have happened before it subscribed. The
+   * subscription ends when the call is cancelled, or when the publisher closes.
+   *
+   * @param pathPrefixes the paths to watch, including their descendants
+   * @param responseObserver the observer of the invalidations
+   */
+  public synchronized void subscribe(List<String> pathPrefixes,
+      StreamObserver<WatchMetadataPResponse> responseObserver) {
+    Subscriber subscriber = new Subscriber(pathPrefixes, responseObserver);
+    if (responseObserver instanceof ServerCallStreamObserver) {
+      ((ServerCallStreamObserver<WatchMetadataPResponse>) responseObserver)
+          .setOnCancelHandler(() -> unsubscribe(subscriber));
+    }
+    if (mSubscribers.isEmpty()) {
+      mInodeTree.addChangeListener(this);
+    }
+    mSubscribers.add(subscriber);
+  }
+
+  private synchronized void unsubscribe(Subscriber subscriber) {
+    if (mSubscribers.remove(subscriber) && mSubscribers.isEmpty()) {
+      mInodeTree.removeChangeListener(this);
+    }
+  }
+
+  /**
+   * @return the number of subscribers
+   */
+  @VisibleForTesting
+  public int getSubscriberCount() {
+    return mSubscribers.size();
+  }
+
+  @Override
+  public void onChange(long parentId, String name, boolean recursive) {
+    if (mChangeCount.incrementAndGet() > mMaxPending) {
+      mChangeCount.decrementAndGet();
+      mChangesDropped.set(true);
+      return;
+    }
+    mChanges.add(new Change(parentId, name, recursive));
+  }
+
+  @Override
+  public void heartbeat() {
+    dispatchChanges();
+    for (Subscriber subscriber : mSubscribers) {
+      if (!subscriber.flush()) {
+        unsubscribe(subscriber);
+      }
+    }
+  }
+
+  /**
+   * Ends all the subscriptions with an unavailable status, so that the clients invalidate their
+   * caches and subscribe again, possibly to the next primary master.
+   */
+  @Override
+  public synchronized void close() {
+    for (Subscriber subscriber : mSubscribers) {
+      subscriber.fail(Status.UNAVAILABLE
+          .withDescription("Metadata invalidation publisher is closed").asRuntimeException());
+    }
+    if (!mSubscribers.isEmpty()) {
+      mSubscribers.clear();
+      mInodeTree.removeChangeListener(this);
+    }
+  }
+
+  /**
+   * Resolves the paths of the queued changes and adds them to the subscribers watching them. A
+   * change whose parent is no longer attached to the tree is dropped, since the removal of the
+   * parent is notified as a recursive change itself.
+   */
+  private void dispatchChanges() {
+    if (mChangesDropped.getAndSet(false)) {
+      for (Subscriber subscriber : mSubscribers) {
+        subscriber.invalidateAll();
+      }
+    }
+    // Only the changes queued so far, so that a busy inode tree does not delay the flush
+    for (int count = mChangeCount.get(); count > 0; count--) {
+      Change change = mChanges.poll();
+      if (change == null) {
+        break;
+      }
+      mChangeCount.decrementAndGet();
+      String path = mInodeTree.resolveChildPath(change.mParentId, change.mName);
+      if (path == null) {
+        continue;
+      }
+      for (Subscriber subscriber : mSubscribers) {
+        if (subscriber.watches(path, change.mRecursive)) {
+          subscriber.add(path, change.mRecursive);
+        }
+      }
+    }
+  }
+
+  /**
+   * @param ancestor the ancestor path
+   * @param path the path
+   * @return whether the path is the ancestor itself or one of its descendants
+   */
+  private static boolean isAncestorOrSelf(String ancestor, String path) {
+    if (ancestor.equals("/") || path.equals(ancestor)) {
+      return true;
+    }
+    return path.startsWith(ancestor) && path.charAt(ancestor.length()) == '/';
+  }
+
+  /**
+   * A change to the inode tree, identified by the parent and the name of the changed inode.
+   */
+  private static final class Change {
+    private final long mParentId;
+    private final String mName;
+    private final boolean mRecursive;
+
+    Change(long parentId, String name, boolean recursive) {
+      mParentId = parentId;
+      mName = name;
+      mRecursive = recursive;
+    }
+  }
+
+  /**
+   * The pending invalidations of a subscriber. The changes are added by the heartbeat thread,
+   * and the responses are sent by it as well, while the subscription may end on other threads.
+   */
+  private final class Subscriber {
+    private final List<String> mPathPrefixes;
+    private final StreamObserver<WatchMetadataPResponse> mResponseObserver;
+
+    /** Map from the changed paths to whether their descendants changed as well. */
+    @GuardedBy("this")
+    private Map<String, Boolean> mPending = new HashMap<>();
+    @GuardedBy("this")
+    private boolean mInvalidateAll = true;
+    @GuardedBy("this")
+    private boolean mActive = true;
+
+    Subscriber(List<String> pathPrefixes,
+        StreamObserver<WatchMetadataPResponse> responseObserver) {
+      mPathPrefixes = new ArrayList<>(pathPrefixes);
+      mResponseObserver = responseObserver;
+    }
+
+    boolean watches(String path, boolean recursive) {
+      for (String prefix : mPathPrefixes) {
+        if (isAncestorOrSelf(prefix, path) || (recursive && isAncestorOrSelf(path, prefix))) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    synchronized void add(String path, boolean recursive) {
+      if (!mActive || mInvalidateAll) {
+        return;
+      }
+      mPending.merge(path, recursive, Boolean::logicalOr);
+      if (mPending.size() > mMaxPending) {
+        invalidateAll();
+      }
+    }
+
+    synchronized void invalidateAll() {
+      mPending = new HashMap<>();
+      mInvalidateAll = true;
+    }
+
+    /**
+     * Sends the pending invalidations, unless the client is not ready to receive them, in which
+     * case they keep accumulating.
+     *
+     * @return false if the subscription ended
+     */
+    boolean flush() {
+      Map<String, Boolean> pending;
+      boolean invalidateAll;
+      synchronized (this) {
+        if (!mActive) {
+          return false;
+        }
+        if (!mInvalidateAll && mPending.isEmpty()) {
+          return true;
+        }
+        if (mResponseObserver instanceof ServerCallStreamObserver
+            && !((ServerCallStreamObserver<WatchMetadataPResponse>) mResponseObserver)
+                .isReady()) {
+          return true;
+        }
+        pending = mPending;
+        invalidateAll = mInvalidateAll;
+        mPending = new HashMap<>();
+        mInvalidateAll = false;
+      }
+      WatchMetadataPResponse.Builder response = WatchMetadataPResponse.newBuilder();
+      if (invalidateAll) {
+        response.setInvalidateAll(true);
+      } else {
+        for (Map.Entry<String, Boolean> entry : pending.entrySet()) {
+          response.addInvalidations(MetadataInvalidation.newBuilder()
+              .setPath(entry.getKey()).setRecursive(entry.getValue()));
+        }
+      }
+      try {
+        mResponseObserver.onNext(response.build());
+        return true;
+      } catch (RuntimeException e) {
+        LOG.debug("Failed to send metadata invalidations: {}", e.toString());
+        synchronized (this) {
+          mActive = false;
+        }
+        return false;
+      }
+    }
+
+    synchronized void fail(Throwable cause) {
+      if (!mActive) {
+        return;
+      }
+      mActive = false;
+      try {
+        mResponseObserver.onError(cause);
+      } catch (RuntimeException e) {
+        LOG.debug("Failed to end metadata invalidation stream: {}", e.toString());
+      }
+    }
+  }
+}
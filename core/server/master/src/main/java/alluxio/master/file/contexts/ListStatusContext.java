@@ -16,12 +16,17 @@ import alluxio.grpc.ListStatusPOptions;
 import alluxio.util.FileSystemOptions;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
 
 /**
  * Used to merge and wrap {@link ListStatusPOptions}.
  */
 public class ListStatusContext
     extends OperationContext<ListStatusPOptions.Builder, ListStatusContext> {
+  /** The name of the child after which a partial listing starts. */
+  private String mStartAfter = "";
+  /** The maximum number of children in a partial listing, or 0 to list all of them. */
+  private int mBatchSize = 0;
 
   /**
    * Creates context with given option data.
@@ -61,10 +66,48 @@ public class ListStatusContext
     return create(FileSystemOptions.listStatusDefaults(ServerConfiguration.global()).toBuilder());
   }
 
+  /**
+   * Lists only a batch of the children of a directory, in name order.
+   *
+   * @param startAfter the name of the child after which the batch starts, or empty to start from
+   *        the first child
+   * @param batchSize the maximum number of children in the batch
+   * @return the updated context object
+   */
+  public ListStatusContext setPartial(String startAfter, int batchSize) {
+    Preconditions.checkArgument(batchSize > 0, "batchSize must be positive");
+    mStartAfter = startAfter;
+    mBatchSize = batchSize;
+    return this;
+  }
+
+  /**
+   * @return whether only a batch of the children is listed
+   */
+  public boolean isPartial() {
+    return mBatchSize > 0;
+  }
+
+  /**
+   * @return the name of the child after which a partial listing starts
+   */
+  public String getStartAfter() {
+    return mStartAfter;
+  }
+
+  /**
+   * @return the maximum number of children in a partial listing, or 0 if the listing is complete
+   */
+  public int getBatchSize() {
+    return mBatchSize;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
         .add("ProtoOptions", getOptions().build())
+        .add("StartAfter", mStartAfter)
+        .add("BatchSize", mBatchSize)
         .toString();
   }
 }
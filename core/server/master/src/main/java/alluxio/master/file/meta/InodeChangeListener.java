@@ -0,0 +1,34 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+/**
+ * Listener for the changes applied to the inode tree, either by the operations of the primary
+ * master or by journal replay. The listener is called on the thread applying the change while the
+ * changed inodes are locked, so it should only record the change and return quickly, resolving
+ * its path later if needed.
+ */
+public interface InodeChangeListener {
+  /**
+   * Called after the metadata of an inode, or its existence, changed. Changes to the parent
+   * directory implied by the change, such as its child count and modification time, are not
+   * notified separately. The inode is identified by its parent and name, which stay resolvable
+   * after the inode is deleted.
+   *
+   * @param parentId the id of the parent of the inode, or {@link InodeTree#NO_PARENT} for the
+   *        root
+   * @param name the name of the inode
+   * @param recursive whether the descendants of the inode changed as well, e.g. when the inode
+   *        was renamed or deleted
+   */
+  void onChange(long parentId, String name, boolean recursive);
+}
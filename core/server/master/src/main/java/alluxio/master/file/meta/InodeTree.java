@@ -282,6 +282,32 @@ public class InodeTree implements DelegatingJournaled {
     return mState.getFileSizeHistogram();
   }
 
+  /**
+   * @param listener the listener to notify of the changes applied to the inode tree
+   */
+  public void addChangeListener(InodeChangeListener listener) {
+    mState.addChangeListener(listener);
+  }
+
+  /**
+   * @param listener the listener to stop notifying
+   */
+  public void removeChangeListener(InodeChangeListener listener) {
+    mState.removeChangeListener(listener);
+  }
+
+  /**
+   * Resolves the path of an inode notified to an {@link InodeChangeListener}.
+   *
+   * @param parentId the id of the parent of the inode, or {@link #NO_PARENT} for the root
+   * @param name the name of the inode
+   * @return the path of the inode, or null if its parent is no longer attached to the tree
+   */
+  @Nullable
+  public String resolveChildPath(long parentId, String name) {
+    return mState.getChildPath(parentId, name);
+  }
+
   /**
    * Marks an inode directory as having its direct children loaded.
    *
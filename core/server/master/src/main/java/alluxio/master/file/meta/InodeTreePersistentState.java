@@ -15,6 +15,7 @@ import static alluxio.conf.PropertyKey.MASTER_FILE_SYSTEM_OPERATION_RETRY_CACHE_
 import static alluxio.conf.PropertyKey.MASTER_FILE_SYSTEM_OPERATION_RETRY_CACHE_SIZE;
 import static alluxio.conf.PropertyKey.MASTER_METRICS_FILE_SIZE_DISTRIBUTION_BUCKETS;
 
+import alluxio.AlluxioURI;
 import alluxio.ProcessUtils;
 import alluxio.conf.ServerConfiguration;
 import alluxio.master.file.RpcContext;
@@ -68,6 +69,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -119,6 +121,9 @@ public class InodeTreePersistentState implements Journaled {
 
   private final BucketCounter mBucketCounter;
 
+  /** Listeners notified of the changes applied to the inode tree. */
+  private final List<InodeChangeListener> mChangeListeners = new CopyOnWriteArrayList<>();
+
   /**
    * @param inodeStore file store which holds inode metadata
    * @param lockManager manager for inode locks
@@ -203,6 +208,23 @@ public class InodeTreePersistentState implements Journaled {
     return Collections.unmodifiableSet(mToBePersistedIds);
   }
 
+  /**
+   * Registers a listener to notify of the changes applied to the inode tree from now on. Paths
+   * are only resolved for the listeners while at least one is registered.
+   *
+   * @param listener the listener to register
+   */
+  public void addChangeListener(InodeChangeListener listener) {
+    mChangeListeners.add(listener);
+  }
+
+  /**
+   * @param listener the listener to stop notifying
+   */
+  public void removeChangeListener(InodeChangeListener listener) {
+    mChangeListeners.remove(listener);
+  }
+
   /**
    * Deletes an inode (may be either a file or directory).
    *
@@ -419,6 +441,7 @@ public class InodeTreePersistentState implements Journaled {
     mReplicationLimitedFileIds.remove(id);
     mToBePersistedIds.remove(id);
     mTtlBuckets.remove(inode);
+    notifyChange(inode.getParentId(), inode.getName(), inode.isDirectory());
   }
 
   private void applyCreateDirectory(InodeDirectoryEntry entry) {
@@ -433,6 +456,7 @@ public class InodeTreePersistentState implements Journaled {
     MutableInodeFile inode = mInodeStore.getMutable(entry.getId()).get().asFile();
     long newBlockId = inode.getNewBlockId();
     mInodeStore.writeInode(inode);
+    notifyChange(inode.getParentId(), inode.getName(), false);
     return newBlockId;
   }
 
@@ -460,6 +484,7 @@ public class InodeTreePersistentState implements Journaled {
         LOG.warn("Unrecognized acl action: " + entry.getAction());
     }
     mInodeStore.writeInode(inode);
+    notifyChange(inode.getParentId(), inode.getName(), false);
   }
 
   private void applyUpdateInode(UpdateInodeEntry entry) {
@@ -486,6 +511,10 @@ public class InodeTreePersistentState implements Journaled {
     }
     mInodeStore.writeInode(inode);
     updateToBePersistedIds(inode);
+    if (!isJournalUpdateAsync(entry)) {
+      // access time updates are too frequent to notify, and do not matter to the listeners
+      notifyChange(inode.getParentId(), inode.getName(), false);
+    }
   }
 
   private void setReplicationForPin(MutableInode<?> inode, boolean pinned) {
@@ -536,6 +565,7 @@ public class InodeTreePersistentState implements Journaled {
 
     inode.asDirectory().updateFromEntry(entry);
     mInodeStore.writeInode(inode);
+    notifyChange(inode.getParentId(), inode.getName(), false);
   }
 
   private void applyUpdateInodeFile(UpdateInodeFileEntry entry) {
@@ -555,6 +585,7 @@ public class InodeTreePersistentState implements Journaled {
     inode.asFile().updateFromEntry(entry);
     mInodeStore.writeInode(inode);
     mBucketCounter.insert(inode.asFile().getLength());
+    notifyChange(inode.getParentId(), inode.getName(), false);
   }
 
   ////
@@ -637,6 +668,7 @@ public class InodeTreePersistentState implements Journaled {
       mToBePersistedIds.clear();
 
       updateToBePersistedIds(inode);
+      notifyChange(InodeTree.NO_PARENT, InodeTree.ROOT_INODE_NAME, true);
       return;
     }
     // inode should be added to the inode store before getting added to its parent list, because it
@@ -656,6 +688,7 @@ public class InodeTreePersistentState implements Journaled {
     if (inode.isFile() && inode.asFile().isCompleted()) {
       mBucketCounter.insert(inode.asFile().getLength());
     }
+    notifyChange(inode.getParentId(), inode.getName(), false);
   }
 
   private void applyRename(RenameEntry entry) {
@@ -666,6 +699,7 @@ public class InodeTreePersistentState implements Journaled {
     MutableInode<?> inode = mInodeStore.getMutable(entry.getId()).get();
     long oldParent = inode.getParentId();
     long newParent = entry.getNewParentId();
+    String oldName = inode.getName();
 
     mInodeStore.removeChild(oldParent, inode.getName());
     inode.setName(entry.getNewName());
@@ -679,6 +713,8 @@ public class InodeTreePersistentState implements Journaled {
       updateTimestampsAndChildCount(oldParent, entry.getOpTimeMs(), -1);
       updateTimestampsAndChildCount(newParent, entry.getOpTimeMs(), 1);
     }
+    notifyChange(oldParent, oldName, true);
+    notifyChange(newParent, entry.getNewName(), true);
   }
 
   /**
@@ -714,6 +750,47 @@ public class InodeTreePersistentState implements Journaled {
     }
   }
 
+  /**
+   * Resolves the path of a child of a directory, without requiring the child to exist. This walks
+   * the ancestors of the directory, so the listeners call it off the thread applying changes.
+   *
+   * @param parentId the id of the directory, or {@link InodeTree#NO_PARENT} for the root
+   * @param name the name of the child
+   * @return the path of the child, or null if the directory is not attached to the tree
+   */
+  @Nullable
+  public String getChildPath(long parentId, String name) {
+    if (parentId == InodeTree.NO_PARENT) {
+      return AlluxioURI.SEPARATOR;
+    }
+    ArrayDeque<String> names = new ArrayDeque<>();
+    names.push(name);
+    Optional<Inode> inode = mInodeStore.get(parentId);
+    while (inode.isPresent() && inode.get().getParentId() != InodeTree.NO_PARENT) {
+      names.push(inode.get().getName());
+      inode = mInodeStore.get(inode.get().getParentId());
+    }
+    if (!inode.isPresent()) {
+      return null;
+    }
+    StringBuilder path = new StringBuilder();
+    for (String component : names) {
+      path.append(AlluxioURI.SEPARATOR).append(component);
+    }
+    return path.toString();
+  }
+
+  private void notifyChange(long parentId, String name, boolean recursive) {
+    for (InodeChangeListener listener : mChangeListeners) {
+      try {
+        listener.onChange(parentId, name, recursive);
+      } catch (RuntimeException e) {
+        // listeners must not fail the application of the change
+        LOG.warn("Failed to notify change of {} under {} to {}", name, parentId, listener, e);
+      }
+    }
+  }
+
   private void updateToBePersistedIds(MutableInode<?> inode) {
     if (inode.getPersistenceState() == PersistenceState.TO_BE_PERSISTED) {
       mToBePersistedIds.add(inode.getId());
@@ -800,6 +877,7 @@ public class InodeTreePersistentState implements Journaled {
     mReplicationLimitedFileIds.clear();
     mPinnedInodeFileIds.clear();
     mOpIdCache.invalidateAll();
+    notifyChange(InodeTree.NO_PARENT, InodeTree.ROOT_INODE_NAME, true);
   }
 
   @Override
@@ -816,6 +894,7 @@ public class InodeTreePersistentState implements Journaled {
     // ids to inodes.
     JournalUtils.restoreFromCheckpoint(input, Arrays.asList(mInodeStore, mPinnedInodeFileIds,
         mReplicationLimitedFileIds, mToBePersistedIds, mTtlBuckets, mInodeCounter));
+    notifyChange(InodeTree.NO_PARENT, InodeTree.ROOT_INODE_NAME, true);
   }
 
   @Override
@@ -19,8 +19,10 @@ import alluxio.master.file.meta.MutableInode;
 import com.google.common.annotations.VisibleForTesting;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
 
 /**
  * Wrapper for providing read-only access to an inode store.
@@ -60,6 +62,18 @@ public class DelegatingReadOnlyInodeStore implements ReadOnlyInodeStore {
     return mDelegate.getChildren(inode, option);
   }
 
+  @Override
+  public List<Inode> getChildrenAfter(Long inodeId, String startAfter, int limit,
+      ReadOption option) {
+    return mDelegate.getChildrenAfter(inodeId, startAfter, limit, option);
+  }
+
+  @Override
+  public SortedMap<String, Long> getChildIdsAfter(Long inodeId, String startAfter, int limit,
+      ReadOption option) {
+    return mDelegate.getChildIdsAfter(inodeId, startAfter, limit, option);
+  }
+
   @Override
   public Optional<Long> getChildId(Long inodeId, String name, ReadOption option) {
     return mDelegate.getChildId(inodeId, name, option);
@@ -19,10 +19,14 @@ import alluxio.master.file.meta.MutableInode;
 import com.google.common.annotations.VisibleForTesting;
 
 import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 /**
  * Read-only access to the inode store.
@@ -152,6 +156,63 @@ public interface ReadOnlyInodeStore extends Closeable {
     return getChildren(inode.getId(), ReadOption.defaults());
   }
 
+  /**
+   * Returns a batch of the children of the specified inode, in name order. The default
+   * implementation scans all the children and keeps only the batch in memory. Stores which index
+   * the children by name should seek to the batch instead.
+   *
+   * @param inodeId an inode id
+   * @param startAfter the name of the child after which the batch starts, or empty to start from
+   *        the first child
+   * @param limit the maximum number of children in the batch
+   * @param option the options
+   * @return the children in the batch, sorted by name
+   */
+  default List<Inode> getChildrenAfter(Long inodeId, String startAfter, int limit,
+      ReadOption option) {
+    TreeMap<String, Inode> batch = new TreeMap<>();
+    for (Inode child : getChildren(inodeId, option)) {
+      if (child.getName().compareTo(startAfter) > 0) {
+        batch.put(child.getName(), child);
+        if (batch.size() > limit) {
+          batch.pollLastEntry();
+        }
+      }
+    }
+    return new ArrayList<>(batch.values());
+  }
+
+  /**
+   * @param inode an inode directory
+   * @param startAfter the name of the child after which the batch starts
+   * @param limit the maximum number of children in the batch
+   * @return the result of {@link #getChildrenAfter(Long, String, int, ReadOption)} with default
+   *         option
+   */
+  default List<Inode> getChildrenAfter(InodeDirectoryView inode, String startAfter, int limit) {
+    return getChildrenAfter(inode.getId(), startAfter, limit, ReadOption.defaults());
+  }
+
+  /**
+   * Returns the names and ids of a batch of the children of the specified inode, in name order.
+   * The default implementation gets the children of the batch.
+   *
+   * @param inodeId an inode id
+   * @param startAfter the name of the child after which the batch starts, or empty to start from
+   *        the first child
+   * @param limit the maximum number of children in the batch
+   * @param option the options
+   * @return a map from the name to the id of each child in the batch
+   */
+  default SortedMap<String, Long> getChildIdsAfter(Long inodeId, String startAfter, int limit,
+      ReadOption option) {
+    SortedMap<String, Long> batch = new TreeMap<>();
+    for (Inode child : getChildrenAfter(inodeId, startAfter, limit, option)) {
+      batch.put(child.getName(), child.getId());
+    }
+    return batch;
+  }
+
   /**
    * @param inodeId an inode id
    * @param name an inode name
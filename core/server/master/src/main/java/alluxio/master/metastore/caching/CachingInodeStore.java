@@ -51,6 +51,7 @@ import org.slf4j.LoggerFactory;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -59,9 +60,13 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -221,6 +226,17 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     return mEdgeCache.get(new Edge(inodeId, name), option).flatMap(this::get);
   }
 
+  @Override
+  public List<Inode> getChildrenAfter(Long inodeId, String startAfter, int limit,
+      ReadOption option) {
+    Collection<Long> ids = mEdgeCache.getChildIdsAfter(inodeId, startAfter, limit, option).values();
+    List<Inode> children = new ArrayList<>(ids.size());
+    for (long id : ids) {
+      get(id, option).ifPresent(children::add);
+    }
+    return children;
+  }
+
   @Override
   public boolean hasChildren(InodeDirectoryView inode, ReadOption option) {
     Optional<Collection<Long>> cached = mListingCache.getCachedChildIds(inode.getId());
@@ -375,10 +391,11 @@ public final class CachingInodeStore implements InodeStore, Closeable {
    */
   @VisibleForTesting
   class EdgeCache extends Cache<Edge, Long> {
-    // Indexes non-removed cache entries by parent id. The inner map is from child name to child id
+    // Indexes non-removed cache entries by parent id. The inner map is from child name to child id,
+    // ordered by child name so that a batch of cached children can be read without a full scan.
     @VisibleForTesting
-    TwoKeyConcurrentMap<Long, String, Long, Map<String, Long>>
-        mIdToChildMap = new TwoKeyConcurrentMap<>(() -> new ConcurrentHashMap<>(4));
+    TwoKeyConcurrentMap<Long, String, Long, NavigableMap<String, Long>>
+        mIdToChildMap = new TwoKeyConcurrentMap<>(ConcurrentSkipListMap::new);
     // Indexes removed cache entries by parent id. The inner set contains the names of deleted
     // children.
     @VisibleForTesting
@@ -408,13 +425,13 @@ public final class CachingInodeStore implements InodeStore, Closeable {
      */
     public Map<String, Long> getChildIds(Long inodeId, ReadOption option) {
       if (mBackingStoreEmpty) {
-        return mIdToChildMap.getOrDefault(inodeId, Collections.emptyMap());
+        return mIdToChildMap.getOrDefault(inodeId, Collections.emptyNavigableMap());
       }
       // This implementation must be careful because edges can be asynchronously evicted from the
       // cache to the backing store. To account for this, we read from the cache before consulting
       // the backing store.
       Map<String, Long> childIds = new HashMap<>();
-      mIdToChildMap.getOrDefault(inodeId, Collections.emptyMap()).forEach((name, id) -> {
+      mIdToChildMap.getOrDefault(inodeId, Collections.emptyNavigableMap()).forEach((name, id) -> {
         childIds.put(name, id);
       });
       // Copy the list of unflushed deletes before reading the backing store to prevent racing async
@@ -434,6 +451,48 @@ public final class CachingInodeStore implements InodeStore, Closeable {
       return childIds;
     }
 
+    /**
+     * Gets a batch of the children of an inode in name order, with the same consistency
+     * guarantees as {@link #getChildIds(Long, ReadOption)}. The backing store is asked only for
+     * the batch, so that listing a large directory in batches does not read all of its children
+     * for each batch.
+     *
+     * @param inodeId the inode to get the children for
+     * @param startAfter the name of the child after which the batch starts, or empty to start from
+     *        the first child
+     * @param limit the maximum number of children in the batch
+     * @param option the read options
+     * @return a map from the name to the id of each child in the batch
+     */
+    public SortedMap<String, Long> getChildIdsAfter(Long inodeId, String startAfter, int limit,
+        ReadOption option) {
+      TreeMap<String, Long> childIds = new TreeMap<>();
+      for (Map.Entry<String, Long> entry : mIdToChildMap
+          .getOrDefault(inodeId, Collections.emptyNavigableMap())
+          .tailMap(startAfter, false).entrySet()) {
+        if (childIds.size() >= limit) {
+          break;
+        }
+        childIds.put(entry.getKey(), entry.getValue());
+      }
+      if (!mBackingStoreEmpty) {
+        Set<String> unflushedDeletes =
+            new HashSet<>(mUnflushedDeletes.getOrDefault(inodeId, Collections.EMPTY_SET));
+        // Ask for as many more children as there are unflushed deletes, which may still be in the
+        // backing store, so that the batch is full if the directory has enough children.
+        mBackingStore.getChildIdsAfter(inodeId, startAfter, limit + unflushedDeletes.size(), option)
+            .forEach((name, id) -> {
+              if (!unflushedDeletes.contains(name)) {
+                childIds.putIfAbsent(name, id);
+              }
+            });
+      }
+      while (childIds.size() > limit) {
+        childIds.pollLastEntry();
+      }
+      return childIds;
+    }
+
     @Override
     protected Optional<Long> load(Edge edge) {
       if (mBackingStoreEmpty) {
@@ -40,10 +40,15 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -52,9 +57,10 @@ import javax.annotation.concurrent.ThreadSafe;
 @ThreadSafe
 public class HeapInodeStore implements InodeStore {
   private final Map<Long, MutableInode<?>> mInodes = new ConcurrentHashMap<>();
-  // Map from inode id to ids of children of that inode. The inner maps are ordered by child name.
-  private final TwoKeyConcurrentMap<Long, String, Long, Map<String, Long>> mEdges =
-      new TwoKeyConcurrentMap<>(() -> new ConcurrentHashMap<>(4));
+  // Map from inode id to ids of children of that inode. The inner maps are ordered by child name,
+  // so that a batch of children can be read without scanning the whole directory.
+  private final TwoKeyConcurrentMap<Long, String, Long, NavigableMap<String, Long>> mEdges =
+      new TwoKeyConcurrentMap<>(ConcurrentSkipListMap::new);
 
   /**
    * Construct a heap inode store.
@@ -108,6 +114,30 @@ public class HeapInodeStore implements InodeStore {
         .collect(toList());
   }
 
+  @Override
+  public List<Inode> getChildrenAfter(Long inodeId, String startAfter, int limit,
+      ReadOption option) {
+    return getChildIdsAfter(inodeId, startAfter, limit, option).values().stream()
+        .map(this::get)
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .map(Inode::wrap)
+        .collect(toList());
+  }
+
+  @Override
+  public SortedMap<String, Long> getChildIdsAfter(Long inodeId, String startAfter, int limit,
+      ReadOption option) {
+    SortedMap<String, Long> ids = new TreeMap<>();
+    for (Map.Entry<String, Long> entry : children(inodeId).tailMap(startAfter, false).entrySet()) {
+      if (ids.size() >= limit) {
+        break;
+      }
+      ids.put(entry.getKey(), entry.getValue());
+    }
+    return ids;
+  }
+
   @Override
   public Optional<Long> getChildId(Long inodeId, String child, ReadOption option) {
     return Optional.ofNullable(children(inodeId).get(child));
@@ -141,8 +171,8 @@ public class HeapInodeStore implements InodeStore {
     mEdges.clear();
   }
 
-  private Map<String, Long> children(long id) {
-    return mEdges.getOrDefault(id, Collections.emptyMap());
+  private NavigableMap<String, Long> children(long id) {
+    return mEdges.getOrDefault(id, Collections.emptyNavigableMap());
   }
 
   @Override
@@ -49,6 +49,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -182,6 +184,37 @@ public class RocksInodeStore implements InodeStore {
     return ids;
   }
 
+  @Override
+  public List<Inode> getChildrenAfter(Long inodeId, String startAfter, int limit,
+      ReadOption option) {
+    SortedMap<String, Long> ids = getChildIdsAfter(inodeId, startAfter, limit, option);
+    List<Inode> children = new ArrayList<>(ids.size());
+    for (long id : ids.values()) {
+      get(id, option).ifPresent(children::add);
+    }
+    return children;
+  }
+
+  @Override
+  public SortedMap<String, Long> getChildIdsAfter(Long inodeId, String startAfter, int limit,
+      ReadOption option) {
+    // The edges are keyed by parent id and child name, so the batch starts where the key of the
+    // start name would be.
+    byte[] startKey = RocksUtils.toByteArray(inodeId, startAfter);
+    SortedMap<String, Long> ids = new TreeMap<>();
+    try (RocksIterator iter = db().newIterator(mEdgesColumn.get(), mReadPrefixSameAsStart)) {
+      iter.seek(startKey);
+      while (iter.isValid() && ids.size() < limit) {
+        if (!Arrays.equals(iter.key(), startKey)) {
+          ids.put(new String(iter.key(), Longs.BYTES, iter.key().length - Longs.BYTES),
+              Longs.fromByteArray(iter.value()));
+        }
+        iter.next();
+      }
+    }
+    return ids;
+  }
+
   @Override
   public Optional<Long> getChildId(Long inodeId, String name, ReadOption option) {
     byte[] id;
@@ -20,6 +20,7 @@ import alluxio.grpc.Command;
 import alluxio.grpc.CommandType;
 import alluxio.grpc.RegisterWorkerPOptions;
 import alluxio.grpc.StorageList;
+import alluxio.grpc.WorkerLoad;
 import alluxio.grpc.WorkerLostStorageInfo;
 import alluxio.heartbeat.HeartbeatContext;
 import alluxio.heartbeat.HeartbeatScheduler;
@@ -266,6 +267,22 @@ public class BlockMasterTest {
     assertEquals(50, workerInfo.getUsedBytes());
   }
 
+  @Test
+  public void updateWorkerLoad() throws Exception {
+    long worker = mBlockMaster.getWorkerId(NET_ADDRESS_1);
+    mBlockMaster.workerRegister(worker, Arrays.asList(Constants.MEDIUM_MEM),
+        ImmutableMap.of(Constants.MEDIUM_MEM, 100L),
+        ImmutableMap.of(Constants.MEDIUM_MEM, 0L), NO_BLOCKS_ON_LOCATION, NO_LOST_STORAGE,
+        RegisterWorkerPOptions.getDefaultInstance());
+
+    mBlockMaster.updateWorkerLoad(worker,
+        WorkerLoad.newBuilder().setActiveReadStreams(3).setActiveWriteStreams(2).build());
+
+    WorkerInfo workerInfo = Iterables.getOnlyElement(mBlockMaster.getWorkerInfoList());
+    assertEquals(3, workerInfo.getActiveReadStreams());
+    assertEquals(2, workerInfo.getActiveWriteStreams());
+  }
+
   @Test
   public void workerHeartbeatUpdatesRemovedBlocks() throws Exception {
     // Create a worker.
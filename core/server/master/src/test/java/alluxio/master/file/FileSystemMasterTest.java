@@ -129,6 +129,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -802,6 +803,23 @@ public final class FileSystemMasterTest {
     }
   }
 
+  /**
+   * Tests the {@link FileSystemMaster#getFileInfo(List, GetStatusContext, ResultStream)} method.
+   */
+  @Test
+  public void getFileInfoBatch() throws Exception {
+    createFileWithSingleBlock(NESTED_FILE_URI);
+    List<Optional<FileInfo>> infos = new ArrayList<>();
+    mFileSystemMaster.getFileInfo(
+        Arrays.asList(NESTED_FILE_URI, ROOT_FILE_URI, NESTED_URI, NESTED_URI.join("DNE")),
+        GetStatusContext.defaults(), infos::add);
+    assertEquals(4, infos.size());
+    assertEquals(NESTED_FILE_URI.getPath(), infos.get(0).get().getPath());
+    assertFalse(infos.get(1).isPresent());
+    assertEquals(NESTED_URI.getPath(), infos.get(2).get().getPath());
+    assertFalse(infos.get(3).isPresent());
+  }
+
   @Test
   public void getFileInfoWithLoadMetadata() throws Exception {
     AlluxioURI ufsMount = new AlluxioURI(mTestFolder.newFolder().getAbsolutePath());
@@ -1065,6 +1083,45 @@ public final class FileSystemMasterTest {
     }
   }
 
+  @Test
+  public void listStatusPartial() throws Exception {
+    final int files = 10;
+    for (int i = 0; i < files; i++) {
+      createFileWithSingleBlock(NESTED_URI.join("file" + String.format("%05d", i)));
+    }
+    List<String> filenames = new ArrayList<>();
+    String startAfter = "";
+    List<FileInfo> infos;
+    do {
+      infos = mFileSystemMaster.listStatus(NESTED_URI, ListStatusContext
+          .mergeFrom(ListStatusPOptions.newBuilder().setLoadMetadataType(LoadMetadataPType.NEVER))
+          .setPartial(startAfter, 3));
+      assertTrue(infos.size() <= 3);
+      for (FileInfo info : infos) {
+        filenames.add(info.getPath());
+        startAfter = info.getName();
+      }
+    } while (infos.size() == 3);
+    // All the children are listed once, in name order.
+    assertEquals(files, filenames.size());
+    for (int i = 0; i < files; i++) {
+      assertEquals(NESTED_URI.join("file" + String.format("%05d", i)).toString(),
+          filenames.get(i));
+    }
+
+    // A file is listed only in the first batch.
+    createFileWithSingleBlock(NESTED_FILE_URI);
+    infos = mFileSystemMaster.listStatus(NESTED_FILE_URI, ListStatusContext
+        .mergeFrom(ListStatusPOptions.newBuilder().setLoadMetadataType(LoadMetadataPType.NEVER))
+        .setPartial("", 1));
+    assertEquals(1, infos.size());
+    assertEquals(NESTED_FILE_URI.getPath(), infos.get(0).getPath());
+    infos = mFileSystemMaster.listStatus(NESTED_FILE_URI, ListStatusContext
+        .mergeFrom(ListStatusPOptions.newBuilder().setLoadMetadataType(LoadMetadataPType.NEVER))
+        .setPartial(NESTED_FILE_URI.getName(), 1));
+    assertEquals(0, infos.size());
+  }
+
   @Test
   public void listStatusRecursive() throws Exception {
     final int files = 10;
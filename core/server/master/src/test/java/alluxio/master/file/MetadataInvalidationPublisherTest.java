@@ -0,0 +1,191 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.ConfigurationRule;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.grpc.MetadataInvalidation;
+import alluxio.grpc.WatchMetadataPResponse;
+import alluxio.master.file.meta.InodeTree;
+
+import com.google.common.collect.ImmutableMap;
+import io.grpc.stub.StreamObserver;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link MetadataInvalidationPublisher}.
+ */
+public final class MetadataInvalidationPublisherTest {
+  private InodeTree mInodeTree;
+  private MetadataInvalidationPublisher mPublisher;
+
+  @Rule
+  public ConfigurationRule mConfigurationRule = new ConfigurationRule(
+      ImmutableMap.of(PropertyKey.MASTER_METADATA_INVALIDATION_MAX_PENDING, "10"),
+      ServerConfiguration.global());
+
+  @Before
+  public void before() {
+    mInodeTree = mock(InodeTree.class);
+    // The tests pass the path as the name of the changed inode
+    when(mInodeTree.resolveChildPath(anyLong(), anyString()))
+        .thenAnswer(invocation -> invocation.getArgument(1));
+    mPublisher = new MetadataInvalidationPublisher(mInodeTree);
+  }
+
+  @Test
+  public void invalidateAllOnSubscribe() {
+    RecordingObserver observer = subscribe("/");
+    verify(mInodeTree).addChangeListener(mPublisher);
+    mPublisher.heartbeat();
+    assertEquals(1, observer.mResponses.size());
+    assertTrue(observer.mResponses.get(0).getInvalidateAll());
+    // Nothing changed since.
+    mPublisher.heartbeat();
+    assertEquals(1, observer.mResponses.size());
+  }
+
+  @Test
+  public void matchPrefixes() {
+    RecordingObserver observer = subscribe("/a", "/b/c");
+    mPublisher.heartbeat();
+    onChange("/a", false);
+    onChange("/a/file", false);
+    onChange("/ab", false);
+    onChange("/b", false);
+    onChange("/b", true);
+    onChange("/b/d", true);
+    mPublisher.heartbeat();
+    Map<String, Boolean> expected = new HashMap<>();
+    expected.put("/a", false);
+    expected.put("/a/file", false);
+    expected.put("/b", true);
+    assertEquals(expected, invalidations(observer.mResponses.get(1)));
+  }
+
+  @Test
+  public void coalesce() {
+    RecordingObserver observer = subscribe("/");
+    mPublisher.heartbeat();
+    onChange("/a", false);
+    onChange("/a", true);
+    onChange("/a", false);
+    mPublisher.heartbeat();
+    assertEquals(Collections.singletonMap("/a", true),
+        invalidations(observer.mResponses.get(1)));
+  }
+
+  @Test
+  public void invalidateAllOnOverflow() {
+    RecordingObserver observer = subscribe("/");
+    mPublisher.heartbeat();
+    for (int i = 0; i < 11; i++) {
+      onChange("/file" + i, false);
+    }
+    mPublisher.heartbeat();
+    assertEquals(2, observer.mResponses.size());
+    assertTrue(observer.mResponses.get(1).getInvalidateAll());
+    assertEquals(0, observer.mResponses.get(1).getInvalidationsCount());
+  }
+
+  @Test
+  public void dropUnresolvedChange() {
+    RecordingObserver observer = subscribe("/");
+    mPublisher.heartbeat();
+    when(mInodeTree.resolveChildPath(1, "deleted")).thenReturn(null);
+    mPublisher.onChange(1, "deleted", false);
+    onChange("/a", false);
+    mPublisher.heartbeat();
+    assertEquals(Collections.singletonMap("/a", false),
+        invalidations(observer.mResponses.get(1)));
+  }
+
+  @Test
+  public void unsubscribeOnFailure() {
+    RecordingObserver observer = subscribe("/");
+    observer.mFail = true;
+    mPublisher.heartbeat();
+    assertEquals(0, mPublisher.getSubscriberCount());
+    verify(mInodeTree).removeChangeListener(mPublisher);
+  }
+
+  @Test
+  public void close() {
+    RecordingObserver observer = subscribe("/");
+    mPublisher.close();
+    assertTrue(observer.mError);
+    assertEquals(0, mPublisher.getSubscriberCount());
+    verify(mInodeTree).removeChangeListener(mPublisher);
+    onChange("/a", false);
+    mPublisher.heartbeat();
+    assertFalse(observer.mResponses.stream().anyMatch(r -> r.getInvalidationsCount() > 0));
+  }
+
+  private void onChange(String path, boolean recursive) {
+    mPublisher.onChange(0, path, recursive);
+  }
+
+  private RecordingObserver subscribe(String... pathPrefixes) {
+    RecordingObserver observer = new RecordingObserver();
+    mPublisher.subscribe(Arrays.asList(pathPrefixes), observer);
+    return observer;
+  }
+
+  private static Map<String, Boolean> invalidations(WatchMetadataPResponse response) {
+    Map<String, Boolean> invalidations = new HashMap<>();
+    for (MetadataInvalidation invalidation : response.getInvalidationsList()) {
+      invalidations.put(invalidation.getPath(), invalidation.getRecursive());
+    }
+    return invalidations;
+  }
+
+  private static final class RecordingObserver implements StreamObserver<WatchMetadataPResponse> {
+    private final List<WatchMetadataPResponse> mResponses = new ArrayList<>();
+    private boolean mFail = false;
+    private boolean mError = false;
+
+    @Override
+    public void onNext(WatchMetadataPResponse response) {
+      if (mFail) {
+        throw new IllegalStateException("call is closed");
+      }
+      mResponses.add(response);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      mError = true;
+    }
+
+    @Override
+    public void onCompleted() {}
+  }
+}
@@ -64,6 +64,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -565,6 +566,30 @@ public final class InodeTreeTest {
     }
   }
 
+  /**
+   * Tests that the change listeners are notified of the created and deleted inodes.
+   */
+  @Test
+  public void changeListener() throws Exception {
+    List<String> changes = new ArrayList<>();
+    InodeChangeListener listener = (parentId, name, recursive) ->
+        changes.add(mTree.resolveChildPath(parentId, name) + ":" + recursive);
+    mTree.addChangeListener(listener);
+
+    createPath(mTree, NESTED_URI, sNestedDirectoryContext);
+    assertTrue(changes.contains("/nested:false"));
+    assertTrue(changes.contains("/nested/test:false"));
+
+    changes.clear();
+    deleteInodeByPath(mTree, NESTED_URI);
+    assertTrue(changes.contains("/nested/test:true"));
+
+    mTree.removeChangeListener(listener);
+    changes.clear();
+    createPath(mTree, TEST_URI, sFileContext);
+    assertTrue(changes.isEmpty());
+  }
+
   @Test
   public void setPinned() throws Exception {
     createPath(mTree, NESTED_URI, sNestedDirectoryContext);
@@ -172,6 +172,62 @@ public class InodeStoreTest {
     assertEquals(9, Iterables.size(mStore.getChildren(mRoot)));
   }
 
+  @Test
+  public void getChildrenAfter() {
+    writeInode(mRoot);
+    for (int i = 1; i < 10; i++) {
+      MutableInodeFile file = inodeFile(i, 0, "file" + i);
+      writeInode(file);
+      writeEdge(mRoot, file);
+    }
+    // The children of another directory are not listed.
+    MutableInodeDirectory dir = inodeDir(10, 0, "dir");
+    writeInode(dir);
+    writeEdge(mRoot, dir);
+    MutableInodeFile nested = inodeFile(11, 10, "nested");
+    writeInode(nested);
+    writeEdge(dir, nested);
+
+    assertEquals(Arrays.asList("dir", "file1", "file2"), names(mStore.getChildrenAfter(mRoot,
+        "", 3)));
+    assertEquals(Arrays.asList("file3", "file4", "file5"), names(mStore.getChildrenAfter(mRoot,
+        "file2", 3)));
+    assertEquals(Arrays.asList("file9"), names(mStore.getChildrenAfter(mRoot, "file8", 3)));
+    // The start name does not need to be a child.
+    assertEquals(Arrays.asList("file5"), names(mStore.getChildrenAfter(mRoot, "file4x", 1)));
+    assertEquals(0, mStore.getChildrenAfter(mRoot, "file9", 3).size());
+  }
+
+  @Test
+  public void getChildrenAfterWithEvictionsAndRemovals() {
+    writeInode(mRoot);
+    // More children than the cache holds, so that the caching store lists both cached edges and
+    // edges which were evicted to the backing store.
+    List<String> expected = new ArrayList<>();
+    for (int i = 1; i <= 10 * CACHE_SIZE; i++) {
+      MutableInodeFile file = inodeFile(i, 0, String.format("file%03d", i));
+      writeInode(file);
+      writeEdge(mRoot, file);
+      if (i % 3 == 0) {
+        removeParentEdge(file);
+        removeInode(file);
+      } else {
+        expected.add(file.getName());
+      }
+    }
+    List<String> listed = new ArrayList<>();
+    String startAfter = "";
+    while (true) {
+      List<Inode> batch = mStore.getChildrenAfter(mRoot, startAfter, 7);
+      if (batch.isEmpty()) {
+        break;
+      }
+      listed.addAll(names(batch));
+      startAfter = batch.get(batch.size() - 1).getName();
+    }
+    assertEquals(expected, listed);
+  }
+
   @Test
   public void repeatedAddRemoveAndList() {
     MutableInodeFile child = inodeFile(1, 0, "child");
@@ -243,6 +299,14 @@ public class InodeStoreTest {
         Iterables.size(mStore.getChildren(mStore.get(middleDir - 1).get().asDirectory())));
   }
 
+  private static List<String> names(List<Inode> inodes) {
+    List<String> names = new ArrayList<>();
+    for (Inode inode : inodes) {
+      names.add(inode.getName());
+    }
+    return names;
+  }
+
   private void writeInode(MutableInode<?> inode) {
     try (LockResource lr = mLockManager.lockInode(inode, LockMode.WRITE, false)) {
       mStore.writeInode(inode);
@@ -52,6 +52,9 @@ public abstract class AbstractBlockStoreEventListener implements BlockStoreEvent
   @Override
   public void onBlockLost(long blockId) {}
 
+  @Override
+  public void onBlockFound(long blockId, BlockStoreLocation location) {}
+
   @Override
   public void onStorageLost(String tierAlias, String dirPath) {}
 
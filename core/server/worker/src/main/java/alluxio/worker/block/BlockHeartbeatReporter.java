@@ -119,6 +119,15 @@ public final class BlockHeartbeatReporter extends AbstractBlockStoreEventListene
     }
   }
 
+  @Override
+  public void onBlockFound(long blockId, BlockStoreLocation location) {
+    synchronized (mLock) {
+      mRemovedBlocks.remove(blockId);
+      removeBlockFromAddedBlocks(blockId);
+      addBlockToAddedBlocks(blockId, location);
+    }
+  }
+
   @Override
   public void onStorageLost(String tierAlias, String dirPath) {
     synchronized (mLock) {
@@ -16,33 +16,35 @@ import alluxio.conf.ServerConfiguration;
 import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidWorkerStateException;
-import alluxio.resource.LockResource;
-import alluxio.resource.ResourcePool;
 
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.annotation.Nullable;
-import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Handle all block locks.
+ *
+ * The manager does not have a global lock. The block locks are reference counted in a concurrent
+ * map, whose per-key updates serialize the threads locking the same block only. The number of
+ * block locks is bounded by {@link PropertyKey#WORKER_TIERED_STORE_BLOCK_LOCKS} permits. A lock
+ * record is owned by the thread which removes it from the record map, so that unlocking a lock
+ * and cleaning up its session release it exactly once. The lock ids of a session are updated
+ * under the key of the session, so cleaning up a session is atomic with respect to the session
+ * taking new locks.
  */
 @ThreadSafe
 public final class BlockLockManager {
@@ -51,32 +53,18 @@ public final class BlockLockManager {
   /** The unique id of each lock. */
   private static final AtomicLong LOCK_ID_GEN = new AtomicLong(0);
 
- /** A pool of read write locks. */
-  private final ResourcePool<ClientRWLock> mLockPool = new ResourcePool<ClientRWLock>(
-      ServerConfiguration.getInt(PropertyKey.WORKER_TIERED_STORE_BLOCK_LOCKS)) {
-    @Override
-    public void close() {}
-
-    @Override
-    public ClientRWLock createNewResource() {
-      return new ClientRWLock();
-    }
-  };
+  /** The permits to allocate block locks, one per block lock in use. */
+  private final Semaphore mLockPermits =
+      new Semaphore(ServerConfiguration.getInt(PropertyKey.WORKER_TIERED_STORE_BLOCK_LOCKS));
 
   /** A map from block id to the read write lock used to guard that block. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, ClientRWLock> mLocks = new HashMap<>();
+  private final ConcurrentMap<Long, ClientRWLock> mLocks = new ConcurrentHashMap<>();
 
   /** A map from a session id to all the locks hold by this session. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, Set<Long>> mSessionIdToLockIdsMap = new HashMap<>();
+  private final ConcurrentMap<Long, Set<Long>> mSessionIdToLockIdsMap = new ConcurrentHashMap<>();
 
   /** A map from a lock id to the lock record of it. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, LockRecord> mLockIdToRecordMap = new HashMap<>();
-
-  /** Lock to guard metadata operations. */
-  private final ReentrantReadWriteLock mSharedMapsLock = new ReentrantReadWriteLock();
+  private final ConcurrentMap<Long, LockRecord> mLockIdToRecordMap = new ConcurrentHashMap<>();
 
   /**
    * Constructs a new {@link BlockLockManager}.
@@ -88,7 +76,7 @@ public final class BlockLockManager {
    *
    * If all {@link PropertyKey#WORKER_TIERED_STORE_BLOCK_LOCKS} are already in use and no lock has
    * been allocated for the specified block, this method will need to wait until a lock can be
-   * acquired from the lock pool.
+   * allocated.
    *
    * @param sessionId the session id
    * @param blockId the block id
@@ -105,7 +93,7 @@ public final class BlockLockManager {
    *
    * If all {@link PropertyKey#WORKER_TIERED_STORE_BLOCK_LOCKS} are already in use and no lock has
    * been allocated for the specified block, this method will need to wait until a lock can be
-   * acquired from the lock pool.
+   * allocated.
    *
    * @param sessionId the session id
    * @param blockId the block id
@@ -125,6 +113,7 @@ public final class BlockLockManager {
     Lock lock = blockLockType == BlockLockType.READ ? blockLock.readLock() : blockLock.writeLock();
     // Make sure the session isn't already holding the block lock.
     if (blockLockType == BlockLockType.WRITE && sessionHoldsLock(sessionId, blockId)) {
+      releaseBlockLockIfUnused(blockId);
       throw new IllegalStateException(String
           .format("Session %s attempted to take a write lock on block %s, but the session already"
               + " holds a lock on the block", sessionId, blockId));
@@ -140,24 +129,26 @@ public final class BlockLockManager {
                   + "session: {}, blockLockType: {}, lock reference count = {}",
               blockId, time, unit, sessionId, blockLockType,
               blockLock.getReferenceCount());
+          releaseBlockLockIfUnused(blockId);
           return BlockWorker.INVALID_LOCK_ID;
         }
       } catch (InterruptedException e) {
         Thread.currentThread().interrupt();
+        releaseBlockLockIfUnused(blockId);
         return BlockWorker.INVALID_LOCK_ID;
       }
     }
     try {
       long lockId = LOCK_ID_GEN.getAndIncrement();
-      try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-        mLockIdToRecordMap.put(lockId, new LockRecord(sessionId, blockId, lock));
-        Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
+      LockRecord record = new LockRecord(sessionId, blockId, lock);
+      mSessionIdToLockIdsMap.compute(sessionId, (id, sessionLockIds) -> {
         if (sessionLockIds == null) {
-          mSessionIdToLockIdsMap.put(sessionId, Sets.newHashSet(lockId));
-        } else {
-          sessionLockIds.add(lockId);
+          sessionLockIds = ConcurrentHashMap.newKeySet();
         }
-      }
+        mLockIdToRecordMap.put(lockId, record);
+        sessionLockIds.add(lockId);
+        return sessionLockIds;
+      });
       return lockId;
     } catch (Throwable e) {
       // If an unexpected exception occurs, we should release the lock to be conservative.
@@ -172,59 +163,64 @@ public final class BlockLockManager {
    * @return whether the specified session holds a lock on the specified block
    */
   private boolean sessionHoldsLock(long sessionId, long blockId) {
-    try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-      Set<Long> sessionLocks = mSessionIdToLockIdsMap.get(sessionId);
-      if (sessionLocks == null) {
-        return false;
-      }
-      for (Long lockId : sessionLocks) {
-        LockRecord lockRecord = mLockIdToRecordMap.get(lockId);
-        if (lockRecord.getBlockId() == blockId) {
-          return true;
-        }
-      }
+    Set<Long> sessionLocks = mSessionIdToLockIdsMap.get(sessionId);
+    if (sessionLocks == null) {
       return false;
     }
+    for (Long lockId : sessionLocks) {
+      LockRecord lockRecord = mLockIdToRecordMap.get(lockId);
+      if (lockRecord != null && lockRecord.getBlockId() == blockId) {
+        return true;
+      }
+    }
+    return false;
   }
 
   /**
-   * Returns the block lock for the given block id, acquiring such a lock if it doesn't exist yet.
+   * Returns the block lock for the given block id, allocating such a lock if it doesn't exist yet.
+   * The reference count of the lock is incremented.
    *
-   * If all locks have been allocated, this method will block until one can be acquired.
+   * If all locks have been allocated, this method will block until one can be allocated.
    *
    * @param blockId the block id to get the lock for
    * @return the block lock
    */
   private ClientRWLock getBlockLock(long blockId) {
-    // Loop until we either find the block lock in the mLocks map, or successfully acquire a new
-    // block lock from the lock pool.
+    // Loop until we either find the block lock in the mLocks map, or successfully allocate a new
+    // block lock.
     while (true) {
-      ClientRWLock blockLock;
       // Check whether a lock has already been allocated for the block id.
-      try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-        blockLock = mLocks.get(blockId);
-        if (blockLock != null) {
-          blockLock.addReference();
-          return blockLock;
-        }
-      }
-      // Since a block lock hasn't already been allocated, try to acquire a new one from the pool.
-      // Acquire the lock outside the synchronized section because #acquire might need to block.
-      // We shouldn't wait indefinitely in acquire because the another lock for this block could be
-      // allocated to another thread, in which case we could just use that lock.
-      blockLock = mLockPool.acquire(1, TimeUnit.SECONDS);
+      ClientRWLock blockLock = mLocks.computeIfPresent(blockId, (id, existing) -> {
+        existing.addReference();
+        return existing;
+      });
       if (blockLock != null) {
-        try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-          // Check if someone else acquired a block lock for blockId while we were acquiring one.
-          if (mLocks.containsKey(blockId)) {
-            mLockPool.release(blockLock);
-            blockLock = mLocks.get(blockId);
-          } else {
-            mLocks.put(blockId, blockLock);
-          }
-          blockLock.addReference();
-          return blockLock;
+        return blockLock;
+      }
+      // Since a block lock hasn't already been allocated, try to get a permit for a new one.
+      // We shouldn't wait indefinitely because another lock for this block could be allocated to
+      // another thread, in which case we could just use that lock.
+      boolean permitted;
+      try {
+        permitted = mLockPermits.tryAcquire(1, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+      if (permitted) {
+        ClientRWLock newLock = new ClientRWLock();
+        // The reference is added inside the map update, so that the lock is never in the map
+        // without a reference for a concurrent release to remove it.
+        blockLock = mLocks.compute(blockId, (id, existing) -> {
+          ClientRWLock lock = existing == null ? newLock : existing;
+          lock.addReference();
+          return lock;
+        });
+        if (blockLock != newLock) {
+          // Someone else allocated a block lock for blockId while we were getting a permit.
+          mLockPermits.release();
         }
+        return blockLock;
       }
     }
   }
@@ -236,23 +232,12 @@ public final class BlockLockManager {
    * @return whether the lock corresponding the lock ID has been successfully unlocked
    */
   public boolean unlockBlockNoException(long lockId) {
-    Lock lock;
-    LockRecord record;
-    try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-      record = mLockIdToRecordMap.get(lockId);
-      if (record == null) {
-        return false;
-      }
-      long sessionId = record.getSessionId();
-      lock = record.getLock();
-      mLockIdToRecordMap.remove(lockId);
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-      sessionLockIds.remove(lockId);
-      if (sessionLockIds.isEmpty()) {
-        mSessionIdToLockIdsMap.remove(sessionId);
-      }
+    LockRecord record = mLockIdToRecordMap.remove(lockId);
+    if (record == null) {
+      return false;
     }
-    unlock(lock, record.getBlockId());
+    removeSessionLockId(record.getSessionId(), lockId);
+    unlock(record.getLock(), record.getBlockId());
     return true;
   }
 
@@ -278,30 +263,20 @@ public final class BlockLockManager {
    */
   // TODO(bin): Temporary, remove me later.
   public boolean unlockBlock(long sessionId, long blockId) {
-    try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-      if (sessionLockIds == null) {
-        return false;
-      }
-      for (long lockId : sessionLockIds) {
-        LockRecord record = mLockIdToRecordMap.get(lockId);
-        if (record == null) {
-          // TODO(peis): Should this be a check failure?
-          return false;
-        }
-        if (blockId == record.getBlockId()) {
-          mLockIdToRecordMap.remove(lockId);
-          sessionLockIds.remove(lockId);
-          if (sessionLockIds.isEmpty()) {
-            mSessionIdToLockIdsMap.remove(sessionId);
-          }
-          Lock lock = record.getLock();
-          unlock(lock, blockId);
-          return true;
-        }
-      }
+    Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
+    if (sessionLockIds == null) {
       return false;
     }
+    for (long lockId : sessionLockIds) {
+      LockRecord record = mLockIdToRecordMap.get(lockId);
+      if (record != null && blockId == record.getBlockId()
+          && mLockIdToRecordMap.remove(lockId, record)) {
+        removeSessionLockId(sessionId, lockId);
+        unlock(record.getLock(), blockId);
+        return true;
+      }
+    }
+    return false;
   }
 
   /**
@@ -316,20 +291,18 @@ public final class BlockLockManager {
    */
   public void validateLock(long sessionId, long blockId, long lockId)
       throws BlockDoesNotExistException, InvalidWorkerStateException {
-    try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-      LockRecord record = mLockIdToRecordMap.get(lockId);
-      if (record == null) {
-        throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
-            lockId);
-      }
-      if (sessionId != record.getSessionId()) {
-        throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_SESSION,
-            lockId, record.getSessionId(), sessionId);
-      }
-      if (blockId != record.getBlockId()) {
-        throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_BLOCK, lockId,
-            record.getBlockId(), blockId);
-      }
+    LockRecord record = mLockIdToRecordMap.get(lockId);
+    if (record == null) {
+      throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
+          lockId);
+    }
+    if (sessionId != record.getSessionId()) {
+      throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_SESSION,
+          lockId, record.getSessionId(), sessionId);
+    }
+    if (blockId != record.getBlockId()) {
+      throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_BLOCK, lockId,
+          record.getBlockId(), blockId);
     }
   }
 
@@ -339,22 +312,17 @@ public final class BlockLockManager {
    * @param sessionId the id of the session to cleanup
    */
   public void cleanupSession(long sessionId) {
-    try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-      if (sessionLockIds == null) {
-        return;
-      }
-      for (long lockId : sessionLockIds) {
-        LockRecord record = mLockIdToRecordMap.get(lockId);
-        if (record == null) {
-          LOG.error(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID.getMessage(lockId));
-          continue;
-        }
-        Lock lock = record.getLock();
-        unlock(lock, record.getBlockId());
-        mLockIdToRecordMap.remove(lockId);
+    Set<Long> sessionLockIds = mSessionIdToLockIdsMap.remove(sessionId);
+    if (sessionLockIds == null) {
+      return;
+    }
+    for (long lockId : sessionLockIds) {
+      LockRecord record = mLockIdToRecordMap.remove(lockId);
+      if (record == null) {
+        // The lock is being unlocked concurrently
+        continue;
       }
-      mSessionIdToLockIdsMap.remove(sessionId);
+      unlock(record.getLock(), record.getBlockId());
     }
   }
 
@@ -364,13 +332,24 @@ public final class BlockLockManager {
    * @return a set of locked blocks
    */
   public Set<Long> getLockedBlocks() {
-    try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-      Set<Long> set = new HashSet<>();
-      for (LockRecord lockRecord : mLockIdToRecordMap.values()) {
-        set.add(lockRecord.getBlockId());
-      }
-      return set;
+    Set<Long> set = new HashSet<>();
+    for (LockRecord lockRecord : mLockIdToRecordMap.values()) {
+      set.add(lockRecord.getBlockId());
     }
+    return set;
+  }
+
+  /**
+   * Removes a lock id from the lock ids of a session, and the session once it holds no lock.
+   *
+   * @param sessionId the session id
+   * @param lockId the lock id
+   */
+  private void removeSessionLockId(long sessionId, long lockId) {
+    mSessionIdToLockIdsMap.computeIfPresent(sessionId, (id, sessionLockIds) -> {
+      sessionLockIds.remove(lockId);
+      return sessionLockIds.isEmpty() ? null : sessionLockIds;
+    });
   }
 
   /**
@@ -386,23 +365,23 @@ public final class BlockLockManager {
   }
 
   /**
-   * Checks whether anyone is using the block lock for the given block id, returning the lock to
-   * the lock pool if it is unused.
+   * Drops a reference to the block lock for the given block id, releasing its permit if the lock
+   * is no longer referenced.
    *
    * @param blockId the block id for which to potentially release the block lock
    */
   private void releaseBlockLockIfUnused(long blockId) {
-    try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-      ClientRWLock lock = mLocks.get(blockId);
-      if (lock == null) {
-        // Someone else probably released the block lock already.
-        return;
-      }
+    boolean[] released = new boolean[1];
+    mLocks.computeIfPresent(blockId, (id, lock) -> {
       // If we were the last worker with a reference to the lock, clean it up.
       if (lock.dropReference() == 0) {
-        mLocks.remove(blockId);
-        mLockPool.release(lock);
+        released[0] = true;
+        return null;
       }
+      return lock;
+    });
+    if (released[0]) {
+      mLockPermits.release();
     }
   }
 
@@ -410,39 +389,37 @@ public final class BlockLockManager {
    * Checks the internal state of the manager to make sure invariants hold.
    *
    * This method is intended for testing purposes. A runtime exception will be thrown if invalid
-   * state is encountered.
+   * state is encountered. The manager must not be used concurrently.
    */
   public void validate() {
-    try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-      // Compute block lock reference counts based off of lock records
-      ConcurrentMap<Long, AtomicInteger> blockLockReferenceCounts = new ConcurrentHashMap<>();
-      for (LockRecord record : mLockIdToRecordMap.values()) {
-        blockLockReferenceCounts.putIfAbsent(record.getBlockId(), new AtomicInteger(0));
-        blockLockReferenceCounts.get(record.getBlockId()).incrementAndGet();
-      }
+    // Compute block lock reference counts based off of lock records
+    ConcurrentMap<Long, AtomicInteger> blockLockReferenceCounts = new ConcurrentHashMap<>();
+    for (LockRecord record : mLockIdToRecordMap.values()) {
+      blockLockReferenceCounts.putIfAbsent(record.getBlockId(), new AtomicInteger(0));
+      blockLockReferenceCounts.get(record.getBlockId()).incrementAndGet();
+    }
 
-      // Check that the reference count for each block lock matches the lock record counts.
-      for (Entry<Long, ClientRWLock> entry : mLocks.entrySet()) {
-        long blockId = entry.getKey();
-        ClientRWLock lock = entry.getValue();
-        Integer recordCount = blockLockReferenceCounts.get(blockId).get();
-        Integer referenceCount = lock.getReferenceCount();
-        if (!Objects.equal(recordCount, referenceCount)) {
-          throw new IllegalStateException("There are " + recordCount + " lock records for block"
-              + " id " + blockId + ", but the reference count is " + referenceCount);
-        }
+    // Check that the reference count for each block lock matches the lock record counts.
+    for (Entry<Long, ClientRWLock> entry : mLocks.entrySet()) {
+      long blockId = entry.getKey();
+      ClientRWLock lock = entry.getValue();
+      Integer recordCount = blockLockReferenceCounts.get(blockId).get();
+      Integer referenceCount = lock.getReferenceCount();
+      if (!Objects.equal(recordCount, referenceCount)) {
+        throw new IllegalStateException("There are " + recordCount + " lock records for block"
+            + " id " + blockId + ", but the reference count is " + referenceCount);
       }
+    }
 
-      // Check that if a lock id is mapped to by a session id, the lock record for that lock id
-      // contains that session id.
-      for (Entry<Long, Set<Long>> entry : mSessionIdToLockIdsMap.entrySet()) {
-        for (Long lockId : entry.getValue()) {
-          LockRecord record = mLockIdToRecordMap.get(lockId);
-          if (record.getSessionId() != entry.getKey()) {
-            throw new IllegalStateException("The session id map contains lock id " + lockId
-                + "under session id " + entry.getKey() + ", but the record for that lock id ("
-                + record + ")" + " doesn't contain that session id");
-          }
+    // Check that if a lock id is mapped to by a session id, the lock record for that lock id
+    // contains that session id.
+    for (Entry<Long, Set<Long>> entry : mSessionIdToLockIdsMap.entrySet()) {
+      for (Long lockId : entry.getValue()) {
+        LockRecord record = mLockIdToRecordMap.get(lockId);
+        if (record.getSessionId() != entry.getKey()) {
+          throw new IllegalStateException("The session id map contains lock id " + lockId
+              + "under session id " + entry.getKey() + ", but the record for that lock id ("
+              + record + ")" + " doesn't contain that session id");
         }
       }
     }
@@ -34,6 +34,7 @@ import alluxio.grpc.RegisterWorkerPOptions;
 import alluxio.grpc.RegisterWorkerPRequest;
 import alluxio.grpc.ServiceType;
 import alluxio.grpc.StorageList;
+import alluxio.grpc.WorkerLoad;
 import alluxio.master.MasterClientContext;
 import alluxio.retry.RetryPolicy;
 import alluxio.wire.WorkerNetAddress;
@@ -197,15 +198,17 @@ public class BlockMasterClient extends AbstractMasterClient {
    * @param addedBlocks a mapping from storage tier alias to added blocks
    * @param lostStorage a mapping from storage tier alias to a list of lost storage paths
    * @param metrics a list of worker metrics
+   * @param load the current load of the worker
    * @return an optional command for the worker to execute
    */
   public synchronized Command heartbeat(final long workerId,
       final Map<String, Long> capacityBytesOnTiers, final Map<String, Long> usedBytesOnTiers,
       final List<Long> removedBlocks, final Map<BlockStoreLocation, List<Long>> addedBlocks,
-      final Map<String, List<String>> lostStorage, final List<Metric> metrics)
-      throws IOException {
+      final Map<String, List<String>> lostStorage, final List<Metric> metrics,
+      final WorkerLoad load) throws IOException {
     final BlockHeartbeatPOptions options = BlockHeartbeatPOptions.newBuilder()
-        .addAllMetrics(metrics).putAllCapacityBytesOnTiers(capacityBytesOnTiers).build();
+        .addAllMetrics(metrics).putAllCapacityBytesOnTiers(capacityBytesOnTiers)
+        .setLoad(load).build();
 
     final List<LocationBlockIdListEntry> entryList = convertBlockListMapToProto(addedBlocks);
 
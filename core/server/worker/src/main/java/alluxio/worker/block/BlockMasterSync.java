@@ -21,7 +21,9 @@ import alluxio.exception.FailedToAcquireRegisterLeaseException;
 import alluxio.grpc.Command;
 import alluxio.grpc.ConfigProperty;
 import alluxio.grpc.Scope;
+import alluxio.grpc.WorkerLoad;
 import alluxio.heartbeat.HeartbeatExecutor;
+import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.retry.ExponentialTimeBoundedRetry;
 import alluxio.retry.RetryPolicy;
@@ -185,11 +187,18 @@ public final class BlockMasterSync implements HeartbeatExecutor {
     // Send the heartbeat and execute the response
     Command cmdFromMaster = null;
     List<alluxio.grpc.Metric> metrics = MetricsSystem.reportWorkerMetrics();
+    // Clients use the load to spread their reads and writes across workers
+    WorkerLoad load = WorkerLoad.newBuilder()
+        .setActiveReadStreams(
+            MetricsSystem.counter(MetricKey.WORKER_ACTIVE_RPC_READ_COUNT.getName()).getCount())
+        .setActiveWriteStreams(
+            MetricsSystem.counter(MetricKey.WORKER_ACTIVE_RPC_WRITE_COUNT.getName()).getCount())
+        .build();
 
     try {
       cmdFromMaster = mMasterClient.heartbeat(mWorkerId.get(), storeMeta.getCapacityBytesOnTiers(),
           storeMeta.getUsedBytesOnTiers(), blockReport.getRemovedBlocks(),
-          blockReport.getAddedBlocks(), blockReport.getLostStorage(), metrics);
+          blockReport.getAddedBlocks(), blockReport.getLostStorage(), metrics, load);
       handleMasterCommand(cmdFromMaster);
       mLastSuccessfulHeartbeatMs = System.currentTimeMillis();
     } catch (IOException | ConnectionFailedException e) {
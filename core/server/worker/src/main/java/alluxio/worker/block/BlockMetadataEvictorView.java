@@ -11,6 +11,7 @@
 
 package alluxio.worker.block;
 
+import alluxio.collections.LongHashSet;
 import alluxio.exception.BlockDoesNotExistException;
 import alluxio.master.block.BlockId;
 import alluxio.worker.block.meta.BlockMeta;
@@ -24,7 +25,6 @@ import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
@@ -44,10 +44,10 @@ public class BlockMetadataEvictorView extends BlockMetadataView {
   private static final Logger LOG = LoggerFactory.getLogger(BlockMetadataEvictorView.class);
 
   /** A list of pinned inodes, including inodes which are scheduled for async persist. */
-  private final Set<Long> mPinnedInodes = new HashSet<>();
+  private final LongHashSet mPinnedInodes;
 
   /** Indices of locks that are being used. */
-  private final Set<Long> mInUseBlocks = new HashSet<>();
+  private final LongHashSet mInUseBlocks;
 
   /**
    * Creates a new instance of {@link BlockMetadataEvictorView}. Now we always create a new view
@@ -61,9 +61,8 @@ public class BlockMetadataEvictorView extends BlockMetadataView {
   public BlockMetadataEvictorView(BlockMetadataManager manager, Set<Long> pinnedInodes,
       Set<Long> lockedBlocks) {
     super(manager);
-    mPinnedInodes.addAll(Preconditions.checkNotNull(pinnedInodes, "pinnedInodes"));
-    Preconditions.checkNotNull(lockedBlocks, "lockedBlocks");
-    mInUseBlocks.addAll(lockedBlocks);
+    mPinnedInodes = new LongHashSet(Preconditions.checkNotNull(pinnedInodes, "pinnedInodes"));
+    mInUseBlocks = new LongHashSet(Preconditions.checkNotNull(lockedBlocks, "lockedBlocks"));
   }
 
   @Override
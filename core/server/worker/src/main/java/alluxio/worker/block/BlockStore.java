@@ -355,4 +355,11 @@ public interface BlockStore extends SessionCleanable, Closeable {
    * @return true if at least one storage path failed check and is removed, false otherwise
    */
   boolean checkStorage();
+
+  /**
+   * Verifies the blocks loaded from the block indexes of the storage dirs against the block
+   * files, and records the blocks of the dirs in their indexes afterwards. The store can be used
+   * while it is verified.
+   */
+  void verifyBlockIndex();
 }
@@ -108,6 +108,15 @@ public interface BlockStoreEventListener {
    */
   void onBlockLost(long blockId);
 
+  /**
+   * Actions when a block is found in a storage dir without having been committed by this worker,
+   * e.g. when the block index of the dir missed it.
+   *
+   * @param blockId the id of the found block
+   * @param location the location of the found block
+   */
+  void onBlockFound(long blockId, BlockStoreLocation location);
+
   /**
    * Actions when a storage dir is lost.
    *
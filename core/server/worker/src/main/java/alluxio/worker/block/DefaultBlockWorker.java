@@ -73,7 +73,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -274,6 +274,18 @@ public class DefaultBlockWorker extends AbstractWorker implements BlockWorker {
                   ServerConfiguration.global(), ServerUserState.global()));
     }
 
+    // Verify the blocks loaded from the block indexes of the storage dirs once the block store
+    // listeners are registered, so the differences are reported to the master
+    if (ServerConfiguration.getBoolean(PropertyKey.WORKER_TIERED_STORE_BLOCK_INDEX_ENABLED)) {
+      getExecutorService().submit(() -> {
+        try {
+          mLocalBlockStore.verifyBlockIndex();
+        } catch (RuntimeException e) {
+          LOG.error("Failed to verify the block indexes of the storage dirs", e);
+        }
+      });
+    }
+
     // Mounts the embedded Fuse application
     if (ServerConfiguration.getBoolean(PropertyKey.WORKER_FUSE_ENABLED)) {
       mFuseManager.start();
@@ -492,7 +504,7 @@ public class DefaultBlockWorker extends AbstractWorker implements BlockWorker {
     }
     try {
       BlockReader reader = mLocalBlockStore.getBlockReader(sessionId, blockId, lockId);
-      ((FileChannel) reader.getChannel()).position(offset);
+      ((SeekableByteChannel) reader.getChannel()).position(offset);
       mLocalBlockStore.accessBlock(sessionId, blockId);
       return new DelegatingBlockReader(reader, () -> {
         try {
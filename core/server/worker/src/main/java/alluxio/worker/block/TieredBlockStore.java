@@ -11,6 +11,10 @@
 
 package alluxio.worker.block;
 
+import alluxio.Constants;
+import alluxio.Sessions;
+import alluxio.collections.LongHashSet;
+import alluxio.collections.LongObjectHashMap;
 import alluxio.conf.PropertyKey;
 import alluxio.conf.ServerConfiguration;
 import alluxio.exception.BlockAlreadyExistsException;
@@ -27,11 +31,17 @@ import alluxio.worker.block.annotator.BlockIterator;
 import alluxio.worker.block.annotator.BlockOrder;
 import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.block.io.BlockWriter;
+import alluxio.worker.block.io.OffHeapBlock;
+import alluxio.worker.block.io.OffHeapBlockReader;
+import alluxio.worker.block.io.OffHeapBlockWriter;
 import alluxio.worker.block.io.StoreBlockReader;
 import alluxio.worker.block.io.StoreBlockWriter;
 import alluxio.worker.block.management.DefaultStoreLoadTracker;
 import alluxio.worker.block.management.ManagementTaskCoordinator;
 import alluxio.worker.block.meta.BlockMeta;
+import alluxio.worker.block.meta.DefaultBlockMeta;
+import alluxio.worker.block.meta.DefaultStorageDir;
+import alluxio.worker.block.meta.OffHeapStorageDir;
 import alluxio.worker.block.meta.StorageDir;
 import alluxio.worker.block.meta.StorageDirView;
 import alluxio.worker.block.meta.StorageTier;
@@ -43,12 +53,17 @@ import com.google.common.base.Throwables;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -98,7 +113,7 @@ public class TieredBlockStore implements BlockStore {
       new CopyOnWriteArrayList<>();
 
   /** A set of pinned inodes fetched from the master. */
-  private final Set<Long> mPinnedInodes = new HashSet<>();
+  private final LongHashSet mPinnedInodes = new LongHashSet();
 
   /** Lock to guard metadata operations. */
   private final ReentrantReadWriteLock mMetadataLock = new ReentrantReadWriteLock();
@@ -208,6 +223,11 @@ public class TieredBlockStore implements BlockStore {
     try (LockResource r = new LockResource(mMetadataReadLock)) {
       checkTempBlockOwnedBySession(sessionId, blockId);
       TempBlockMeta tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
+      StorageDir dir = tempBlockMeta.getParentDir();
+      if (dir instanceof OffHeapStorageDir) {
+        return new OffHeapBlockWriter(tempBlockMeta,
+            ((OffHeapStorageDir) dir).getBlockData(blockId));
+      }
       return new StoreBlockWriter(tempBlockMeta);
     }
   }
@@ -219,6 +239,11 @@ public class TieredBlockStore implements BlockStore {
     mLockManager.validateLock(sessionId, blockId, lockId);
     try (LockResource r = new LockResource(mMetadataReadLock)) {
       BlockMeta blockMeta = mMetaManager.getBlockMeta(blockId);
+      StorageDir dir = blockMeta.getParentDir();
+      if (dir instanceof OffHeapStorageDir) {
+        return new OffHeapBlockReader(sessionId, blockMeta,
+            ((OffHeapStorageDir) dir).getBlockData(blockId));
+      }
       return new StoreBlockReader(sessionId, blockMeta);
     }
   }
@@ -228,7 +253,12 @@ public class TieredBlockStore implements BlockStore {
       throws BlockAlreadyExistsException, WorkerOutOfSpaceException, IOException {
     LOG.debug("createBlock: sessionId={}, blockId={}, options={}", sessionId, blockId, options);
     TempBlockMeta tempBlockMeta = createBlockMetaInternal(sessionId, blockId, true, options);
-    createBlockFile(tempBlockMeta.getPath());
+    StorageDir dir = tempBlockMeta.getParentDir();
+    if (dir instanceof OffHeapStorageDir) {
+      ((OffHeapStorageDir) dir).createBlockData(blockId);
+    } else {
+      createBlockFile(tempBlockMeta.getPath());
+    }
     return tempBlockMeta;
   }
 
@@ -552,17 +582,15 @@ public class TieredBlockStore implements BlockStore {
   private void abortBlockInternal(long sessionId, long blockId) throws BlockDoesNotExistException,
       BlockAlreadyExistsException, InvalidWorkerStateException, IOException {
 
-    String path;
     TempBlockMeta tempBlockMeta;
     try (LockResource r = new LockResource(mMetadataReadLock)) {
       checkTempBlockOwnedBySession(sessionId, blockId);
       tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
-      path = tempBlockMeta.getPath();
     }
 
     // The metadata lock is released during heavy IO. The temp block is private to one session, so
     // we do not lock it.
-    Files.delete(Paths.get(path));
+    deleteBlockData(blockId, tempBlockMeta.getParentDir(), tempBlockMeta.getPath());
 
     try (LockResource r = new LockResource(mMetadataWriteLock)) {
       mMetaManager.abortTempBlockMeta(tempBlockMeta);
@@ -601,7 +629,10 @@ public class TieredBlockStore implements BlockStore {
     }
 
     // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
-    FileUtils.move(srcPath, dstPath);
+    // The data of an off-heap block is keyed by its id, so there is nothing to move.
+    if (!(tempBlockMeta.getParentDir() instanceof OffHeapStorageDir)) {
+      FileUtils.move(srcPath, dstPath);
+    }
 
     try (LockResource r = new LockResource(mMetadataWriteLock)) {
       mMetaManager.commitTempBlockMeta(tempBlockMeta);
@@ -917,7 +948,8 @@ public class TieredBlockStore implements BlockStore {
       dstFilePath = dstTempBlock.getCommitPath();
 
       // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
-      FileUtils.move(srcFilePath, dstFilePath);
+      moveBlockData(blockId, srcBlockMeta.getParentDir(), srcFilePath,
+          dstTempBlock.getParentDir(), dstFilePath);
 
       try (LockResource r = new LockResource(mMetadataWriteLock)) {
         // If this metadata update fails, we panic for now.
@@ -946,11 +978,84 @@ public class TieredBlockStore implements BlockStore {
    */
   private void removeBlockFileAndMeta(BlockMeta blockMeta)
       throws BlockDoesNotExistException, IOException {
-    String filePath = blockMeta.getPath();
-    Files.delete(Paths.get(filePath));
+    deleteBlockData(blockMeta.getBlockId(), blockMeta.getParentDir(), blockMeta.getPath());
     mMetaManager.removeBlockMeta(blockMeta);
   }
 
+  /**
+   * Deletes the data of a block, which is either its file or its off-heap data.
+   *
+   * @param blockId the id of the block
+   * @param dir the dir holding the block
+   * @param path the path of the block file
+   */
+  private static void deleteBlockData(long blockId, StorageDir dir, String path)
+      throws BlockDoesNotExistException, IOException {
+    if (dir instanceof OffHeapStorageDir) {
+      ((OffHeapStorageDir) dir).removeBlockData(blockId);
+    } else {
+      Files.delete(Paths.get(path));
+    }
+  }
+
+  /**
+   * Moves the data of a block between dirs. Files are renamed, while data moved from or to an
+   * off-heap dir is copied and then deleted from the source dir.
+   *
+   * @param blockId the id of the block
+   * @param srcDir the dir holding the block
+   * @param srcPath the path of the block file in the source dir
+   * @param dstDir the dir to move the block to
+   * @param dstPath the path of the block file in the destination dir
+   */
+  private static void moveBlockData(long blockId, StorageDir srcDir, String srcPath,
+      StorageDir dstDir, String dstPath)
+      throws BlockAlreadyExistsException, BlockDoesNotExistException, IOException {
+    boolean srcOffHeap = srcDir instanceof OffHeapStorageDir;
+    boolean dstOffHeap = dstDir instanceof OffHeapStorageDir;
+    if (!srcOffHeap && !dstOffHeap) {
+      FileUtils.move(srcPath, dstPath);
+      return;
+    }
+    try {
+      if (srcOffHeap && dstOffHeap) {
+        OffHeapBlock src = ((OffHeapStorageDir) srcDir).getBlockData(blockId);
+        OffHeapBlock dst = ((OffHeapStorageDir) dstDir).createBlockData(blockId);
+        dst.setReservedBytes(src.getLength());
+        ByteBuffer buf = ByteBuffer.allocate(Constants.MB);
+        long offset = 0;
+        int read;
+        while ((read = src.read(offset, buf)) > 0) {
+          buf.flip();
+          dst.append(buf);
+          buf.clear();
+          offset += read;
+        }
+        dst.trim();
+      } else if (srcOffHeap) {
+        createBlockFile(dstPath);
+        try (OutputStream out = new FileOutputStream(dstPath)) {
+          ((OffHeapStorageDir) srcDir).getBlockData(blockId).writeTo(out);
+        }
+      } else {
+        OffHeapBlock dst = ((OffHeapStorageDir) dstDir).createBlockData(blockId);
+        dst.setReservedBytes(new File(srcPath).length());
+        try (InputStream in = new FileInputStream(srcPath)) {
+          dst.append(in);
+        }
+        dst.trim();
+      }
+    } catch (IOException e) {
+      try {
+        deleteBlockData(blockId, dstDir, dstPath);
+      } catch (BlockDoesNotExistException | IOException e2) {
+        e.addSuppressed(e2);
+      }
+      throw e;
+    }
+    deleteBlockData(blockId, srcDir, srcPath);
+  }
+
   /**
    * Creates a file to represent a block denoted by the given block path. This file will be owned
    * by the Alluxio worker but have 777 permissions so processes under users different from the
@@ -1000,6 +1105,10 @@ public class TieredBlockStore implements BlockStore {
       List<StorageDir> dirsToRemove = new ArrayList<>();
       for (StorageTier tier : mMetaManager.getTiers()) {
         for (StorageDir dir : tier.getStorageDirs()) {
+          if (dir instanceof OffHeapStorageDir) {
+            // Nothing is stored at the path of an off-heap dir
+            continue;
+          }
           String path = dir.getDirPath();
           if (!FileUtils.isStorageDirAccessible(path)) {
             LOG.error("Storage check failed for path {}. The directory will be excluded.", path);
@@ -1032,9 +1141,168 @@ public class TieredBlockStore implements BlockStore {
     }
   }
 
+  @Override
+  public void verifyBlockIndex() {
+    List<DefaultStorageDir> dirs = new ArrayList<>();
+    try (LockResource r = new LockResource(mMetadataReadLock)) {
+      for (StorageTier tier : mMetaManager.getTiers()) {
+        for (StorageDir dir : tier.getStorageDirs()) {
+          if (dir instanceof DefaultStorageDir
+              && ((DefaultStorageDir) dir).isLoadedFromBlockIndex()) {
+            dirs.add((DefaultStorageDir) dir);
+          }
+        }
+      }
+    }
+    for (DefaultStorageDir dir : dirs) {
+      verifyBlockIndex(dir);
+    }
+  }
+
+  /**
+   * Verifies the blocks of a dir loaded from its block index against the block files. The dir is
+   * listed without holding the metadata lock, so each block which differs from its file is
+   * checked again under its block lock, since blocks may be committed or removed meanwhile.
+   *
+   * @param dir the storage dir
+   */
+  private void verifyBlockIndex(DefaultStorageDir dir) {
+    long startMs = System.currentTimeMillis();
+    File[] files = new File(dir.getDirPath()).listFiles(File::isFile);
+    if (files == null) {
+      LOG.warn("Failed to list StorageDir {} to verify its block index", dir.getDirPath());
+      return;
+    }
+    LongObjectHashMap<Long> fileSizes = new LongObjectHashMap<>(files.length);
+    for (File file : files) {
+      try {
+        fileSizes.put(Long.parseLong(file.getName()), file.length());
+      } catch (NumberFormatException e) {
+        // Not a block file
+      }
+    }
+    List<BlockMeta> blocks;
+    try (LockResource r = new LockResource(mMetadataReadLock)) {
+      blocks = dir.getBlocks();
+    }
+    LongHashSet blocksToVerify = new LongHashSet();
+    for (BlockMeta block : blocks) {
+      Long fileSize = fileSizes.remove(block.getBlockId());
+      if (fileSize == null || fileSize != block.getBlockSize()) {
+        blocksToVerify.add(block.getBlockId());
+      }
+    }
+    for (long blockId : fileSizes.keys()) {
+      blocksToVerify.add(blockId);
+    }
+    long sessionId = Sessions.createInternalSessionId();
+    for (long blockId : blocksToVerify.toLongArray()) {
+      verifyBlock(sessionId, dir, blockId);
+    }
+    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      dir.markBlockIndexVerified();
+    }
+    LOG.info("Verified the block index of StorageDir {} in {} ms, {} blocks differed from the "
+        + "block files", dir.getDirPath(), System.currentTimeMillis() - startMs,
+        blocksToVerify.size());
+  }
+
+  /**
+   * Updates the metadata of a block in a dir to match the block file. A block without a file is
+   * removed and reported as lost, a block file without metadata is added and reported as found,
+   * and a block whose file has another size is replaced, which is reported as a removal and a
+   * commit so that the evictor and annotator see the new size. A block file left in the dir while
+   * the block is in another dir is deleted.
+   *
+   * @param sessionId the id of the session verifying the block
+   * @param dir the storage dir
+   * @param blockId the id of the block
+   */
+  private void verifyBlock(long sessionId, DefaultStorageDir dir, long blockId) {
+    long lockId = mLockManager.tryLockBlock(sessionId, blockId, BlockLockType.WRITE,
+        REMOVE_BLOCK_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    if (lockId == BlockWorker.INVALID_LOCK_ID) {
+      LOG.warn("Can not acquire lock to verify block {} in StorageDir {} after {} ms", blockId,
+          dir.getDirPath(), REMOVE_BLOCK_TIMEOUT_MS);
+      return;
+    }
+    BlockMeta lostBlock = null;
+    BlockMeta foundBlock = null;
+    BlockMeta removedBlock = null;
+    BlockMeta committedBlock = null;
+    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      File file = new File(DefaultBlockMeta.commitPath(dir, blockId));
+      long fileSize = file.isFile() ? file.length() : -1;
+      BlockMeta block = null;
+      if (dir.hasBlockMeta(blockId)) {
+        block = dir.getBlockMeta(blockId);
+        if (block.getBlockSize() == fileSize) {
+          return;
+        }
+        mMetaManager.removeBlockMeta(block);
+      }
+      if (fileSize < 0) {
+        lostBlock = block;
+      } else if (mMetaManager.hasBlockMeta(blockId)) {
+        // The block was moved to another dir before the worker stopped, leaving its file here
+        LOG.warn("Deleting block file {} left in StorageDir {} while the block is in another dir",
+            file, dir.getDirPath());
+        Files.deleteIfExists(file.toPath());
+      } else {
+        BlockMeta newBlock = new DefaultBlockMeta(blockId, fileSize, dir);
+        try {
+          dir.addBlockMeta(newBlock);
+          if (block == null) {
+            foundBlock = newBlock;
+          } else {
+            removedBlock = block;
+            committedBlock = newBlock;
+          }
+        } catch (WorkerOutOfSpaceException | BlockAlreadyExistsException e) {
+          LOG.warn("Deleting block file {} which can not be added to StorageDir {}: {}", file,
+              dir.getDirPath(), e.toString());
+          lostBlock = block;
+          Files.deleteIfExists(file.toPath());
+        }
+      }
+    } catch (BlockDoesNotExistException e) {
+      throw Throwables.propagate(e); // we shall never reach here
+    } catch (IOException e) {
+      LOG.warn("Failed to delete the file of block {} in StorageDir {}: {}", blockId,
+          dir.getDirPath(), e.toString());
+    } finally {
+      mLockManager.unlockBlockNoException(lockId);
+    }
+    for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
+      synchronized (listener) {
+        if (lostBlock != null) {
+          listener.onBlockLost(blockId);
+          listener.onRemoveBlock(sessionId, blockId, lostBlock.getBlockLocation());
+        }
+        if (foundBlock != null) {
+          listener.onBlockFound(blockId, foundBlock.getBlockLocation());
+          listener.onCommitBlock(sessionId, blockId, foundBlock.getBlockLocation());
+        }
+        if (committedBlock != null) {
+          listener.onRemoveBlock(sessionId, blockId, removedBlock.getBlockLocation());
+          listener.onCommitBlock(sessionId, blockId, committedBlock.getBlockLocation());
+        }
+      }
+    }
+  }
+
   @Override
   public void close() throws IOException {
     mTaskCoordinator.close();
+    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      for (StorageTier tier : mMetaManager.getTiers()) {
+        for (StorageDir dir : tier.getStorageDirs()) {
+          if (dir instanceof DefaultStorageDir) {
+            ((DefaultStorageDir) dir).closeBlockIndex();
+          }
+        }
+      }
+    }
   }
 
   /**
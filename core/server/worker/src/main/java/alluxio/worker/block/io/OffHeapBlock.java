@@ -0,0 +1,361 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The data of a block stored in direct memory slabs of an {@link OffHeapSlabPool}. Byte i of the
+ * block is at offset i % slabSize of buffer i / slabSize. Every buffer but the last is a slab.
+ * The last buffer only covers the bytes reserved for the block, and grows towards a slab as more
+ * bytes are reserved, so that the memory of a block being written stays within its reservation
+ * instead of a whole slab. Once the block is written, the last buffer is trimmed to the end of
+ * the block.
+ *
+ * Appends, trimming and freeing are serialized. Reads must not run concurrently with them, which
+ * the block store guarantees as temp blocks are private to their writer, and committed blocks are
+ * only freed or moved under the block write lock.
+ */
+@ThreadSafe
+public final class OffHeapBlock {
+  private static final ByteBuffer[] NO_BUFFERS = new ByteBuffer[0];
+  /** The minimum size of the last buffer when it outgrows the reserved bytes. */
+  private static final int MIN_BUFFER_SIZE = 64 * 1024;
+
+  private final OffHeapSlabPool mPool;
+  private final int mSlabSize;
+  private volatile ByteBuffer[] mBuffers = NO_BUFFERS;
+  private volatile long mLength;
+  /** The bytes reserved for the block, which the last buffer is sized to. */
+  @GuardedBy("this")
+  private long mReservedBytes;
+  @GuardedBy("this")
+  private boolean mFreed;
+
+  /**
+   * @param pool the pool to allocate the slabs of the block from
+   */
+  public OffHeapBlock(OffHeapSlabPool pool) {
+    mPool = pool;
+    mSlabSize = pool.getSlabSize();
+  }
+
+  /**
+   * @return the length of the block in bytes
+   */
+  public long getLength() {
+    return mLength;
+  }
+
+  /**
+   * Sets the bytes reserved for the block by its writer. The buffers of the block are allocated
+   * within them, unless more bytes are appended.
+   *
+   * @param reservedBytes the bytes reserved for the block
+   */
+  public synchronized void setReservedBytes(long reservedBytes) {
+    mReservedBytes = reservedBytes;
+  }
+
+  /**
+   * Appends the remaining bytes of the buffer to the block.
+   *
+   * @param src the buffer to append, whose position is advanced past the bytes appended
+   * @return the number of bytes appended
+   */
+  public synchronized int append(ByteBuffer src) {
+    int appended = 0;
+    while (src.hasRemaining()) {
+      ByteBuffer region = writableRegion();
+      int length = Math.min(region.remaining(), src.remaining());
+      ByteBuffer chunk = src.duplicate();
+      chunk.limit(chunk.position() + length);
+      region.put(chunk);
+      src.position(src.position() + length);
+      mLength += length;
+      appended += length;
+    }
+    return appended;
+  }
+
+  /**
+   * Appends the readable bytes of the buffer to the block.
+   *
+   * @param buf the buffer to append, whose reader index is advanced past the bytes appended
+   * @return the number of bytes appended
+   */
+  public synchronized int append(ByteBuf buf) {
+    int appended = 0;
+    while (buf.isReadable()) {
+      ByteBuffer region = writableRegion();
+      int length = Math.min(region.remaining(), buf.readableBytes());
+      region.limit(region.position() + length);
+      buf.readBytes(region);
+      mLength += length;
+      appended += length;
+    }
+    return appended;
+  }
+
+  /**
+   * Appends the readable bytes of the buffer to the block.
+   *
+   * @param buffer the buffer to append, which is read past the bytes appended
+   * @return the number of bytes appended
+   */
+  public synchronized int append(DataBuffer buffer) {
+    int appended = 0;
+    while (buffer.readableBytes() > 0) {
+      ByteBuffer region = writableRegion();
+      int length = Math.min(region.remaining(), buffer.readableBytes());
+      region.limit(region.position() + length);
+      buffer.readBytes(region);
+      mLength += length;
+      appended += length;
+    }
+    return appended;
+  }
+
+  /**
+   * Appends the bytes of the stream to the block, until the end of the stream.
+   *
+   * @param in the stream to append
+   * @return the number of bytes appended
+   */
+  public synchronized long append(InputStream in) throws IOException {
+    ReadableByteChannel channel = Channels.newChannel(in);
+    long appended = 0;
+    while (true) {
+      ByteBuffer region = writableRegion();
+      int read = channel.read(region);
+      if (read < 0) {
+        return appended;
+      }
+      mLength += read;
+      appended += read;
+    }
+  }
+
+  /**
+   * Copies the bytes of the block from the given offset into the buffer.
+   *
+   * @param offset the offset in the block
+   * @param dst the buffer to copy to, up to its remaining bytes
+   * @return the number of bytes copied, or -1 if the offset is at the end of the block
+   */
+  public int read(long offset, ByteBuffer dst) {
+    long length = mLength;
+    if (offset >= length) {
+      return -1;
+    }
+    int toRead = (int) Math.min(dst.remaining(), length - offset);
+    ByteBuffer[] buffers = mBuffers;
+    int read = 0;
+    while (read < toRead) {
+      ByteBuffer src = region(buffers, offset + read, toRead - read);
+      read += src.remaining();
+      dst.put(src);
+    }
+    return read;
+  }
+
+  /**
+   * Copies the bytes of the block from the given offset into the buffer.
+   *
+   * @param offset the offset in the block
+   * @param buf the buffer to copy to, up to its writable bytes
+   * @return the number of bytes copied, or -1 if the offset is at the end of the block
+   */
+  public int read(long offset, ByteBuf buf) {
+    long length = mLength;
+    if (offset >= length) {
+      return -1;
+    }
+    int toRead = (int) Math.min(buf.writableBytes(), length - offset);
+    ByteBuffer[] buffers = mBuffers;
+    int read = 0;
+    while (read < toRead) {
+      ByteBuffer src = region(buffers, offset + read, toRead - read);
+      read += src.remaining();
+      buf.writeBytes(src);
+    }
+    return read;
+  }
+
+  /**
+   * Writes the whole block to the stream.
+   *
+   * @param out the stream to write to
+   * @return the number of bytes written
+   */
+  public long writeTo(OutputStream out) throws IOException {
+    long length = mLength;
+    ByteBuffer[] buffers = mBuffers;
+    WritableByteChannel channel = Channels.newChannel(out);
+    long written = 0;
+    while (written < length) {
+      ByteBuffer src = region(buffers, written, (int) Math.min(mSlabSize, length - written));
+      while (src.hasRemaining()) {
+        written += channel.write(src);
+      }
+    }
+    return written;
+  }
+
+  /**
+   * Replaces the last buffer of the block by a buffer trimmed to the end of the block, and releases
+   * the replaced buffer. Called once the block is written, it is expanded again by later appends.
+   */
+  public synchronized void trim() {
+    ByteBuffer[] buffers = mBuffers;
+    if (mFreed || buffers.length == 0) {
+      return;
+    }
+    int last = buffers.length - 1;
+    ByteBuffer buffer = buffers[last];
+    int tailLength = (int) (mLength - (long) last * mSlabSize);
+    if (tailLength == buffer.capacity()) {
+      return;
+    }
+    if (tailLength == 0) {
+      // Drops a buffer allocated by an append which reached the end of its input
+      mBuffers = Arrays.copyOf(buffers, last);
+    } else {
+      ByteBuffer[] newBuffers = buffers.clone();
+      newBuffers[last] = copyOf(buffer, tailLength, tailLength);
+      mBuffers = newBuffers;
+    }
+    releaseBuffer(buffer);
+  }
+
+  /**
+   * Returns the memory of the block. The block must not be used afterwards.
+   */
+  public synchronized void free() {
+    if (mFreed) {
+      return;
+    }
+    mFreed = true;
+    ByteBuffer[] buffers = mBuffers;
+    mBuffers = NO_BUFFERS;
+    mLength = 0;
+    for (ByteBuffer buffer : buffers) {
+      releaseBuffer(buffer);
+    }
+  }
+
+  /**
+   * @return the region of the last buffer after the end of the block, allocating a buffer or
+   *         growing the last one if it is full
+   */
+  @GuardedBy("this")
+  private ByteBuffer writableRegion() {
+    Preconditions.checkState(!mFreed, "The block is freed");
+    ByteBuffer[] buffers = mBuffers;
+    int last = buffers.length - 1;
+    long lastStart = (long) last * mSlabSize;
+    if (last < 0 || mLength == lastStart + buffers[last].capacity()) {
+      buffers = buffers.clone();
+      if (last >= 0 && buffers[last].capacity() < mSlabSize) {
+        // Grows the last buffer, which is full but smaller than a slab
+        ByteBuffer buffer = buffers[last];
+        buffers[last] = copyOf(buffer, buffer.capacity(), bufferSize(lastStart));
+        releaseBuffer(buffer);
+      } else {
+        buffers = Arrays.copyOf(buffers, buffers.length + 1);
+        last++;
+        lastStart = (long) last * mSlabSize;
+        buffers[last] = allocateBuffer(bufferSize(lastStart));
+      }
+      mBuffers = buffers;
+    }
+    ByteBuffer region = buffers[last].duplicate();
+    region.clear();
+    region.position((int) (mLength - lastStart));
+    return region;
+  }
+
+  /**
+   * @param bufferStart the offset in the block of the last buffer
+   * @return the size of the last buffer to cover the reserved bytes, at least doubling the bytes
+   *         written to it, and at most a slab
+   */
+  @GuardedBy("this")
+  private int bufferSize(long bufferStart) {
+    long written = mLength - bufferStart;
+    long size = Math.max(mReservedBytes - bufferStart, Math.max(2 * written, MIN_BUFFER_SIZE));
+    return (int) Math.min(mSlabSize, size);
+  }
+
+  /**
+   * @param size the size of the buffer
+   * @return a slab of the pool if the size is the slab size, or else a new direct buffer
+   */
+  private ByteBuffer allocateBuffer(int size) {
+    return size == mSlabSize ? mPool.allocate() : ByteBuffer.allocateDirect(size);
+  }
+
+  /**
+   * @param buffer a buffer returned by {@link #allocateBuffer(int)}, which is returned to the pool
+   *        if it is a slab, or else freed
+   */
+  private void releaseBuffer(ByteBuffer buffer) {
+    if (buffer.capacity() == mSlabSize) {
+      mPool.release(buffer);
+    } else {
+      BufferUtils.cleanDirectBuffer(buffer);
+    }
+  }
+
+  /**
+   * @param buffer a buffer of the block
+   * @param length the number of bytes to copy from the start of the buffer
+   * @param size the size of the new buffer
+   * @return a new buffer of the given size, starting with the bytes of the buffer
+   */
+  private ByteBuffer copyOf(ByteBuffer buffer, int length, int size) {
+    ByteBuffer copy = allocateBuffer(size);
+    ByteBuffer src = buffer.duplicate();
+    src.clear();
+    src.limit(length);
+    copy.put(src);
+    return copy;
+  }
+
+  /**
+   * @return a view of the bytes of the block from the offset, up to the given length and the end
+   *         of the buffer holding the offset
+   */
+  private ByteBuffer region(ByteBuffer[] buffers, long offset, int maxLength) {
+    ByteBuffer src = buffers[(int) (offset / mSlabSize)].duplicate();
+    int position = (int) (offset % mSlabSize);
+    src.clear();
+    src.limit(Math.min(src.capacity(), position + maxLength));
+    src.position(position);
+    return src;
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import alluxio.worker.block.meta.BlockMeta;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A reader of a block stored in an off-heap storage directory. Reads copy the data straight from
+ * the slabs of the block, without going through the file system. It provides integration with
+ * the {@link BlockStreamTracker}.
+ */
+@NotThreadSafe
+public class OffHeapBlockReader extends BlockReader {
+  /** Session Id for the reader. */
+  private final long mSessionId;
+  /** Block meta for the reader. */
+  private final BlockMeta mBlockMeta;
+  private final OffHeapBlock mBlock;
+  private final SeekableByteChannel mChannel = new BlockChannel();
+  private long mPosition;
+  private boolean mClosed;
+
+  /**
+   * Creates new block reader for block store.
+   *
+   * @param sessionId session id
+   * @param blockMeta block meta
+   * @param block the data of the block
+   */
+  public OffHeapBlockReader(long sessionId, BlockMeta blockMeta, OffHeapBlock block) {
+    mSessionId = sessionId;
+    mBlockMeta = blockMeta;
+    mBlock = block;
+    if (mSessionId > 0) {
+      BlockStreamTracker.readerOpened(this, mBlockMeta.getBlockLocation());
+    }
+  }
+
+  @Override
+  public ByteBuffer read(long offset, long length) throws IOException {
+    checkOpen();
+    Preconditions.checkArgument(offset + length <= mBlock.getLength(),
+        "offset=%s, length=%s, exceeding blockSize=%s", offset, length, mBlock.getLength());
+    ByteBuffer buf = ByteBuffer.allocate((int) length);
+    if (length > 0) {
+      mBlock.read(offset, buf);
+    }
+    buf.flip();
+    return buf;
+  }
+
+  @Override
+  public long getLength() {
+    return mBlock.getLength();
+  }
+
+  @Override
+  public ReadableByteChannel getChannel() {
+    return mChannel;
+  }
+
+  @Override
+  public int transferTo(ByteBuf buf) throws IOException {
+    checkOpen();
+    int read = mBlock.read(mPosition, buf);
+    if (read > 0) {
+      mPosition += read;
+    }
+    return read;
+  }
+
+  @Override
+  public boolean isClosed() {
+    return mClosed;
+  }
+
+  @Override
+  public String getLocation() {
+    return mBlockMeta.getPath();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    if (mSessionId > 0) {
+      BlockStreamTracker.readerClosed(this, mBlockMeta.getBlockLocation());
+    }
+    super.close();
+  }
+
+  private void checkOpen() throws ClosedChannelException {
+    if (mClosed) {
+      throw new ClosedChannelException();
+    }
+  }
+
+  /**
+   * A channel reading the block from the position of the reader.
+   */
+  private final class BlockChannel implements SeekableByteChannel {
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+      checkOpen();
+      int read = mBlock.read(mPosition, dst);
+      if (read > 0) {
+        mPosition += read;
+      }
+      return read;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+      throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long position() {
+      return mPosition;
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) {
+      Preconditions.checkArgument(newPosition >= 0, "position must be non-negative: %s",
+          newPosition);
+      mPosition = newPosition;
+      return this;
+    }
+
+    @Override
+    public long size() {
+      return mBlock.getLength();
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) {
+      throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen() {
+      return !mClosed;
+    }
+
+    @Override
+    public void close() throws IOException {
+      OffHeapBlockReader.this.close();
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.worker.block.meta.TempBlockMeta;
+
+import io.netty.buffer.ByteBuf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A writer of a temp block stored in an off-heap storage directory. Appends copy the data
+ * straight into the slabs of the block, without going through the file system, and allocate
+ * within the bytes reserved for the temp block. It provides
+ * integration with the {@link BlockStreamTracker}.
+ */
+@NotThreadSafe
+public class OffHeapBlockWriter extends BlockWriter {
+  /** Temp block meta for the writer. */
+  private final TempBlockMeta mBlockMeta;
+  private final OffHeapBlock mBlock;
+  private final WritableByteChannel mChannel = new BlockChannel();
+  private long mPosition;
+  private boolean mClosed;
+
+  /**
+   * Creates new block writer for block store.
+   *
+   * @param blockMeta temp block meta
+   * @param block the data of the block
+   */
+  public OffHeapBlockWriter(TempBlockMeta blockMeta, OffHeapBlock block) {
+    mBlockMeta = blockMeta;
+    mBlock = block;
+    if (mBlockMeta.getSessionId() > 0) {
+      BlockStreamTracker.writerOpened(this, mBlockMeta.getBlockLocation());
+    }
+  }
+
+  @Override
+  public long append(ByteBuffer inputBuf) throws IOException {
+    checkOpen();
+    mBlock.setReservedBytes(mBlockMeta.getBlockSize());
+    long bytesWritten = mBlock.append(inputBuf.duplicate());
+    mPosition += bytesWritten;
+    return bytesWritten;
+  }
+
+  @Override
+  public long append(ByteBuf buf) throws IOException {
+    checkOpen();
+    mBlock.setReservedBytes(mBlockMeta.getBlockSize());
+    long bytesWritten = mBlock.append(buf);
+    mPosition += bytesWritten;
+    return bytesWritten;
+  }
+
+  @Override
+  public long append(DataBuffer buffer) throws IOException {
+    checkOpen();
+    mBlock.setReservedBytes(mBlockMeta.getBlockSize());
+    long bytesWritten = mBlock.append(buffer);
+    mPosition += bytesWritten;
+    return bytesWritten;
+  }
+
+  @Override
+  public long getPosition() {
+    return mPosition;
+  }
+
+  @Override
+  public WritableByteChannel getChannel() {
+    return mChannel;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    if (mBlockMeta.getSessionId() > 0) {
+      BlockStreamTracker.writerClosed(this, mBlockMeta.getBlockLocation());
+    }
+    super.close();
+    mBlock.trim();
+    mPosition = -1;
+  }
+
+  private void checkOpen() throws ClosedChannelException {
+    if (mClosed) {
+      throw new ClosedChannelException();
+    }
+  }
+
+  /**
+   * A channel appending to the block.
+   */
+  private final class BlockChannel implements WritableByteChannel {
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      checkOpen();
+      mBlock.setReservedBytes(mBlockMeta.getBlockSize());
+      int bytesWritten = mBlock.append(src);
+      mPosition += bytesWritten;
+      return bytesWritten;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return !mClosed;
+    }
+
+    @Override
+    public void close() throws IOException {
+      OffHeapBlockWriter.this.close();
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A pool of fixed-size direct memory slabs backing the blocks of an off-heap storage directory.
+ * Released slabs are kept for reuse as long as the slabs allocated by the pool fit its capacity,
+ * and freed otherwise.
+ */
+@ThreadSafe
+public final class OffHeapSlabPool {
+  private final int mSlabSize;
+  private final int mMaxSlabs;
+  private final Queue<ByteBuffer> mFreeSlabs = new ConcurrentLinkedQueue<>();
+  /** The number of slabs allocated, in use or free. */
+  private final AtomicInteger mNumSlabs = new AtomicInteger();
+
+  /**
+   * @param slabSize the size of each slab in bytes
+   * @param capacityBytes the memory the slabs of the pool are kept within
+   */
+  public OffHeapSlabPool(int slabSize, long capacityBytes) {
+    Preconditions.checkArgument(slabSize > 0, "slabSize must be positive: %s", slabSize);
+    mSlabSize = slabSize;
+    mMaxSlabs = (int) Math.min(Integer.MAX_VALUE, Math.max(1, capacityBytes / slabSize));
+  }
+
+  /**
+   * @return the size of each slab in bytes
+   */
+  public int getSlabSize() {
+    return mSlabSize;
+  }
+
+  /**
+   * @return an empty slab
+   */
+  public ByteBuffer allocate() {
+    ByteBuffer slab = mFreeSlabs.poll();
+    if (slab != null) {
+      slab.clear();
+      return slab;
+    }
+    mNumSlabs.incrementAndGet();
+    return ByteBuffer.allocateDirect(mSlabSize);
+  }
+
+  /**
+   * @param slab a slab returned by {@link #allocate()}, which must not be used afterwards
+   */
+  public void release(ByteBuffer slab) {
+    if (mNumSlabs.get() <= mMaxSlabs) {
+      mFreeSlabs.offer(slab);
+      return;
+    }
+    mNumSlabs.decrementAndGet();
+    BufferUtils.cleanDirectBuffer(slab);
+  }
+
+  /**
+   * @return the number of slabs allocated, in use or free
+   */
+  public int getNumSlabs() {
+    return mNumSlabs.get();
+  }
+}
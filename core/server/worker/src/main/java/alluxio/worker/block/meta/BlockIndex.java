@@ -0,0 +1,372 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.meta;
+
+import alluxio.collections.LongObjectHashMap;
+import alluxio.util.ThreadFactoryUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An index of the committed blocks of a {@link DefaultStorageDir}, kept in a file of the dir so
+ * that a restarted worker loads the blocks of the dir without listing and stat-ing every block
+ * file. The file is a log of the blocks added to and removed from the dir, which is compacted
+ * into only the blocks of the dir once most of its records are stale. A compaction writes and
+ * syncs the new file in the background, while records keep being appended to the old file, and
+ * only swaps the files and replays the records appended meanwhile under the lock of the index.
+ *
+ * The index is a hint: the records are not synced, so the blocks loaded from the index are
+ * verified against the block files afterwards. When the index fails to be written, it is deleted
+ * and the dir is listed on the next restart.
+ */
+@ThreadSafe
+final class BlockIndex implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(BlockIndex.class);
+
+  /** The name of the index file, which does not parse into a block id. */
+  static final String FILE_NAME = ".block_index";
+  private static final String TMP_FILE_NAME = FILE_NAME + ".tmp";
+  private static final int MAGIC = 0x424c4b49;
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = Integer.BYTES * 2;
+  private static final byte ADD = 1;
+  private static final byte REMOVE = 2;
+  /** The number of records below which the index is never rewritten. */
+  private static final long MIN_RECORDS_TO_REWRITE = 10_000;
+  private static final ExecutorService COMPACTION_EXECUTOR = Executors.newSingleThreadExecutor(
+      ThreadFactoryUtils.build("block-index-compaction-%d", true));
+
+  private final File mFile;
+  private final File mTmpFile;
+  /** The stream appending to the index file, or null if the index is not open. */
+  @Nullable
+  @GuardedBy("this")
+  private DataOutputStream mOut;
+  /** The number of records in the index file. */
+  @GuardedBy("this")
+  private long mRecords;
+  /** The records appended since the running compaction took its snapshot, or null. */
+  @Nullable
+  @GuardedBy("this")
+  private ByteArrayOutputStream mPendingRecords;
+  @GuardedBy("this")
+  private long mPendingRecordCount;
+  /** Bumped whenever the index file is closed or replaced, to abandon a running compaction. */
+  @GuardedBy("this")
+  private long mGeneration;
+
+  /**
+   * @param dirPath the path of the storage dir
+   */
+  BlockIndex(String dirPath) {
+    mFile = new File(dirPath, FILE_NAME);
+    mTmpFile = new File(dirPath, TMP_FILE_NAME);
+  }
+
+  /**
+   * @param fileName the name of a file in a storage dir
+   * @return whether the file belongs to the index
+   */
+  static boolean isIndexFile(String fileName) {
+    return fileName.equals(FILE_NAME) || fileName.equals(TMP_FILE_NAME);
+  }
+
+  /**
+   * Loads the blocks of the index, and opens the index to append to it. A record which was not
+   * completely written before the worker stopped is dropped.
+   *
+   * @return a map from the id to the size of each block, or null if there is no readable index
+   */
+  @Nullable
+  synchronized LongObjectHashMap<Long> load() {
+    LongObjectHashMap<Long> blocks = new LongObjectHashMap<>();
+    long validBytes = HEADER_BYTES;
+    long records = 0;
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(mFile)))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        LOG.warn("Block index {} has an unknown format and is ignored", mFile);
+        return null;
+      }
+      while (true) {
+        int op = in.read();
+        if (op == -1) {
+          break;
+        }
+        try {
+          long blockId = in.readLong();
+          if (op == ADD) {
+            long blockSize = in.readLong();
+            blocks.put(blockId, blockSize);
+            validBytes += 1 + Long.BYTES * 2;
+          } else if (op == REMOVE) {
+            blocks.remove(blockId);
+            validBytes += 1 + Long.BYTES;
+          } else {
+            LOG.warn("Block index {} is corrupted at offset {} and is ignored", mFile,
+                validBytes);
+            return null;
+          }
+          records++;
+        } catch (EOFException e) {
+          LOG.warn("Dropping the incomplete last record of block index {}", mFile);
+          break;
+        }
+      }
+    } catch (FileNotFoundException e) {
+      return null;
+    } catch (IOException e) {
+      LOG.warn("Failed to load block index {}: {}", mFile, e.toString());
+      return null;
+    }
+    try {
+      try (RandomAccessFile file = new RandomAccessFile(mFile, "rw")) {
+        if (file.length() > validBytes) {
+          file.setLength(validBytes);
+        }
+      }
+      mOut = new DataOutputStream(
+          new BufferedOutputStream(new FileOutputStream(mFile, true)));
+    } catch (IOException e) {
+      LOG.warn("Failed to open block index {}: {}", mFile, e.toString());
+      return null;
+    }
+    mRecords = records;
+    return blocks;
+  }
+
+  /**
+   * Rewrites the index with the given blocks, and opens the index to append to it. The index is
+   * written to a temporary file first, so a failure leaves the previous index file in place.
+   *
+   * @param blocks the blocks of the dir
+   * @throws IOException if the index fails to be written
+   */
+  synchronized void rewrite(Collection<BlockMeta> blocks) throws IOException {
+    writeTmpFile(blocks);
+    close();
+    Files.move(mTmpFile.toPath(), mFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    mOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(mFile, true)));
+    mRecords = blocks.size();
+  }
+
+  /**
+   * Compacts the index into the given blocks in the background. Does nothing if the index is not
+   * open or is already being compacted.
+   *
+   * @param blocks a snapshot of the blocks of the dir, which is not modified afterwards
+   */
+  void compact(Collection<BlockMeta> blocks) {
+    compact(blocks, COMPACTION_EXECUTOR);
+  }
+
+  /**
+   * Compacts the index into the given blocks on the given executor.
+   *
+   * @param blocks a snapshot of the blocks of the dir, which is not modified afterwards
+   * @param executor the executor to write the compacted index on
+   */
+  synchronized void compact(Collection<BlockMeta> blocks, Executor executor) {
+    if (mOut == null || mPendingRecords != null) {
+      return;
+    }
+    mPendingRecords = new ByteArrayOutputStream();
+    mPendingRecordCount = 0;
+    long generation = mGeneration;
+    try {
+      executor.execute(() -> finishCompaction(blocks, generation));
+    } catch (RejectedExecutionException e) {
+      LOG.warn("Failed to schedule the compaction of block index {}: {}", mFile, e.toString());
+      mPendingRecords = null;
+    }
+  }
+
+  /**
+   * Appends the addition of a block to the index.
+   *
+   * @param blockId the block id
+   * @param blockSize the block size
+   */
+  synchronized void add(long blockId, long blockSize) {
+    if (mOut == null) {
+      return;
+    }
+    try {
+      writeAdd(mOut, blockId, blockSize);
+      mOut.flush();
+      mRecords++;
+      if (mPendingRecords != null) {
+        writeAdd(new DataOutputStream(mPendingRecords), blockId, blockSize);
+        mPendingRecordCount++;
+      }
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  /**
+   * Appends the removal of a block to the index.
+   *
+   * @param blockId the block id
+   */
+  synchronized void remove(long blockId) {
+    if (mOut == null) {
+      return;
+    }
+    try {
+      writeRemove(mOut, blockId);
+      mOut.flush();
+      mRecords++;
+      if (mPendingRecords != null) {
+        writeRemove(new DataOutputStream(mPendingRecords), blockId);
+        mPendingRecordCount++;
+      }
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  /**
+   * @param liveBlocks the number of blocks in the dir
+   * @return whether the index has so many stale records that it should be compacted, and is not
+   *         being compacted already
+   */
+  synchronized boolean shouldRewrite(int liveBlocks) {
+    return mPendingRecords == null
+        && mRecords > MIN_RECORDS_TO_REWRITE && mRecords > 2L * liveBlocks;
+  }
+
+  /**
+   * Closes and deletes the index, so the dir is listed on the next restart.
+   */
+  synchronized void delete() {
+    try {
+      close();
+      Files.deleteIfExists(mFile.toPath());
+      Files.deleteIfExists(mTmpFile.toPath());
+    } catch (IOException e) {
+      LOG.warn("Failed to delete block index {}: {}", mFile, e.toString());
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    mGeneration++;
+    mPendingRecords = null;
+    if (mOut != null) {
+      DataOutputStream out = mOut;
+      mOut = null;
+      out.close();
+    }
+  }
+
+  private static void writeAdd(DataOutputStream out, long blockId, long blockSize)
+      throws IOException {
+    out.writeByte(ADD);
+    out.writeLong(blockId);
+    out.writeLong(blockSize);
+  }
+
+  private static void writeRemove(DataOutputStream out, long blockId) throws IOException {
+    out.writeByte(REMOVE);
+    out.writeLong(blockId);
+  }
+
+  private void writeTmpFile(Collection<BlockMeta> blocks) throws IOException {
+    try (FileOutputStream file = new FileOutputStream(mTmpFile);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      for (BlockMeta block : blocks) {
+        writeAdd(out, block.getBlockId(), block.getBlockSize());
+      }
+      out.flush();
+      file.getFD().sync();
+    }
+  }
+
+  /**
+   * Writes and syncs the compacted index without holding the lock of the index, then swaps it
+   * in and replays the records appended since the snapshot, unless the index was closed or
+   * replaced meanwhile.
+   */
+  private void finishCompaction(Collection<BlockMeta> blocks, long generation) {
+    IOException error = null;
+    try {
+      writeTmpFile(blocks);
+    } catch (IOException e) {
+      error = e;
+    }
+    synchronized (this) {
+      if (generation != mGeneration || error != null) {
+        if (error != null) {
+          // The previous index file is still complete, so it is kept
+          LOG.warn("Failed to compact block index {}: {}", mFile, error.toString());
+          mPendingRecords = null;
+        }
+        try {
+          Files.deleteIfExists(mTmpFile.toPath());
+        } catch (IOException e) {
+          LOG.warn("Failed to delete {}: {}", mTmpFile, e.toString());
+        }
+        return;
+      }
+      ByteArrayOutputStream pending = mPendingRecords;
+      long pendingCount = mPendingRecordCount;
+      mPendingRecords = null;
+      try {
+        close();
+        Files.move(mTmpFile.toPath(), mFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+        mOut = new DataOutputStream(
+            new BufferedOutputStream(new FileOutputStream(mFile, true)));
+        pending.writeTo(mOut);
+        mOut.flush();
+        mRecords = blocks.size() + pendingCount;
+      } catch (IOException e) {
+        fail(e);
+      }
+    }
+  }
+
+  @GuardedBy("this")
+  private void fail(IOException e) {
+    LOG.warn("Failed to write block index {}, deleting it: {}", mFile, e.toString());
+    delete();
+  }
+}
@@ -11,6 +11,7 @@
 
 package alluxio.worker.block.meta;
 
+import alluxio.exception.BlockDoesNotExistException;
 import alluxio.util.io.PathUtils;
 import alluxio.worker.block.BlockStoreLocation;
 
@@ -59,12 +60,24 @@ public class DefaultBlockMeta implements BlockMeta {
    * Creates a new instance of {@link DefaultBlockMeta} from {@link DefaultTempBlockMeta}.
    *
    * @param tempBlock uncommitted block metadata
+   * @throws BlockDoesNotExistException if the temp block is in an off-heap dir without its data
    */
-  public DefaultBlockMeta(TempBlockMeta tempBlock) {
-    this(tempBlock.getBlockId(),
-        // NOTE: TempBlockMeta must be committed after the actual data block file is moved.
-        new File(tempBlock.getCommitPath()).length(),
-        tempBlock.getParentDir());
+  public DefaultBlockMeta(TempBlockMeta tempBlock) throws BlockDoesNotExistException {
+    this(tempBlock.getBlockId(), committedLength(tempBlock), tempBlock.getParentDir());
+  }
+
+  /**
+   * @param tempBlock uncommitted block metadata
+   * @return the length of the data of the block
+   */
+  private static long committedLength(TempBlockMeta tempBlock)
+      throws BlockDoesNotExistException {
+    StorageDir dir = tempBlock.getParentDir();
+    if (dir instanceof OffHeapStorageDir) {
+      return ((OffHeapStorageDir) dir).getBlockData(tempBlock.getBlockId()).getLength();
+    }
+    // NOTE: TempBlockMeta must be committed after the actual data block file is moved.
+    return new File(tempBlock.getCommitPath()).length();
   }
 
   @Override
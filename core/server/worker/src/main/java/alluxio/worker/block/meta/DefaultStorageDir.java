@@ -11,6 +11,8 @@
 
 package alluxio.worker.block.meta;
 
+import alluxio.collections.LongHashSet;
+import alluxio.collections.LongObjectHashMap;
 import alluxio.conf.PropertyKey;
 import alluxio.conf.ServerConfiguration;
 import alluxio.exception.BlockAlreadyExistsException;
@@ -23,7 +25,6 @@ import alluxio.util.io.FileUtils;
 import alluxio.worker.block.BlockStoreLocation;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,11 +33,9 @@ import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -47,28 +46,47 @@ import javax.annotation.concurrent.NotThreadSafe;
  * Through {@link StorageDirView}, this space will be reflected as:
  * - committed for user I/Os
  * - available for internal I/Os.
+ *
+ * If {@link PropertyKey#WORKER_TIERED_STORE_BLOCK_INDEX_ENABLED} is set, the committed blocks are
+ * also recorded in a {@link BlockIndex} in the path of the dir, which the blocks are loaded from
+ * on restart instead of listing the block files.
  */
 @NotThreadSafe
-public final class DefaultStorageDir implements StorageDir {
+public class DefaultStorageDir implements StorageDir {
   private static final Logger LOG = LoggerFactory.getLogger(DefaultStorageDir.class);
 
   private final long mCapacityBytes;
   private final String mDirMedium;
   /** A map from block id to block metadata. */
-  private Map<Long, BlockMeta> mBlockIdToBlockMap;
+  private LongObjectHashMap<BlockMeta> mBlockIdToBlockMap;
   /** A map from block id to temp block metadata. */
-  private Map<Long, TempBlockMeta> mBlockIdToTempBlockMap;
+  private LongObjectHashMap<TempBlockMeta> mBlockIdToTempBlockMap;
   /** A map from session id to the set of temp blocks created by this session. */
-  private Map<Long, Set<Long>> mSessionIdToTempBlockIdsMap;
+  private LongObjectHashMap<LongHashSet> mSessionIdToTempBlockIdsMap;
   private AtomicLong mAvailableBytes;
   private AtomicLong mCommittedBytes;
   private AtomicLong mReservedBytes;
   private String mDirPath;
   private int mDirIndex;
   private StorageTier mTier;
+  /** The index of the committed blocks, or null if this dir does not keep one. */
+  @Nullable
+  private BlockIndex mBlockIndex;
+  /** Whether the blocks were loaded from the index and are not verified yet. */
+  private boolean mLoadedFromBlockIndex;
 
-  private DefaultStorageDir(StorageTier tier, int dirIndex, long capacityBytes, long reservedBytes,
-      String dirPath, String dirMedium) {
+  /**
+   * Creates a new storage dir without loading the blocks in its path.
+   *
+   * @param tier the {@link StorageTier} this dir belongs to
+   * @param dirIndex the index of this dir in its tier
+   * @param capacityBytes the initial capacity of this dir, can not be modified later
+   * @param reservedBytes the amount of reserved space for internal management
+   * @param dirPath filesystem path of this dir for actual storage
+   * @param dirMedium the medium type of the storage dir
+   */
+  protected DefaultStorageDir(StorageTier tier, int dirIndex, long capacityBytes,
+      long reservedBytes, String dirPath, String dirMedium) {
     mTier = Preconditions.checkNotNull(tier, "tier");
     mDirIndex = dirIndex;
     mCapacityBytes = capacityBytes;
@@ -77,9 +95,9 @@ public final class DefaultStorageDir implements StorageDir {
     mCommittedBytes = new AtomicLong(0);
     mDirPath = dirPath;
     mDirMedium = dirMedium;
-    mBlockIdToBlockMap = new HashMap<>(200);
-    mBlockIdToTempBlockMap = new HashMap<>(200);
-    mSessionIdToTempBlockIdsMap = new HashMap<>(200);
+    mBlockIdToBlockMap = new LongObjectHashMap<>(200);
+    mBlockIdToTempBlockMap = new LongObjectHashMap<>(200);
+    mSessionIdToTempBlockIdsMap = new LongObjectHashMap<>(200);
   }
 
   /**
@@ -88,7 +106,8 @@ public final class DefaultStorageDir implements StorageDir {
    * It will load metadata of existing committed blocks in the dirPath specified. Only files with
    * directory depth 1 under dirPath and whose file name can be parsed into {@code long} will be
    * considered as existing committed blocks, these files will be preserved, others files or
-   * directories will be deleted.
+   * directories will be deleted. If the dir keeps a block index which can be read, the blocks are
+   * loaded from the index instead, and the dir is not listed.
    *
    * @param tier the {@link StorageTier} this dir belongs to
    * @param dirIndex the index of this dir in its tier
@@ -134,6 +153,67 @@ public final class DefaultStorageDir implements StorageDir {
       LOG.info("Folder {} was created!", mDirPath);
     }
 
+    boolean indexEnabled =
+        ServerConfiguration.getBoolean(PropertyKey.WORKER_TIERED_STORE_BLOCK_INDEX_ENABLED);
+    BlockIndex index = new BlockIndex(mDirPath);
+    if (!indexEnabled) {
+      // An index left from a run with the index enabled would be stale once it is enabled again
+      index.delete();
+    } else if (loadBlockIndex(index, tmpDir)) {
+      return;
+    }
+    loadBlockFiles(tmpDir);
+    if (indexEnabled) {
+      mBlockIndex = index;
+      rewriteBlockIndex();
+    }
+  }
+
+  /**
+   * Loads the blocks from the block index of this dir.
+   *
+   * @param index the block index
+   * @param tmpDir the name of the folder of the temp blocks
+   * @return whether the index was loaded
+   */
+  private boolean loadBlockIndex(BlockIndex index, String tmpDir)
+      throws BlockAlreadyExistsException, WorkerOutOfSpaceException {
+    LongObjectHashMap<Long> blocks = index.load();
+    if (blocks == null) {
+      return false;
+    }
+    // The temp blocks are dropped on restart like when the dir is listed
+    File tmpPath = new File(mDirPath, tmpDir);
+    if (tmpPath.exists()) {
+      try {
+        org.apache.commons.io.FileUtils.deleteDirectory(tmpPath);
+      } catch (IOException e) {
+        LOG.error("can not delete directory {}", tmpPath.getAbsolutePath(), e);
+      }
+    }
+    try {
+      for (long blockId : blocks.keys()) {
+        addBlockMeta(new DefaultBlockMeta(blockId, blocks.get(blockId), this));
+      }
+    } catch (BlockAlreadyExistsException | WorkerOutOfSpaceException | RuntimeException e) {
+      // The index was opened by loading it, and is not used by the dir. It is deleted, so the dir
+      // is listed on the next restart.
+      index.delete();
+      throw e;
+    }
+    mBlockIndex = index;
+    mLoadedFromBlockIndex = true;
+    LOG.info("Loaded {} blocks of StorageDir {} from its block index", blocks.size(), mDirPath);
+    return true;
+  }
+
+  /**
+   * Loads the blocks by listing the files in this dir.
+   *
+   * @param tmpDir the name of the folder of the temp blocks
+   */
+  private void loadBlockFiles(String tmpDir)
+      throws BlockAlreadyExistsException, WorkerOutOfSpaceException {
     File dir = new File(mDirPath);
     File[] paths = dir.listFiles();
     if (paths == null) {
@@ -150,7 +230,7 @@ public final class DefaultStorageDir implements StorageDir {
         } catch (IOException e) {
           LOG.error("can not delete directory {}", path.getAbsolutePath(), e);
         }
-      } else {
+      } else if (!BlockIndex.isIndexFile(path.getName())) {
         try {
           long blockId = Long.parseLong(path.getName());
           addBlockMeta(new DefaultBlockMeta(blockId, path.length(), this));
@@ -204,12 +284,17 @@ public final class DefaultStorageDir implements StorageDir {
 
   @Override
   public List<Long> getBlockIds() {
-    return new ArrayList<>(mBlockIdToBlockMap.keySet());
+    long[] blockIds = mBlockIdToBlockMap.keys();
+    List<Long> list = new ArrayList<>(blockIds.length);
+    for (long blockId : blockIds) {
+      list.add(blockId);
+    }
+    return list;
   }
 
   @Override
   public List<BlockMeta> getBlocks() {
-    return new ArrayList<>(mBlockIdToBlockMap.values());
+    return mBlockIdToBlockMap.values();
   }
 
   @Override
@@ -253,6 +338,9 @@ public final class DefaultStorageDir implements StorageDir {
     }
     mBlockIdToBlockMap.put(blockId, blockMeta);
     reserveSpace(blockSize, true);
+    if (mBlockIndex != null) {
+      mBlockIndex.add(blockId, blockSize);
+    }
   }
 
   @Override
@@ -273,12 +361,12 @@ public final class DefaultStorageDir implements StorageDir {
     }
 
     mBlockIdToTempBlockMap.put(blockId, tempBlockMeta);
-    Set<Long> sessionTempBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
+    LongHashSet sessionTempBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
     if (sessionTempBlocks == null) {
-      mSessionIdToTempBlockIdsMap.put(sessionId, Sets.newHashSet(blockId));
-    } else {
-      sessionTempBlocks.add(blockId);
+      sessionTempBlocks = new LongHashSet();
+      mSessionIdToTempBlockIdsMap.put(sessionId, sessionTempBlocks);
     }
+    sessionTempBlocks.add(blockId);
     reserveSpace(blockSize, false);
   }
 
@@ -291,6 +379,12 @@ public final class DefaultStorageDir implements StorageDir {
       throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_META_NOT_FOUND, blockId);
     }
     reclaimSpace(blockMeta.getBlockSize(), true);
+    if (mBlockIndex != null) {
+      mBlockIndex.remove(blockId);
+      if (mBlockIndex.shouldRewrite(mBlockIdToBlockMap.size())) {
+        mBlockIndex.compact(getBlocks());
+      }
+    }
   }
 
   @Override
@@ -302,7 +396,7 @@ public final class DefaultStorageDir implements StorageDir {
     if (deletedTempBlockMeta == null) {
       throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_META_NOT_FOUND, blockId);
     }
-    Set<Long> sessionBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
+    LongHashSet sessionBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
     if (sessionBlocks == null || !sessionBlocks.contains(blockId)) {
       throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_NOT_FOUND_FOR_SESSION, blockId,
           mTier.getTierAlias(), sessionId);
@@ -328,12 +422,12 @@ public final class DefaultStorageDir implements StorageDir {
 
   @Override
   public void cleanupSessionTempBlocks(long sessionId, List<Long> tempBlockIds) {
-    Set<Long> sessionTempBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
+    LongHashSet sessionTempBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
     // The session's temporary blocks have already been removed.
     if (sessionTempBlocks == null) {
       return;
     }
-    for (Long tempBlockId : tempBlockIds) {
+    for (long tempBlockId : tempBlockIds) {
       if (!mBlockIdToTempBlockMap.containsKey(tempBlockId)) {
         // This temp block does not exist in this dir, this is expected for some blocks since the
         // input list is across all dirs
@@ -358,13 +452,13 @@ public final class DefaultStorageDir implements StorageDir {
 
   @Override
   public List<TempBlockMeta> getSessionTempBlocks(long sessionId) {
-    Set<Long> sessionTempBlockIds = mSessionIdToTempBlockIdsMap.get(sessionId);
+    LongHashSet sessionTempBlockIds = mSessionIdToTempBlockIdsMap.get(sessionId);
 
     if (sessionTempBlockIds == null || sessionTempBlockIds.isEmpty()) {
       return Collections.emptyList();
     }
-    List<TempBlockMeta> sessionTempBlocks = new ArrayList<>();
-    for (long blockId : sessionTempBlockIds) {
+    List<TempBlockMeta> sessionTempBlocks = new ArrayList<>(sessionTempBlockIds.size());
+    for (long blockId : sessionTempBlockIds.toLongArray()) {
       sessionTempBlocks.add(mBlockIdToTempBlockMap.get(blockId));
     }
     return sessionTempBlocks;
@@ -380,6 +474,50 @@ public final class DefaultStorageDir implements StorageDir {
     return mReservedBytes.get();
   }
 
+  /**
+   * @return whether the blocks of this dir were loaded from its block index and are not verified
+   *         against the block files yet
+   */
+  public boolean isLoadedFromBlockIndex() {
+    return mLoadedFromBlockIndex;
+  }
+
+  /**
+   * Marks the blocks loaded from the block index as verified, and compacts the index into the
+   * blocks of this dir in the background.
+   */
+  public void markBlockIndexVerified() {
+    mLoadedFromBlockIndex = false;
+    if (mBlockIndex != null) {
+      mBlockIndex.compact(getBlocks());
+    }
+  }
+
+  /**
+   * Closes the block index of this dir, if it keeps one.
+   */
+  public void closeBlockIndex() {
+    if (mBlockIndex != null) {
+      try {
+        mBlockIndex.close();
+      } catch (IOException e) {
+        LOG.warn("Failed to close the block index of StorageDir {}: {}", mDirPath, e.toString());
+      }
+      mBlockIndex = null;
+    }
+  }
+
+  private void rewriteBlockIndex() {
+    try {
+      mBlockIndex.rewrite(getBlocks());
+    } catch (IOException e) {
+      LOG.warn("Failed to write the block index of StorageDir {}, deleting it: {}", mDirPath,
+          e.toString());
+      mBlockIndex.delete();
+      mBlockIndex = null;
+    }
+  }
+
   private void reclaimSpace(long size, boolean committed) {
     mAvailableBytes.getAndUpdate(oldAvailableBytes -> {
       long newAvailableBytes = oldAvailableBytes + size;
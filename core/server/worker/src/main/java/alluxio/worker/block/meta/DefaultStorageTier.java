@@ -95,6 +95,11 @@ public final class DefaultStorageTier implements StorageTier {
           ServerConfiguration.getBytes(PropertyKey.WORKER_MANAGEMENT_TIER_ALIGN_RESERVED_BYTES);
     }
 
+    PropertyKey tierOffHeapConf =
+        PropertyKey.Template.WORKER_TIERED_STORE_LEVEL_OFFHEAP_ENABLED.format(mTierOrdinal);
+    boolean offHeap = ServerConfiguration.isSet(tierOffHeapConf)
+        && ServerConfiguration.getBoolean(tierOffHeapConf);
+
     mDirs = new HashMap<>(dirPaths.length);
     mLostStorage = new ArrayList<>();
 
@@ -103,6 +108,12 @@ public final class DefaultStorageTier implements StorageTier {
       int index = i >= dirQuotas.length ? dirQuotas.length - 1 : i;
       int mediumTypeindex = i >= dirMedium.length ? dirMedium.length - 1 : i;
       long capacity = FormatUtils.parseSpaceSize(dirQuotas[index]);
+      if (offHeap) {
+        mDirs.put(i, OffHeapStorageDir.newStorageDir(this, i, capacity, reservedBytes,
+            dirPaths[i], dirMedium[mediumTypeindex]));
+        totalCapacity += capacity;
+        continue;
+      }
       try {
         StorageDir dir = DefaultStorageDir.newStorageDir(this, i, capacity, reservedBytes,
             dirPaths[i], dirMedium[mediumTypeindex]);
@@ -125,7 +136,7 @@ public final class DefaultStorageTier implements StorageTier {
       }
     }
     mCapacityBytes = totalCapacity;
-    if (mTierAlias.equals(Constants.MEDIUM_MEM) && mDirs.size() == 1) {
+    if (mTierAlias.equals(Constants.MEDIUM_MEM) && mDirs.size() == 1 && !offHeap) {
       checkEnoughMemSpace(mDirs.values().iterator().next());
     }
   }
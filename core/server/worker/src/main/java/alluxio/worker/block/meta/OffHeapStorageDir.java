@@ -0,0 +1,119 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.meta;
+
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.exception.BlockAlreadyExistsException;
+import alluxio.exception.BlockDoesNotExistException;
+import alluxio.worker.block.io.OffHeapBlock;
+import alluxio.worker.block.io.OffHeapSlabPool;
+
+import com.google.common.primitives.Ints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A {@link StorageDir} which stores the data of its blocks in pooled direct memory slabs of the
+ * worker instead of files. The path of the dir only names it, nothing is stored there. The blocks
+ * are lost when the worker restarts.
+ *
+ * The data of a block is keyed by the block id, so committing a temp block does not move it. The
+ * metadata is guarded like in {@link DefaultStorageDir}, while the data can be accessed
+ * concurrently under the block locks.
+ */
+@NotThreadSafe
+public final class OffHeapStorageDir extends DefaultStorageDir {
+  private static final Logger LOG = LoggerFactory.getLogger(OffHeapStorageDir.class);
+
+  private final OffHeapSlabPool mSlabPool;
+  /** A map from block id to the data of the temp or committed block. */
+  private final Map<Long, OffHeapBlock> mBlockData = new ConcurrentHashMap<>();
+
+  private OffHeapStorageDir(StorageTier tier, int dirIndex, long capacityBytes,
+      long reservedBytes, String dirPath, String dirMedium, int slabSize) {
+    super(tier, dirIndex, capacityBytes, reservedBytes, dirPath, dirMedium);
+    mSlabPool = new OffHeapSlabPool(slabSize, capacityBytes);
+  }
+
+  /**
+   * Factory method to create an off-heap {@link StorageDir}, which starts empty.
+   *
+   * @param tier the {@link StorageTier} this dir belongs to
+   * @param dirIndex the index of this dir in its tier
+   * @param capacityBytes the initial capacity of this dir, can not be modified later
+   * @param reservedBytes the amount of reserved space for internal management
+   * @param dirPath the path naming this dir
+   * @param dirMedium the medium type of the storage dir
+   * @return the new created {@link StorageDir}
+   */
+  public static StorageDir newStorageDir(StorageTier tier, int dirIndex, long capacityBytes,
+      long reservedBytes, String dirPath, String dirMedium) {
+    int slabSize = Ints.checkedCast(
+        ServerConfiguration.getBytes(PropertyKey.WORKER_TIERED_STORE_OFFHEAP_SLAB_SIZE));
+    OffHeapStorageDir dir = new OffHeapStorageDir(tier, dirIndex, capacityBytes, reservedBytes,
+        dirPath, dirMedium, slabSize);
+    LOG.info("Off-heap StorageDir initialized: path={}, tier={}, dirIndex={}, medium={}, "
+            + "capacityBytes={}, reservedBytes={}, slabSize={}",
+        dirPath, tier, dirIndex, dirMedium, capacityBytes, reservedBytes, slabSize);
+    return dir;
+  }
+
+  /**
+   * Creates the empty data of a block.
+   *
+   * @param blockId the block id
+   * @return the data of the block
+   * @throws BlockAlreadyExistsException if the dir already has data of the block
+   */
+  public OffHeapBlock createBlockData(long blockId) throws BlockAlreadyExistsException {
+    OffHeapBlock block = new OffHeapBlock(mSlabPool);
+    if (mBlockData.putIfAbsent(blockId, block) != null) {
+      throw new BlockAlreadyExistsException(String.format(
+          "Data of block %s already exists in off-heap dir %s", blockId, getDirPath()));
+    }
+    return block;
+  }
+
+  /**
+   * @param blockId the block id
+   * @return the data of the block
+   * @throws BlockDoesNotExistException if the dir has no data of the block
+   */
+  public OffHeapBlock getBlockData(long blockId) throws BlockDoesNotExistException {
+    OffHeapBlock block = mBlockData.get(blockId);
+    if (block == null) {
+      throw new BlockDoesNotExistException(String.format(
+          "Data of block %s does not exist in off-heap dir %s", blockId, getDirPath()));
+    }
+    return block;
+  }
+
+  /**
+   * Removes the data of a block and returns its memory.
+   *
+   * @param blockId the block id
+   * @throws BlockDoesNotExistException if the dir has no data of the block
+   */
+  public void removeBlockData(long blockId) throws BlockDoesNotExistException {
+    OffHeapBlock block = mBlockData.remove(blockId);
+    if (block == null) {
+      throw new BlockDoesNotExistException(String.format(
+          "Data of block %s does not exist in off-heap dir %s", blockId, getDirPath()));
+    }
+    block.free();
+  }
+}
@@ -32,6 +32,8 @@ import alluxio.util.logging.SamplingLogger;
 import alluxio.wire.BlockReadRequest;
 import alluxio.worker.block.BlockWorker;
 import alluxio.worker.block.io.BlockReader;
+import alluxio.worker.block.io.DelegatingBlockReader;
+import alluxio.worker.block.io.LocalFileBlockReader;
 
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Meter;
@@ -100,6 +102,8 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
   private final BlockWorker mWorker;
   private final ReentrantLock mLock = new ReentrantLock();
   private final boolean mDomainSocketEnabled;
+  /** Whether to send memory-mapped regions of local block files. */
+  private final boolean mMmapEnabled;
   private final AuthenticatedUserInfo mUserInfo;
 
   /**
@@ -131,6 +135,7 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
         new SerializingExecutor(GrpcExecutors.BLOCK_READER_SERIALIZED_RUNNER_EXECUTOR);
     mWorker = blockWorker;
     mDomainSocketEnabled = domainSocketEnabled;
+    mMmapEnabled = ServerConfiguration.getBoolean(PropertyKey.WORKER_NETWORK_READER_MMAP_ENABLED);
   }
 
   @Override
@@ -493,7 +498,9 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
 
     /**
      * Returns the appropriate {@link DataBuffer} representing the data to send, depending on the
-     * configurable transfer type.
+     * configurable transfer type. With {@link PropertyKey#WORKER_NETWORK_READER_MMAP_ENABLED},
+     * blocks in the worker storage are read as memory-mapped regions of the block file, which the
+     * zero-copy marshaller hands to the network without copying them into a buffer first.
      *
      * @param context context of the request to complete
      * @param len The length, in bytes, of the data to read from the block
@@ -512,6 +519,14 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
         openMs = System.currentTimeMillis() - startMs;
         blockReader = context.getBlockReader();
         Preconditions.checkState(blockReader != null);
+        LocalFileBlockReader localReader = mMmapEnabled ? getLocalFileReader(blockReader) : null;
+        if (localReader != null) {
+          long startTransferMs = System.currentTimeMillis();
+          int length = (int) Math.max(0, Math.min(len, localReader.getLength() - offset));
+          ByteBuf buf = new MappedRegionByteBuf(localReader.read(offset, length));
+          transferMs = System.currentTimeMillis() - startTransferMs;
+          return new NettyDataBuffer(buf);
+        }
         ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer(len, len);
         try {
           long startTransferMs = System.currentTimeMillis();
@@ -542,6 +557,19 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
       }
     }
 
+    /**
+     * @param blockReader the reader of the block
+     * @return the reader of the local block file, or null if the block is not read from a file
+     */
+    @Nullable
+    private LocalFileBlockReader getLocalFileReader(BlockReader blockReader) {
+      while (blockReader instanceof DelegatingBlockReader) {
+        blockReader = ((DelegatingBlockReader) blockReader).getDelegate();
+      }
+      return blockReader instanceof LocalFileBlockReader ? (LocalFileBlockReader) blockReader
+          : null;
+    }
+
     /**
      * Opens the block if it is not open.
      *
@@ -0,0 +1,43 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.grpc;
+
+import alluxio.util.io.BufferUtils;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link io.netty.buffer.ByteBuf} over a memory-mapped region of a block file. The region is
+ * unmapped once the last reference to the buffer, or to any buffer derived from it, is released,
+ * so the region stays mapped while gRPC holds the buffer to write it to the network.
+ */
+final class MappedRegionByteBuf extends CompositeByteBuf {
+  private final ByteBuffer mRegion;
+
+  /**
+   * @param region the memory-mapped region, which the buffer takes ownership of
+   */
+  MappedRegionByteBuf(ByteBuffer region) {
+    super(ByteBufAllocator.DEFAULT, true, 1, Unpooled.wrappedBuffer(region));
+    mRegion = region;
+  }
+
+  @Override
+  protected void deallocate() {
+    super.deallocate();
+    BufferUtils.cleanDirectBuffer(mRegion);
+  }
+}
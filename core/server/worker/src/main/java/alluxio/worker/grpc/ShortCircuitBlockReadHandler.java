@@ -15,6 +15,7 @@ import alluxio.RpcUtils;
 import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidWorkerStateException;
+import alluxio.exception.status.NotFoundException;
 import alluxio.grpc.GrpcExceptionUtils;
 import alluxio.grpc.OpenLocalBlockRequest;
 import alluxio.grpc.OpenLocalBlockResponse;
@@ -22,6 +23,8 @@ import alluxio.security.authentication.AuthenticatedUserInfo;
 import alluxio.util.IdUtils;
 import alluxio.util.LogUtils;
 import alluxio.worker.block.BlockWorker;
+import alluxio.worker.block.meta.BlockMeta;
+import alluxio.worker.block.meta.OffHeapStorageDir;
 
 import com.google.common.base.Preconditions;
 import io.grpc.stub.StreamObserver;
@@ -95,8 +98,15 @@ class ShortCircuitBlockReadHandler implements StreamObserver<OpenLocalBlockReque
           throw new InvalidWorkerStateException(
               ExceptionMessage.LOCK_NOT_RELEASED.getMessage(mLockId));
         }
+        BlockMeta meta = mWorker.getBlockMeta(mSessionId, mRequest.getBlockId(), mLockId);
+        if (meta.getParentDir() instanceof OffHeapStorageDir) {
+          // The client falls back to reading the block via gRPC
+          throw new NotFoundException(String.format(
+              "Block %s is stored off-heap and can not be read by short circuit",
+              mRequest.getBlockId()));
+        }
         OpenLocalBlockResponse response = OpenLocalBlockResponse.newBuilder()
-            .setPath(mWorker.getBlockMeta(mSessionId, mRequest.getBlockId(), mLockId).getPath())
+            .setPath(meta.getPath())
             .build();
         return response;
       }
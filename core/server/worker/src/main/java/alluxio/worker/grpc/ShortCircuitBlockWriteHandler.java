@@ -16,6 +16,7 @@ import alluxio.StorageTierAssoc;
 import alluxio.WorkerStorageTierAssoc;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidWorkerStateException;
+import alluxio.exception.status.UnimplementedException;
 import alluxio.grpc.CreateLocalBlockRequest;
 import alluxio.grpc.CreateLocalBlockResponse;
 import alluxio.grpc.GrpcExceptionUtils;
@@ -23,6 +24,8 @@ import alluxio.security.authentication.AuthenticatedUserInfo;
 import alluxio.util.IdUtils;
 import alluxio.util.LogUtils;
 import alluxio.worker.block.BlockWorker;
+import alluxio.worker.block.meta.OffHeapStorageDir;
+import alluxio.worker.block.meta.TempBlockMeta;
 
 import com.google.common.base.Preconditions;
 import io.grpc.Context;
@@ -89,6 +92,14 @@ class ShortCircuitBlockWriteHandler implements StreamObserver<CreateLocalBlockRe
             mSessionId = IdUtils.createSessionId();
             String path = mBlockWorker.createBlock(mSessionId, request.getBlockId(),
                 request.getTier(), request.getMediumType(), request.getSpaceToReserve());
+            TempBlockMeta meta = mBlockWorker.getTempBlockMeta(mSessionId, request.getBlockId());
+            if (meta != null && meta.getParentDir() instanceof OffHeapStorageDir) {
+              // The client falls back to writing the block via gRPC, and the temp block is
+              // removed with the session
+              throw new UnimplementedException(String.format(
+                  "Block %s is placed off-heap and can not be written by short circuit",
+                  request.getBlockId()));
+            }
             CreateLocalBlockResponse response =
                 CreateLocalBlockResponse.newBuilder().setPath(path).build();
             return response;
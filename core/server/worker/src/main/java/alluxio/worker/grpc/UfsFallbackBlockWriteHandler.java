@@ -27,6 +27,8 @@ import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.CreateOptions;
 import alluxio.worker.BlockUtils;
 import alluxio.worker.block.BlockWorker;
+import alluxio.worker.block.meta.OffHeapStorageDir;
+import alluxio.worker.block.meta.StorageDir;
 import alluxio.worker.block.meta.TempBlockMeta;
 
 import com.google.common.base.Preconditions;
@@ -273,6 +275,12 @@ public final class UfsFallbackBlockWriteHandler
     if (block == null) {
       throw new NotFoundException("block " + blockId + " not found");
     }
+    StorageDir dir = block.getParentDir();
+    if (dir instanceof OffHeapStorageDir) {
+      Preconditions.checkState(
+          ((OffHeapStorageDir) dir).getBlockData(blockId).writeTo(ufsOutputStream) == pos);
+      return;
+    }
     Preconditions.checkState(Files.copy(Paths.get(block.getPath()), ufsOutputStream) == pos);
   }
 }
@@ -37,6 +37,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Unit tests for {@link BlockLockManager}.
@@ -278,6 +279,112 @@ public final class BlockLockManagerTest {
     lockExpectingHang(manager, 2);
   }
 
+  /**
+   * Tests that block locks are returned to the pool when a session fails to take a write lock on
+   * a block it already holds.
+   */
+  @Test(timeout = 10000)
+  public void reuseLockAfterRejectedWriteLock() throws Exception {
+    setMaxLocks(1);
+    BlockLockManager manager = new BlockLockManager();
+    long lockId1 = manager.lockBlock(TEST_SESSION_ID, 1, BlockLockType.READ);
+    try {
+      manager.lockBlock(TEST_SESSION_ID, 1, BlockLockType.WRITE);
+      Assert.fail("Taking a write lock on a block held by the session should fail");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    assertTrue(manager.unlockBlockNoException(lockId1));
+    manager.lockBlock(TEST_SESSION_ID, 2, BlockLockType.WRITE);
+    manager.validate();
+  }
+
+  /**
+   * Tests that sessions concurrently locking and unlocking the same block never hold its write
+   * lock together, and that the block lock goes back to the pool afterwards.
+   */
+  @Test(timeout = 10000)
+  public void lockSameBlockConcurrently() throws Throwable {
+    final int numSessions = 8;
+    final int lockUnlocksPerThread = 500;
+    final long blockId = 1;
+    setMaxLocks(numSessions);
+    final BlockLockManager manager = new BlockLockManager();
+    final AtomicInteger holders = new AtomicInteger(0);
+    final List<Thread> threads = new ArrayList<>();
+    final ConcurrentHashSet<Throwable> failedThreadThrowables = new ConcurrentHashSet<>();
+    for (int i = 0; i < numSessions; i++) {
+      final long sessionId = i;
+      Thread t = new Thread(() -> {
+        for (int j = 0; j < lockUnlocksPerThread; j++) {
+          long lockId = manager.lockBlock(sessionId, blockId, BlockLockType.WRITE);
+          assertEquals(1, holders.incrementAndGet());
+          holders.decrementAndGet();
+          assertTrue(manager.unlockBlockNoException(lockId));
+        }
+      });
+      t.setUncaughtExceptionHandler((th, ex) -> failedThreadThrowables.add(ex));
+      threads.add(t);
+    }
+    for (Thread t : threads) {
+      t.start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+    if (!failedThreadThrowables.isEmpty()) {
+      Assert.fail(Throwables.getStackTraceAsString(failedThreadThrowables.iterator().next()));
+    }
+    assertTrue(manager.getLockedBlocks().isEmpty());
+    manager.validate();
+    // All the block locks are back to the pool
+    for (int i = 0; i < numSessions; i++) {
+      manager.lockBlock(TEST_SESSION_ID, numSessions + i, BlockLockType.WRITE);
+    }
+  }
+
+  /**
+   * Tests that cleaning up sessions while they lock and unlock blocks releases every lock once.
+   */
+  @Test(timeout = 10000)
+  public void cleanupSessionsConcurrently() throws Throwable {
+    final int numSessions = 8;
+    final int lockUnlocksPerThread = 200;
+    setMaxLocks(numSessions);
+    final BlockLockManager manager = new BlockLockManager();
+    final List<Thread> threads = new ArrayList<>();
+    final ConcurrentHashSet<Throwable> failedThreadThrowables = new ConcurrentHashSet<>();
+    for (int i = 0; i < numSessions; i++) {
+      final long sessionId = i;
+      Thread t = new Thread(() -> {
+        for (int j = 0; j < lockUnlocksPerThread; j++) {
+          long lockId = manager.lockBlock(sessionId, sessionId, BlockLockType.READ);
+          if (j % 2 == 0) {
+            manager.unlockBlockNoException(lockId);
+          }
+          manager.cleanupSession(sessionId);
+        }
+      });
+      t.setUncaughtExceptionHandler((th, ex) -> failedThreadThrowables.add(ex));
+      threads.add(t);
+    }
+    for (Thread t : threads) {
+      t.start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+    if (!failedThreadThrowables.isEmpty()) {
+      Assert.fail(Throwables.getStackTraceAsString(failedThreadThrowables.iterator().next()));
+    }
+    assertTrue(manager.getLockedBlocks().isEmpty());
+    manager.validate();
+    // All the block locks are back to the pool
+    for (int i = 0; i < numSessions; i++) {
+      manager.lockBlock(TEST_SESSION_ID, numSessions + i, BlockLockType.WRITE);
+    }
+  }
+
   /**
    * Calls {@link BlockLockManager#lockBlock(long, long, BlockLockType)} and fails if it doesn't
    * hang.
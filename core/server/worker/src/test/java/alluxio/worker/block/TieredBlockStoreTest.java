@@ -17,7 +17,11 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import alluxio.Constants;
@@ -32,13 +36,18 @@ import alluxio.retry.CountingRetry;
 import alluxio.retry.RetryPolicy;
 import alluxio.test.util.ConcurrencyUtils;
 import alluxio.util.CommonUtils;
+import alluxio.util.io.BufferUtils;
 import alluxio.util.io.FileUtils;
 import alluxio.worker.block.annotator.BlockIterator;
 import alluxio.worker.block.evictor.EvictionPlan;
 import alluxio.worker.block.evictor.Evictor;
 import alluxio.worker.block.evictor.Evictor.Mode;
+import alluxio.worker.block.io.BlockReader;
+import alluxio.worker.block.io.BlockWriter;
 import alluxio.worker.block.meta.DefaultBlockMeta;
+import alluxio.worker.block.meta.DefaultStorageDir;
 import alluxio.worker.block.meta.DefaultTempBlockMeta;
+import alluxio.worker.block.meta.OffHeapStorageDir;
 import alluxio.worker.block.meta.StorageDir;
 import alluxio.worker.block.meta.TempBlockMeta;
 
@@ -51,6 +60,8 @@ import org.junit.rules.TemporaryFolder;
 import org.mockito.invocation.InvocationOnMock;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -101,6 +112,13 @@ public final class TieredBlockStoreTest {
 
     File tempFolder = mTestFolder.newFolder();
     TieredBlockStoreTestUtils.setupDefaultConf(tempFolder.getAbsolutePath());
+    restart();
+  }
+
+  /**
+   * Creates the block store, loading the blocks already in the configured dirs.
+   */
+  private void restart() throws Exception {
     mMetaManager = BlockMetadataManager.createBlockMetadataManager();
     mLockManager = new BlockLockManager();
     mBlockStore = new TieredBlockStore(mMetaManager, mLockManager);
@@ -253,6 +271,116 @@ public final class TieredBlockStoreTest {
     assertTrue(FileUtils.exists(DefaultBlockMeta.commitPath(mTestDir3, BLOCK_ID2)));
   }
 
+  /**
+   * Tests writing, reading, moving and removing a block in an off-heap tier.
+   */
+  @Test
+  public void offHeapTier() throws Exception {
+    ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL0_OFFHEAP_ENABLED, true);
+    ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_OFFHEAP_SLAB_SIZE, 256);
+    init(0);
+    assertTrue(mTestDir1 instanceof OffHeapStorageDir);
+    int length = (int) BLOCK_SIZE + 100;
+
+    TempBlockMeta tempBlock = mBlockStore.createBlock(SESSION_ID1, BLOCK_ID1,
+        AllocateOptions.forCreate(length, mTestDir1.toBlockStoreLocation()));
+    assertFalse(FileUtils.exists(tempBlock.getPath()));
+    try (BlockWriter writer = mBlockStore.getBlockWriter(SESSION_ID1, BLOCK_ID1)) {
+      writer.append(BufferUtils.getIncreasingByteBuffer(length));
+    }
+    mBlockStore.commitBlock(SESSION_ID1, BLOCK_ID1, false);
+    assertEquals(length, mBlockStore.getVolatileBlockMeta(BLOCK_ID1).getBlockSize());
+    assertFalse(FileUtils.exists(DefaultBlockMeta.commitPath(mTestDir1, BLOCK_ID1)));
+    assertBlockData(length);
+
+    // Move the block to a file and back to another off-heap dir
+    mBlockStore.moveBlock(SESSION_ID1, BLOCK_ID1,
+        AllocateOptions.forMove(mTestDir3.toBlockStoreLocation()));
+    assertTrue(FileUtils.exists(DefaultBlockMeta.commitPath(mTestDir3, BLOCK_ID1)));
+    assertBlockData(length);
+    mBlockStore.moveBlock(SESSION_ID1, BLOCK_ID1,
+        AllocateOptions.forMove(mTestDir2.toBlockStoreLocation()));
+    assertFalse(FileUtils.exists(DefaultBlockMeta.commitPath(mTestDir3, BLOCK_ID1)));
+    assertTrue(mTestDir2.hasBlockMeta(BLOCK_ID1));
+    assertBlockData(length);
+
+    mBlockStore.removeBlock(SESSION_ID1, BLOCK_ID1);
+    assertFalse(mBlockStore.hasBlockMeta(BLOCK_ID1));
+    mThrown.expect(BlockDoesNotExistException.class);
+    ((OffHeapStorageDir) mTestDir2).getBlockData(BLOCK_ID1);
+  }
+
+  /**
+   * Tests that a restarted store loads the blocks from the block indexes, and that verifying the
+   * indexes reconciles the blocks with the block files.
+   */
+  @Test
+  public void verifyBlockIndex() throws Exception {
+    long foundBlockId = 1002;
+    long movedBlockId = 1003;
+    ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_BLOCK_INDEX_ENABLED, true);
+    init(0);
+    TieredBlockStoreTestUtils.cache2(SESSION_ID1, BLOCK_ID1, BLOCK_SIZE, mTestDir1, mMetaManager,
+        mBlockIterator);
+    TieredBlockStoreTestUtils.cache2(SESSION_ID1, BLOCK_ID2, BLOCK_SIZE, mTestDir1, mMetaManager,
+        mBlockIterator);
+    TieredBlockStoreTestUtils.cache2(SESSION_ID1, movedBlockId, BLOCK_SIZE, mTestDir2,
+        mMetaManager, mBlockIterator);
+    mBlockStore.close();
+    // Change the block files while the store is stopped
+    Files.delete(Paths.get(DefaultBlockMeta.commitPath(mTestDir1, BLOCK_ID1)));
+    BufferUtils.writeBufferToFile(DefaultBlockMeta.commitPath(mTestDir1, BLOCK_ID2),
+        BufferUtils.getIncreasingByteArray((int) BLOCK_SIZE - 1));
+    BufferUtils.writeBufferToFile(DefaultBlockMeta.commitPath(mTestDir1, foundBlockId),
+        BufferUtils.getIncreasingByteArray((int) BLOCK_SIZE));
+    // A file left behind by a move of the block to another dir
+    String strayFile = DefaultBlockMeta.commitPath(mTestDir1, movedBlockId);
+    BufferUtils.writeBufferToFile(strayFile, BufferUtils.getIncreasingByteArray((int) BLOCK_SIZE));
+
+    restart();
+    BlockStoreEventListener listener = mock(BlockStoreEventListener.class);
+    mBlockStore.registerBlockStoreEventListener(listener);
+    assertTrue(((DefaultStorageDir) mTestDir1).isLoadedFromBlockIndex());
+    assertTrue(mBlockStore.hasBlockMeta(BLOCK_ID1));
+    assertFalse(mBlockStore.hasBlockMeta(foundBlockId));
+
+    mBlockStore.verifyBlockIndex();
+    assertFalse(((DefaultStorageDir) mTestDir1).isLoadedFromBlockIndex());
+    assertFalse(mBlockStore.hasBlockMeta(BLOCK_ID1));
+    assertTrue(mBlockStore.hasBlockMeta(BLOCK_ID2));
+    assertTrue(mBlockStore.hasBlockMeta(foundBlockId));
+    assertEquals(BLOCK_SIZE - 1, mBlockStore.getVolatileBlockMeta(BLOCK_ID2).getBlockSize());
+    assertEquals(2 * BLOCK_SIZE - 1, mTestDir1.getCommittedBytes());
+    verify(listener).onBlockLost(BLOCK_ID1);
+    verify(listener).onBlockFound(foundBlockId, mTestDir1.toBlockStoreLocation());
+    // The resized block is replaced in the evictor and annotator state
+    verify(listener).onRemoveBlock(anyLong(), eq(BLOCK_ID2), eq(mTestDir1.toBlockStoreLocation()));
+    verify(listener).onCommitBlock(anyLong(), eq(BLOCK_ID2), eq(mTestDir1.toBlockStoreLocation()));
+    // The stray file is deleted, and the block stays in its dir without being reported
+    assertFalse(FileUtils.exists(strayFile));
+    assertTrue(mTestDir2.hasBlockMeta(movedBlockId));
+    verify(listener, never()).onBlockLost(movedBlockId);
+    verify(listener, never()).onRemoveBlock(anyLong(), eq(movedBlockId), any());
+    mBlockStore.close();
+
+    // The verified blocks are loaded on the next restart
+    restart();
+    assertTrue(((DefaultStorageDir) mTestDir1).isLoadedFromBlockIndex());
+    assertEquals(Sets.newHashSet(BLOCK_ID2, foundBlockId),
+        Sets.newHashSet(mTestDir1.getBlockIds()));
+    mBlockStore.close();
+  }
+
+  private void assertBlockData(int length) throws Exception {
+    long lockId = mBlockStore.lockBlock(SESSION_ID1, BLOCK_ID1);
+    try (BlockReader reader = mBlockStore.getBlockReader(SESSION_ID1, BLOCK_ID1, lockId)) {
+      assertEquals(length, reader.getLength());
+      assertTrue(BufferUtils.equalIncreasingByteBuffer(0, length, reader.read(0, length)));
+    } finally {
+      mBlockStore.unlockBlock(lockId);
+    }
+  }
+
   @Test
   public void tierMoveTargetIsFull() throws Exception {
     TieredBlockStoreTestUtils.cache2(SESSION_ID1, BLOCK_ID1, BLOCK_SIZE, mTestDir1, mMetaManager,
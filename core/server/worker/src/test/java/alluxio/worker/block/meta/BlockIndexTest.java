@@ -0,0 +1,172 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.meta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.collections.LongObjectHashMap;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link BlockIndex}.
+ */
+public final class BlockIndexTest {
+  /** Rule to create a new temporary folder during each test. */
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+  private String mDirPath;
+
+  /**
+   * Sets up the dir of the index before a test runs.
+   */
+  @Before
+  public void before() throws Exception {
+    mDirPath = mFolder.newFolder().getAbsolutePath();
+  }
+
+  /**
+   * Tests that the blocks rewritten to and appended to the index are loaded.
+   */
+  @Test
+  public void rewriteAndLoad() throws Exception {
+    BlockIndex index = new BlockIndex(mDirPath);
+    assertNull(index.load());
+    index.rewrite(Arrays.asList(block(1, 10), block(2, 20)));
+    index.add(3, 30);
+    index.remove(1);
+    index.add(1, 15);
+    index.remove(2);
+    index.close();
+
+    LongObjectHashMap<Long> blocks = new BlockIndex(mDirPath).load();
+    assertEquals(2, blocks.size());
+    assertEquals(Long.valueOf(15), blocks.get(1));
+    assertEquals(Long.valueOf(30), blocks.get(3));
+  }
+
+  /**
+   * Tests that a record which was not completely written is dropped, and that the records
+   * appended afterwards are loaded.
+   */
+  @Test
+  public void dropIncompleteRecord() throws Exception {
+    BlockIndex index = new BlockIndex(mDirPath);
+    index.rewrite(Arrays.asList(block(1, 10)));
+    index.close();
+    try (FileOutputStream out = new FileOutputStream(indexFile(), true)) {
+      out.write(new byte[] {1, 0, 0});
+    }
+
+    index = new BlockIndex(mDirPath);
+    assertEquals(1, index.load().size());
+    index.add(2, 20);
+    index.close();
+    LongObjectHashMap<Long> blocks = new BlockIndex(mDirPath).load();
+    assertEquals(2, blocks.size());
+    assertEquals(Long.valueOf(20), blocks.get(2));
+  }
+
+  /**
+   * Tests that an index of an unknown format is not loaded.
+   */
+  @Test
+  public void unknownFormat() throws Exception {
+    try (FileOutputStream out = new FileOutputStream(indexFile())) {
+      out.write("not an index".getBytes());
+    }
+    assertNull(new BlockIndex(mDirPath).load());
+  }
+
+  /**
+   * Tests that the records appended while the index is compacted are kept in the compacted index,
+   * and that a compaction is abandoned when the index is closed meanwhile.
+   */
+  @Test
+  public void compact() throws Exception {
+    BlockIndex index = new BlockIndex(mDirPath);
+    index.rewrite(Arrays.asList(block(1, 10), block(2, 20)));
+    index.remove(1);
+    List<Runnable> compactions = new ArrayList<>();
+    index.compact(Arrays.asList(block(2, 20)), compactions::add);
+    assertEquals(1, compactions.size());
+    // Only one compaction runs at a time
+    assertFalse(index.shouldRewrite(0));
+    index.compact(Arrays.asList(block(2, 20)), compactions::add);
+    assertEquals(1, compactions.size());
+    index.add(3, 30);
+    index.remove(2);
+    compactions.get(0).run();
+    index.add(4, 40);
+    index.close();
+
+    LongObjectHashMap<Long> blocks = new BlockIndex(mDirPath).load();
+    assertEquals(2, blocks.size());
+    assertEquals(Long.valueOf(30), blocks.get(3));
+    assertEquals(Long.valueOf(40), blocks.get(4));
+    // The compacted index holds the snapshot and the 3 records appended afterwards
+    assertEquals(HEADER_BYTES + 17 * 3 + 9, indexFile().length());
+
+    index = new BlockIndex(mDirPath);
+    index.load();
+    index.compact(Arrays.asList(block(3, 30), block(4, 40)), compactions::add);
+    index.add(5, 50);
+    index.close();
+    compactions.get(1).run();
+    blocks = new BlockIndex(mDirPath).load();
+    assertEquals(3, blocks.size());
+    assertFalse(new File(mDirPath, BlockIndex.FILE_NAME + ".tmp").exists());
+  }
+
+  /**
+   * Tests that deleting the index deletes its file.
+   */
+  @Test
+  public void delete() throws Exception {
+    BlockIndex index = new BlockIndex(mDirPath);
+    index.rewrite(Arrays.asList(block(1, 10)));
+    assertTrue(indexFile().exists());
+    index.delete();
+    assertFalse(indexFile().exists());
+    // Appending to a deleted index does nothing
+    index.add(2, 20);
+    assertFalse(indexFile().exists());
+  }
+
+  private File indexFile() {
+    return new File(mDirPath, BlockIndex.FILE_NAME);
+  }
+
+  private static BlockMeta block(long blockId, long blockSize) {
+    BlockMeta block = mock(BlockMeta.class);
+    when(block.getBlockId()).thenReturn(blockId);
+    when(block.getBlockSize()).thenReturn(blockSize);
+    return block;
+  }
+}
@@ -22,8 +22,6 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
-import java.io.IOException;
-
 /**
  * Unit tests for {@link DefaultBlockMeta}.
  */
@@ -66,7 +64,7 @@ public class DefaultBlockMetaTest {
    * Tests the {@link BlockMeta#getBlockSize()} method.
    */
   @Test
-  public void getBlockSize() throws IOException {
+  public void getBlockSize() throws Exception {
     // With the block file not really existing, expect committed block size to be zero.
     mBlockMeta = new DefaultBlockMeta(mTempBlockMeta);
     Assert.assertEquals(0, mBlockMeta.getBlockSize());
@@ -88,7 +86,7 @@ public class DefaultBlockMetaTest {
    * Tests the {@link BlockMeta#getPath()} method.
    */
   @Test
-  public void getPath() {
+  public void getPath() throws Exception {
     mBlockMeta = new DefaultBlockMeta(mTempBlockMeta);
     Assert.assertEquals(PathUtils.concatPath(mTestBlockDirPath, TEST_BLOCK_ID),
         mBlockMeta.getPath());
@@ -17,6 +17,8 @@ import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 import alluxio.Constants;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
 import alluxio.exception.BlockAlreadyExistsException;
 import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.ExceptionMessage;
@@ -38,6 +40,7 @@ import org.junit.rules.TemporaryFolder;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 
@@ -217,6 +220,74 @@ public final class DefaultStorageDirTest {
     assertEquals(1, files.length);
   }
 
+  /**
+   * Tests that a restarted storage directory loads its blocks from its block index without
+   * listing the block files.
+   */
+  @Test
+  public void initializeMetaFromBlockIndex() throws Exception {
+    ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_BLOCK_INDEX_ENABLED, true);
+    try {
+      File testDir = mFolder.newFolder();
+      for (int blockId = 0; blockId < 3; blockId++) {
+        newBlockFile(testDir, String.valueOf(blockId), blockId + 1);
+      }
+      DefaultStorageDir dir = (DefaultStorageDir) newStorageDir(testDir);
+      assertFalse(dir.isLoadedFromBlockIndex());
+      dir.removeBlockMeta(dir.getBlockMeta(0));
+      dir.addBlockMeta(new DefaultBlockMeta(TEST_BLOCK_ID, TEST_BLOCK_SIZE, dir));
+      dir.closeBlockIndex();
+      // The block files are not listed, so the index is loaded even if they are gone
+      for (int blockId = 0; blockId < 3; blockId++) {
+        assertTrue(new File(testDir, String.valueOf(blockId)).delete());
+      }
+
+      dir = (DefaultStorageDir) newStorageDir(testDir);
+      assertTrue(dir.isLoadedFromBlockIndex());
+      assertEquals(new HashSet<>(Arrays.asList(1L, 2L, TEST_BLOCK_ID)),
+          new HashSet<>(dir.getBlockIds()));
+      assertEquals(2 + 3 + TEST_BLOCK_SIZE, dir.getCommittedBytes());
+      dir.closeBlockIndex();
+    } finally {
+      ServerConfiguration.unset(PropertyKey.WORKER_TIERED_STORE_BLOCK_INDEX_ENABLED);
+    }
+  }
+
+  /**
+   * Tests that a block index whose blocks fail to be added to the dir is deleted.
+   */
+  @Test
+  public void initializeMetaDeleteFailedBlockIndex() throws Exception {
+    ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_BLOCK_INDEX_ENABLED, true);
+    try {
+      File testDir = mFolder.newFolder();
+      BlockIndex index = new BlockIndex(testDir.getAbsolutePath());
+      index.rewrite(new ArrayList<>());
+      index.add(TEST_BLOCK_ID, TEST_DIR_CAPACITY + 1);
+      index.close();
+
+      assertThrows(WorkerOutOfSpaceException.class, () -> newStorageDir(testDir));
+      assertFalse(new File(testDir, BlockIndex.FILE_NAME).exists());
+    } finally {
+      ServerConfiguration.unset(PropertyKey.WORKER_TIERED_STORE_BLOCK_INDEX_ENABLED);
+    }
+  }
+
+  /**
+   * Tests that the block index is not loaded and is deleted when it is disabled.
+   */
+  @Test
+  public void initializeMetaDeleteDisabledBlockIndex() throws Exception {
+    File testDir = mFolder.newFolder();
+    newBlockFile(testDir, BlockIndex.FILE_NAME, 1);
+    newBlockFile(testDir, String.valueOf(TEST_BLOCK_ID), Ints.checkedCast(TEST_BLOCK_SIZE));
+
+    DefaultStorageDir dir = (DefaultStorageDir) newStorageDir(testDir);
+    assertFalse(dir.isLoadedFromBlockIndex());
+    assertTrue(dir.hasBlockMeta(TEST_BLOCK_ID));
+    assertFalse(new File(testDir, BlockIndex.FILE_NAME).exists());
+  }
+
   /**
    * Tests the {@link StorageDir#getCapacityBytes()}, the {@link StorageDir#getAvailableBytes()} and
    * the {@link StorageDir#getCommittedBytes()} methods.
@@ -0,0 +1,196 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.meta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.exception.BlockAlreadyExistsException;
+import alluxio.exception.BlockDoesNotExistException;
+import alluxio.util.io.BufferUtils;
+import alluxio.worker.block.TieredBlockStoreTestUtils;
+import alluxio.worker.block.io.OffHeapBlock;
+import alluxio.worker.block.io.OffHeapSlabPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Unit tests for {@link OffHeapStorageDir}.
+ */
+public final class OffHeapStorageDirTest {
+  private static final long TEST_BLOCK_ID = 9;
+  private static final int TEST_SLAB_SIZE = 100;
+  private static final long TEST_DIR_CAPACITY = 1000;
+  private static final String TEST_WORKER_DATA_DIR = "testworker";
+
+  private OffHeapStorageDir mDir;
+
+  /** Rule to create a new temporary folder during each test. */
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  /** The exception expected to be thrown. */
+  @Rule
+  public ExpectedException mThrown = ExpectedException.none();
+
+  /**
+   * Sets up all dependencies before a test runs.
+   */
+  @Before
+  public void before() throws Exception {
+    String[] tierPath = {mFolder.newFolder().getAbsolutePath()};
+    TieredBlockStoreTestUtils.setupConfWithSingleTier(null, 0, Constants.MEDIUM_MEM, tierPath,
+        new long[] {TEST_DIR_CAPACITY}, new String[] {Constants.MEDIUM_MEM},
+        TEST_WORKER_DATA_DIR);
+    ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL0_OFFHEAP_ENABLED, true);
+    ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_OFFHEAP_SLAB_SIZE, TEST_SLAB_SIZE);
+    StorageTier tier = DefaultStorageTier.newStorageTier(Constants.MEDIUM_MEM, false);
+    mDir = (OffHeapStorageDir) tier.getDir(0);
+  }
+
+  @After
+  public void after() {
+    ServerConfiguration.reset();
+  }
+
+  /**
+   * Tests that the dir keeps the capacity of the tier.
+   */
+  @Test
+  public void capacity() {
+    assertEquals(TEST_DIR_CAPACITY, mDir.getCapacityBytes());
+    assertEquals(TEST_DIR_CAPACITY, mDir.getAvailableBytes());
+  }
+
+  /**
+   * Tests that appends spanning several slabs are read back, also after the block is trimmed.
+   */
+  @Test
+  public void appendAndRead() throws Exception {
+    OffHeapBlock block = mDir.createBlockData(TEST_BLOCK_ID);
+    int length = TEST_SLAB_SIZE * 2 + 50;
+    block.append(BufferUtils.getIncreasingByteBuffer(0, 30));
+    block.append(BufferUtils.getIncreasingByteBuffer(30, length - 30));
+    assertEquals(length, block.getLength());
+    assertData(block, 0, length);
+
+    block.trim();
+    assertData(block, 0, length);
+    ByteBuffer buf = ByteBuffer.allocate(TEST_SLAB_SIZE);
+    assertEquals(TEST_SLAB_SIZE, block.read(TEST_SLAB_SIZE - 10, buf));
+    buf.flip();
+    assertTrue(BufferUtils.equalIncreasingByteBuffer(TEST_SLAB_SIZE - 10, TEST_SLAB_SIZE, buf));
+    assertEquals(-1, block.read(length, ByteBuffer.allocate(1)));
+
+    // Appending expands the trimmed tail again
+    block.append(BufferUtils.getIncreasingByteBuffer(length, TEST_SLAB_SIZE));
+    assertData(block, 0, length + TEST_SLAB_SIZE);
+  }
+
+  /**
+   * Tests copying a block from and to streams.
+   */
+  @Test
+  public void streams() throws Exception {
+    OffHeapBlock block = mDir.createBlockData(TEST_BLOCK_ID);
+    int length = TEST_SLAB_SIZE * 3;
+    assertEquals(length, block.append(
+        new ByteArrayInputStream(BufferUtils.getIncreasingByteArray(length))));
+    block.trim();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(length, block.writeTo(out));
+    assertTrue(BufferUtils.equalIncreasingByteArray(length, out.toByteArray()));
+  }
+
+  /**
+   * Tests that removed blocks return their slabs to the pool of the dir.
+   */
+  @Test
+  public void removeBlockData() throws Exception {
+    mDir.createBlockData(TEST_BLOCK_ID)
+        .append(BufferUtils.getIncreasingByteBuffer(TEST_SLAB_SIZE * 2));
+    mDir.removeBlockData(TEST_BLOCK_ID);
+    OffHeapBlock block = mDir.createBlockData(TEST_BLOCK_ID);
+    block.append(BufferUtils.getIncreasingByteBuffer(TEST_SLAB_SIZE * 2));
+    assertData(block, 0, TEST_SLAB_SIZE * 2);
+    mDir.removeBlockData(TEST_BLOCK_ID);
+    assertEquals(0, block.getLength());
+
+    mThrown.expect(BlockDoesNotExistException.class);
+    mDir.getBlockData(TEST_BLOCK_ID);
+  }
+
+  /**
+   * Tests that the data of a block can only be created once.
+   */
+  @Test
+  public void createBlockDataTwice() throws Exception {
+    mDir.createBlockData(TEST_BLOCK_ID);
+    mThrown.expect(BlockAlreadyExistsException.class);
+    mDir.createBlockData(TEST_BLOCK_ID);
+  }
+
+  /**
+   * Tests that a block being written only holds the memory reserved for it, instead of a slab.
+   */
+  @Test
+  public void allocateWithinReservedBytes() throws Exception {
+    OffHeapSlabPool pool = new OffHeapSlabPool(Constants.MB, 4 * Constants.MB);
+    OffHeapBlock block = new OffHeapBlock(pool);
+    block.setReservedBytes(1000);
+    block.append(BufferUtils.getIncreasingByteBuffer(0, 1000));
+    assertEquals(0, pool.getNumSlabs());
+    // Appending past the reserved bytes grows the last buffer
+    block.append(BufferUtils.getIncreasingByteBuffer(1000, 1000));
+    assertEquals(0, pool.getNumSlabs());
+    assertData(block, 0, 2000);
+    // The last buffer becomes a slab once a whole slab is reserved
+    block.setReservedBytes(2 * Constants.MB);
+    int length = Constants.MB + 500;
+    block.append(BufferUtils.getIncreasingByteBuffer(2000, length - 2000));
+    assertEquals(2, pool.getNumSlabs());
+    assertData(block, 0, length);
+    block.trim();
+    assertData(block, 0, length);
+    block.free();
+    assertEquals(2, pool.getNumSlabs());
+  }
+
+  /**
+   * Tests that committing a temp block whose data is missing fails.
+   */
+  @Test
+  public void commitWithoutData() throws Exception {
+    TempBlockMeta tempBlock = new DefaultTempBlockMeta(1, TEST_BLOCK_ID, 10, mDir);
+    mThrown.expect(BlockDoesNotExistException.class);
+    new DefaultBlockMeta(tempBlock);
+  }
+
+  private static void assertData(OffHeapBlock block, int offset, int length) {
+    ByteBuffer buf = ByteBuffer.allocate(length);
+    assertEquals(length, block.read(offset, buf));
+    buf.flip();
+    assertTrue(BufferUtils.equalIncreasingByteBuffer(offset, length, buf));
+  }
+}
@@ -38,6 +38,7 @@ import io.grpc.StatusException;
 import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import io.netty.util.ResourceLeakDetector;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -79,6 +80,11 @@ public class BlockReadHandlerTest {
   @Rule
   public ExpectedException mExpectedException = ExpectedException.none();
 
+  @After
+  public void after() {
+    ServerConfiguration.reset();
+  }
+
   @Before
   public void before() throws Exception {
     ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.ADVANCED);
@@ -135,6 +141,24 @@ public class BlockReadHandlerTest {
     checkAllReadResponses(mResponses, checksumExpected);
   }
 
+  /**
+   * Reads a sub-region of a file as memory-mapped regions.
+   */
+  @Test
+  public void readPartialFileWithMmap() throws Exception {
+    ServerConfiguration.set(PropertyKey.WORKER_NETWORK_READER_MMAP_ENABLED, true);
+    mReadHandler = new BlockReadHandler(GrpcExecutors.BLOCK_READER_EXECUTOR, mBlockWorker,
+        mResponseObserver, new AuthenticatedUserInfo(), false);
+    long start = 3;
+    long end = CHUNK_SIZE * 10 - 99;
+    long checksumExpected = populateInputFile(CHUNK_SIZE * 10, start, end);
+    // The regions are mapped within the file length known when the reader is created
+    mBlockReader.close();
+    mBlockReader = new LocalFileBlockReader(mFile.getPath());
+    mReadHandler.onNext(buildReadRequest(start, end + 1 - start));
+    checkAllReadResponses(mResponses, checksumExpected);
+  }
+
   /**
    * Fails if the read request tries to read an empty file.
    */
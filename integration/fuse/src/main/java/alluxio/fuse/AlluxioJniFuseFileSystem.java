@@ -57,6 +57,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -85,7 +86,12 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
   private final int mMaxUmountWaitTime;
   private final AtomicLong mNextOpenFileId = new AtomicLong(0);
 
-  private final Map<Long, FileInStream> mOpenFileEntries = new ConcurrentHashMap<>();
+  private final int mReadStreamsMax;
+  /** The write-back buffers and threads, or null if write-back is disabled. */
+  @Nullable
+  private final FuseWriteBackOutStream.Pool mWriteBackPool;
+
+  private final Map<Long, FuseFileInStreamPool> mOpenFileEntries = new ConcurrentHashMap<>();
   private final FuseShell mFuseShell;
   private static final IndexDefinition<CreateFileEntry<FileOutStream>, Long>
       ID_INDEX =
@@ -111,7 +117,8 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
   private final AuthPolicy mAuthPolicy;
 
   // Map for holding the async releasing entries for proper umount
-  private final Map<Long, FileInStream> mReleasingReadEntries = new ConcurrentHashMap<>();
+  private final Map<Long, FuseFileInStreamPool> mReleasingReadEntries =
+      new ConcurrentHashMap<>();
   private final Map<Long, CreateFileEntry<FileOutStream>> mReleasingWriteEntries =
       new ConcurrentHashMap<>();
 
@@ -179,6 +186,13 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
         });
     mIsUserGroupTranslation = conf.getBoolean(PropertyKey.FUSE_USER_GROUP_TRANSLATION_ENABLED);
     mMaxUmountWaitTime = (int) conf.getMs(PropertyKey.FUSE_UMOUNT_TIMEOUT);
+    mReadStreamsMax = conf.getInt(PropertyKey.FUSE_READ_STREAMS_MAX);
+    mWriteBackPool = conf.getBoolean(PropertyKey.FUSE_WRITE_BACK_ENABLED)
+        ? new FuseWriteBackOutStream.Pool(
+            (int) conf.getBytes(PropertyKey.FUSE_WRITE_BACK_BUFFER_SIZE),
+            conf.getBytes(PropertyKey.FUSE_WRITE_BACK_MEMORY_MAX),
+            conf.getInt(PropertyKey.FUSE_WRITE_BACK_THREADS))
+        : null;
     mAuthPolicy = AuthPolicyFactory.create(mFileSystem, conf, this);
     MetricsSystem.registerGaugeIfAbsent(
         MetricsSystem.getMetricName(MetricKey.FUSE_READING_FILE_COUNT.getName()),
@@ -205,10 +219,10 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
       return -ErrorCodes.ENAMETOOLONG();
     }
     try {
-      FileOutStream os = mFileSystem.createFile(uri,
+      FileOutStream os = writeBackIfEnabled(mFileSystem.createFile(uri,
           CreateFilePOptions.newBuilder()
               .setMode(new Mode((short) mode).toProto())
-              .build());
+              .build()));
       long fid = mNextOpenFileId.getAndIncrement();
       mCreateFileEntries.add(new CreateFileEntry(fid, path, os));
       fi.fh.set(fid);
@@ -355,7 +369,7 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
         if (mFileSystem.exists(uri)) {
           mFileSystem.delete(uri);
         }
-        FileOutStream os = mFileSystem.createFile(uri);
+        FileOutStream os = writeBackIfEnabled(mFileSystem.createFile(uri));
         long fid = mNextOpenFileId.getAndIncrement();
         mCreateFileEntries.add(new CreateFileEntry(fid, path, os));
         fi.fh.set(fid);
@@ -372,7 +386,8 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
           }
         }
         long fd = mNextOpenFileId.getAndIncrement();
-        mOpenFileEntries.put(fd, is);
+        mOpenFileEntries.put(fd,
+            new FuseFileInStreamPool(mFileSystem, uri, is, mReadStreamsMax));
         fi.fh.set(fd);
       }
       return 0;
@@ -382,6 +397,14 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
     }
   }
 
+  /**
+   * @param os the output stream of a file created through FUSE
+   * @return the stream to write the file with
+   */
+  private FileOutStream writeBackIfEnabled(FileOutStream os) {
+    return mWriteBackPool == null ? os : new FuseWriteBackOutStream(os, mWriteBackPool);
+  }
+
   @Override
   public int read(String path, ByteBuffer buf, long size, long offset, FuseFileInfo fi) {
     return AlluxioFuseUtils.call(LOG, () -> readInternal(path, buf, size, offset, fi),
@@ -391,31 +414,16 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
   private int readInternal(String path, ByteBuffer buf, long size, long offset, FuseFileInfo fi) {
     MetricsSystem.counter(MetricKey.FUSE_BYTES_TO_READ.getName()).inc(size);
     final int sz = (int) size;
-    int nread = 0;
-    int rd = 0;
+    int nread;
     Long fd = fi.fh.get();
     try {
-      FileInStream is = mOpenFileEntries.get(fd);
+      FuseFileInStreamPool is = mOpenFileEntries.get(fd);
       if (is == null) {
         LOG.error("Cannot find fd {} for {}", fd, path);
         return -ErrorCodes.EBADFD();
       }
-      // FileInStream is not thread safe
-      synchronized (is) {
-        if (!mOpenFileEntries.containsKey(fd)) {
-          LOG.error("Cannot find fd {} for {}", fd, path);
-          return -ErrorCodes.EBADFD();
-        }
-        if (offset - is.getPos() < is.remaining()) {
-          is.seek(offset);
-          while (rd >= 0 && nread < sz) {
-            rd = is.read(buf, nread, sz - nread);
-            if (rd >= 0) {
-              nread += rd;
-            }
-          }
-        }
-      }
+      // Positioned reads on a pool of streams, so concurrent reads of the fd run in parallel
+      nread = is.read(buf, sz, offset);
     } catch (Throwable e) {
       LOG.error("Failed to read, path: {} size: {} offset: {}", path, size, offset, e);
       return -ErrorCodes.EIO();
@@ -443,7 +451,7 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
       // if readOrWrite flag detected, close the inputstream,
       // delete file and create file for overwrite
       final int flags = fi.flags.get();
-      FileInStream is = mOpenFileEntries.get(fd);
+      FuseFileInStreamPool is = mOpenFileEntries.get(fd);
       if (is == null || !AlluxioFuseUtils.isOpenReadWrite(flags)) {
         LOG.error("Cannot find fd for {} in table", path);
         return -ErrorCodes.EBADFD();
@@ -456,9 +464,7 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
       try {
         mReleasingReadEntries.put(fd, is);
         try {
-          synchronized (is) {
-            is.close();
-          }
+          is.close();
         } finally {
           mReleasingReadEntries.remove(fd);
         }
@@ -467,7 +473,7 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
           mFileSystem.delete(uri);
         }
         // TODO(lu) will multiple threads read()/write() concurrently?
-        FileOutStream os = mFileSystem.createFile(uri);
+        FileOutStream os = writeBackIfEnabled(mFileSystem.createFile(uri));
         ce = new CreateFileEntry(fd, path, os);
         mCreateFileEntries.add(ce);
         mAuthPolicy.setUserGroupIfNeeded(uri);
@@ -509,7 +515,7 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
   private int flushInternal(String path, FuseFileInfo fi) {
     final long fd = fi.fh.get();
 
-    FileInStream is = mOpenFileEntries.get(fd);
+    FuseFileInStreamPool is = mOpenFileEntries.get(fd);
     CreateFileEntry<FileOutStream> ce = mCreateFileEntries.getFirstByField(ID_INDEX, fd);
     if (ce == null && is == null) {
       LOG.error("Cannot find fd for {} in table", path);
@@ -541,7 +547,7 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
   private int releaseInternal(String path, FuseFileInfo fi) {
     long fd = fi.fh.get();
     try {
-      FileInStream is = mOpenFileEntries.remove(fd);
+      FuseFileInStreamPool is = mOpenFileEntries.remove(fd);
       CreateFileEntry<FileOutStream> ce = mCreateFileEntries.getFirstByField(ID_INDEX, fd);
       if (is == null && ce == null) {
         LOG.error("Cannot find fd {} for {}", fd, path);
@@ -563,9 +569,7 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
       if (is != null) {
         mReleasingReadEntries.put(fd, is);
         try {
-          synchronized (is) {
-            is.close();
-          }
+          is.close();
         } finally {
           mReleasingReadEntries.remove(fd);
         }
@@ -844,6 +848,9 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
         throw new FuseException("Timed out for umount due to device is busy.");
       }
     }
+    if (mWriteBackPool != null) {
+      mWriteBackPool.close();
+    }
     super.umount(force);
   }
 
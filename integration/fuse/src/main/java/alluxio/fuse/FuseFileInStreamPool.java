@@ -0,0 +1,246 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse;
+
+import alluxio.AlluxioURI;
+import alluxio.client.file.FileInStream;
+import alluxio.client.file.FileSystem;
+import alluxio.exception.AlluxioException;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The input streams of a file opened for reading through FUSE.
+ *
+ * The kernel may send the reads of one file handle from many threads at once, e.g. when a data
+ * loader reads samples of a file in parallel. Reads are therefore served by a small pool of
+ * streams of the file, instead of seeking a single shared stream. A read which continues where
+ * the last read of a stream ended is a sequential read of that stream, straight into the buffer
+ * of the kernel, so the stream keeps streaming its block. Other reads are positioned reads, which
+ * leave the position of the stream for the sequential reads.
+ */
+@ThreadSafe
+public final class FuseFileInStreamPool implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(FuseFileInStreamPool.class);
+
+  private final FileSystem mFileSystem;
+  private final AlluxioURI mUri;
+  private final int mMaxStreams;
+
+  /** The streams not in use, the most recently used first. */
+  @GuardedBy("this")
+  private final Deque<PooledStream> mIdleStreams = new ArrayDeque<>();
+  /** The number of streams opened and not yet closed. */
+  @GuardedBy("this")
+  private int mNumStreams;
+  @GuardedBy("this")
+  private boolean mClosed = false;
+
+  /**
+   * @param fileSystem the file system to open more streams of the file with
+   * @param uri the Alluxio path of the file
+   * @param stream a stream of the file, which the pool takes ownership of
+   * @param maxStreams the maximum number of streams of the file
+   */
+  public FuseFileInStreamPool(FileSystem fileSystem, AlluxioURI uri, FileInStream stream,
+      int maxStreams) {
+    Preconditions.checkArgument(maxStreams > 0, "maxStreams must be positive: %s", maxStreams);
+    mFileSystem = fileSystem;
+    mUri = uri;
+    mMaxStreams = maxStreams;
+    mIdleStreams.push(new PooledStream(stream));
+    mNumStreams = 1;
+  }
+
+  /**
+   * Reads up to size bytes of the file at the given offset into the buffer, at its position.
+   * Fewer bytes are read only at the end of the file.
+   *
+   * @param buf the buffer to read into
+   * @param size the number of bytes to read
+   * @param offset the offset in the file to read from
+   * @return the number of bytes read, which is 0 at the end of the file
+   */
+  public int read(ByteBuffer buf, int size, long offset) throws IOException, AlluxioException {
+    PooledStream stream = acquire(offset);
+    try {
+      int length = offset == stream.mNextOffset
+          ? stream.sequentialRead(buf, size, offset) : stream.positionedRead(buf, size, offset);
+      stream.mNextOffset = offset + length;
+      return length;
+    } finally {
+      release(stream);
+    }
+  }
+
+  /**
+   * @param offset the offset of the read
+   * @return the idle stream whose last read ended at the offset, or else a new stream if there are
+   *         fewer than the maximum streams, or else the least recently used idle stream
+   */
+  private PooledStream acquire(long offset) throws IOException, AlluxioException {
+    synchronized (this) {
+      while (true) {
+        if (mClosed) {
+          throw new IOException(String.format("The streams of %s are closed", mUri));
+        }
+        for (Iterator<PooledStream> it = mIdleStreams.iterator(); it.hasNext(); ) {
+          PooledStream stream = it.next();
+          if (stream.mNextOffset == offset) {
+            it.remove();
+            return stream;
+          }
+        }
+        if (mNumStreams < mMaxStreams) {
+          mNumStreams++;
+          break;
+        }
+        // The most recently used streams are the most likely to be read sequentially next
+        PooledStream stream = mIdleStreams.pollLast();
+        if (stream != null) {
+          return stream;
+        }
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while waiting for a stream of " + mUri, e);
+        }
+      }
+    }
+    try {
+      return new PooledStream(mFileSystem.openFile(mUri));
+    } catch (IOException | AlluxioException | RuntimeException e) {
+      synchronized (this) {
+        mNumStreams--;
+        notifyAll();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * @param stream a stream returned by {@link #acquire(long)}
+   */
+  private synchronized void release(PooledStream stream) {
+    if (mClosed) {
+      mNumStreams--;
+      closeQuietly(stream.mStream);
+      return;
+    }
+    mIdleStreams.push(stream);
+    notify();
+  }
+
+  /**
+   * Closes the idle streams. The streams still in use are closed once their reads complete.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    notifyAll();
+    IOException exception = null;
+    for (PooledStream stream : mIdleStreams) {
+      mNumStreams--;
+      try {
+        stream.mStream.close();
+      } catch (IOException e) {
+        if (exception == null) {
+          exception = e;
+        } else {
+          exception.addSuppressed(e);
+        }
+      }
+    }
+    mIdleStreams.clear();
+    if (exception != null) {
+      throw exception;
+    }
+  }
+
+  private void closeQuietly(FileInStream stream) {
+    try {
+      stream.close();
+    } catch (IOException e) {
+      LOG.warn("Failed to close a stream of {}: {}", mUri, e.toString());
+    }
+  }
+
+  /**
+   * A stream of the pool, used by one read at a time.
+   */
+  private static final class PooledStream {
+    private final FileInStream mStream;
+    /** The offset at which the last read of the stream ended. */
+    private long mNextOffset = 0;
+    /** The buffer of the positioned reads, reused by the reads of the stream. */
+    private byte[] mBuffer;
+
+    PooledStream(FileInStream stream) {
+      mStream = stream;
+    }
+
+    /**
+     * Reads from the position of the stream straight into the buffer. The stream is sought first
+     * when the last read of the stream was a positioned read.
+     */
+    int sequentialRead(ByteBuffer buf, int size, long offset) throws IOException {
+      if (mStream.getPos() != offset) {
+        mStream.seek(offset);
+      }
+      int start = buf.position();
+      int nread = 0;
+      while (nread < size) {
+        int rd = mStream.read(buf, start + nread, size - nread);
+        if (rd < 0) {
+          break;
+        }
+        nread += rd;
+      }
+      buf.position(start + nread);
+      return nread;
+    }
+
+    /**
+     * Reads at the offset without moving the position of the stream.
+     */
+    int positionedRead(ByteBuffer buf, int size, long offset) throws IOException {
+      if (mBuffer == null || mBuffer.length < size) {
+        mBuffer = new byte[size];
+      }
+      int nread = 0;
+      while (nread < size) {
+        int rd = mStream.positionedRead(offset + nread, mBuffer, nread, size - nread);
+        if (rd < 0) {
+          break;
+        }
+        nread += rd;
+      }
+      buf.put(mBuffer, 0, nread);
+      return nread;
+    }
+  }
+}
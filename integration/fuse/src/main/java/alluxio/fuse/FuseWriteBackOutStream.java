@@ -0,0 +1,247 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse;
+
+import alluxio.client.file.FileOutStream;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.base.Preconditions;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An output stream which aggregates the writes of a file opened through FUSE into large buffers,
+ * and writes the full buffers to the Alluxio output stream of the file in the background, in
+ * order. The kernel sends writes of at most 128KB, so this takes the per-write overhead of the
+ * Alluxio output stream off the writing thread.
+ *
+ * Errors of background writes are thrown by the next call to {@link #write}, {@link #flush} or
+ * {@link #close}, which cancels the Alluxio output stream instead of completing the file. The
+ * buffers are shared by all the files of a mount through a {@link Pool}. When all the buffers are
+ * in use, writes go straight to the Alluxio output stream once the pending buffers are written.
+ */
+@ThreadSafe
+public final class FuseWriteBackOutStream extends FileOutStream {
+  private final FileOutStream mOut;
+  private final Pool mPool;
+
+  /** The buffer being filled, or null if there is none. */
+  @GuardedBy("this")
+  @Nullable
+  private byte[] mBuffer;
+  @GuardedBy("this")
+  private int mBufferLength;
+  /** Completes once all the buffers handed over are written to the Alluxio output stream. */
+  @GuardedBy("this")
+  private CompletableFuture<Void> mPendingWrites = CompletableFuture.completedFuture(null);
+  /** The first error of the background writes. */
+  @Nullable
+  private volatile Throwable mError;
+  @GuardedBy("this")
+  private boolean mClosed = false;
+
+  /**
+   * @param out the Alluxio output stream of the file
+   * @param pool the buffers and threads of the mount
+   */
+  public FuseWriteBackOutStream(FileOutStream out, Pool pool) {
+    mOut = out;
+    mPool = pool;
+    mBytesWritten = out.getBytesWritten();
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    write(new byte[] {(byte) b}, 0, 1);
+  }
+
+  @Override
+  public void write(byte[] b) throws IOException {
+    write(b, 0, b.length);
+  }
+
+  @Override
+  public synchronized void write(byte[] b, int off, int len) throws IOException {
+    Preconditions.checkState(!mClosed, "Cannot write to a closed stream");
+    checkError();
+    while (len > 0) {
+      if (mBuffer == null) {
+        mBuffer = mPool.tryAllocate();
+        mBufferLength = 0;
+        if (mBuffer == null) {
+          // All the buffers of the mount are in use, write through in order
+          mPendingWrites.join();
+          checkError();
+          mOut.write(b, off, len);
+          mBytesWritten += len;
+          return;
+        }
+      }
+      int toCopy = Math.min(len, mBuffer.length - mBufferLength);
+      System.arraycopy(b, off, mBuffer, mBufferLength, toCopy);
+      mBufferLength += toCopy;
+      mBytesWritten += toCopy;
+      off += toCopy;
+      len -= toCopy;
+      if (mBufferLength == mBuffer.length) {
+        writeBuffer();
+      }
+    }
+  }
+
+  /**
+   * Writes the buffered data to the Alluxio output stream and flushes it.
+   */
+  @Override
+  public synchronized void flush() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    writeBuffer();
+    mPendingWrites.join();
+    checkError();
+    mOut.flush();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    writeBuffer();
+    mPendingWrites.join();
+    if (mError != null) {
+      mOut.cancel();
+      checkError();
+    }
+    mOut.close();
+  }
+
+  @Override
+  public synchronized void cancel() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    if (mBuffer != null) {
+      mPool.free(mBuffer);
+      mBuffer = null;
+    }
+    mPendingWrites.join();
+    mOut.cancel();
+  }
+
+  /**
+   * Hands the buffer being filled over to the background writes.
+   */
+  @GuardedBy("this")
+  private void writeBuffer() {
+    if (mBuffer == null) {
+      return;
+    }
+    byte[] buffer = mBuffer;
+    int length = mBufferLength;
+    mBuffer = null;
+    mBufferLength = 0;
+    if (length == 0) {
+      mPool.free(buffer);
+      return;
+    }
+    // Stages never fail, so a failed write does not skip freeing the later buffers
+    mPendingWrites = mPendingWrites.thenRunAsync(() -> {
+      try {
+        if (mError == null) {
+          mOut.write(buffer, 0, length);
+        }
+      } catch (Throwable e) {
+        mError = e;
+      } finally {
+        mPool.free(buffer);
+      }
+    }, mPool.mExecutor);
+  }
+
+  private void checkError() throws IOException {
+    Throwable error = mError;
+    if (error != null) {
+      throw new IOException("Failed to write back buffered data", error);
+    }
+  }
+
+  /**
+   * The buffers and threads shared by the write-back streams of a mount. The buffers take at
+   * most the given amount of memory.
+   */
+  @ThreadSafe
+  public static final class Pool implements Closeable {
+    private final int mBufferSize;
+    private final Semaphore mBufferPermits;
+    private final Queue<byte[]> mFreeBuffers = new ConcurrentLinkedQueue<>();
+    private final ThreadPoolExecutor mExecutor;
+
+    /**
+     * @param bufferSize the size of each buffer
+     * @param maxMemory the maximum memory taken by the buffers
+     * @param threads the number of threads writing the buffers
+     */
+    public Pool(int bufferSize, long maxMemory, int threads) {
+      Preconditions.checkArgument(bufferSize > 0, "bufferSize must be positive: %s", bufferSize);
+      Preconditions.checkArgument(threads > 0, "threads must be positive: %s", threads);
+      mBufferSize = bufferSize;
+      mBufferPermits = new Semaphore((int) Math.min(Integer.MAX_VALUE,
+          Math.max(1, maxMemory / bufferSize)));
+      mExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(), ThreadFactoryUtils.build("fuse-write-back-%d", true));
+      mExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @return a buffer, or null if all the buffers are in use
+     */
+    @Nullable
+    private byte[] tryAllocate() {
+      if (!mBufferPermits.tryAcquire()) {
+        return null;
+      }
+      byte[] buffer = mFreeBuffers.poll();
+      return buffer != null ? buffer : new byte[mBufferSize];
+    }
+
+    /**
+     * @param buffer a buffer returned by {@link #tryAllocate()}
+     */
+    private void free(byte[] buffer) {
+      mFreeBuffers.offer(buffer);
+      mBufferPermits.release();
+    }
+
+    /**
+     * Stops the threads once the pending writes complete.
+     */
+    @Override
+    public void close() {
+      mExecutor.shutdown();
+    }
+  }
+}
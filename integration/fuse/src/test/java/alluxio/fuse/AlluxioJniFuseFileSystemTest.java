@@ -17,6 +17,7 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.doNothing;
@@ -393,11 +394,25 @@ public class AlluxioJniFuseFileSystemTest {
     setUpOpenMock(expectedPath);
 
     FileInStream fakeInStream = mock(FileInStream.class);
-    when(fakeInStream.read(any(byte[].class),
+    when(fakeInStream.positionedRead(anyLong(), any(byte[].class),
         anyInt(), anyInt())).then((Answer<Integer>) invocationOnMock -> {
-          byte[] myDest = (byte[]) invocationOnMock.getArguments()[0];
+          long position = invocationOnMock.getArgument(0);
+          byte[] myDest = invocationOnMock.getArgument(1);
+          int offset = invocationOnMock.getArgument(2);
+          if (position >= 4) {
+            return -1;
+          }
+          for (byte i = 0; i < 4; i++) {
+            myDest[offset + i] = i;
+          }
+          return 4;
+        });
+    when(fakeInStream.read(any(ByteBuffer.class),
+        anyInt(), anyInt())).then((Answer<Integer>) invocationOnMock -> {
+          ByteBuffer myDest = invocationOnMock.getArgument(0);
+          int offset = invocationOnMock.getArgument(1);
           for (byte i = 0; i < 4; i++) {
-            myDest[i] = i;
+            myDest.put(offset + i, i);
           }
           return 4;
         });
@@ -0,0 +1,216 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.AlluxioURI;
+import alluxio.client.file.FileInStream;
+import alluxio.client.file.FileSystem;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link FuseFileInStreamPool}.
+ */
+public final class FuseFileInStreamPoolTest {
+  private static final AlluxioURI URI = new AlluxioURI("/file");
+  private static final int LENGTH = 64;
+  private static final byte[] DATA = BufferUtils.getIncreasingByteArray(LENGTH);
+
+  private final AtomicInteger mPositionedReads = new AtomicInteger();
+  private final AtomicInteger mSequentialReads = new AtomicInteger();
+  private final AtomicInteger mSeeks = new AtomicInteger();
+  private FileSystem mFileSystem;
+  private CountDownLatch mReadLatch;
+
+  @Before
+  public void before() throws Exception {
+    mFileSystem = mock(FileSystem.class);
+    when(mFileSystem.openFile(URI)).thenAnswer(invocation -> new TestFileInStream());
+  }
+
+  @Test
+  public void concurrentReads() throws Exception {
+    // Each read waits for the other one, so the reads only complete if they run in parallel
+    mReadLatch = new CountDownLatch(2);
+    FuseFileInStreamPool pool =
+        new FuseFileInStreamPool(mFileSystem, URI, new TestFileInStream(), 2);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<byte[]> first = executor.submit(() -> read(pool, 8, 0));
+      Future<byte[]> second = executor.submit(() -> read(pool, 8, 32));
+      assertArrayEquals(Arrays.copyOfRange(DATA, 0, 8), first.get(1, TimeUnit.MINUTES));
+      assertArrayEquals(Arrays.copyOfRange(DATA, 32, 40), second.get(1, TimeUnit.MINUTES));
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(mFileSystem, times(1)).openFile(URI);
+    pool.close();
+  }
+
+  @Test
+  public void sequentialReads() throws Exception {
+    FuseFileInStreamPool pool =
+        new FuseFileInStreamPool(mFileSystem, URI, new TestFileInStream(), 2);
+    for (int offset = 0; offset < LENGTH; offset += 4) {
+      assertArrayEquals(Arrays.copyOfRange(DATA, offset, offset + 4), read(pool, 4, offset));
+    }
+    assertEquals(0, read(pool, 4, LENGTH).length);
+    // The reads continue the stream instead of re-reading it at each offset
+    assertEquals(0, mPositionedReads.get());
+    assertEquals(0, mSeeks.get());
+    verify(mFileSystem, times(0)).openFile(URI);
+    pool.close();
+  }
+
+  @Test
+  public void randomReadsThenSequentialReads() throws Exception {
+    FuseFileInStreamPool pool =
+        new FuseFileInStreamPool(mFileSystem, URI, new TestFileInStream(), 1);
+    assertArrayEquals(Arrays.copyOfRange(DATA, 32, 36), read(pool, 4, 32));
+    assertArrayEquals(Arrays.copyOfRange(DATA, 8, 12), read(pool, 4, 8));
+    assertEquals(2, mPositionedReads.get());
+    assertEquals(0, mSequentialReads.get());
+    // A read continuing the last one seeks the stream once, then streams
+    for (int offset = 12; offset < 24; offset += 4) {
+      assertArrayEquals(Arrays.copyOfRange(DATA, offset, offset + 4), read(pool, 4, offset));
+    }
+    assertEquals(2, mPositionedReads.get());
+    assertEquals(1, mSeeks.get());
+    pool.close();
+  }
+
+  @Test
+  public void readPastEnd() throws Exception {
+    FuseFileInStreamPool pool =
+        new FuseFileInStreamPool(mFileSystem, URI, new TestFileInStream(), 2);
+    assertArrayEquals(Arrays.copyOfRange(DATA, LENGTH - 4, LENGTH), read(pool, 8, LENGTH - 4));
+    assertEquals(0, read(pool, 8, LENGTH).length);
+    pool.close();
+  }
+
+  @Test
+  public void close() throws Exception {
+    TestFileInStream stream = new TestFileInStream();
+    FuseFileInStreamPool pool = new FuseFileInStreamPool(mFileSystem, URI, stream, 2);
+    pool.close();
+    assertTrue(stream.mClosed);
+    try {
+      read(pool, 4, 0);
+      throw new AssertionError("Expected the read to fail");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  private static byte[] read(FuseFileInStreamPool pool, int size, long offset) throws Exception {
+    ByteBuffer buf = ByteBuffer.allocate(size);
+    int length = pool.read(buf, size, offset);
+    assertEquals(length, buf.position());
+    return Arrays.copyOf(buf.array(), length);
+  }
+
+  /**
+   * A stream of {@link #DATA}.
+   */
+  private final class TestFileInStream extends FileInStream {
+    private boolean mClosed = false;
+    private long mPos = 0;
+
+    @Override
+    public int positionedRead(long position, byte[] buffer, int offset, int length)
+        throws IOException {
+      mPositionedReads.incrementAndGet();
+      awaitReadLatch();
+      if (position >= LENGTH) {
+        return -1;
+      }
+      int toRead = (int) Math.min(length, LENGTH - position);
+      System.arraycopy(DATA, (int) position, buffer, offset, toRead);
+      return toRead;
+    }
+
+    @Override
+    public int read(ByteBuffer byteBuffer, int off, int len) throws IOException {
+      mSequentialReads.incrementAndGet();
+      awaitReadLatch();
+      if (mPos >= LENGTH) {
+        return -1;
+      }
+      int toRead = (int) Math.min(len, LENGTH - mPos);
+      for (int i = 0; i < toRead; i++) {
+        byteBuffer.put(off + i, DATA[(int) mPos + i]);
+      }
+      mPos += toRead;
+      return toRead;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long remaining() {
+      return LENGTH - mPos;
+    }
+
+    @Override
+    public void seek(long pos) {
+      mSeeks.incrementAndGet();
+      mPos = pos;
+    }
+
+    @Override
+    public long getPos() {
+      return mPos;
+    }
+
+    @Override
+    public void close() {
+      mClosed = true;
+    }
+
+    private void awaitReadLatch() throws IOException {
+      if (mReadLatch != null) {
+        mReadLatch.countDown();
+        try {
+          if (!mReadLatch.await(10, TimeUnit.SECONDS)) {
+            throw new IOException("Reads are not concurrent");
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException(e);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import alluxio.client.file.FileOutStream;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for {@link FuseWriteBackOutStream}.
+ */
+public final class FuseWriteBackOutStreamTest {
+  private static final int BUFFER_SIZE = 8;
+
+  private FuseWriteBackOutStream.Pool mPool;
+
+  @After
+  public void after() {
+    if (mPool != null) {
+      mPool.close();
+    }
+  }
+
+  @Test
+  public void aggregateWrites() throws Exception {
+    mPool = new FuseWriteBackOutStream.Pool(BUFFER_SIZE, 4 * BUFFER_SIZE, 2);
+    TestFileOutStream out = new TestFileOutStream();
+    FuseWriteBackOutStream stream = new FuseWriteBackOutStream(out, mPool);
+    byte[] data = BufferUtils.getIncreasingByteArray(30);
+    for (int off = 0; off < data.length; off += 3) {
+      stream.write(data, off, 3);
+    }
+    assertEquals(data.length, stream.getBytesWritten());
+    stream.flush();
+    assertEquals(Arrays.asList(8, 8, 8, 6), out.mWriteSizes);
+    assertTrue(out.mFlushed);
+    stream.close();
+    assertTrue(out.mClosed);
+    assertArrayEquals(data, out.mData.toByteArray());
+  }
+
+  @Test
+  public void errorOnFlush() throws Exception {
+    mPool = new FuseWriteBackOutStream.Pool(BUFFER_SIZE, 4 * BUFFER_SIZE, 2);
+    TestFileOutStream out = new TestFileOutStream();
+    out.mFailWrites = true;
+    FuseWriteBackOutStream stream = new FuseWriteBackOutStream(out, mPool);
+    stream.write(BufferUtils.getIncreasingByteArray(2 * BUFFER_SIZE));
+    try {
+      stream.flush();
+      fail("Expected the flush to fail");
+    } catch (IOException e) {
+      // expected
+    }
+    try {
+      stream.close();
+      fail("Expected the close to fail");
+    } catch (IOException e) {
+      // expected
+    }
+    assertTrue(out.mCanceled);
+    assertFalse(out.mClosed);
+  }
+
+  @Test
+  public void writeThroughWhenBuffersInUse() throws Exception {
+    mPool = new FuseWriteBackOutStream.Pool(BUFFER_SIZE, BUFFER_SIZE, 1);
+    TestFileOutStream first = new TestFileOutStream();
+    FuseWriteBackOutStream firstStream = new FuseWriteBackOutStream(first, mPool);
+    // Holds the only buffer of the pool
+    firstStream.write(new byte[2]);
+    TestFileOutStream second = new TestFileOutStream();
+    FuseWriteBackOutStream secondStream = new FuseWriteBackOutStream(second, mPool);
+    secondStream.write(new byte[3]);
+    assertEquals(Collections.singletonList(3), second.mWriteSizes);
+    firstStream.close();
+    // The buffer is free again
+    secondStream.write(new byte[3]);
+    assertEquals(Collections.singletonList(3), second.mWriteSizes);
+    secondStream.close();
+    assertEquals(Arrays.asList(3, 3), second.mWriteSizes);
+    assertEquals(6, second.mData.size());
+  }
+
+  /**
+   * An output stream which keeps the data written.
+   */
+  private static final class TestFileOutStream extends FileOutStream {
+    private final ByteArrayOutputStream mData = new ByteArrayOutputStream();
+    private final List<Integer> mWriteSizes = Collections.synchronizedList(new ArrayList<>());
+    private volatile boolean mFailWrites = false;
+    private boolean mFlushed = false;
+    private boolean mClosed = false;
+    private boolean mCanceled = false;
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) throws IOException {
+      if (mFailWrites) {
+        throw new IOException("write failed");
+      }
+      mWriteSizes.add(len);
+      mData.write(b, off, len);
+      mBytesWritten += len;
+    }
+
+    @Override
+    public void flush() {
+      mFlushed = true;
+    }
+
+    @Override
+    public void close() {
+      mClosed = true;
+    }
+
+    @Override
+    public void cancel() {
+      mCanceled = true;
+    }
+  }
+}
@@ -25,6 +25,7 @@ import alluxio.grpc.DeletePOptions;
 import alluxio.grpc.FreePOptions;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.ListStatusPOptions;
+import alluxio.grpc.ListStatusPartialPOptions;
 import alluxio.grpc.MountPOptions;
 import alluxio.grpc.RenamePOptions;
 import alluxio.grpc.ScheduleAsyncPersistencePOptions;
@@ -32,15 +33,19 @@ import alluxio.grpc.SetAclAction;
 import alluxio.grpc.SetAclPOptions;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.grpc.UpdateUfsModePOptions;
+import alluxio.grpc.WatchMetadataPResponse;
 import alluxio.security.authorization.AclEntry;
 import alluxio.wire.MountPointInfo;
 import alluxio.wire.SyncPointInfo;
 
+import io.grpc.stub.StreamObserver;
+
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -93,6 +98,12 @@ class MockFuseFileSystemMasterClient implements FileSystemMasterClient {
     return null;
   }
 
+  @Override
+  public List<URIStatus> getStatus(List<AlluxioURI> paths, GetStatusPOptions options)
+      throws AlluxioStatusException {
+    return Collections.nCopies(paths.size(), null);
+  }
+
   @Override
   public long getNewBlockIdForFile(AlluxioURI path) throws AlluxioStatusException {
     return 0;
@@ -114,6 +125,12 @@ class MockFuseFileSystemMasterClient implements FileSystemMasterClient {
     return null;
   }
 
+  @Override
+  public List<URIStatus> listStatusPartial(AlluxioURI path, ListStatusPartialPOptions options)
+      throws AlluxioStatusException {
+    return Collections.emptyList();
+  }
+
   @Override
   public void mount(AlluxioURI alluxioPath, AlluxioURI ufsPath, MountPOptions options)
       throws AlluxioStatusException {
@@ -180,6 +197,11 @@ class MockFuseFileSystemMasterClient implements FileSystemMasterClient {
     return Collections.EMPTY_LIST;
   }
 
+  @Override
+  public void watchMetadata(List<AlluxioURI> pathPrefixes,
+      StreamObserver<WatchMetadataPResponse> responseObserver) throws AlluxioStatusException {
+  }
+
   @Override
   public void connect() throws IOException {
   }
@@ -211,4 +233,38 @@ class MockFuseFileSystemMasterClient implements FileSystemMasterClient {
   @Override
   public void close() throws IOException {
   }
+
+  @Override
+  public CompletableFuture<Void> createDirectoryAsync(AlluxioURI path,
+      CreateDirectoryPOptions options) {
+    return CompletableFuture.completedFuture(null);
+  }
+
+  @Override
+  public CompletableFuture<Void> deleteAsync(AlluxioURI path, DeletePOptions options) {
+    return CompletableFuture.completedFuture(null);
+  }
+
+  @Override
+  public CompletableFuture<URIStatus> getStatusAsync(AlluxioURI path, GetStatusPOptions options) {
+    return CompletableFuture.completedFuture(null);
+  }
+
+  @Override
+  public CompletableFuture<List<URIStatus>> listStatusAsync(AlluxioURI path,
+      ListStatusPOptions options) {
+    return CompletableFuture.completedFuture(null);
+  }
+
+  @Override
+  public CompletableFuture<Void> renameAsync(AlluxioURI src, AlluxioURI dst,
+      RenamePOptions options) {
+    return CompletableFuture.completedFuture(null);
+  }
+
+  @Override
+  public CompletableFuture<Void> setAttributeAsync(AlluxioURI path,
+      SetAttributePOptions options) {
+    return CompletableFuture.completedFuture(null);
+  }
 }
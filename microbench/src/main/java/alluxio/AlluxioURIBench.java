@@ -0,0 +1,83 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of parsing and manipulating {@link AlluxioURI}s.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AlluxioURIBench {
+  @Param({"/a/b/c/file", "alluxio://host:19998/a/b/c/file",
+      "s3://bucket/warehouse/table/part=1/file.parquet"})
+  public String mPath;
+
+  private AlluxioURI mUri;
+
+  /**
+   * Parses the path once for the benchmarks working on a parsed URI.
+   */
+  @Setup
+  public void setup() {
+    mUri = new AlluxioURI(mPath);
+  }
+
+  /**
+   * @return the parsed URI
+   */
+  @Benchmark
+  public AlluxioURI parse() {
+    return new AlluxioURI(mPath);
+  }
+
+  /**
+   * @return the parent of the URI
+   */
+  @Benchmark
+  public AlluxioURI getParent() {
+    return mUri.getParent();
+  }
+
+  /**
+   * @return the URI joined with a child name
+   */
+  @Benchmark
+  public AlluxioURI join() {
+    return mUri.join("child");
+  }
+
+  /**
+   * @return the depth of the URI
+   */
+  @Benchmark
+  public int getDepth() {
+    return mUri.getDepth();
+  }
+}
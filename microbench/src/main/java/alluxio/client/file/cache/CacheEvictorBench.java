@@ -0,0 +1,94 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.cache.evictor.CacheEvictor;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link CacheEvictor} implementations, tracking a fixed number of pages. The
+ * evictors are not thread safe, so the benchmarks run in a single thread.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheEvictorBench {
+  @Param({"alluxio.client.file.cache.evictor.LRUCacheEvictor",
+      "alluxio.client.file.cache.evictor.LFUCacheEvictor",
+      "alluxio.client.file.cache.evictor.FIFOCacheEvictor",
+      "alluxio.client.file.cache.evictor.NondeterministicLRUCacheEvictor"})
+  public String mEvictor;
+
+  @Param({"1024", "1048576"})
+  public int mPages;
+
+  private CacheEvictor mCacheEvictor;
+  private PageId[] mPageIds;
+
+  /**
+   * Creates the evictor and adds the pages to it.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    InstancedConfiguration conf = InstancedConfiguration.defaults();
+    conf.set(PropertyKey.USER_CLIENT_CACHE_EVICTOR_CLASS, mEvictor);
+    mCacheEvictor = CacheEvictor.create(conf);
+    mPageIds = new PageId[mPages];
+    for (int i = 0; i < mPages; i++) {
+      mPageIds[i] = new PageId("file", i);
+      mCacheEvictor.updateOnPut(mPageIds[i]);
+    }
+  }
+
+  /**
+   * Accesses a random page.
+   */
+  @Benchmark
+  public void updateOnGet() {
+    mCacheEvictor.updateOnGet(mPageIds[ThreadLocalRandom.current().nextInt(mPages)]);
+  }
+
+  /**
+   * Evicts a page and puts it back.
+   *
+   * @return the page evicted
+   */
+  @Benchmark
+  public PageId evictAndPut() {
+    PageId pageId = mCacheEvictor.evict();
+    mCacheEvictor.updateOnDelete(pageId);
+    mCacheEvictor.updateOnPut(pageId);
+    return pageId;
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+import alluxio.util.io.FileUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link LocalCacheManager} with the different evictors and page stores. The
+ * get benchmark reads pages of a full cache, the put benchmark writes new pages to a full cache
+ * so that each put evicts a page.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LocalCacheManagerBench {
+  private static final int NUM_PAGES = 1024;
+
+  @Param({"alluxio.client.file.cache.evictor.LRUCacheEvictor",
+      "alluxio.client.file.cache.evictor.LFUCacheEvictor",
+      "alluxio.client.file.cache.evictor.FIFOCacheEvictor"})
+  public String mEvictor;
+
+  @Param({"MEMORY", "LOCAL"})
+  public String mStoreType;
+
+  @Param({"4096", "1048576"})
+  public int mPageSize;
+
+  private String mCacheDir;
+  private LocalCacheManager mCacheManager;
+  private byte[] mPage;
+
+  /**
+   * Creates the cache manager and fills it up.
+   */
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    mCacheDir = Files.createTempDirectory("local-cache-bench").toString();
+    InstancedConfiguration conf = InstancedConfiguration.defaults();
+    conf.set(PropertyKey.USER_CLIENT_CACHE_EVICTOR_CLASS, mEvictor);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_STORE_TYPE, mStoreType);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE, mPageSize);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, (long) NUM_PAGES * mPageSize);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_DIR, mCacheDir);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED, false);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_STORE_OVERHEAD, 0);
+    mCacheManager = LocalCacheManager.create(conf);
+    CommonUtils.waitFor("cache manager to be ready",
+        () -> mCacheManager.state() == CacheManager.State.READ_WRITE,
+        WaitForOptions.defaults().setTimeoutMs(60000));
+    mPage = new byte[mPageSize];
+    ThreadLocalRandom.current().nextBytes(mPage);
+    for (int i = 0; i < NUM_PAGES; i++) {
+      mCacheManager.put(new PageId("file", i), mPage);
+    }
+  }
+
+  /**
+   * Closes the cache manager and removes its pages.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    mCacheManager.close();
+    FileUtils.deletePathRecursively(mCacheDir);
+  }
+
+  /**
+   * Per thread buffer and page ids.
+   */
+  @State(Scope.Thread)
+  public static class ThreadState {
+    private final byte[] mBuffer = new byte[1048576];
+    private long mNextFile = ThreadLocalRandom.current().nextLong();
+  }
+
+  /**
+   * @param state the thread state
+   * @return the number of bytes read
+   */
+  @Benchmark
+  public int get(ThreadState state) {
+    PageId pageId = new PageId("file", ThreadLocalRandom.current().nextInt(NUM_PAGES));
+    return mCacheManager.get(pageId, mPageSize, state.mBuffer, 0);
+  }
+
+  /**
+   * @param state the thread state
+   * @return whether the page was put
+   */
+  @Benchmark
+  public boolean putWithEviction(ThreadState state) {
+    return mCacheManager.put(new PageId(Long.toString(state.mNextFile++), 0), mPage);
+  }
+}
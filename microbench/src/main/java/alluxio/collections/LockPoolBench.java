@@ -0,0 +1,96 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import alluxio.concurrent.LockMode;
+import alluxio.resource.LockResource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Benchmarks of acquiring and releasing locks from a {@link LockPool} from several threads.
+ * Keys are drawn from a range which is either smaller or larger than the pool, so that the
+ * benchmarks cover both the contended and the evicting cases.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LockPoolBench {
+  private static final int MAX_LOCKS = 10000;
+
+  @Param({"100", "100000"})
+  public int mKeys;
+
+  private LockPool<Long> mLockPool;
+
+  /**
+   * Creates the lock pool.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    mLockPool = new LockPool<>(key -> new ReentrantReadWriteLock(), 1000, MAX_LOCKS / 2,
+        MAX_LOCKS, 64);
+  }
+
+  /**
+   * Closes the lock pool.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    mLockPool.close();
+  }
+
+  /**
+   * Acquires and releases a read lock.
+   */
+  @Benchmark
+  public void readLock() {
+    try (LockResource r = mLockPool.get(nextKey(), LockMode.READ)) {
+      // nothing to do while holding the lock
+    }
+  }
+
+  /**
+   * Acquires and releases a write lock.
+   */
+  @Benchmark
+  public void writeLock() {
+    try (LockResource r = mLockPool.get(nextKey(), LockMode.WRITE)) {
+      // nothing to do while holding the lock
+    }
+  }
+
+  private long nextKey() {
+    return ThreadLocalRandom.current().nextInt(mKeys);
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.grpc;
+
+import alluxio.wire.BlockInfo;
+import alluxio.wire.BlockLocation;
+import alluxio.wire.FileBlockInfo;
+import alluxio.wire.FileInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the conversions of {@link GrpcUtils} between the wire types and the proto types
+ * of the file and block information returned by the masters.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GrpcUtilsBench {
+  @Param({"1", "16"})
+  public int mBlocks;
+
+  private FileInfo mFileInfo;
+  private alluxio.grpc.FileInfo mFileInfoProto;
+  private BlockInfo mBlockInfo;
+  private alluxio.grpc.BlockInfo mBlockInfoProto;
+
+  /**
+   * Creates the information of a file with the given number of blocks, each on three workers.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    List<Long> blockIds = new ArrayList<>();
+    List<FileBlockInfo> fileBlockInfos = new ArrayList<>();
+    for (int i = 0; i < mBlocks; i++) {
+      List<BlockLocation> locations = new ArrayList<>();
+      for (int j = 0; j < 3; j++) {
+        locations.add(new BlockLocation().setWorkerId(j).setTierAlias("MEM").setMediumType("MEM")
+            .setWorkerAddress(new WorkerNetAddress().setHost("worker" + j).setRpcPort(29999)
+                .setDataPort(29999).setWebPort(30000)));
+      }
+      mBlockInfo = new BlockInfo().setBlockId(i).setLength(64L << 20).setLocations(locations);
+      blockIds.add((long) i);
+      fileBlockInfos.add(new FileBlockInfo().setBlockInfo(mBlockInfo).setOffset(i * (64L << 20))
+          .setUfsLocations(ImmutableList.of("ufs:1234")));
+    }
+    mFileInfo = new FileInfo().setFileId(1L << 24).setName("file")
+        .setPath("/warehouse/table/part=1/file").setUfsPath("s3://bucket/warehouse/table/file")
+        .setLength(mBlocks * (64L << 20)).setBlockSizeBytes(64L << 20).setCompleted(true)
+        .setPersisted(true).setCacheable(true).setBlockIds(blockIds)
+        .setFileBlockInfos(fileBlockInfos).setOwner("owner").setGroup("group").setMode(0644)
+        .setPersistenceState("PERSISTED").setTtlAction(TtlAction.DELETE);
+    mFileInfoProto = GrpcUtils.toProto(mFileInfo);
+    mBlockInfoProto = GrpcUtils.toProto(mBlockInfo);
+  }
+
+  /**
+   * @return the proto type of the file information
+   */
+  @Benchmark
+  public alluxio.grpc.FileInfo fileInfoToProto() {
+    return GrpcUtils.toProto(mFileInfo);
+  }
+
+  /**
+   * @return the wire type of the file information
+   */
+  @Benchmark
+  public FileInfo fileInfoFromProto() {
+    return GrpcUtils.fromProto(mFileInfoProto);
+  }
+
+  /**
+   * @return the proto type of the block information
+   */
+  @Benchmark
+  public alluxio.grpc.BlockInfo blockInfoToProto() {
+    return GrpcUtils.toProto(mBlockInfo);
+  }
+
+  /**
+   * @return the wire type of the block information
+   */
+  @Benchmark
+  public BlockInfo blockInfoFromProto() {
+    return GrpcUtils.fromProto(mBlockInfoProto);
+  }
+}
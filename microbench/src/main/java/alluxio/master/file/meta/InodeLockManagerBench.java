@@ -0,0 +1,113 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.concurrent.LockMode;
+import alluxio.master.file.contexts.CreateDirectoryContext;
+import alluxio.resource.LockResource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of locking inodes and edges with the {@link InodeLockManager} from several threads,
+ * as done for each path component when the master resolves a path.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class InodeLockManagerBench {
+  @Param({"16", "100000"})
+  public int mInodes;
+
+  private InodeLockManager mLockManager;
+  private InodeView[] mInodeViews;
+  private Edge[] mEdges;
+
+  /**
+   * Creates the lock manager and the inodes to lock.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    mLockManager = new InodeLockManager();
+    mInodeViews = new InodeView[mInodes];
+    mEdges = new Edge[mInodes];
+    for (int i = 0; i < mInodes; i++) {
+      mInodeViews[i] = MutableInodeDirectory.create(i + 1, 0, "dir" + i,
+          CreateDirectoryContext.defaults());
+      mEdges[i] = new Edge(0, "dir" + i);
+    }
+  }
+
+  /**
+   * Closes the lock manager.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    mLockManager.close();
+  }
+
+  /**
+   * Acquires and releases a read lock on an inode.
+   */
+  @Benchmark
+  public void readLockInode() {
+    try (LockResource r = mLockManager.lockInode(mInodeViews[nextIndex()], LockMode.READ,
+        false)) {
+      // nothing to do while holding the lock
+    }
+  }
+
+  /**
+   * Acquires and releases a write lock on an inode.
+   */
+  @Benchmark
+  public void writeLockInode() {
+    try (LockResource r = mLockManager.lockInode(mInodeViews[nextIndex()], LockMode.WRITE,
+        false)) {
+      // nothing to do while holding the lock
+    }
+  }
+
+  /**
+   * Acquires and releases a read lock on an edge.
+   */
+  @Benchmark
+  public void readLockEdge() {
+    try (LockResource r = mLockManager.lockEdge(mEdges[nextIndex()], LockMode.READ, false)) {
+      // nothing to do while holding the lock
+    }
+  }
+
+  private int nextIndex() {
+    return ThreadLocalRandom.current().nextInt(mInodes);
+  }
+}
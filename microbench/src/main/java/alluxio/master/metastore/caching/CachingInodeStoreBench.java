@@ -0,0 +1,112 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.caching;
+
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.master.file.contexts.CreateDirectoryContext;
+import alluxio.master.file.meta.Inode;
+import alluxio.master.file.meta.InodeLockManager;
+import alluxio.master.file.meta.MutableInodeDirectory;
+import alluxio.master.metastore.heap.HeapInodeStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of looking up inodes in a {@link CachingInodeStore} backed by a heap store. When
+ * there are more inodes than the cache holds, the lookups miss the cache and go to the backing
+ * store.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CachingInodeStoreBench {
+  private static final long ROOT_ID = 0;
+
+  @Param({"100000"})
+  public int mInodes;
+
+  @Param({"10000", "1000000"})
+  public int mCacheSize;
+
+  private CachingInodeStore mInodeStore;
+
+  /**
+   * Creates the store and writes the inodes to it, all children of the same directory.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    ServerConfiguration.set(PropertyKey.MASTER_METASTORE_INODE_CACHE_MAX_SIZE, mCacheSize);
+    mInodeStore = new CachingInodeStore(new HeapInodeStore(), new InodeLockManager());
+    mInodeStore.writeNewInode(MutableInodeDirectory.create(ROOT_ID, -1, "",
+        CreateDirectoryContext.defaults()));
+    for (int i = 1; i <= mInodes; i++) {
+      mInodeStore.writeNewInode(MutableInodeDirectory.create(i, ROOT_ID, name(i),
+          CreateDirectoryContext.defaults()));
+      mInodeStore.addChild(ROOT_ID, name(i), (long) i);
+    }
+  }
+
+  /**
+   * Closes the store.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    mInodeStore.close();
+    ServerConfiguration.reset();
+  }
+
+  /**
+   * @return the inode with a random id
+   */
+  @Benchmark
+  public Optional<Inode> get() {
+    return mInodeStore.get(nextId());
+  }
+
+  /**
+   * @return the child of the root directory with a random name
+   */
+  @Benchmark
+  public Optional<Inode> getChild() {
+    return mInodeStore.getChild(ROOT_ID, name(nextId()));
+  }
+
+  private int nextId() {
+    return ThreadLocalRandom.current().nextInt(mInodes) + 1;
+  }
+
+  private static String name(long id) {
+    return "dir" + id;
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.util.proto;
+
+import alluxio.proto.shared.Acl;
+import alluxio.security.authorization.AccessControlList;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the conversions of {@link ProtoUtils} between access control lists and their
+ * journal representation, as done for each inode written to or read from the journal.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProtoUtilsBench {
+  @Param({"0", "8"})
+  public int mNamedUsers;
+
+  private AccessControlList mAcl;
+  private Acl.AccessControlList mAclProto;
+
+  /**
+   * Creates an access control list with the given number of named user entries.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    List<String> entries = new ArrayList<>();
+    entries.add("user::rwx");
+    entries.add("group::r-x");
+    entries.add("other::r--");
+    for (int i = 0; i < mNamedUsers; i++) {
+      entries.add("user:user" + i + ":rw-");
+    }
+    if (mNamedUsers > 0) {
+      entries.add("mask::rwx");
+    }
+    mAcl = AccessControlList.fromStringEntries("owner", "group", entries);
+    mAclProto = ProtoUtils.toProto(mAcl);
+  }
+
+  /**
+   * @return the proto representation of the access control list
+   */
+  @Benchmark
+  public Acl.AccessControlList aclToProto() {
+    return ProtoUtils.toProto(mAcl);
+  }
+
+  /**
+   * @return the access control list from its proto representation
+   */
+  @Benchmark
+  public AccessControlList aclFromProto() {
+    return ProtoUtils.fromProto(mAclProto);
+  }
+}
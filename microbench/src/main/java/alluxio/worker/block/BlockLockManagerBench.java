@@ -0,0 +1,128 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks of locking and unlocking blocks with the {@link BlockLockManager} from several
+ * threads, as done by the worker for each block read and write. Run it with {@code -t 1,2,4,8}
+ * to compare how the throughput scales with the number of threads.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BlockLockManagerBench {
+  @Param({"16", "100000"})
+  public int mBlocks;
+
+  private final AtomicLong mNextSessionId = new AtomicLong(1);
+  private BlockLockManager mLockManager;
+
+  /**
+   * The session of each benchmark thread.
+   */
+  @State(Scope.Thread)
+  public static class Session {
+    long mSessionId;
+
+    /**
+     * Allocates the session id of the thread.
+     *
+     * @param bench the benchmark state
+     */
+    @Setup(Level.Trial)
+    public void setup(BlockLockManagerBench bench) {
+      mSessionId = bench.mNextSessionId.getAndIncrement();
+    }
+  }
+
+  /**
+   * Creates the lock manager.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    mLockManager = new BlockLockManager();
+  }
+
+  /**
+   * Acquires and releases a read lock on a block, as done for each block read.
+   *
+   * @param session the session of the thread
+   */
+  @Benchmark
+  public void readLockBlock(Session session) throws Exception {
+    long lockId = mLockManager.lockBlock(session.mSessionId, nextBlockId(), BlockLockType.READ);
+    mLockManager.unlockBlock(lockId);
+  }
+
+  /**
+   * Acquires, validates and releases a read lock on a block, as done when a block reader is
+   * created for a lock.
+   *
+   * @param session the session of the thread
+   */
+  @Benchmark
+  public void validateReadLockBlock(Session session) throws Exception {
+    long blockId = nextBlockId();
+    long lockId = mLockManager.lockBlock(session.mSessionId, blockId, BlockLockType.READ);
+    mLockManager.validateLock(session.mSessionId, blockId, lockId);
+    mLockManager.unlockBlock(lockId);
+  }
+
+  /**
+   * Acquires and releases a write lock on a block, as done for each block commit or move.
+   *
+   * @param session the session of the thread
+   */
+  @Benchmark
+  public void writeLockBlock(Session session) throws Exception {
+    long lockId = mLockManager.lockBlock(session.mSessionId, nextBlockId(), BlockLockType.WRITE);
+    mLockManager.unlockBlock(lockId);
+  }
+
+  /**
+   * Acquires a read lock on a block and releases it by cleaning up the session, as done when a
+   * client session expires.
+   *
+   * @param session the session of the thread
+   */
+  @Benchmark
+  public void cleanupSession(Session session) {
+    mLockManager.lockBlock(session.mSessionId, nextBlockId(), BlockLockType.READ);
+    mLockManager.cleanupSession(session.mSessionId);
+  }
+
+  private long nextBlockId() {
+    return ThreadLocalRandom.current().nextInt(mBlocks);
+  }
+}
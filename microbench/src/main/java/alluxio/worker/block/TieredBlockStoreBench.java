@@ -0,0 +1,145 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.util.io.FileUtils;
+import alluxio.worker.block.io.BlockReader;
+import alluxio.worker.block.io.BlockWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks of locking and reading blocks of a single tier {@link TieredBlockStore} from several
+ * threads, as done by the worker for each block read request.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TieredBlockStoreBench {
+  private static final long WRITE_SESSION_ID = 1;
+
+  @Param({"100"})
+  public int mBlocks;
+
+  @Param({"65536", "1048576"})
+  public int mBlockSize;
+
+  private final AtomicLong mNextSessionId = new AtomicLong(WRITE_SESSION_ID + 1);
+  private String mTierDir;
+  private TieredBlockStore mBlockStore;
+
+  /**
+   * Creates the block store and writes the blocks to it.
+   */
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    mTierDir = Files.createTempDirectory("tiered-block-store-bench").toString();
+    ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_LEVELS, 1);
+    ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL0_DIRS_PATH, mTierDir);
+    ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL0_DIRS_QUOTA,
+        2L * mBlocks * mBlockSize);
+    mBlockStore = new TieredBlockStore();
+    byte[] data = new byte[mBlockSize];
+    ThreadLocalRandom.current().nextBytes(data);
+    for (long blockId = 0; blockId < mBlocks; blockId++) {
+      mBlockStore.createBlock(WRITE_SESSION_ID, blockId,
+          AllocateOptions.forCreate(mBlockSize, BlockStoreLocation.anyTier()));
+      try (BlockWriter writer = mBlockStore.getBlockWriter(WRITE_SESSION_ID, blockId)) {
+        writer.append(ByteBuffer.wrap(data));
+      }
+      mBlockStore.commitBlock(WRITE_SESSION_ID, blockId, false);
+    }
+  }
+
+  /**
+   * Closes the block store and removes its blocks.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    mBlockStore.close();
+    FileUtils.deletePathRecursively(mTierDir);
+    ServerConfiguration.reset();
+  }
+
+  /**
+   * Per thread session.
+   */
+  @State(Scope.Thread)
+  public static class ThreadState {
+    private long mSessionId;
+
+    /**
+     * @param bench the benchmark state
+     */
+    @Setup(Level.Trial)
+    public void setup(TieredBlockStoreBench bench) {
+      mSessionId = bench.mNextSessionId.getAndIncrement();
+    }
+  }
+
+  /**
+   * Locks and unlocks a random block.
+   *
+   * @param state the thread state
+   */
+  @Benchmark
+  public void lockBlock(ThreadState state) throws Exception {
+    long lockId = mBlockStore.lockBlock(state.mSessionId, nextBlockId());
+    mBlockStore.unlockBlock(lockId);
+  }
+
+  /**
+   * Locks a random block and reads it entirely.
+   *
+   * @param state the thread state
+   * @return the data read
+   */
+  @Benchmark
+  public ByteBuffer readBlock(ThreadState state) throws Exception {
+    long blockId = nextBlockId();
+    long lockId = mBlockStore.lockBlock(state.mSessionId, blockId);
+    try (BlockReader reader = mBlockStore.getBlockReader(state.mSessionId, blockId, lockId)) {
+      return reader.read(0, mBlockSize);
+    } finally {
+      mBlockStore.unlockBlock(lockId);
+    }
+  }
+
+  private long nextBlockId() {
+    return ThreadLocalRandom.current().nextInt(mBlocks);
+  }
+}
@@ -54,6 +54,7 @@ import alluxio.grpc.Metric;
 import alluxio.grpc.RegisterWorkerPRequest;
 import alluxio.grpc.RegisterWorkerPResponse;
 import alluxio.grpc.StorageList;
+import alluxio.grpc.WorkerLoad;
 import alluxio.master.MasterClientContext;
 import alluxio.stress.cli.RpcBenchPreparationUtils;
 import alluxio.stress.rpc.TierAlias;
@@ -504,7 +505,8 @@ public class BlockWorkerRegisterStreamIntegrationTest {
         final long workerId, final Map<String, Long> capacityBytesOnTiers,
         final Map<String, Long> usedBytesOnTiers,
         final List<Long> removedBlocks, final Map<BlockStoreLocation, List<Long>> addedBlocks,
-        final Map<String, List<String>> lostStorage, final List<Metric> metrics) {
+        final Map<String, List<String>> lostStorage, final List<Metric> metrics,
+        final WorkerLoad load) {
       assertEquals(mRemovedBlocks, removedBlocks);
       assertEquals(mAddedBlocks, addedBlocks);
       return Command.getDefaultInstance();